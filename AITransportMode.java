@@ -0,0 +1,24 @@
+package net.runelite.client.plugins.autopvp;
+
+/**
+ * How AIClient talks to the Python PPO server.
+ */
+public enum AITransportMode
+{
+    SOCKET("Blocking socket"),
+    NIO("NIO channel"),
+    SHARED_MEMORY("Shared memory (same host)");
+
+    private final String displayName;
+
+    AITransportMode(String displayName)
+    {
+        this.displayName = displayName;
+    }
+
+    @Override
+    public String toString()
+    {
+        return displayName;
+    }
+}
@@ -82,6 +82,33 @@ public interface AutoPvPConfig extends Config {
         return true;
     }
 
+    @ConfigItem(
+        keyName = "virtualThreads",
+        name = "Virtual Threads",
+        description = "Run AI server I/O, reconnects and log output on virtual threads (Java 21+, applies on restart)"
+    )
+    default boolean virtualThreads() {
+        return false;
+    }
+
+    @ConfigItem(
+        keyName = "aiTransport",
+        name = "AI Transport",
+        description = "How requests reach the AI server; NIO services every connection from one selector thread, shared memory needs the server on this host (applies on restart)"
+    )
+    default AITransportMode aiTransport() {
+        return AITransportMode.SOCKET;
+    }
+
+    @ConfigItem(
+        keyName = "sharedMemoryFile",
+        name = "Shared Memory File",
+        description = "Ring file shared with the AI server in shared memory mode; empty uses /dev/shm/autopvp-ppo-<port>.ring"
+    )
+    default String sharedMemoryFile() {
+        return "";
+    }
+
     @ConfigItem(
         keyName = "safeMode",
         name = "Safe Mode",
@@ -26,21 +26,23 @@ import com.elvarg.game.entity.impl.player.Player;
 import net.runelite.client.plugins.autopvp.core.NhObservationEncoder;
 import net.runelite.client.plugins.autopvp.core.NhActionMaskBuilder;
 import net.runelite.client.plugins.autopvp.core.NhContract;
-import net.runelite.client.plugins.autopvp.core.NhEnvironmentBridge;
-import net.runelite.client.plugins.autopvp.core.ActionExecutor;
+import net.runelite.client.plugins.autopvp.core.AgentSession;
+import net.runelite.client.plugins.autopvp.core.PacketUtilsPacketSink;
 import net.runelite.client.plugins.autopvp.core.AIClient;
 import net.runelite.client.plugins.autopvp.core.ItemDefinitionInitializer;
 import net.runelite.client.plugins.autopvp.test.AutoPvPTester;
 import net.runelite.client.plugins.autopvp.util.PacketUtilsInitializer;
 import net.runelite.client.plugins.autopvp.util.ObservationLogger;
+import net.runelite.client.plugins.autopvp.util.WorkerThreads;
 import javax.inject.Inject;
 import com.google.inject.Provides;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.events.ConfigChanged;
@@ -56,6 +58,7 @@ import net.runelite.client.events.ConfigChanged;
 )
 public class AutoPvPPlugin extends Plugin
 {
+    private static final long TICK_LENGTH_MS = 600;
     private static final String[] ACTION_HEAD_NAMES = {
         "Attack",
         "Melee",
@@ -84,28 +87,8 @@ public class AutoPvPPlugin extends Plugin
     private net.runelite.client.game.ItemManager itemManager;
     // Initialization state
     private boolean adaptersInitialized = false;
-    // Core adapters (12-adapter system as per requirements)
-    private PlayerAdapter playerAdapter;
-    private LocationAdapter locationAdapter;
-    private EquipmentAdapter equipmentAdapter;
-    private InventoryAdapter inventoryAdapter;
-    private CombatFactoryAdapter combatFactoryAdapter;
-    private TimerManagerAdapter timerManagerAdapter;
-    private DamageTrackerAdapter damageTrackerAdapter;
-    private GearLoadoutTracker gearLoadoutTracker;
-    private CombatHistoryTracker combatHistoryTracker;
-    private PrayerHandlerAdapter prayerHandlerAdapter;
-    private PotionConsumableAdapter potionConsumableAdapter;
-    private FoodAdapter foodAdapter;
-    private EventBridgeAdapter eventBridgeAdapter;
-    private PathFinderAdapter pathFinderAdapter;
-    // Support adapters
-    private MovementQueueAdapter movementQueueAdapter;
-    private SkillManagerAdapter skillManagerAdapter;
-    private CombatAdapter combatAdapter;
-    // Core integration components
-    private NhEnvironmentBridge environmentBridge;
-    private ActionExecutor actionExecutor;
+    // Adapters, trackers, environment bridge and action executor
+    private AgentSession session;
     private AIClient aiClient;
     private ExecutorService executor;
     private long lastTickTime = 0;
@@ -115,13 +98,8 @@ public class AutoPvPPlugin extends Plugin
     protected void startUp()
     {
         log.info("[AUTOPVP] Starting AutoPvP plugin");
-        // Initialize executor for async operations
-        executor = Executors.newSingleThreadExecutor(r -> {
-            Thread t = new Thread(r);
-            t.setName("AutoPvP-Worker");
-            t.setDaemon(true);
-            return t;
-        });
+        // Initialize executor for async operations (reconnects, observation logging)
+        executor = WorkerThreads.newExecutor("AutoPvP-Worker", config.virtualThreads());
         // Check if client is logged in before initializing adapters
         if (client.getGameState() == GameState.LOGGED_IN) {
             // Must run initialization on client thread to avoid thread safety issues
@@ -160,10 +138,8 @@ public class AutoPvPPlugin extends Plugin
         }
         PacketUtilsInitializer.initialize(client);
         ItemDefinitionInitializer.initialize(itemManager);
-        // Initialize all adapters with proper dependencies
-        initializeAdapters();
-        // Initialize the environment bridge and action executor
-        initializeEnvironmentBridge();
+        // Initialize the adapters, environment bridge and action executor
+        initializeSession();
         // Initialize AI client
         initializeAIClient();
         adaptersInitialized = true;
@@ -176,44 +152,21 @@ public class AutoPvPPlugin extends Plugin
     protected void shutDown()
     {
         log.info("[AUTOPVP] Shutting down AutoPvP plugin");
-        // Shutdown adapters that need cleanup
-        if (timerManagerAdapter != null) {
-            timerManagerAdapter.shutdown();
-        }
-        if (damageTrackerAdapter != null) {
-            damageTrackerAdapter.shutdown();
-        }
-        if (gearLoadoutTracker != null) {
-            gearLoadoutTracker.shutdown();
-        }
-        if (combatHistoryTracker != null) {
-            combatHistoryTracker.shutdown();
-        }
-        // CombatFactoryAdapter has no shutdown method (static utility class)
-        if (potionConsumableAdapter != null) {
-            potionConsumableAdapter.shutdown();
-        }
-        if (foodAdapter != null) {
-            foodAdapter.shutdown();
-        }
-        if (eventBridgeAdapter != null) {
-            eventBridgeAdapter.shutdown();
+        // Shutdown the session's adapters and trackers
+        if (session != null) {
+            session.shutdown();
+            session = null;
         }
         // Shutdown executor
         if (executor != null && !executor.isShutdown()) {
             executor.shutdownNow();
             executor = null;
         }
-        // Clear adapter references
-        clearAdapters();
         // Shutdown AI client
         if (aiClient != null) {
             aiClient.shutdown();
             aiClient = null;
         }
-        // Clear bridge references
-        environmentBridge = null;
-        actionExecutor = null;
         // Reset initialization flag
         adaptersInitialized = false;
         log.info("[AUTOPVP] AutoPvP plugin stopped");
@@ -225,6 +178,9 @@ public class AutoPvPPlugin extends Plugin
             log.info("[AUTOPVP] Client logged in, initializing plugin");
             // onGameStateChanged runs on client thread already, so we can call directly
             initializePlugin();
+        } else if ((event.getGameState() == GameState.LOGIN_SCREEN || event.getGameState() == GameState.HOPPING)
+            && session != null) {
+            session.onLoggedOut();
         }
     }
     @Subscribe
@@ -358,7 +314,7 @@ public class AutoPvPPlugin extends Plugin
         try {
             if (command.equals("::pvptest all")) {
                 // Run comprehensive test
-                String results = AutoPvPTester.runAllTests(playerAdapter, environmentBridge);
+                String results = AutoPvPTester.runAllTests(session.getPlayerAdapter(), session.getBridge());
                 // Split into multiple messages due to chat length limits
                 for (String line : results.split("\n")) {
                     if (!line.trim().isEmpty()) {
@@ -368,7 +324,7 @@ public class AutoPvPPlugin extends Plugin
                 }
             } else if (command.equals("::pvptest obs")) {
                 // Test observations
-                java.util.List<Number> observations = environmentBridge.getObservations();
+                java.util.List<Number> observations = session.getObservations();
                 String summary = String.format("[AutoPvP] Observations: %d values, %d non-zero",
                     observations.size(),
                     observations.stream().filter(n -> n.doubleValue() != 0.0).count());
@@ -384,7 +340,7 @@ public class AutoPvPPlugin extends Plugin
                 }
             } else if (command.equals("::pvptest masks")) {
                 // Test action masks
-                java.util.List<java.util.List<Boolean>> masks = environmentBridge.getActionMasks();
+                java.util.List<java.util.List<Boolean>> masks = session.getActionMasks();
                 client.addChatMessage(ChatMessageType.GAMEMESSAGE, "",
                     String.format("[AutoPvP] Action masks: %d heads", masks.size()), null);
                 for (int i = 0; i < masks.size(); i++) {
@@ -410,9 +366,9 @@ public class AutoPvPPlugin extends Plugin
                 client.addChatMessage(ChatMessageType.GAMEMESSAGE, "", statusMsg1, null);
                 log.info("[GAMECHAT] {}", statusMsg1);
                 String statusMsg2 = String.format("[AutoPvP] HP: %d, Special: %d%%, Location: %s",
-                    playerAdapter.getHitpoints(),
-                    playerAdapter.getSpecialPercentage(),
-                    playerAdapter.getLocation());
+                    session.getPlayerAdapter().getHitpoints(),
+                    session.getPlayerAdapter().getSpecialPercentage(),
+                    session.getPlayerAdapter().getLocation());
                 client.addChatMessage(ChatMessageType.GAMEMESSAGE, "", statusMsg2, null);
                 log.info("[GAMECHAT] {}", statusMsg2);
             } else if (command.equals("::pvptest enable")) {
@@ -423,11 +379,7 @@ public class AutoPvPPlugin extends Plugin
                 log.info("[GAMECHAT] {}", msg);
                 // Try to connect to AI if not connected
                 if (aiClient != null && !aiClient.isConnected()) {
-                    if (aiClient.connect()) {
-                        String connMsg = "[AutoPvP] Connected to AI server";
-                        client.addChatMessage(ChatMessageType.GAMEMESSAGE, "", connMsg, null);
-                        log.info("[GAMECHAT] {}", connMsg);
-                    }
+                    connectAIClientAsync();
                 }
             } else if (command.equals("::pvptest disable")) {
                 // Disable the plugin
@@ -444,11 +396,7 @@ public class AutoPvPPlugin extends Plugin
                 log.info("[GAMECHAT] {}", msg);
                 // Try to connect to AI if enabled and not connected
                 if (pluginEnabled && aiClient != null && !aiClient.isConnected()) {
-                    if (aiClient.connect()) {
-                        String connMsg = "[AutoPvP] Connected to AI server";
-                        client.addChatMessage(ChatMessageType.GAMEMESSAGE, "", connMsg, null);
-                        log.info("[GAMECHAT] {}", connMsg);
-                    }
+                    connectAIClientAsync();
                 }
             } else if (command.equals("::pvptest help")) {
                 // Show available commands
@@ -506,8 +454,12 @@ public class AutoPvPPlugin extends Plugin
         } else if (event.getKey().equals("loadoutOverride")) {
             LoadoutOverride override = config.loadoutOverride();
             log.info("[AUTOPVP] Config changed: loadoutOverride = {}", override);
-            if (adaptersInitialized && playerAdapter != null) {
-                clientThread.invokeLater(this::initializeEnvironmentBridge);
+            if (adaptersInitialized && session != null) {
+                clientThread.invokeLater(() -> {
+                    if (session != null) {
+                        session.setLoadoutOverride(override);
+                    }
+                });
             }
         }
     }
@@ -520,7 +472,7 @@ public class AutoPvPPlugin extends Plugin
             return; // Don't run AI while testing
         }
         // Only process ticks when plugin is enabled and initialized
-        if (!config.enabled() || environmentBridge == null || !pluginEnabled) {
+        if (!config.enabled() || session == null || !pluginEnabled) {
             return;
         }
         // Check if we have a real opponent (not just a dummy player)
@@ -538,39 +490,31 @@ public class AutoPvPPlugin extends Plugin
         try {
             long tickStart = System.currentTimeMillis();
             // Update the environment bridge at tick start
-            environmentBridge.onTickStart();
+            session.onTickStart();
             // Get observations from the bridge (uses original NhEnvironment logic)
-            java.util.List<Number> observations = environmentBridge.getObservations();
+            java.util.List<Number> observations = session.getObservations();
 
             if (hasRealTarget)
             {
                 int tick = client.getTickCount();
                 String targetName = targetPlayer != null ? targetPlayer.getName() : "none";
                 String header = String.format(Locale.ROOT, "[AUTOPVP-OBS][tick=%d][target=%s]", tick, targetName);
-                ObservationLogger.logInfoSnapshot(observations, header);
+                // Formatting the full snapshot is slow; keep it off the client thread
+                executor.execute(() -> ObservationLogger.logInfoSnapshot(observations, header));
             }
 
             // Get action masks from the bridge
-            java.util.List<java.util.List<Boolean>> actionMasks = environmentBridge.getActionMasks();
+            java.util.List<java.util.List<Boolean>> actionMasks = session.getActionMasks();
             // Log observation stats for debugging
             if (log.isDebugEnabled() && !observations.isEmpty()) {
                 logBridgeObservationStats(observations, actionMasks, tickStart);
             }
             // Send observations to AI and get action if enabled
-            if (pluginEnabled && config.enabled() && aiClient != null && environmentBridge != null) {
-                requestAndExecuteAction(observations, actionMasks);
-            }
-            // Update the environment bridge at tick end
-            if (environmentBridge != null) {
-                environmentBridge.onTickProcessed();
-                environmentBridge.onTickEnd();
-            }
-            if (gearLoadoutTracker != null) {
-                gearLoadoutTracker.onTickEnd();
-            }
-            if (combatHistoryTracker != null) {
-                combatHistoryTracker.onTickEnd();
+            if (pluginEnabled && config.enabled() && aiClient != null && session != null) {
+                requestAndExecuteAction(observations, actionMasks, tickStart);
             }
+            // Update the environment bridge and trackers at tick end
+            session.onTickEnd();
             // Track tick timing to ensure we meet 600ms deadline
             long tickDuration = System.currentTimeMillis() - tickStart;
             if (tickDuration > 100) {
@@ -584,76 +528,15 @@ public class AutoPvPPlugin extends Plugin
             }
         }
     }
-    private void initializeAdapters()
+    private void initializeSession()
     {
         try {
-            // Create dummy player for Elvarg compatibility
-            DummyElvargPlayer dummyPlayer = new DummyElvargPlayer();
-            // Create PrayerHandlerAdapter first (needed by PlayerAdapter)
-            // Source: Consolidates prayer state management to avoid desynchronization
-            prayerHandlerAdapter = new PrayerHandlerAdapter(client, eventBus);
-            // Initialize core adapters
-            // PlayerAdapter now receives PrayerHandlerAdapter to delegate prayer state
-            playerAdapter = new PlayerAdapter(client, eventBus, prayerHandlerAdapter, itemManager);
-            locationAdapter = new LocationAdapter(client.getLocalPlayer() != null ? client.getLocalPlayer().getWorldLocation() : new net.runelite.api.coords.WorldPoint(0, 0, 0));
-            equipmentAdapter = new EquipmentAdapter(client, dummyPlayer);
-            inventoryAdapter = new InventoryAdapter(client, dummyPlayer);
-            // Combat-related adapters
-            combatFactoryAdapter = new CombatFactoryAdapter();
-            timerManagerAdapter = new TimerManagerAdapter(client, eventBus);
-            gearLoadoutTracker = new GearLoadoutTracker(client, eventBus, itemManager, timerManagerAdapter);
-            combatHistoryTracker = new CombatHistoryTracker(client, eventBus, timerManagerAdapter);
-            damageTrackerAdapter = new DamageTrackerAdapter(client, eventBus);
-            // Action-related adapters (prayerHandlerAdapter already created above)
-            potionConsumableAdapter = new PotionConsumableAdapter(client, eventBus, timerManagerAdapter);
-            foodAdapter = new FoodAdapter(client, eventBus, timerManagerAdapter);
-            // Utility adapters
-            eventBridgeAdapter = new EventBridgeAdapter(client, eventBus);
-            pathFinderAdapter = new PathFinderAdapter(client);
-            movementQueueAdapter = new MovementQueueAdapter(client, dummyPlayer);
-            // Skill manager with wrapper
-            skillManagerAdapter = new SkillManagerAdapter(client, dummyPlayer);
-            SkillManagerWrapperAdapter skillWrapper = new SkillManagerWrapperAdapter(client);
-            log.debug("[AUTOPVP] All {} adapters initialized", 16);
+            session = new AgentSession(client, eventBus, clientThread, itemManager,
+                new PacketUtilsPacketSink(), config.loadoutOverride());
+            log.info("[AUTOPVP] AgentSession initialized");
         } catch (Exception e) {
-            log.error("[AUTOPVP] Failed to initialize adapters", e);
-            throw new RuntimeException("Failed to initialize AutoPvP adapters", e);
-        }
-    }
-    private void clearAdapters()
-    {
-        playerAdapter = null;
-        locationAdapter = null;
-        equipmentAdapter = null;
-        inventoryAdapter = null;
-        combatFactoryAdapter = null;
-        timerManagerAdapter = null;
-        damageTrackerAdapter = null;
-        gearLoadoutTracker = null;
-        combatHistoryTracker = null;
-        prayerHandlerAdapter = null;
-        potionConsumableAdapter = null;
-        foodAdapter = null;
-        eventBridgeAdapter = null;
-        pathFinderAdapter = null;
-        movementQueueAdapter = null;
-        skillManagerAdapter = null;
-        combatAdapter = null;
-    }
-    private void initializeEnvironmentBridge()
-    {
-        try {
-            // Create the environment bridge with our player adapter, combat adapter, and ItemManager for gear tracking
-            // Cast to CombatAdapter since PlayerAdapter.getCombat() returns the generic Combat type
-            CombatAdapter combatAdapter = (CombatAdapter) playerAdapter.getCombat();
-            environmentBridge = new NhEnvironmentBridge(client, playerAdapter, combatAdapter, timerManagerAdapter, damageTrackerAdapter, itemManager, gearLoadoutTracker, combatHistoryTracker, config.loadoutOverride());
-            // Wire TimerManagerAdapter to CombatAdapter so it can call processTimers() on targets
-            timerManagerAdapter.setCombatAdapter(combatAdapter);
-            // Create the action executor
-            actionExecutor = new ActionExecutor(client, environmentBridge, clientThread);
-            log.info("[AUTOPVP] NhEnvironmentBridge and ActionExecutor initialized");
-        } catch (Exception e) {
-            log.error("[AUTOPVP] Failed to initialize environment bridge", e);
+            log.error("[AUTOPVP] Failed to initialize AutoPvP session", e);
+            throw new RuntimeException("Failed to initialize AutoPvP session", e);
         }
     }
     private void logBridgeObservationStats(java.util.List<Number> observations,
@@ -702,18 +585,32 @@ public class AutoPvPPlugin extends Plugin
         try {
             String host = config.serverHost();
             int port = config.serverPort();
-            aiClient = new AIClient(host, port);
-            // Try to connect if auto-connect is enabled
+            aiClient = new AIClient(host, port, config.virtualThreads(), config.aiTransport(),
+                config.sharedMemoryFile());
+            // Try to connect if auto-connect is enabled, without blocking the client thread
             if (config.enabled() && config.autoReconnect()) {
-                aiClient.connect();
+                aiClient.connectAsync();
             }
             log.info("[AUTOPVP] AI client initialized for {}:{}", host, port);
         } catch (Exception e) {
             log.error("[AUTOPVP] Failed to initialize AI client", e);
         }
     }
+    private void connectAIClientAsync()
+    {
+        aiClient.connectAsync().thenAccept(connected -> {
+            if (connected) {
+                clientThread.invokeLater(() -> {
+                    String connMsg = "[AutoPvP] Connected to AI server";
+                    client.addChatMessage(ChatMessageType.GAMEMESSAGE, "", connMsg, null);
+                    log.info("[GAMECHAT] {}", connMsg);
+                });
+            }
+        });
+    }
     private void requestAndExecuteAction(java.util.List<Number> observations,
-                                        java.util.List<java.util.List<Boolean>> actionMasks)
+                                        java.util.List<java.util.List<Boolean>> actionMasks,
+                                        long tickStart)
     {
         // Check action delay
         long currentTime = System.currentTimeMillis();
@@ -726,15 +623,18 @@ public class AutoPvPPlugin extends Plugin
             client.getLocalPlayer().getInteracting() instanceof net.runelite.api.Player
             ? ((net.runelite.api.Player) client.getLocalPlayer().getInteracting()).getName()
             : "none";
+        // An action arriving after the next tick starts would act on stale observations
+        long deadline = TICK_LENGTH_MS - (currentTime - tickStart);
         CompletableFuture<int[]> actionFuture = aiClient.requestActionAsync(
             client.getTickCount(),
             0.0f, // No reward signal for now
             observations,
-            actionMasks
+            actionMasks,
+            deadline
         );
         // Handle the action when it arrives
         actionFuture.thenAccept(action -> {
-            if (action != null && actionExecutor != null) {
+            if (action != null && session != null) {
                 // Check if action is all zeros (PPO server failure)
                 // Citation: AIClient.java:321-322 returns getDefaultAction() on IOException
                 boolean allZeros = java.util.Arrays.stream(action).allMatch(a -> a == 0);
@@ -755,11 +655,11 @@ public class AutoPvPPlugin extends Plugin
                     // Execute on client thread to avoid thread safety issues
                     clientThread.invoke(() -> {
                         // Final check on client thread
-                        if (!hasRealOpponent()) {
+                        if (session == null || !hasRealOpponent()) {
                             log.debug("[AUTOPVP] Action execution cancelled - no real opponent");
                             return;
                         }
-                        actionExecutor.executeAction(action);
+                        session.executeAction(action);
                         lastActionTime = System.currentTimeMillis();
                         if (config.debugMode()) {
                             log.debug("[AUTOPVP] Executed action: {}", Arrays.toString(action));
@@ -768,8 +668,15 @@ public class AutoPvPPlugin extends Plugin
                 }
             }
         }).exceptionally(ex -> {
-            if (config.debugMode()) {
-                log.error("[AUTOPVP] Failed to get action from AI", ex);
+            // The deadline variant fails instead of returning the all-zeros action, so
+            // timeouts and connection failures are reported here
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof TimeoutException) {
+                log.warn("[AI] Request timeout - no action this tick");
+            } else if (config.debugMode()) {
+                log.warn("[AUTOPVP] Failed to get action from AI - no action this tick", cause);
+            } else {
+                log.warn("[AUTOPVP] Failed to get action from AI - no action this tick: {}", cause.toString());
             }
             return null;
         });
@@ -824,7 +731,7 @@ public class AutoPvPPlugin extends Plugin
     private void testInventory() {
         try {
             // Test inventory adapter
-            var inventory = playerAdapter.getInventory();
+            var inventory = session.getPlayerAdapter().getInventory();
             String msg = String.format("[AutoPvP] Inventory: %d free slots, %s",
                 inventory.getFreeSlots(),
                 inventory.isEmpty() ? "empty" : "has items");
@@ -852,7 +759,7 @@ public class AutoPvPPlugin extends Plugin
                 log.info("[GAMECHAT] {}", totalMsg);
             }
             // Check what NhEnvironment sees
-            var masks = environmentBridge.getActionMasks();
+            var masks = session.getActionMasks();
             if (masks.size() > 4) {
                 // Head 4 is potions, Head 5 is food
                 String potionMsg = String.format("[AutoPvP] Potion actions: %d valid",
@@ -875,7 +782,7 @@ public class AutoPvPPlugin extends Plugin
      * Each action executes 5 ticks apart to ensure smooth testing.
      */
     private void testAllActions() {
-        if (actionExecutor == null || !adaptersInitialized) {
+        if (session == null || !adaptersInitialized) {
             client.addChatMessage(ChatMessageType.GAMEMESSAGE, "",
                 "[AutoPvP] Plugin not initialized. Please log in first.", null);
             return;
@@ -909,7 +816,7 @@ public class AutoPvPPlugin extends Plugin
      * Execute test actions in sequence with 5-tick delays
      */
     private void executeTestSequence() {
-        if (!testRunning || actionExecutor == null) return;
+        if (!testRunning || session == null) return;
         ticksSinceLastAction++;
         if (ticksSinceLastAction < 5) return; // Wait 5 ticks between actions
         ticksSinceLastAction = 0;
@@ -1036,7 +943,7 @@ public class AutoPvPPlugin extends Plugin
         // Execute the action
         client.addChatMessage(ChatMessageType.GAMEMESSAGE, "",
             String.format("[AutoPvP] Test %d: %s", testSequenceCounter + 1, actionDesc), null);
-        actionExecutor.executeAction(action);
+        session.executeAction(action);
         testSequenceCounter++;
     }
     private void testActionLoop()
@@ -1046,14 +953,14 @@ public class AutoPvPPlugin extends Plugin
                 "[AutoPvP] === ACTION LOOP TEST ===", null);
             // Step 1: Collect observations
             long startTime = System.currentTimeMillis();
-            java.util.List<Number> observations = environmentBridge.getObservations();
+            java.util.List<Number> observations = session.getObservations();
             long obsTime = System.currentTimeMillis() - startTime;
             client.addChatMessage(ChatMessageType.GAMEMESSAGE, "",
                 String.format("[AutoPvP] Observations: %d values collected in %dms",
                     observations.size(), obsTime), null);
             // Step 2: Get action masks
             startTime = System.currentTimeMillis();
-            java.util.List<java.util.List<Boolean>> masks = environmentBridge.getActionMasks();
+            java.util.List<java.util.List<Boolean>> masks = session.getActionMasks();
             long maskTime = System.currentTimeMillis() - startTime;
             client.addChatMessage(ChatMessageType.GAMEMESSAGE, "",
                 String.format("[AutoPvP] Action masks: %d heads generated in %dms",
@@ -1095,9 +1002,9 @@ public class AutoPvPPlugin extends Plugin
             }
             // Step 6: Test execution (dry run)
             startTime = System.currentTimeMillis();
-            if (actionExecutor != null) {
+            if (session != null) {
                 // Use ActionExecutor which handles both NhEnvironment update and RuneLite actions
-                actionExecutor.executeAction(mockAction);
+                session.executeAction(mockAction);
             } else {
                 log.warn("[AUTOPVP] ActionExecutor unavailable during test run; skipping action dispatch");
             }
@@ -1122,11 +1029,11 @@ public class AutoPvPPlugin extends Plugin
     }
     private void dumpTargetDebug()
     {
-        if (environmentBridge == null) {
+        if (session == null) {
             client.addChatMessage(ChatMessageType.GAMEMESSAGE, "", "[AutoPvP] Target debug unavailable (bridge offline)", null);
             return;
         }
-        DynamicTargetPlayer dynamicTarget = environmentBridge.getDynamicTargetPlayer();
+        DynamicTargetPlayer dynamicTarget = session.getBridge().getDynamicTargetPlayer();
         if (dynamicTarget == null) {
             client.addChatMessage(ChatMessageType.GAMEMESSAGE, "", "[AutoPvP] Target debug unavailable (no dynamic target)", null);
             return;
@@ -1144,7 +1051,8 @@ public class AutoPvPPlugin extends Plugin
             "[AutoPvP] Target item ids: " + Arrays.toString(itemIds), null);
         client.addChatMessage(ChatMessageType.GAMEMESSAGE, "",
             "[AutoPvP] Target bonuses: " + Arrays.toString(bonuses), null);
-        if (combatAdapter != null && combatAdapter.getTarget() instanceof OpponentElvargPlayer) {
+        CombatAdapter combatAdapter = session.getCombatAdapter();
+        if (combatAdapter.getTarget() instanceof OpponentElvargPlayer) {
             OpponentElvargPlayer opponent = (OpponentElvargPlayer) combatAdapter.getTarget();
             client.addChatMessage(ChatMessageType.GAMEMESSAGE, "",
                 "[AutoPvP] Opponent confidence: " + opponent.getEquipmentConfidence(), null);
@@ -1214,6 +1122,7 @@ public class AutoPvPPlugin extends Plugin
                 nonZero, String.format("%.0f", oppHp * 100), equipCount);
         }
         // Also log combat adapter state
+        CombatAdapter combatAdapter = session != null ? session.getCombatAdapter() : null;
         if (combatAdapter != null) {
             Mobile combatTarget = combatAdapter.getTarget();
             if (combatTarget != null) {
@@ -1245,13 +1154,13 @@ public class AutoPvPPlugin extends Plugin
     }
     private void dumpCurrentObservations()
     {
-        if (!adaptersInitialized || environmentBridge == null) {
+        if (!adaptersInitialized || session == null) {
             client.addChatMessage(ChatMessageType.GAMEMESSAGE, "",
                 "[AutoPvP] Plugin not initialized", null);
             return;
         }
         try {
-            java.util.List<Number> observations = environmentBridge.getObservations();
+            java.util.List<Number> observations = session.getObservations();
             if (observations == null || observations.size() != 176) {
                 client.addChatMessage(ChatMessageType.GAMEMESSAGE, "",
                     "[AutoPvP] Invalid obs: " + (observations != null ? observations.size() : "null") + " values",
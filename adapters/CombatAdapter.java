@@ -40,6 +40,7 @@ public class CombatAdapter extends Combat {
     private volatile double[] targetGearBaseline;
     private volatile Supplier<DynamicTargetPlayer> dynamicTargetSupplier;
     private OpponentElvargPlayer opponentElvargPlayer;
+    private NearbyPlayerTracker nearbyPlayerTracker;
 
     // Combat state - volatile for thread safety (RuneLite EventBus thread vs game thread)
     private volatile Mobile target;
@@ -103,6 +104,24 @@ public class CombatAdapter extends Combat {
 
 
 
+    /**
+     * Tracker holding prebuilt opponent wrappers for nearby players.
+     */
+    void setNearbyPlayerTracker(NearbyPlayerTracker tracker) {
+        this.nearbyPlayerTracker = tracker;
+    }
+
+    /**
+     * Builds an inactive opponent wrapper using the current gear baseline.
+     * Used by NearbyPlayerTracker to warm wrappers before interaction begins.
+     */
+    OpponentElvargPlayer createOpponentWrapper(net.runelite.api.Player player) {
+        OpponentElvargPlayer opponent = new OpponentElvargPlayer(
+            eventBus, itemManager, player, targetGearBaseline, dynamicTargetSupplier);
+        opponent.setActive(false);
+        return opponent;
+    }
+
     /**
      * Updates combat state from RuneLite client.
      */
@@ -476,11 +495,20 @@ public class CombatAdapter extends Combat {
             target = null;
             log.info("[COMBAT] Target cleared - calling environmentBridge.updateTarget()");
         } else if (newTarget instanceof net.runelite.api.Player) {
-            // Create OpponentElvargPlayer wrapper for real player
+            // Reuse the prefetched wrapper when available, otherwise build one
             disposeOpponentTarget();
-            opponentElvargPlayer = new OpponentElvargPlayer(
-                eventBus, itemManager, (net.runelite.api.Player) newTarget,
-                targetGearBaseline, dynamicTargetSupplier);
+            net.runelite.api.Player newPlayer = (net.runelite.api.Player) newTarget;
+            OpponentElvargPlayer prebuilt = nearbyPlayerTracker != null
+                ? nearbyPlayerTracker.takePrebuiltOpponent(newPlayer)
+                : null;
+            if (prebuilt != null) {
+                opponentElvargPlayer = prebuilt;
+                opponentElvargPlayer.setActive(true);
+            } else {
+                opponentElvargPlayer = new OpponentElvargPlayer(
+                    eventBus, itemManager, newPlayer,
+                    targetGearBaseline, dynamicTargetSupplier);
+            }
             target = opponentElvargPlayer;
             log.info("[COMBAT] New PvP target: {} (wrapped in OpponentElvargPlayer) - calling environmentBridge.updateTarget()", newTarget.getName());
         } else if (newTarget instanceof NPC) {
@@ -7,20 +7,18 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Actor;
 import net.runelite.api.Client;
 import net.runelite.api.HeadIcon;
-import net.runelite.api.Hitsplat;
 import net.runelite.api.Player;
 import net.runelite.api.Prayer;
 import net.runelite.api.Skill;
-import net.runelite.api.events.HitsplatApplied;
 import net.runelite.client.eventbus.EventBus;
-import net.runelite.client.eventbus.Subscribe;
 
 /**
  * Tracks combat history metrics (attacks, prayers, damage ratios) to approximate
- * naton1's NhEnvironment counters using RuneLite observable events.
+ * naton1's NhEnvironment counters using RuneLite observable events, consumed once
+ * per tick from {@link EventBridgeAdapter}.
  */
 @Slf4j
-public class CombatHistoryTracker
+public class CombatHistoryTracker implements EventBridgeAdapter.TickEventListener
 {
     private static final int RECENT_WINDOW = 5;
     private static final int TARGET_MAX_HP_ESTIMATE = 99;
@@ -69,35 +67,29 @@ public class CombatHistoryTracker
         eventBus.register(this);
     }
 
-    @Subscribe
-    public void onHitsplatApplied(HitsplatApplied event)
+    @Override
+    public void onTickEvents(TickEventBatch batch)
     {
         Player local = client.getLocalPlayer();
-        if (local == null)
-        {
-            return;
-        }
-
-        Hitsplat hitsplat = event.getHitsplat();
-        if (hitsplat == null)
-        {
-            return;
-        }
-
-        Actor actor = event.getActor();
-        if (actor == null)
+        if (local == null || batch.getHitsplatCount() == 0)
         {
             return;
         }
 
         Actor currentTarget = local.getInteracting();
-        if (actor == local)
-        {
-            handleDamageToPlayer(local, currentTarget instanceof Player ? (Player) currentTarget : null, hitsplat.getAmount());
-        }
-        else if (currentTarget != null && actor == currentTarget && actor instanceof Player)
+        Player targetPlayer = currentTarget instanceof Player ? (Player) currentTarget : null;
+
+        for (int i = 0; i < batch.getHitsplatCount(); i++)
         {
-            handleDamageToTarget((Player) actor, hitsplat.getAmount());
+            Actor actor = batch.getHitsplatActor(i);
+            if (actor == local)
+            {
+                handleDamageToPlayer(local, targetPlayer, batch.getHitsplatAmount(i));
+            }
+            else if (targetPlayer != null && actor == targetPlayer)
+            {
+                handleDamageToTarget(targetPlayer, batch.getHitsplatAmount(i));
+            }
         }
     }
 
@@ -71,8 +71,10 @@ public class DynamicTargetPlayer extends Player {
             // We have a real opponent wrapped in OpponentElvargPlayer
             this.currentDelegate = (Player) target;
             // CRITICAL: Set runeliteTarget for real data tracking
-            net.runelite.api.Player rlPlayer = ((OpponentElvargPlayer) target).getRunelitePlayer();
-            this.setRuneliteTarget(rlPlayer); // This also updates equipment
+            OpponentElvargPlayer opponent = (OpponentElvargPlayer) target;
+            net.runelite.api.Player rlPlayer = opponent.getRunelitePlayer();
+            // Reuse the opponent's (possibly prefetched) translation instead of re-translating
+            this.setRuneliteTarget(rlPlayer, opponent.getLastTranslation());
             log.info("[DYNAMIC_TARGET] Switched to real opponent: {} (HP: {})",
                      rlPlayer.getName(), target.getHitpoints());
         } else if (target instanceof Player) {
@@ -219,6 +221,19 @@ public class DynamicTargetPlayer extends Player {
         }
     }
 
+    /**
+     * Update RuneLite target reference using an already computed equipment translation.
+     * Falls back to translating the composition when no translation is available.
+     */
+    public void setRuneliteTarget(net.runelite.api.Player player, TargetEquipmentTranslator.Result translation) {
+        if (player == null || translation == null) {
+            setRuneliteTarget(player);
+            return;
+        }
+        this.runeliteTarget = player;
+        applyTranslation(translation);
+    }
+
     /**
      * Get current RuneLite target for external access.
      */
@@ -245,7 +260,10 @@ public class DynamicTargetPlayer extends Player {
         }
 
         // Map RuneLite equipment slots to Elvarg slots using TargetEquipmentTranslator
-        TargetEquipmentTranslator.Result translation = TargetEquipmentTranslator.translate(composition, itemManager, 0);
+        applyTranslation(TargetEquipmentTranslator.translate(composition, itemManager, null));
+    }
+
+    private void applyTranslation(TargetEquipmentTranslator.Result translation) {
         targetEquipmentItemIds = translation.getItemIds();
         targetEquipmentConfidence = translation.getAverageSlotConfidence();
 
@@ -1,18 +1,24 @@
 package net.runelite.client.plugins.autopvp.adapters;
 
 import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Actor;
 import net.runelite.api.Client;
 import net.runelite.api.events.*;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Adapter that bridges RuneLite events to the Elvarg/Naton environment system.
  * Coordinates event flow between RuneLite's event system and the RSPS environment.
+ *
+ * This is the single ingest point for hitsplat, animation and graphic events.
+ * They are coalesced into a {@link TickEventBatch} as they arrive and the batch is
+ * handed to each {@link TickEventListener} once per tick, in registration order,
+ * before any other game tick handler runs.
  */
 @Slf4j
 public class EventBridgeAdapter {
@@ -33,6 +39,10 @@ public class EventBridgeAdapter {
     private final List<AnimationListener> animationListeners = new CopyOnWriteArrayList<>();
     private final List<GraphicListener> graphicListeners = new CopyOnWriteArrayList<>();
 
+    // Per-tick event consumers; replaced wholesale on registration so dispatch can index the array
+    private volatile TickEventListener[] tickEventListeners = new TickEventListener[0];
+    private final TickEventBatch batch = new TickEventBatch();
+
     // State tracking
     private int currentTick = 0;
     private boolean inCombat = false;
@@ -47,6 +57,13 @@ public class EventBridgeAdapter {
         void onGraphic(int graphicId);
     }
 
+    /**
+     * Receives every hitsplat, animation and graphic event of a tick in one call.
+     */
+    public interface TickEventListener {
+        void onTickEvents(TickEventBatch batch);
+    }
+
     public EventBridgeAdapter(Client client, EventBus eventBus) {
         this.client = client;
         this.eventBus = eventBus;
@@ -56,11 +73,16 @@ public class EventBridgeAdapter {
 
     /**
      * Main game tick handler - coordinates all tick phases.
+     * Runs ahead of other game tick handlers so trackers have consumed this tick's
+     * events before anything reads them.
      */
-    @Subscribe
+    @Subscribe(priority = 10)
     public void onGameTick(GameTick event) {
         currentTick++;
 
+        // Phase 0: Deliver the events coalesced since the previous tick
+        dispatchTickEvents();
+
         // Phase 1: Tick start
         fireTickStart();
 
@@ -78,15 +100,9 @@ public class EventBridgeAdapter {
      */
     @Subscribe
     public void onAnimationChanged(AnimationChanged event) {
-        if (event.getActor() != client.getLocalPlayer()) {
-            return;
-        }
-
-        int animationId = event.getActor().getAnimation();
-        if (animationId != lastAnimation) {
-            lastAnimation = animationId;
-            fireAnimationEvent(animationId);
-            log.debug("[EVENT] Animation changed to: {}", animationId);
+        Actor actor = event.getActor();
+        if (actor != null) {
+            batch.addAnimation(actor, actor.getAnimation());
         }
     }
 
@@ -95,15 +111,9 @@ public class EventBridgeAdapter {
      */
     @Subscribe
     public void onGraphicChanged(GraphicChanged event) {
-        if (event.getActor() != client.getLocalPlayer()) {
-            return;
-        }
-
-        int graphicId = event.getActor().getGraphic();
-        if (graphicId != lastGraphic) {
-            lastGraphic = graphicId;
-            fireGraphicEvent(graphicId);
-            log.debug("[EVENT] Graphic changed to: {}", graphicId);
+        Actor actor = event.getActor();
+        if (actor != null) {
+            batch.addGraphic(actor, actor.getGraphic());
         }
     }
 
@@ -133,11 +143,9 @@ public class EventBridgeAdapter {
      */
     @Subscribe
     public void onHitsplatApplied(HitsplatApplied event) {
-        // Hitsplat events are handled by DamageTrackerAdapter
-        // This is here for completeness and potential future use
-        log.debug("[EVENT] Hitsplat applied: {} damage to {}",
-                 event.getHitsplat().getAmount(),
-                 event.getActor().getName());
+        if (event.getActor() != null && event.getHitsplat() != null) {
+            batch.addHitsplat(event.getActor(), event.getHitsplat());
+        }
     }
 
     /**
@@ -204,8 +212,78 @@ public class EventBridgeAdapter {
         graphicListeners.add(listener);
     }
 
+    /**
+     * Register a per-tick event consumer. Consumers are called in registration order.
+     */
+    public synchronized void addTickEventListener(TickEventListener listener) {
+        TickEventListener[] current = tickEventListeners;
+        TickEventListener[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = listener;
+        tickEventListeners = updated;
+    }
+
+    public synchronized void removeTickEventListener(TickEventListener listener) {
+        TickEventListener[] current = tickEventListeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                TickEventListener[] updated = new TickEventListener[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                tickEventListeners = updated;
+                return;
+            }
+        }
+    }
+
     // Event firing methods
 
+    private void dispatchTickEvents() {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        batch.setTick(client.getTickCount());
+        try {
+            fireLocalAnimationAndGraphic();
+
+            TickEventListener[] listeners = tickEventListeners;
+            for (int i = 0; i < listeners.length; i++) {
+                try {
+                    listeners[i].onTickEvents(batch);
+                } catch (Exception e) {
+                    log.error("[EVENT] Error in tick event listener", e);
+                }
+            }
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private void fireLocalAnimationAndGraphic() {
+        Actor localPlayer = client.getLocalPlayer();
+        if (localPlayer == null) {
+            return;
+        }
+
+        for (int i = 0; i < batch.getAnimationCount(); i++) {
+            int animationId = batch.getAnimationId(i);
+            if (batch.getAnimationActor(i) == localPlayer && animationId != lastAnimation) {
+                lastAnimation = animationId;
+                fireAnimationEvent(animationId);
+                log.debug("[EVENT] Animation changed to: {}", animationId);
+            }
+        }
+
+        for (int i = 0; i < batch.getGraphicCount(); i++) {
+            int graphicId = batch.getGraphicId(i);
+            if (batch.getGraphicActor(i) == localPlayer && graphicId != lastGraphic) {
+                lastGraphic = graphicId;
+                fireGraphicEvent(graphicId);
+                log.debug("[EVENT] Graphic changed to: {}", graphicId);
+            }
+        }
+    }
+
     private void fireTickStart() {
         for (Runnable listener : tickStartListeners) {
             try {
@@ -327,6 +405,8 @@ public class EventBridgeAdapter {
         combatEndListeners.clear();
         animationListeners.clear();
         graphicListeners.clear();
+        tickEventListeners = new TickEventListener[0];
+        batch.clear();
         reset();
         log.debug("[EVENT] EventBridge shutdown");
     }
@@ -8,14 +8,11 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.InventoryID;
 import net.runelite.api.ItemContainer;
-import net.runelite.api.events.AnimationChanged;
 import net.runelite.api.events.ItemContainerChanged;
-import net.runelite.api.gameval.ItemID;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.plugins.autopvp.util.ConsumableTable;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -23,7 +20,7 @@ import java.util.Optional;
  * Tracks food consumption, healing amounts, and eating delays.
  */
 @Slf4j
-public class FoodAdapter {
+public class FoodAdapter implements EventBridgeAdapter.TickEventListener {
 
     private final Client client;
     private final EventBus eventBus;
@@ -37,68 +34,6 @@ public class FoodAdapter {
     private int lastFoodItemId = -1;
     private long lastFoodTime = 0;
 
-    // Map item IDs to Edible types - using numeric IDs from Elvarg source
-    private static final Map<Integer, Food.Edible> FOOD_MAPPING = new HashMap<>();
-    static {
-        // Initialize food mappings from Elvarg Food.java
-        // Fish
-        registerFood(ItemID.ANCHOVIES, Food.Edible.ANCHOVIES);      // Anchovies
-        registerFood(315, Food.Edible.SHRIMPS);        // Shrimps - no ItemID constant (315)
-        registerFood(ItemID.SARDINE, Food.Edible.SARDINE);        // Sardine
-        registerFood(ItemID.COD, Food.Edible.COD);            // Cod
-        registerFood(ItemID.TROUT, Food.Edible.TROUT);          // Trout
-        registerFood(ItemID.PIKE, Food.Edible.PIKE);           // Pike
-        registerFood(ItemID.SALMON, Food.Edible.SALMON);         // Salmon
-        registerFood(ItemID.TUNA, Food.Edible.TUNA);           // Tuna
-        registerFood(ItemID.LOBSTER, Food.Edible.LOBSTER);        // Lobster
-        registerFood(ItemID.BASS, Food.Edible.BASS);           // Bass
-        registerFood(ItemID.SWORDFISH, Food.Edible.SWORDFISH);      // Swordfish
-        registerFood(ItemID.MONKFISH, Food.Edible.MONKFISH);      // Monkfish
-        registerFood(ItemID.SHARK, Food.Edible.SHARK);          // Shark
-        registerFood(ItemID.SEATURTLE, Food.Edible.SEA_TURTLE);     // Sea turtle
-        registerFood(ItemID.DARK_CRAB, Food.Edible.DARK_CRAB);    // Dark crab
-        registerFood(ItemID.MANTARAY, Food.Edible.MANTA_RAY);      // Manta ray
-        registerFood(ItemID.TBWT_COOKED_KARAMBWAN, Food.Edible.KARAMBWAN);     // Karambwan
-        registerFood(ItemID.ANGLERFISH, Food.Edible.ANGLERFISH);   // Anglerfish
-
-        // Baked goods
-        registerFood(ItemID.POTATO, Food.Edible.POTATO);        // Potato
-        registerFood(ItemID.POTATO_BAKED, Food.Edible.BAKED_POTATO);  // Baked potato
-        registerFood(ItemID.POTATO_BUTTER, Food.Edible.POTATO_WITH_BUTTER);  // Potato with butter
-        registerFood(ItemID.POTATO_CHILLI_CARNE, Food.Edible.CHILLI_POTATO); // Chilli potato
-        registerFood(ItemID.POTATO_EGG_TOMATO, Food.Edible.EGG_POTATO);    // Egg potato
-        registerFood(ItemID.POTATO_CHEESE, Food.Edible.POTATO_WITH_CHEESE);  // Potato with cheese
-        registerFood(ItemID.POTATO_MUSHROOM_ONION, Food.Edible.MUSHROOM_POTATO);     // Mushroom potato
-        registerFood(ItemID.POTATO_TUNA_SWEETCORN, Food.Edible.TUNA_POTATO);   // Tuna potato
-
-        // Fruit
-        registerFood(ItemID.BANANA, Food.Edible.BANANA);        // Banana
-        registerFood(18199, Food.Edible.BANANA_);      // Banana (variant) - no ItemID constant (18199)
-        registerFood(ItemID.CABBAGE, Food.Edible.CABBAGE);       // Cabbage
-        registerFood(ItemID.ORANGE, Food.Edible.ORANGE);        // Orange
-        registerFood(ItemID.PINEAPPLE_CHUNKS, Food.Edible.PINEAPPLE_CHUNKS);    // Pineapple chunks
-        registerFood(ItemID.PINEAPPLE_RING, Food.Edible.PINEAPPLE_RINGS);     // Pineapple rings
-        registerFood(ItemID.PEACH, Food.Edible.PEACH);         // Peach
-
-        // Other
-        registerFood(ItemID.KEBAB, Food.Edible.KEBAB);         // Kebab
-        registerFood(ItemID.CHEESE, Food.Edible.CHEESE);        // Cheese
-        registerFood(ItemID.CAKE, Food.Edible.CAKE);          // Cake
-        registerFood(ItemID.PARTIAL_CAKE, Food.Edible.SECOND_CAKE_SLICE);   // Second cake slice
-        registerFood(ItemID.CAKE_SLICE, Food.Edible.THIRD_CAKE_SLICE);    // Third cake slice
-        registerFood(14640, Food.Edible.BANDAGES);     // Bandages - ItemID.CASTLEWARS_BANDAGES is different (14640 vs 4049)
-        registerFood(ItemID.JANGERBERRIES, Food.Edible.JANGERBERRIES);  // Jangerberries
-        registerFood(ItemID.WORM_CRUNCHIES, Food.Edible.WORM_CRUNCHIES);      // Worm crunchies
-        registerFood(ItemID.EDIBLE_SEAWEED, Food.Edible.EDIBLE_SEAWEED); // Edible seaweed
-        registerFood(ItemID.MEAT_PIZZA, Food.Edible.MEAT_PIZZA);    // Meat pizza
-        registerFood(ItemID.SPINACH_ROLL, Food.Edible.SPINACH_ROLL);  // Spinach roll
-        registerFood(4561, Food.Edible.PURPLE_SWEETS); // Purple sweets - no exact ItemID constant (4561)
-    }
-
-    private static void registerFood(int itemId, Food.Edible type) {
-        FOOD_MAPPING.put(itemId, type);
-    }
-
     public FoodAdapter(Client client, EventBus eventBus, TimerManagerAdapter timerManager) {
         this.client = client;
         this.eventBus = eventBus;
@@ -106,15 +41,14 @@ public class FoodAdapter {
         eventBus.register(this);
     }
 
-    @Subscribe
-    public void onAnimationChanged(AnimationChanged event) {
-        if (event.getActor() != client.getLocalPlayer()) {
-            return;
-        }
-
-        if (event.getActor().getAnimation() == EAT_ANIMATION) {
-            // Player is eating food
-            handleFoodConsumption();
+    @Override
+    public void onTickEvents(TickEventBatch batch) {
+        net.runelite.api.Player localPlayer = client.getLocalPlayer();
+        for (int i = 0; i < batch.getAnimationCount(); i++) {
+            if (batch.getAnimationActor(i) == localPlayer && batch.getAnimationId(i) == EAT_ANIMATION) {
+                handleFoodConsumption();
+                return;
+            }
         }
     }
 
@@ -176,21 +110,21 @@ public class FoodAdapter {
      * Get the Food.Edible type for an item ID.
      */
     public Optional<Food.Edible> getFoodType(int itemId) {
-        return Optional.ofNullable(FOOD_MAPPING.get(itemId));
+        return Optional.ofNullable(ConsumableTable.getEdible(itemId));
     }
 
     /**
      * Check if an item is food.
      */
     public boolean isFood(int itemId) {
-        return FOOD_MAPPING.containsKey(itemId);
+        return ConsumableTable.isFood(itemId);
     }
 
     /**
      * Get the heal amount for a food item.
      */
     public int getHealAmount(int itemId) {
-        Food.Edible food = FOOD_MAPPING.get(itemId);
+        Food.Edible food = ConsumableTable.getEdible(itemId);
         if (food == null) {
             return 0;
         }
@@ -259,11 +193,8 @@ public class FoodAdapter {
 
         int count = 0;
         for (net.runelite.api.Item item : inventory.getItems()) {
-            if (item != null) {
-                Optional<Food.Edible> foodType = getFoodType(item.getId());
-                if (foodType.isPresent() && foodType.get() == type) {
-                    count++;
-                }
+            if (item != null && ConsumableTable.getEdible(item.getId()) == type) {
+                count++;
             }
         }
 
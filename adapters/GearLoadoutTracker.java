@@ -16,12 +16,12 @@ import net.runelite.api.ItemContainer;
 import net.runelite.api.Player;
 import net.runelite.api.PlayerComposition;
 import net.runelite.api.events.GameTick;
-import net.runelite.api.events.HitsplatApplied;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.game.ItemEquipmentStats;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.game.ItemStats;
+import net.runelite.client.plugins.autopvp.util.BonusMath;
 import net.runelite.client.plugins.autopvp.util.TargetEquipmentTranslator;
 
 /**
@@ -29,7 +29,7 @@ import net.runelite.client.plugins.autopvp.util.TargetEquipmentTranslator;
  * Mirrors naton1's NhEnvironment gear logic with RuneLite item metadata.
  */
 @Slf4j
-public class GearLoadoutTracker
+public class GearLoadoutTracker implements EventBridgeAdapter.TickEventListener
 {
     private static final double DEFAULT_RANGED_ATTACK_RANGE = 7.0;
     private static final int MIN_ATTACK_SPEED = 1;
@@ -50,6 +50,7 @@ public class GearLoadoutTracker
     private TargetEquipmentTranslator.Result lastTargetTranslation;
     private final double[] targetBaselineBonuses = new double[TargetEquipmentTranslator.BONUS_COUNT];
     private final double[] lastTargetBlendedBonuses = new double[TargetEquipmentTranslator.BONUS_COUNT];
+    private final double[] localBonuses = new double[TargetEquipmentTranslator.BONUS_COUNT];
     private int targetStaleTicks;
 
     private ItemContainer lastEquipment;
@@ -158,17 +159,11 @@ public class GearLoadoutTracker
         updateTargetGearState();
     }
 
-    @Subscribe
-    public void onHitsplatApplied(HitsplatApplied event)
+    @Override
+    public void onTickEvents(TickEventBatch batch)
     {
         Player localPlayer = client.getLocalPlayer();
-        if (localPlayer == null)
-        {
-            return;
-        }
-
-        Actor actor = event.getActor();
-        if (actor == null)
+        if (localPlayer == null || batch.getHitsplatCount() == 0)
         {
             return;
         }
@@ -181,23 +176,32 @@ public class GearLoadoutTracker
 
         Player targetPlayer = (Player) interacting;
 
-        if (actor == localPlayer)
+        boolean localHit = false;
+        boolean targetHit = false;
+        for (int i = 0; i < batch.getHitsplatCount(); i++)
         {
-            TargetEquipmentTranslator.Result translation = translateTarget(targetPlayer);
-            if (translation != null)
-            {
-                updateTargetCurrentStats(translation);
-                CombatType targetStyle = timerManagerAdapter.getTargetLastAttackType(targetPlayer);
-                updateTargetLastStats(targetStyle, translation);
-            }
+            Actor actor = batch.getHitsplatActor(i);
+            localHit |= actor == localPlayer;
+            targetHit |= actor == targetPlayer;
+        }
+
+        if (!localHit && !targetHit)
+        {
+            return;
         }
-        else if (actor == targetPlayer)
+
+        // Several hitsplats in one tick only need one translation
+        TargetEquipmentTranslator.Result translation = translateTarget(targetPlayer);
+        if (translation == null)
         {
-            TargetEquipmentTranslator.Result translation = translateTarget(targetPlayer);
-            if (translation != null)
-            {
-                updateTargetCurrentStats(translation);
-            }
+            return;
+        }
+
+        updateTargetCurrentStats(translation);
+        if (localHit)
+        {
+            CombatType targetStyle = timerManagerAdapter.getTargetLastAttackType(targetPlayer);
+            updateTargetLastStats(targetStyle, translation);
         }
     }
 
@@ -351,44 +355,34 @@ public class GearLoadoutTracker
             return;
         }
 
+        // Sum the cached per-item vectors, then read the features off the total
+        Arrays.fill(localBonuses, 0);
         for (Item item : items)
         {
             if (item == null || item.getId() <= 0)
             {
                 continue;
             }
-
-            ItemStats stats = itemManager.getItemStats(item.getId());
-            if (stats == null)
-            {
-                continue;
-            }
-
-            ItemEquipmentStats equip = stats.getEquipment();
-            if (equip == null)
-            {
-                continue;
-            }
-
-            magicGearAccuracy += equip.getAmagic();
-            magicGearStrength += equip.getMdmg();
-            rangedGearAccuracy += equip.getArange();
-            rangedGearStrength += equip.getRstr();
-            meleeGearAccuracy += equip.getAslash();
-            meleeGearStrength += equip.getStr();
-
-            magicGearRangedDefence += equip.getDrange();
-            magicGearMageDefence += equip.getDmagic();
-            magicGearMeleeDefence += equip.getDslash();
-
-            rangedGearRangedDefence += equip.getDrange();
-            rangedGearMageDefence += equip.getDmagic();
-            rangedGearMeleeDefence += equip.getDslash();
-
-            meleeGearRangedDefence += equip.getDrange();
-            meleeGearMageDefence += equip.getDmagic();
-            meleeGearMeleeDefence += equip.getDslash();
+            BonusMath.add(localBonuses, TargetEquipmentTranslator.getItemBonuses(itemManager, item.getId()));
         }
+
+        magicGearAccuracy = localBonuses[3];
+        magicGearStrength = localBonuses[12];
+        rangedGearAccuracy = localBonuses[4];
+        rangedGearStrength = localBonuses[11];
+        meleeGearAccuracy = localBonuses[1];
+        meleeGearStrength = localBonuses[10];
+
+        // Only the worn set is known, so every style sees the same defences
+        magicGearRangedDefence = localBonuses[9];
+        magicGearMageDefence = localBonuses[8];
+        magicGearMeleeDefence = localBonuses[6];
+        rangedGearRangedDefence = localBonuses[9];
+        rangedGearMageDefence = localBonuses[8];
+        rangedGearMeleeDefence = localBonuses[6];
+        meleeGearRangedDefence = localBonuses[9];
+        meleeGearMageDefence = localBonuses[8];
+        meleeGearMeleeDefence = localBonuses[6];
     }
 
     private TargetEquipmentTranslator.Result translateTarget(Player target)
@@ -398,7 +392,8 @@ public class GearLoadoutTracker
         {
             return null;
         }
-        return TargetEquipmentTranslator.translate(composition, itemManager, target.getId());
+        lastTargetTranslation = TargetEquipmentTranslator.translate(composition, itemManager, lastTargetTranslation);
+        return lastTargetTranslation;
     }
 
     private void updateTargetCurrentStats(TargetEquipmentTranslator.Result translation)
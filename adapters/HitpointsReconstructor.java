@@ -0,0 +1,347 @@
+package net.runelite.client.plugins.autopvp.adapters;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Actor;
+import net.runelite.api.Client;
+import net.runelite.api.HitsplatID;
+import net.runelite.api.Player;
+import net.runelite.api.Skill;
+
+/**
+ * Reconstructs other players' hitpoints from health bars and hitsplats.
+ *
+ * A health bar ratio only pins HP to an interval (about 3 HP wide at 99 max HP on
+ * the 30-wide player bar). Each tracked player keeps the interval their HP is known
+ * to lie in: damage hitsplats shift it down, heal hitsplats shift it up (capped at
+ * max HP), and every bar reading intersects it with the interval that reading stands
+ * for. A few hits are usually enough to narrow it to a single value. An empty
+ * intersection means the player healed without a splat, e.g. by eating (or the max HP
+ * guess was off), and the interval restarts from the reading.
+ *
+ * Ratio to HP interval lookups come from tables precomputed per bar width and max HP.
+ * The local player's HP is read exactly from the skill levels.
+ *
+ * Per-player state lives in a bounded access-ordered map keyed by player index, so
+ * players that leave are evicted instead of accumulating. Must only be used from the
+ * client thread.
+ */
+@Slf4j
+public class HitpointsReconstructor implements EventBridgeAdapter.TickEventListener
+{
+    public static final int DEFAULT_MAX_HITPOINTS = 99;
+
+    private static final int MAX_TRACKED_PLAYERS = 32;
+    private static final int MAX_TABLE_HITPOINTS = 99;
+    private static final int MAX_TABLE_SCALE = 255;
+
+    /**
+     * Lowest and highest HP per (max HP, ratio) for one bar width.
+     */
+    private static final class RatioTable
+    {
+        final int scale;
+        final short[] low;
+        final short[] high;
+
+        RatioTable(int scale)
+        {
+            this.scale = scale;
+            int size = (MAX_TABLE_HITPOINTS + 1) * (scale + 1);
+            this.low = new short[size];
+            this.high = new short[size];
+            for (int maxHp = 1; maxHp <= MAX_TABLE_HITPOINTS; maxHp++)
+            {
+                for (int ratio = 0; ratio <= scale; ratio++)
+                {
+                    int index = maxHp * (scale + 1) + ratio;
+                    low[index] = (short) computeLowHitpoints(maxHp, ratio, scale);
+                    high[index] = (short) computeHighHitpoints(maxHp, ratio, scale);
+                }
+            }
+        }
+    }
+
+    // Built on first use per bar width and shared by every session; tables are immutable
+    // once published, so a racing first use only builds an identical copy
+    private static final RatioTable[] RATIO_TABLES = new RatioTable[MAX_TABLE_SCALE + 1];
+
+    private static final class Estimate
+    {
+        Player player;
+        int maxHp;
+        int low;
+        int high;
+        boolean dead;
+    }
+
+    private final Client client;
+    private final Map<Integer, Estimate> estimates =
+        new LinkedHashMap<Integer, Estimate>(MAX_TRACKED_PLAYERS, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Estimate> eldest)
+            {
+                return size() > MAX_TRACKED_PLAYERS;
+            }
+        };
+
+    private volatile ToIntFunction<Player> maxHitpointsResolver = player -> DEFAULT_MAX_HITPOINTS;
+
+    public HitpointsReconstructor(Client client)
+    {
+        this.client = client;
+    }
+
+    /**
+     * Source of max HP estimates for other players (e.g. the stat inference of the
+     * current opponent). Defaults to {@link #DEFAULT_MAX_HITPOINTS}.
+     */
+    public void setMaxHitpointsResolver(ToIntFunction<Player> resolver)
+    {
+        this.maxHitpointsResolver = resolver != null ? resolver : player -> DEFAULT_MAX_HITPOINTS;
+    }
+
+    @Override
+    public void onTickEvents(TickEventBatch batch)
+    {
+        Player localPlayer = client.getLocalPlayer();
+
+        // Shift tracked intervals by this tick's damage and heals, then narrow them with the bars
+        for (int i = 0; i < batch.getHitsplatCount(); i++)
+        {
+            Actor actor = batch.getHitsplatActor(i);
+            if (!(actor instanceof Player) || actor == localPlayer)
+            {
+                continue;
+            }
+
+            Estimate estimate = estimates.get(((Player) actor).getId());
+            if (estimate != null && estimate.player == actor)
+            {
+                int amount = Math.max(0, batch.getHitsplatAmount(i));
+                if (batch.getHitsplatType(i) == HitsplatID.HEAL)
+                {
+                    estimate.low = Math.min(estimate.maxHp, estimate.low + amount);
+                    estimate.high = Math.min(estimate.maxHp, estimate.high + amount);
+                }
+                else
+                {
+                    // Every other type in PvP (hits, blocks, poison, venom) is HP lost
+                    estimate.low = Math.max(0, estimate.low - amount);
+                    estimate.high = Math.max(0, estimate.high - amount);
+                }
+            }
+        }
+
+        for (Estimate estimate : estimates.values())
+        {
+            applyHealthBar(estimate);
+        }
+
+        Actor interacting = localPlayer != null ? localPlayer.getInteracting() : null;
+        if (interacting instanceof Player)
+        {
+            estimateFor((Player) interacting);
+        }
+    }
+
+    /**
+     * Health as a fraction of max HP: exact for the local player, the midpoint of the
+     * reconstructed interval for others, 1 for players never seen with a bar.
+     */
+    public float getHealthPercent(Player player)
+    {
+        if (player == null)
+        {
+            return 0f;
+        }
+
+        if (player == client.getLocalPlayer())
+        {
+            return getLocalHealthPercent(player);
+        }
+
+        Estimate estimate = estimateFor(player);
+        if (estimate.dead || estimate.maxHp <= 0)
+        {
+            return 0f;
+        }
+        return Math.min(1f, (estimate.low + estimate.high) / (2f * estimate.maxHp));
+    }
+
+    /**
+     * Lower bound of the player's current HP.
+     */
+    public int getLowHitpoints(Player player)
+    {
+        return player != null ? estimateFor(player).low : 0;
+    }
+
+    /**
+     * Upper bound of the player's current HP.
+     */
+    public int getHighHitpoints(Player player)
+    {
+        return player != null ? estimateFor(player).high : 0;
+    }
+
+    private float getLocalHealthPercent(Player localPlayer)
+    {
+        int boosted = client.getBoostedSkillLevel(Skill.HITPOINTS);
+        int real = client.getRealSkillLevel(Skill.HITPOINTS);
+        if (real > 0)
+        {
+            return Math.min(1f, Math.max(0f, boosted / (float) real));
+        }
+        return percentFromBar(localPlayer, 1f);
+    }
+
+    private Estimate estimateFor(Player player)
+    {
+        Estimate estimate = estimates.get(player.getId());
+        if (estimate == null || estimate.player != player)
+        {
+            estimate = new Estimate();
+            estimate.player = player;
+            estimate.maxHp = resolveMaxHitpoints(player);
+            // No bar yet means no recent damage; assume full health
+            estimate.low = estimate.maxHp;
+            estimate.high = estimate.maxHp;
+            estimates.put(player.getId(), estimate);
+            applyHealthBar(estimate);
+        }
+        return estimate;
+    }
+
+    private void applyHealthBar(Estimate estimate)
+    {
+        Player player = estimate.player;
+        int maxHp = resolveMaxHitpoints(player);
+        if (maxHp != estimate.maxHp)
+        {
+            // Rescale the old interval to the new max HP before narrowing again
+            estimate.low = estimate.low * maxHp / Math.max(1, estimate.maxHp);
+            estimate.high = Math.min(maxHp, (estimate.high * maxHp + estimate.maxHp - 1) / Math.max(1, estimate.maxHp));
+            estimate.maxHp = maxHp;
+        }
+
+        int ratio = player.getHealthRatio();
+        int scale = player.getHealthScale();
+        if (ratio < 0 || scale <= 0)
+        {
+            if (estimate.dead)
+            {
+                // The bar of a dead player only clears once they respawn at full health
+                estimate.dead = false;
+                estimate.low = maxHp;
+                estimate.high = maxHp;
+            }
+            // Otherwise the bar is just hidden; keep the last interval
+            return;
+        }
+
+        estimate.dead = ratio == 0;
+        int low = getLowHitpoints(maxHp, ratio, scale);
+        int high = getHighHitpoints(maxHp, ratio, scale);
+        int narrowedLow = Math.max(estimate.low, low);
+        int narrowedHigh = Math.min(estimate.high, high);
+        if (narrowedLow > narrowedHigh)
+        {
+            // Healed, or the max HP guess was off; trust the bar alone
+            narrowedLow = low;
+            narrowedHigh = high;
+        }
+        estimate.low = narrowedLow;
+        estimate.high = narrowedHigh;
+    }
+
+    private int resolveMaxHitpoints(Player player)
+    {
+        int maxHp = maxHitpointsResolver.applyAsInt(player);
+        return maxHp > 0 ? maxHp : DEFAULT_MAX_HITPOINTS;
+    }
+
+    public void shutdown()
+    {
+        estimates.clear();
+    }
+
+    /**
+     * Lowest HP a bar ratio can stand for at the given max HP.
+     */
+    public static int getLowHitpoints(int maxHp, int ratio, int scale)
+    {
+        RatioTable table = tableFor(maxHp, ratio, scale);
+        return table != null ? table.low[maxHp * (scale + 1) + ratio] : computeLowHitpoints(maxHp, ratio, scale);
+    }
+
+    /**
+     * Highest HP a bar ratio can stand for at the given max HP.
+     */
+    public static int getHighHitpoints(int maxHp, int ratio, int scale)
+    {
+        RatioTable table = tableFor(maxHp, ratio, scale);
+        return table != null ? table.high[maxHp * (scale + 1) + ratio] : computeHighHitpoints(maxHp, ratio, scale);
+    }
+
+    /**
+     * Health fraction straight from a player's bar, or the fallback when it is hidden.
+     */
+    public static float percentFromBar(Player player, float fallback)
+    {
+        int ratio = player.getHealthRatio();
+        int scale = player.getHealthScale();
+        if (ratio < 0 || scale <= 0)
+        {
+            return fallback;
+        }
+        return ratio / (float) scale;
+    }
+
+    private static RatioTable tableFor(int maxHp, int ratio, int scale)
+    {
+        if (maxHp < 1 || maxHp > MAX_TABLE_HITPOINTS || scale < 1 || scale > MAX_TABLE_SCALE
+            || ratio < 0 || ratio > scale)
+        {
+            return null;
+        }
+
+        RatioTable table = RATIO_TABLES[scale];
+        if (table == null)
+        {
+            table = new RatioTable(scale);
+            RATIO_TABLES[scale] = table;
+        }
+        return table;
+    }
+
+    // The server draws ratio = 1 + (hp * (scale - 1)) / maxHp for living players; these invert it
+    private static int computeLowHitpoints(int maxHp, int ratio, int scale)
+    {
+        if (ratio <= 0)
+        {
+            return 0;
+        }
+        if (scale <= 1 || ratio <= 1)
+        {
+            return 1;
+        }
+        return Math.min(maxHp, (maxHp * (ratio - 1) + scale - 2) / (scale - 1));
+    }
+
+    private static int computeHighHitpoints(int maxHp, int ratio, int scale)
+    {
+        if (ratio <= 0)
+        {
+            return 0;
+        }
+        if (scale <= 1)
+        {
+            return maxHp;
+        }
+        return Math.max(1, Math.min(maxHp, (maxHp * ratio - 1) / (scale - 1)));
+    }
+}
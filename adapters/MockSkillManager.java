@@ -99,6 +99,15 @@ public class MockSkillManager extends SkillManager {
         int prayer = getCurrentLevel(Skill.PRAYER);
         int magic = getCurrentLevel(Skill.MAGIC);
 
+        return computeCombatLevel(attack, strength, defence, hitpoints, ranged, prayer, magic);
+    }
+
+    /**
+     * Combat level formula, shared with {@link OpponentStatInference} which buckets
+     * its stat hypotheses by the level they produce.
+     */
+    public static int computeCombatLevel(int attack, int strength, int defence, int hitpoints,
+                                         int ranged, int prayer, int magic) {
         double base = 0.25 * (defence + hitpoints + Math.floor(prayer / 2));
         double melee = 0.325 * (attack + strength);
         double range = 0.325 * (Math.floor(ranged / 2) + ranged);
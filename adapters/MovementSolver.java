@@ -0,0 +1,229 @@
+package net.runelite.client.plugins.autopvp.adapters;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.Arrays;
+
+/**
+ * Picks walk destinations for the movement actions (adjacent, under, farcast,
+ * diagonal) using the scene collision snapshot.
+ *
+ * Candidate tiles around the target come from offset rings precomputed per
+ * distance. A breadth-first search from the local player over the collision grid
+ * then finds the candidate with the fewest steps, stopping as soon as the search
+ * frontier passes the best candidate found. Farcast candidates also need line of
+ * sight to the target, and adjacent candidates must not be walled off from it.
+ *
+ * Buffers are reused between calls, so this must only be used from the client thread.
+ */
+@Slf4j
+public class MovementSolver {
+
+    public enum Mode {
+        ADJACENT,
+        UNDER,
+        FARCAST,
+        DIAGONAL
+    }
+
+    public static final int MAX_FARCAST_DISTANCE = 10;
+
+    // Chebyshev radius around the player explored by the search
+    private static final int MAX_SEARCH_RADIUS = 24;
+
+    private static final int SCENE_SIZE = SceneCollisionCache.SCENE_SIZE;
+
+    private static final int[] UNDER_OFFSETS = {0, 0};
+    private static final int[] CARDINAL_OFFSETS = {0, 1, 1, 0, 0, -1, -1, 0};
+    private static final int[] DIAGONAL_OFFSETS = {1, 1, 1, -1, -1, -1, -1, 1};
+    // Packed (dx, dy) pairs for every tile at exactly Chebyshev distance d
+    private static final int[][] RINGS = buildRings(MAX_FARCAST_DISTANCE);
+
+    private static final int[] STEP_DX = {0, 1, 0, -1, 1, 1, -1, -1};
+    private static final int[] STEP_DY = {1, 0, -1, 0, 1, -1, -1, 1};
+
+    private final SceneCollisionCache scene;
+
+    private final int[] visitedStamp = new int[SCENE_SIZE * SCENE_SIZE];
+    private final int[] stepCount = new int[SCENE_SIZE * SCENE_SIZE];
+    private final int[] candidateStamp = new int[SCENE_SIZE * SCENE_SIZE];
+    private final int[] queue = new int[SCENE_SIZE * SCENE_SIZE];
+    private int stamp;
+
+    public MovementSolver(SceneCollisionCache scene) {
+        this.scene = scene;
+    }
+
+    /**
+     * Nearest reachable tile for a movement mode, or null when the scene has no
+     * collision data or no candidate is reachable within the search radius.
+     *
+     * @param distance farcast distance in tiles; ignored for the other modes
+     */
+    public WorldPoint solve(WorldPoint from, WorldPoint target, Mode mode, int distance) {
+        if (from == null || target == null || from.getPlane() != target.getPlane()) {
+            return null;
+        }
+
+        if (!scene.sync(from.getPlane())) {
+            return null;
+        }
+
+        int startX = scene.toSceneX(from.getX());
+        int startY = scene.toSceneY(from.getY());
+        int targetX = scene.toSceneX(target.getX());
+        int targetY = scene.toSceneY(target.getY());
+        if (!SceneCollisionCache.inScene(startX, startY) || !SceneCollisionCache.inScene(targetX, targetY)) {
+            return null;
+        }
+
+        int[] offsets = offsetsFor(mode, distance);
+        int result = search(startX, startY, targetX, targetY, mode, offsets);
+        if (result < 0 && mode == Mode.UNDER) {
+            // Target stands on a tile we cannot reach; settle for next to them
+            result = search(startX, startY, targetX, targetY, Mode.ADJACENT, CARDINAL_OFFSETS);
+        }
+
+        if (result < 0) {
+            log.debug("[PATH] No reachable {} tile around ({}, {})", mode, target.getX(), target.getY());
+            return null;
+        }
+
+        int sceneX = result / SCENE_SIZE;
+        int sceneY = result % SCENE_SIZE;
+        return new WorldPoint(scene.toWorldX(sceneX), scene.toWorldY(sceneY), from.getPlane());
+    }
+
+    private static int[] offsetsFor(Mode mode, int distance) {
+        switch (mode) {
+            case UNDER:
+                return UNDER_OFFSETS;
+            case ADJACENT:
+                return CARDINAL_OFFSETS;
+            case DIAGONAL:
+                return DIAGONAL_OFFSETS;
+            case FARCAST:
+            default:
+                return RINGS[Math.max(1, Math.min(MAX_FARCAST_DISTANCE, distance))];
+        }
+    }
+
+    /**
+     * Returns the packed scene index of the best candidate, or -1.
+     */
+    private int search(int startX, int startY, int targetX, int targetY, Mode mode, int[] offsets) {
+        stamp++;
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(visitedStamp, 0);
+            Arrays.fill(candidateStamp, 0);
+            stamp = 1;
+        }
+
+        int remaining = 0;
+        for (int i = 0; i < offsets.length; i += 2) {
+            int x = targetX + offsets[i];
+            int y = targetY + offsets[i + 1];
+            if (isCandidate(x, y, targetX, targetY, mode)) {
+                candidateStamp[SceneCollisionCache.index(x, y)] = stamp;
+                remaining++;
+            }
+        }
+
+        if (remaining == 0) {
+            return -1;
+        }
+
+        int best = -1;
+        int bestSteps = Integer.MAX_VALUE;
+        int bestSpread = Integer.MAX_VALUE;
+
+        int head = 0;
+        int tail = 0;
+        int start = SceneCollisionCache.index(startX, startY);
+        visitedStamp[start] = stamp;
+        stepCount[start] = 0;
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int node = queue[head++];
+            int steps = stepCount[node];
+            if (steps > bestSteps) {
+                break;
+            }
+
+            int x = node / SCENE_SIZE;
+            int y = node % SCENE_SIZE;
+
+            if (candidateStamp[node] == stamp) {
+                // Among equally short walks prefer the tile closest to where we stand
+                int spread = (x - startX) * (x - startX) + (y - startY) * (y - startY);
+                if (steps < bestSteps || spread < bestSpread) {
+                    best = node;
+                    bestSteps = steps;
+                    bestSpread = spread;
+                }
+                if (--remaining == 0) {
+                    break;
+                }
+            }
+
+            for (int dir = 0; dir < STEP_DX.length; dir++) {
+                int nx = x + STEP_DX[dir];
+                int ny = y + STEP_DY[dir];
+                if (Math.abs(nx - startX) > MAX_SEARCH_RADIUS || Math.abs(ny - startY) > MAX_SEARCH_RADIUS) {
+                    continue;
+                }
+                if (!scene.canStep(x, y, STEP_DX[dir], STEP_DY[dir])) {
+                    continue;
+                }
+
+                int next = SceneCollisionCache.index(nx, ny);
+                if (visitedStamp[next] == stamp) {
+                    continue;
+                }
+
+                visitedStamp[next] = stamp;
+                stepCount[next] = steps + 1;
+                queue[tail++] = next;
+            }
+        }
+
+        return best;
+    }
+
+    private boolean isCandidate(int x, int y, int targetX, int targetY, Mode mode) {
+        if (!SceneCollisionCache.inScene(x, y) || !scene.isWalkable(x, y)) {
+            return false;
+        }
+
+        switch (mode) {
+            case ADJACENT:
+                // Melee needs the edge between us and the target to be open
+                return scene.canStep(x, y, targetX - x, targetY - y);
+            case FARCAST:
+                return scene.hasLineOfSight(x, y, targetX, targetY);
+            default:
+                return true;
+        }
+    }
+
+    private static int[][] buildRings(int maxDistance) {
+        int[][] rings = new int[maxDistance + 1][];
+        rings[0] = UNDER_OFFSETS;
+        for (int d = 1; d <= maxDistance; d++) {
+            int[] ring = new int[8 * d * 2];
+            int i = 0;
+            for (int dx = -d; dx <= d; dx++) {
+                for (int dy = -d; dy <= d; dy++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dy)) == d) {
+                        ring[i++] = dx;
+                        ring[i++] = dy;
+                    }
+                }
+            }
+            rings[d] = ring;
+        }
+        return rings;
+    }
+}
@@ -0,0 +1,268 @@
+package net.runelite.client.plugins.autopvp.adapters;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.Player;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.PlayerDespawned;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.eventbus.Subscribe;
+
+/**
+ * Maintains a scored set of nearby players so that target state is warm before
+ * interaction begins.
+ *
+ * Every tick the players from {@link Client#getPlayers()} within
+ * {@link #MAX_TRACK_DISTANCE} tiles are scored for threat, and the highest-threat
+ * candidates get an {@link OpponentElvargPlayer} wrapper built ahead of time; the
+ * wrapper translates and tracks that player's equipment itself. When the local player
+ * starts interacting with one of them, {@link CombatAdapter} takes the prebuilt
+ * wrapper instead of constructing a cold one.
+ */
+@Slf4j
+public class NearbyPlayerTracker
+{
+    private static final int MAX_TRACK_DISTANCE = 15;
+    private static final int MAX_PREBUILT_OPPONENTS = 3;
+    // Wrappers survive until the candidate drops well below the prebuilt cut-off
+    private static final int PREBUILT_RELEASE_RANK = MAX_PREBUILT_OPPONENTS * 2;
+    private static final int RECENT_ATTACK_TICKS = 10;
+
+    private static final double INTERACTING_WITH_US_WEIGHT = 1.0;
+    private static final double OUR_TARGET_WEIGHT = 1.0;
+    private static final double RECENT_ATTACK_WEIGHT = 0.5;
+    private static final double PROXIMITY_WEIGHT = 0.5;
+
+    /**
+     * Prefetched state for a single nearby player.
+     */
+    private static final class Candidate
+    {
+        private final Player player;
+        private int lastSeenTick;
+        private double threatScore;
+        private OpponentElvargPlayer opponent;
+
+        private Candidate(Player player)
+        {
+            this.player = player;
+        }
+
+        double getThreatScore()
+        {
+            return threatScore;
+        }
+    }
+
+    private final Client client;
+    private final EventBus eventBus;
+    private final TimerManagerAdapter timerManagerAdapter;
+    private final Map<Integer, Candidate> candidates = new ConcurrentHashMap<>();
+    private final List<Candidate> ranked = new ArrayList<>();
+
+    private CombatAdapter combatAdapter;
+
+    public NearbyPlayerTracker(Client client, EventBus eventBus, TimerManagerAdapter timerManagerAdapter)
+    {
+        this.client = client;
+        this.eventBus = eventBus;
+        this.timerManagerAdapter = timerManagerAdapter;
+        eventBus.register(this);
+    }
+
+    /**
+     * Set reference to CombatAdapter, which builds opponent wrappers with the
+     * current loadout baseline and hands interaction targets back to this tracker.
+     */
+    public void setCombatAdapter(CombatAdapter combatAdapter)
+    {
+        this.combatAdapter = combatAdapter;
+        combatAdapter.setNearbyPlayerTracker(this);
+    }
+
+    @Subscribe
+    public void onGameTick(GameTick event)
+    {
+        Player localPlayer = client.getLocalPlayer();
+        if (localPlayer == null)
+        {
+            return;
+        }
+
+        WorldPoint localPoint = localPlayer.getWorldLocation();
+        List<Player> players = client.getPlayers();
+        int currentTick = client.getTickCount();
+
+        ranked.clear();
+        for (Player player : players)
+        {
+            if (player == null || player == localPlayer)
+            {
+                continue;
+            }
+
+            WorldPoint point = player.getWorldLocation();
+            if (point == null || localPoint == null || point.getPlane() != localPoint.getPlane())
+            {
+                continue;
+            }
+
+            int distance = point.distanceTo2D(localPoint);
+            if (distance > MAX_TRACK_DISTANCE)
+            {
+                continue;
+            }
+
+            Candidate candidate = candidates.computeIfAbsent(player.getId(), id -> new Candidate(player));
+            if (candidate.player != player)
+            {
+                // Player index was reused by someone else
+                release(candidate);
+                candidate = new Candidate(player);
+                candidates.put(player.getId(), candidate);
+            }
+
+            candidate.lastSeenTick = currentTick;
+            candidate.threatScore = scoreThreat(localPlayer, player, distance, currentTick);
+            ranked.add(candidate);
+        }
+
+        Iterator<Candidate> iterator = candidates.values().iterator();
+        while (iterator.hasNext())
+        {
+            Candidate candidate = iterator.next();
+            if (candidate.lastSeenTick != currentTick)
+            {
+                release(candidate);
+                iterator.remove();
+            }
+        }
+
+        ranked.sort(Comparator.comparingDouble(Candidate::getThreatScore).reversed());
+        for (int rank = 0; rank < ranked.size(); rank++)
+        {
+            Candidate candidate = ranked.get(rank);
+            if (rank < MAX_PREBUILT_OPPONENTS)
+            {
+                prebuild(candidate);
+            }
+            else if (rank >= PREBUILT_RELEASE_RANK)
+            {
+                release(candidate);
+            }
+        }
+    }
+
+    @Subscribe
+    public void onPlayerDespawned(PlayerDespawned event)
+    {
+        Player player = event.getPlayer();
+        if (player == null)
+        {
+            return;
+        }
+
+        Candidate candidate = candidates.get(player.getId());
+        if (candidate != null && candidate.player == player)
+        {
+            release(candidate);
+            candidates.remove(player.getId());
+        }
+    }
+
+    /**
+     * Hands over the prebuilt opponent wrapper for a player, if one exists.
+     * Ownership moves to the caller; the tracker will build a new one if needed.
+     */
+    public OpponentElvargPlayer takePrebuiltOpponent(Player player)
+    {
+        if (player == null)
+        {
+            return null;
+        }
+
+        Candidate candidate = candidates.get(player.getId());
+        if (candidate == null || candidate.player != player || candidate.opponent == null)
+        {
+            return null;
+        }
+
+        OpponentElvargPlayer opponent = candidate.opponent;
+        candidate.opponent = null;
+        log.debug("[NEARBY] Handing over prebuilt opponent for {} (threat {})",
+            player.getName(), candidate.threatScore);
+        return opponent;
+    }
+
+    private double scoreThreat(Player localPlayer, Player player, int distance, int currentTick)
+    {
+        double score = 0.0;
+
+        if (player.getInteracting() == localPlayer)
+        {
+            score += INTERACTING_WITH_US_WEIGHT;
+        }
+
+        if (localPlayer.getInteracting() == player)
+        {
+            score += OUR_TARGET_WEIGHT;
+        }
+
+        if (timerManagerAdapter != null)
+        {
+            int lastAttackTick = timerManagerAdapter.getTargetLastAttackTick(player);
+            if (lastAttackTick >= 0 && currentTick - lastAttackTick <= RECENT_ATTACK_TICKS)
+            {
+                score += RECENT_ATTACK_WEIGHT;
+            }
+        }
+
+        score += PROXIMITY_WEIGHT * (1.0 - (double) distance / MAX_TRACK_DISTANCE);
+        return score;
+    }
+
+    private void prebuild(Candidate candidate)
+    {
+        if (candidate.opponent != null || combatAdapter == null)
+        {
+            return;
+        }
+
+        if (client.getLocalPlayer() != null && client.getLocalPlayer().getInteracting() == candidate.player)
+        {
+            // Already the active target; CombatAdapter owns its wrapper
+            return;
+        }
+
+        candidate.opponent = combatAdapter.createOpponentWrapper(candidate.player);
+        log.debug("[NEARBY] Prebuilt opponent for {} (threat {})",
+            candidate.player.getName(), candidate.threatScore);
+    }
+
+    private static void release(Candidate candidate)
+    {
+        if (candidate.opponent != null)
+        {
+            candidate.opponent.shutdown();
+            candidate.opponent = null;
+        }
+    }
+
+    public void shutdown()
+    {
+        eventBus.unregister(this);
+        for (Candidate candidate : candidates.values())
+        {
+            release(candidate);
+        }
+        candidates.clear();
+        ranked.clear();
+    }
+}
@@ -1,6 +1,7 @@
 package net.runelite.client.plugins.autopvp.adapters;
 
 import com.elvarg.game.content.PrayerHandler;
+import com.elvarg.game.content.combat.CombatType;
 import com.elvarg.game.content.combat.WeaponInterfaces.WeaponInterface;
 import com.elvarg.game.content.skill.SkillManager;
 import com.elvarg.game.definition.ItemDefinition;
@@ -24,6 +25,7 @@ import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.plugins.autopvp.core.ItemDefinitionInitializer;
+import net.runelite.client.plugins.autopvp.util.NhWeaponDetector;
 import net.runelite.client.plugins.autopvp.util.TargetEquipmentTranslator;
 import java.util.EnumMap;
 import java.util.Map;
@@ -38,6 +40,12 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class OpponentElvargPlayer extends DummyElvargPlayer {
 
+    private static final int EAT_ANIMATION = 829;
+    // Shared by ancient burst and barrage casts; smoke burst needs only 62 magic
+    private static final int ANCIENT_MULTI_CAST_ANIMATION = 1979;
+    private static final int ANCIENT_BURST_MAGIC_LEVEL = 62;
+    private static final int VENGEANCE_GRAPHIC = 726;
+
     private static final Map<KitType, Integer> KIT_TO_SLOT = new EnumMap<>(KitType.class);
     static {
         KIT_TO_SLOT.put(KitType.HEAD, Equipment.HEAD_SLOT);
@@ -58,9 +66,14 @@ public class OpponentElvargPlayer extends DummyElvargPlayer {
     private final double[] baselineBonuses;
     private final Supplier<DynamicTargetPlayer> dynamicTargetSupplier;
     private boolean registeredWithBus = false;
+    // Prefetched wrappers stay inactive until they become the interaction target
+    private volatile boolean active = true;
     private volatile TargetEquipmentTranslator.Result lastTranslation = TargetEquipmentTranslator.Result.empty(-1);
     private volatile double[] blendedBonuses = new double[TargetEquipmentTranslator.BONUS_COUNT];
     private volatile double equipmentConfidence = 0.0;
+    // Equipment ids the snapshot was built from
+    private int[] snapshotEquipmentIds;
+    private boolean snapshotBuilt = false;
     // Timer tracking fields matching Elvarg structure
     // Citation: C:/dev/elvarg-rsps-master/ElvargServer/game/src/main/java/com/elvarg/game/entity/impl/player/Player.java:192
     private final SecondsTimer vengeanceTimer = new SecondsTimer();
@@ -70,6 +83,11 @@ public class OpponentElvargPlayer extends DummyElvargPlayer {
     private int freezeDelay = 0; // Tracked in ticks
     private final SkillManager readOnlySkillManager;
     private final TimerRepository timerRepository;
+    // Posterior over base stats; replaces fixed guesses by combat level
+    private final OpponentStatInference statInference;
+    // Attack style and strength bonus of the visible gear, for judging their hits
+    private CombatType gearAttackStyle = CombatType.MELEE;
+    private int gearStrengthBonus;
 
     public OpponentElvargPlayer(EventBus eventBus, ItemManager itemManager, net.runelite.api.Player runelitePlayer, double[] loadoutBaseline, Supplier<DynamicTargetPlayer> dynamicTargetSupplier) {
         super();
@@ -84,7 +102,8 @@ public class OpponentElvargPlayer extends DummyElvargPlayer {
 
         // Create mock skill manager that doesn't use Netty
         this.readOnlySkillManager = new MockSkillManager(this);
-        initializeSkillManager();
+        this.statInference = new OpponentStatInference(runelitePlayer.getCombatLevel());
+        applyStatEstimates();
 
         // Create timer repository for tracking freeze and other timers
         this.timerRepository = new TimerRepository();
@@ -97,61 +116,50 @@ public class OpponentElvargPlayer extends DummyElvargPlayer {
         refreshEquipmentSnapshot();
     }
 
-    private void initializeSkillManager() {
-        // Set combat levels from visible player data
-        // RuneLite only provides combat level, not individual skills for other players
-        // Use reasonable defaults based on combat level
-        int combatLevel = runelitePlayer.getCombatLevel();
-
-        // Estimate skills based on combat level (rough approximation)
-        // For a pure NH account around 90 combat: 75 att, 99 str, 1 def, 99 range, 99 mage, 52 pray, 99 hp
-        if (combatLevel >= 85 && combatLevel <= 95) {
-            // Likely pure build
-            readOnlySkillManager.setLevel(Skill.ATTACK, 75);
-            readOnlySkillManager.setLevel(Skill.STRENGTH, 99);
-            readOnlySkillManager.setLevel(Skill.DEFENCE, 1);
-            readOnlySkillManager.setLevel(Skill.RANGED, 99);
-            readOnlySkillManager.setLevel(Skill.MAGIC, 99);
-            readOnlySkillManager.setLevel(Skill.PRAYER, 52);
-            readOnlySkillManager.setLevel(Skill.HITPOINTS, 99);
-        } else if (combatLevel >= 120) {
-            // Likely main/zerker build
-            readOnlySkillManager.setLevel(Skill.ATTACK, 99);
-            readOnlySkillManager.setLevel(Skill.STRENGTH, 99);
-            readOnlySkillManager.setLevel(Skill.DEFENCE, 75);
-            readOnlySkillManager.setLevel(Skill.RANGED, 99);
-            readOnlySkillManager.setLevel(Skill.MAGIC, 99);
-            readOnlySkillManager.setLevel(Skill.PRAYER, 99);
-            readOnlySkillManager.setLevel(Skill.HITPOINTS, 99);
-        } else {
-            // Default mid-level stats
-            int avgLevel = Math.max(50, Math.min(99, combatLevel));
-            readOnlySkillManager.setLevel(Skill.ATTACK, avgLevel);
-            readOnlySkillManager.setLevel(Skill.STRENGTH, avgLevel);
-            readOnlySkillManager.setLevel(Skill.DEFENCE, avgLevel);
-            readOnlySkillManager.setLevel(Skill.RANGED, avgLevel);
-            readOnlySkillManager.setLevel(Skill.MAGIC, avgLevel);
-            readOnlySkillManager.setLevel(Skill.PRAYER, avgLevel);
-            readOnlySkillManager.setLevel(Skill.HITPOINTS, avgLevel);
+    /**
+     * Copy the current stat estimates into the skill manager. Damage already taken
+     * is carried over when the hitpoints estimate moves.
+     */
+    private void applyStatEstimates() {
+        if (!(readOnlySkillManager instanceof MockSkillManager)) {
+            return;
         }
+
+        MockSkillManager skills = (MockSkillManager) readOnlySkillManager;
+        skills.setLevel(Skill.ATTACK, statInference.getLevel(OpponentStatInference.ATTACK));
+        skills.setLevel(Skill.STRENGTH, statInference.getLevel(OpponentStatInference.STRENGTH));
+        skills.setLevel(Skill.DEFENCE, statInference.getLevel(OpponentStatInference.DEFENCE));
+        skills.setLevel(Skill.RANGED, statInference.getLevel(OpponentStatInference.RANGED));
+        skills.setLevel(Skill.MAGIC, statInference.getLevel(OpponentStatInference.MAGIC));
+        skills.setLevel(Skill.PRAYER, statInference.getLevel(OpponentStatInference.PRAYER));
+
+        int missingHp = Math.max(0, skills.getMaxLevel(Skill.HITPOINTS) - skills.getCurrentLevel(Skill.HITPOINTS));
+        int maxHp = statInference.getLevel(OpponentStatInference.HITPOINTS);
+        skills.setMaxLevel(Skill.HITPOINTS, maxHp);
+        skills.updateCurrentHitpoints(Math.max(0, maxHp - missingHp));
     }
 
-        private void refreshEquipmentSnapshot()
+    /**
+     * Rebuild the equipment snapshot if the composition's equipment ids differ from
+     * the ones it was last built from. Unchanged compositions return immediately,
+     * so this is cheap enough to call on every {@link #getEquipment()}.
+     */
+    private void refreshEquipmentSnapshot()
     {
-        equipmentSnapshot.resetItems();
+        PlayerComposition composition = runelitePlayer != null ? runelitePlayer.getPlayerComposition() : null;
+        int[] equipmentIds = composition != null ? composition.getEquipmentIds() : null;
 
-        if (runelitePlayer == null)
+        if (snapshotBuilt && Arrays.equals(equipmentIds, snapshotEquipmentIds))
         {
             return;
         }
 
-        PlayerComposition composition = runelitePlayer.getPlayerComposition();
-        if (composition == null)
-        {
-            return;
-        }
+        // The client mutates composition arrays in place, so keep our own copy
+        snapshotEquipmentIds = equipmentIds != null ? equipmentIds.clone() : null;
+        snapshotBuilt = true;
+
+        equipmentSnapshot.resetItems();
 
-        int[] equipmentIds = composition.getEquipmentIds();
         if (equipmentIds == null)
         {
             return;
@@ -206,19 +214,70 @@ public class OpponentElvargPlayer extends DummyElvargPlayer {
             }
         }
 
-        TargetEquipmentTranslator.Result translation = TargetEquipmentTranslator.translate(composition, itemManager, -1);
+        TargetEquipmentTranslator.Result translation = TargetEquipmentTranslator.translate(composition, itemManager, lastTranslation);
         lastTranslation = translation;
         blendedBonuses = TargetEquipmentTranslator.blendBonuses(translation, baselineBonuses);
         equipmentConfidence = translation.getAverageSlotConfidence();
 
+        double[] visibleBonuses = translation.getBonuses();
+        gearAttackStyle = classifyAttackStyle(weaponItem != null ? weaponItem.getId() : -1);
+        gearStrengthBonus = (int) (gearAttackStyle == CombatType.RANGED ? visibleBonuses[11] : visibleBonuses[10]);
+        if (statInference.observeEquipment(translation.getItemIds())) {
+            applyStatEstimates();
+        }
+
+        forwardEquipmentUpdate();
+    }
+
+    private CombatType classifyAttackStyle(int weaponId) {
+        if (weaponId <= 0 || itemManager == null) {
+            return CombatType.MELEE;
+        }
+        if (NhWeaponDetector.isRangedWeapon(weaponId, itemManager)) {
+            return CombatType.RANGED;
+        }
+        if (NhWeaponDetector.isMageWeapon(weaponId, itemManager)) {
+            return CombatType.MAGIC;
+        }
+        return CombatType.MELEE;
+    }
+
+    private void forwardEquipmentUpdate()
+    {
         // Forward translation to DynamicTargetPlayer
-        DynamicTargetPlayer dynamicTargetPlayer = dynamicTargetSupplier != null ? dynamicTargetSupplier.get() : null;
+        DynamicTargetPlayer dynamicTargetPlayer = getActiveDynamicTarget();
         if (dynamicTargetPlayer != null)
         {
-            dynamicTargetPlayer.onOpponentEquipmentUpdate(translation, blendedBonuses);
+            dynamicTargetPlayer.onOpponentEquipmentUpdate(lastTranslation, blendedBonuses);
         }
     }
 
+    private DynamicTargetPlayer getActiveDynamicTarget()
+    {
+        if (!active || dynamicTargetSupplier == null)
+        {
+            return null;
+        }
+        return dynamicTargetSupplier.get();
+    }
+
+    /**
+     * Marks this wrapper as the current interaction target (or not).
+     * Inactive wrappers keep tracking HP and equipment but do not forward
+     * events to DynamicTargetPlayer. Activation pushes the latest equipment.
+     */
+    public void setActive(boolean active) {
+        boolean wasActive = this.active;
+        this.active = active;
+        if (active && !wasActive) {
+            forwardEquipmentUpdate();
+        }
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
     public double[] getBlendedBonuses() {
         return blendedBonuses != null ? Arrays.copyOf(blendedBonuses, blendedBonuses.length) : new double[TargetEquipmentTranslator.BONUS_COUNT];
     }
@@ -338,9 +397,18 @@ public class OpponentElvargPlayer extends DummyElvargPlayer {
         if (event.getActor() != runelitePlayer) {
             return;
         }
-        DynamicTargetPlayer dynamicTargetPlayer = dynamicTargetSupplier != null ? dynamicTargetSupplier.get() : null;
+
+        int animation = runelitePlayer.getAnimation();
+        if (animation == EAT_ANIMATION) {
+            statInference.observeHeal();
+        } else if (animation == ANCIENT_MULTI_CAST_ANIMATION
+            && statInference.observeMinimumLevel(OpponentStatInference.MAGIC, ANCIENT_BURST_MAGIC_LEVEL)) {
+            applyStatEstimates();
+        }
+
+        DynamicTargetPlayer dynamicTargetPlayer = getActiveDynamicTarget();
         if (dynamicTargetPlayer != null) {
-            dynamicTargetPlayer.onTargetAnimation(runelitePlayer.getAnimation());
+            dynamicTargetPlayer.onTargetAnimation(animation);
         }
     }
 
@@ -349,29 +417,54 @@ public class OpponentElvargPlayer extends DummyElvargPlayer {
         if (event.getActor() != runelitePlayer) {
             return;
         }
-        DynamicTargetPlayer dynamicTargetPlayer = dynamicTargetSupplier != null ? dynamicTargetSupplier.get() : null;
+
+        int graphic = runelitePlayer.getGraphic();
+        if (graphic == VENGEANCE_GRAPHIC) {
+            // Lunar spellbook: 94 magic for vengeance, 40 defence for Lunar Diplomacy
+            boolean changed = statInference.observeMinimumLevel(OpponentStatInference.MAGIC, 94);
+            changed |= statInference.observeMinimumLevel(OpponentStatInference.DEFENCE, 40);
+            if (changed) {
+                applyStatEstimates();
+            }
+        }
+
+        DynamicTargetPlayer dynamicTargetPlayer = getActiveDynamicTarget();
         if (dynamicTargetPlayer != null) {
-            dynamicTargetPlayer.onTargetGraphic(runelitePlayer.getGraphic());
+            dynamicTargetPlayer.onTargetGraphic(graphic);
         }
     }
 
     @Subscribe
     public void onHitsplatApplied(HitsplatApplied event) {
+        if (event.getHitsplat() == null) {
+            return;
+        }
+
         if (event.getActor() != runelitePlayer) {
+            // A hit on the local player while this opponent is attacking it
+            if (event.getActor() != null && event.getActor() == runelitePlayer.getInteracting()
+                && event.getHitsplat().isMine()
+                && statInference.observeHit(gearAttackStyle, event.getHitsplat().getAmount(), gearStrengthBonus)) {
+                applyStatEstimates();
+            }
             return;
         }
 
+        int damage = event.getHitsplat().getAmount();
+        if (damage <= 0) {
+            return;
+        }
+
+        statInference.observeDamageTaken(damage);
+
         // Track damage for vengeance expiration
-        DynamicTargetPlayer dynamicTargetPlayer = dynamicTargetSupplier != null ? dynamicTargetSupplier.get() : null;
-        if (dynamicTargetPlayer != null && event.getHitsplat() != null) {
-            int damage = event.getHitsplat().getAmount();
-            if (damage > 0) {
-                dynamicTargetPlayer.onTargetDamaged(damage);
-
-                // Update our HP tracking based on damage taken
-                updateHPFromDamage(damage);
-            }
+        DynamicTargetPlayer dynamicTargetPlayer = getActiveDynamicTarget();
+        if (dynamicTargetPlayer != null) {
+            dynamicTargetPlayer.onTargetDamaged(damage);
         }
+
+        // Update our HP tracking based on damage taken (also while prefetched)
+        updateHPFromDamage(damage);
     }
 
     /**
@@ -418,6 +511,13 @@ public class OpponentElvargPlayer extends DummyElvargPlayer {
         return runelitePlayer.getCombatLevel();
     }
 
+    /**
+     * Current estimate of this opponent's base stats.
+     */
+    public OpponentStatInference getStatInference() {
+        return statInference;
+    }
+
     @Override
     public boolean isRegistered() {
         // Opponent is registered if they're in the game world
@@ -496,6 +596,8 @@ public class OpponentElvargPlayer extends DummyElvargPlayer {
      * Process timers each tick (called by game loop).
      */
     public void processTimers() {
+        updateStatEvidence();
+
         // Decrement freeze delay and sync with TimerRepository
         if (freezeDelay > 0) {
             freezeDelay--;
@@ -513,6 +615,49 @@ public class OpponentElvargPlayer extends DummyElvargPlayer {
         // They auto-decrement when checked
     }
 
+    /**
+     * Per-tick evidence: combat level changes, the health bar and the overhead prayer
+     * in use. All are no-ops unless something changed.
+     */
+    private void updateStatEvidence() {
+        boolean changed = statInference.observeCombatLevel(runelitePlayer.getCombatLevel());
+
+        int healthRatio = runelitePlayer.getHealthRatio();
+        int healthScale = runelitePlayer.getHealthScale();
+        if (healthRatio >= 0 && healthScale > 0) {
+            changed |= statInference.observeHealthBar(healthRatio, healthScale);
+        }
+
+        HeadIcon overhead = runelitePlayer.getOverheadIcon();
+        int prayerLevel = overhead != null ? requiredPrayerLevel(overhead) : 0;
+        if (prayerLevel > 0) {
+            changed |= statInference.observeMinimumLevel(OpponentStatInference.PRAYER, prayerLevel);
+        }
+
+        if (changed) {
+            applyStatEstimates();
+        }
+    }
+
+    private static int requiredPrayerLevel(HeadIcon overhead) {
+        switch (overhead) {
+            case MAGIC:
+                return 37;
+            case RANGED:
+                return 40;
+            case MELEE:
+                return 43;
+            case RETRIBUTION:
+                return 46;
+            case REDEMPTION:
+                return 49;
+            case SMITE:
+                return 52;
+            default:
+                return 0;
+        }
+    }
+
     /**
      * Track special attack percentage for opponents.
      * Citation: Mobile.java:78 has specialPercentage field
@@ -0,0 +1,224 @@
+package net.runelite.client.plugins.autopvp.adapters;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.Player;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * Estimates where nearby players will stand on the next tick.
+ *
+ * Each tick the tile of every player within {@link #MAX_TRACK_DISTANCE} is appended
+ * to a short per-player history. The prediction assumes the last observed step
+ * repeats (walking moves one tile a tick, running two). A player whose pose says
+ * they just started moving but who has no step on record yet is assumed to be
+ * closing in one tile on whoever they are interacting with.
+ *
+ * Movement actions aim at the predicted tile because a walk packet only resolves
+ * on the following tick.
+ */
+@Slf4j
+public class OpponentMovementPredictor
+{
+    private static final int HISTORY_SIZE = 4;
+    private static final int MAX_TRACK_DISTANCE = 20;
+    private static final int STALE_TICKS = 10;
+    private static final int MAX_STEP = 2;
+
+    private static final class Track
+    {
+        final Player player;
+        final int[] xs = new int[HISTORY_SIZE];
+        final int[] ys = new int[HISTORY_SIZE];
+        final int[] ticks = new int[HISTORY_SIZE];
+        int head = -1;
+        int count;
+        int plane;
+        int lastSeenTick;
+
+        Track(Player player)
+        {
+            this.player = player;
+        }
+
+        void record(WorldPoint point, int tick)
+        {
+            if (count > 0 && point.getPlane() != plane)
+            {
+                // Changed floors; the old history says nothing about the new one
+                count = 0;
+            }
+
+            head = (head + 1) % HISTORY_SIZE;
+            xs[head] = point.getX();
+            ys[head] = point.getY();
+            ticks[head] = tick;
+            plane = point.getPlane();
+            count = Math.min(count + 1, HISTORY_SIZE);
+            lastSeenTick = tick;
+        }
+
+        /**
+         * Step between the two most recent samples, or 0 when they are not from
+         * consecutive ticks.
+         */
+        int stepX()
+        {
+            int previous = previousIndex();
+            return previous < 0 ? 0 : clampStep(xs[head] - xs[previous]);
+        }
+
+        int stepY()
+        {
+            int previous = previousIndex();
+            return previous < 0 ? 0 : clampStep(ys[head] - ys[previous]);
+        }
+
+        private int previousIndex()
+        {
+            if (count < 2)
+            {
+                return -1;
+            }
+
+            int previous = (head + HISTORY_SIZE - 1) % HISTORY_SIZE;
+            return ticks[head] - ticks[previous] == 1 ? previous : -1;
+        }
+    }
+
+    private final Client client;
+    private final Map<Integer, Track> tracks = new ConcurrentHashMap<>();
+
+    public OpponentMovementPredictor(Client client)
+    {
+        this.client = client;
+    }
+
+    /**
+     * Record this tick's positions. Called once per tick before observations are built.
+     */
+    public void update()
+    {
+        Player localPlayer = client.getLocalPlayer();
+        if (localPlayer == null)
+        {
+            return;
+        }
+
+        WorldPoint localPoint = localPlayer.getWorldLocation();
+        int currentTick = client.getTickCount();
+
+        for (Player player : client.getPlayers())
+        {
+            if (player == null || player == localPlayer)
+            {
+                continue;
+            }
+
+            WorldPoint point = player.getWorldLocation();
+            if (point == null || localPoint == null || point.distanceTo2D(localPoint) > MAX_TRACK_DISTANCE)
+            {
+                continue;
+            }
+
+            Track track = tracks.get(player.getId());
+            if (track == null || track.player != player)
+            {
+                track = new Track(player);
+                tracks.put(player.getId(), track);
+            }
+            track.record(point, currentTick);
+        }
+
+        Iterator<Track> iterator = tracks.values().iterator();
+        while (iterator.hasNext())
+        {
+            if (currentTick - iterator.next().lastSeenTick > STALE_TICKS)
+            {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Best guess of the player's tile on the next tick; their current tile when
+     * there is nothing to go on, including when they were not sampled this tick.
+     */
+    public WorldPoint predictNextTile(Player player)
+    {
+        if (player == null)
+        {
+            return null;
+        }
+
+        WorldPoint current = player.getWorldLocation();
+        Track track = getTrack(player);
+        if (track == null || current == null || track.lastSeenTick != client.getTickCount())
+        {
+            // Without a sample from this tick the last step is out of date
+            return current;
+        }
+
+        int stepX = track.stepX();
+        int stepY = track.stepY();
+        if (stepX == 0 && stepY == 0 && isPoseMoving(player))
+        {
+            WorldPoint followed = player.getInteracting() != null ? player.getInteracting().getWorldLocation() : null;
+            if (followed != null && followed.getPlane() == current.getPlane() && current.distanceTo2D(followed) > 1)
+            {
+                stepX = Integer.signum(followed.getX() - current.getX());
+                stepY = Integer.signum(followed.getY() - current.getY());
+            }
+        }
+
+        if (stepX == 0 && stepY == 0)
+        {
+            return current;
+        }
+        return current.dx(stepX).dy(stepY);
+    }
+
+    /**
+     * Whether the player moved last tick or their pose shows them moving now.
+     */
+    public boolean isMoving(Player player)
+    {
+        if (player == null)
+        {
+            return false;
+        }
+
+        Track track = getTrack(player);
+        if (track != null && (track.stepX() != 0 || track.stepY() != 0)
+            && track.ticks[track.head] == client.getTickCount())
+        {
+            return true;
+        }
+        return isPoseMoving(player);
+    }
+
+    private Track getTrack(Player player)
+    {
+        Track track = tracks.get(player.getId());
+        return track != null && track.player == player ? track : null;
+    }
+
+    private static boolean isPoseMoving(Player player)
+    {
+        int pose = player.getPoseAnimation();
+        return pose != player.getIdlePoseAnimation() && pose != -1;
+    }
+
+    private static int clampStep(int delta)
+    {
+        return Math.max(-MAX_STEP, Math.min(MAX_STEP, delta));
+    }
+
+    public void shutdown()
+    {
+        tracks.clear();
+    }
+}
@@ -0,0 +1,496 @@
+package net.runelite.client.plugins.autopvp.adapters;
+
+import com.elvarg.game.content.combat.CombatType;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.gameval.ItemID;
+
+/**
+ * Bayesian estimate of an opponent's base combat stats.
+ *
+ * The hypothesis space is every combination of the candidate levels in
+ * {@link #LEVEL_GRID}. Hypotheses are bucketed once, statically, by the combat
+ * level they produce; an opponent only ever carries weights for the bucket
+ * matching their visible combat level, so the combat level acts as a hard filter.
+ *
+ * Evidence updates the weights in place:
+ * <ul>
+ *   <li>hits they land on us - uniform over 0..max hit for the hypothesis, using
+ *       precomputed max hit tables keyed by level, prayer tier and gear strength</li>
+ *   <li>health bar ratios - whether (hitpoints level - damage seen since the bar was
+ *       full) falls inside the HP interval the ratio stands for</li>
+ *   <li>equipment requirements, overhead prayers and spells cast - level floors</li>
+ * </ul>
+ * Each piece of evidence is first reduced to a likelihood per candidate level of
+ * the stats it depends on, then applied in a single pass over the bucket that also
+ * renormalises and refreshes the posterior means. The cost of an update is bounded
+ * by the bucket size and does not grow with the length of the fight.
+ *
+ * Violations get a small likelihood rather than zero so that grid gaps, unseen
+ * heals and misattributed hits cannot wipe out the posterior.
+ */
+@Slf4j
+public class OpponentStatInference {
+
+    public static final int ATTACK = 0;
+    public static final int STRENGTH = 1;
+    public static final int DEFENCE = 2;
+    public static final int RANGED = 3;
+    public static final int MAGIC = 4;
+    public static final int PRAYER = 5;
+    public static final int HITPOINTS = 6;
+    public static final int STAT_COUNT = 7;
+
+    // Candidate levels per stat, ascending; every combination is one hypothesis
+    private static final int[][] LEVEL_GRID = {
+        {1, 40, 60, 70, 75, 80, 99},           // attack
+        {1, 60, 70, 80, 90, 99},               // strength
+        {1, 10, 20, 30, 40, 45, 60, 75, 99},   // defence
+        {1, 70, 85, 99},                       // ranged
+        {1, 75, 94, 99},                       // magic
+        {1, 31, 43, 44, 52, 77, 99},           // prayer
+        {10, 70, 80, 90, 99},                  // hitpoints
+    };
+
+    private static final int MAX_COMBAT_LEVEL = 126;
+
+    private static final double VIOLATION_LIKELIHOOD = 0.02;
+    private static final double OVER_MAX_HIT_LIKELIHOOD = 0.05;
+    private static final double HEALTH_BAR_MISMATCH_LIKELIHOOD = 0.2;
+
+    // Strength bonuses above this are clamped; nothing visible gets close
+    private static final int MAX_STRENGTH_BONUS = 255;
+    // Ammunition is not visible on other players; assume dragon bolts worth of it
+    private static final int ASSUMED_RANGED_STRENGTH = 122;
+
+    // Offensive prayer tiers: none, 15% (ultimate strength / eagle eye), 23% (piety / rigour)
+    private static final double[] PRAYER_TIER_MULTIPLIERS = {1.0, 1.15, 1.23};
+    private static final int[] MELEE_TIER_BY_PRAYER = prayerTiers(31, 70);
+    private static final int[] RANGED_TIER_BY_PRAYER = prayerTiers(44, 74);
+
+    // [tier][strength or ranged grid index][gear strength bonus] -> max hit
+    private static final short[][][] MELEE_MAX_HIT = buildMaxHitTable(STRENGTH, true);
+    private static final short[][][] RANGED_MAX_HIT = buildMaxHitTable(RANGED, false);
+
+    private static final double[] UNIFORM_HIT_LIKELIHOOD = buildUniformLikelihoods();
+
+    // Item id -> (stat, level) pairs
+    private static final Map<Integer, int[]> REQUIREMENTS = new HashMap<>();
+
+    static {
+        require(ItemID.ABYSSAL_WHIP, ATTACK, 70);
+        require(ItemID.ABYSSAL_TENTACLE, ATTACK, 75);
+        require(ItemID.AGS, ATTACK, 75);
+        require(ItemID.BGS, ATTACK, 75);
+        require(ItemID.SGS, ATTACK, 75);
+        require(ItemID.ZGS, ATTACK, 75);
+        require(ItemID.ANCIENT_GODSWORD, ATTACK, 75);
+        require(ItemID.DRAGON_CLAWS, ATTACK, 60);
+        require(ItemID.DRAGON_DAGGER, ATTACK, 60);
+        require(ItemID.DRAGON_DAGGER_P, ATTACK, 60);
+        require(ItemID.DRAGON_DAGGER_P_, ATTACK, 60);
+        require(ItemID.DRAGON_DAGGER_P__, ATTACK, 60);
+        require(ItemID.DRAGON_SCIMITAR, ATTACK, 60);
+        require(ItemID.DRAGON_MACE, ATTACK, 60);
+        require(ItemID.GRANITE_MAUL, ATTACK, 50, STRENGTH, 50);
+        require(ItemID.VESTAS_LONGSWORD, ATTACK, 78);
+        require(ItemID.STATIUS_WARHAMMER, STRENGTH, 78);
+        require(ItemID.GHRAZI_RAPIER, ATTACK, 80);
+        require(ItemID.BARROWS_DHAROK_WEAPON, ATTACK, 70, STRENGTH, 70);
+        require(ItemID.BARROWS_DHAROK_HEAD, DEFENCE, 70);
+        require(ItemID.BARROWS_DHAROK_BODY, DEFENCE, 70);
+        require(ItemID.BARROWS_DHAROK_LEGS, DEFENCE, 70);
+
+        require(ItemID.KODAI_WAND, MAGIC, 75);
+        require(ItemID.NIGHTMARE_STAFF, MAGIC, 65);
+        require(ItemID.NIGHTMARE_STAFF_ELDRITCH, MAGIC, 82);
+        require(ItemID.NIGHTMARE_STAFF_HARMONISED, MAGIC, 82);
+        require(ItemID.NIGHTMARE_STAFF_VOLATILE, MAGIC, 82);
+        require(ItemID.SANGUINESTI_STAFF, MAGIC, 82);
+        require(ItemID.SOTD, ATTACK, 75, MAGIC, 75);
+        require(ItemID.TOXIC_SOTD_CHARGED, ATTACK, 75, MAGIC, 75);
+        require(ItemID.STAFF_OF_LIGHT, ATTACK, 75, MAGIC, 75);
+        require(ItemID.ZURIELS_STAFF, ATTACK, 78, MAGIC, 78);
+        require(ItemID.BARROWS_AHRIM_WEAPON, ATTACK, 70, MAGIC, 70);
+
+        require(ItemID.ACB, RANGED, 70);
+        require(ItemID.DARKBOW, RANGED, 60);
+        require(ItemID.HEAVY_BALLISTA, RANGED, 75);
+        require(ItemID.LIGHT_BALLISTA, RANGED, 65);
+        require(ItemID.MAGIC_SHORTBOW, RANGED, 50);
+        require(ItemID.MAGIC_SHORTBOW_I, RANGED, 50);
+        require(ItemID.XBOWS_CROSSBOW_RUNITE, RANGED, 61);
+        require(ItemID.XBOWS_CROSSBOW_DRAGON, RANGED, 64);
+        require(ItemID.ZARYTE_XBOW, RANGED, 80);
+        require(ItemID.TWISTED_BOW, RANGED, 75);
+        require(ItemID.TOXIC_BLOWPIPE_LOADED, RANGED, 75);
+        require(ItemID.MORRIGANS_JAVELIN, RANGED, 78);
+        require(ItemID.DRAGON_KNIFE, RANGED, 85);
+        require(ItemID.DRAGON_THROWNAXE, RANGED, 61);
+        require(ItemID.BARROWS_KARIL_WEAPON, RANGED, 70);
+    }
+
+    private static void require(int itemId, int... statLevelPairs) {
+        REQUIREMENTS.put(itemId, statLevelPairs);
+    }
+
+    /**
+     * Hypotheses as packed grid indices, STAT_COUNT bytes each, bucketed by combat level.
+     * Built on first use.
+     */
+    private static final class HypothesisTable {
+        static final byte[][] BY_COMBAT_LEVEL = build();
+
+        private static byte[][] build() {
+            int[] sizes = new int[STAT_COUNT];
+            int total = 1;
+            for (int stat = 0; stat < STAT_COUNT; stat++) {
+                sizes[stat] = LEVEL_GRID[stat].length;
+                total *= sizes[stat];
+            }
+
+            // Two passes: count per bucket, then fill
+            int[] counts = new int[MAX_COMBAT_LEVEL + 1];
+            int[] levels = new int[total];
+            int[] idx = new int[STAT_COUNT];
+            for (int h = 0; h < total; h++) {
+                decode(h, sizes, idx);
+                int level = combatLevelOf(idx);
+                levels[h] = level;
+                counts[level]++;
+            }
+
+            byte[][] buckets = new byte[MAX_COMBAT_LEVEL + 1][];
+            int[] fill = new int[MAX_COMBAT_LEVEL + 1];
+            for (int level = 0; level <= MAX_COMBAT_LEVEL; level++) {
+                buckets[level] = new byte[counts[level] * STAT_COUNT];
+            }
+            for (int h = 0; h < total; h++) {
+                decode(h, sizes, idx);
+                byte[] bucket = buckets[levels[h]];
+                int offset = fill[levels[h]]++ * STAT_COUNT;
+                for (int stat = 0; stat < STAT_COUNT; stat++) {
+                    bucket[offset + stat] = (byte) idx[stat];
+                }
+            }
+            return buckets;
+        }
+
+        private static void decode(int h, int[] sizes, int[] idx) {
+            for (int stat = STAT_COUNT - 1; stat >= 0; stat--) {
+                idx[stat] = h % sizes[stat];
+                h /= sizes[stat];
+            }
+        }
+
+        private static int combatLevelOf(int[] idx) {
+            int level = MockSkillManager.computeCombatLevel(
+                LEVEL_GRID[ATTACK][idx[ATTACK]],
+                LEVEL_GRID[STRENGTH][idx[STRENGTH]],
+                LEVEL_GRID[DEFENCE][idx[DEFENCE]],
+                LEVEL_GRID[HITPOINTS][idx[HITPOINTS]],
+                LEVEL_GRID[RANGED][idx[RANGED]],
+                LEVEL_GRID[PRAYER][idx[PRAYER]],
+                LEVEL_GRID[MAGIC][idx[MAGIC]]);
+            return Math.max(0, Math.min(MAX_COMBAT_LEVEL, level));
+        }
+    }
+
+    private byte[] hypotheses;
+    private int count;
+    private double[] weights;
+    private int combatLevel = -1;
+
+    private final double[] estimates = new double[STAT_COUNT];
+    private final int[] levelFloors = new int[STAT_COUNT];
+
+    // Scratch likelihoods per grid index, reused between updates
+    private final double[][] statLikelihoods = new double[STAT_COUNT][];
+    private final double[][] hitLikelihoods = new double[PRAYER_TIER_MULTIPLIERS.length][];
+
+    // Health bar tracking
+    private int damageSinceFullBar;
+    private boolean damageTrackValid = true;
+    private int lastHealthRatio = -1;
+    private int lastHealthScale = -1;
+
+    public OpponentStatInference(int combatLevel) {
+        for (int stat = 0; stat < STAT_COUNT; stat++) {
+            statLikelihoods[stat] = new double[LEVEL_GRID[stat].length];
+        }
+        for (int tier = 0; tier < hitLikelihoods.length; tier++) {
+            hitLikelihoods[tier] = new double[Math.max(LEVEL_GRID[STRENGTH].length, LEVEL_GRID[RANGED].length)];
+        }
+        reset(combatLevel);
+    }
+
+    /**
+     * Restart from the prior for a (new) combat level. Level floors seen so far are kept.
+     * Returns true when the combat level changed.
+     */
+    public boolean observeCombatLevel(int combatLevel) {
+        if (combatLevel == this.combatLevel) {
+            return false;
+        }
+        reset(combatLevel);
+        return true;
+    }
+
+    private void reset(int combatLevel) {
+        this.combatLevel = combatLevel;
+        hypotheses = bucketFor(combatLevel);
+        count = hypotheses.length / STAT_COUNT;
+        weights = new double[count];
+        Arrays.fill(weights, count > 0 ? 1.0 / count : 0.0);
+        updateEstimates();
+
+        int[] floors = levelFloors.clone();
+        Arrays.fill(levelFloors, 0);
+        for (int stat = 0; stat < STAT_COUNT; stat++) {
+            if (floors[stat] > 0) {
+                observeMinimumLevel(stat, floors[stat]);
+            }
+        }
+        log.debug("[INFERENCE] Combat level {} -> {} hypotheses", combatLevel, count);
+    }
+
+    /**
+     * Bucket for a combat level; the nearest populated one when the grid cannot
+     * produce that level exactly.
+     */
+    private static byte[] bucketFor(int combatLevel) {
+        byte[][] buckets = HypothesisTable.BY_COMBAT_LEVEL;
+        int level = Math.max(0, Math.min(MAX_COMBAT_LEVEL, combatLevel));
+        for (int offset = 0; offset <= MAX_COMBAT_LEVEL; offset++) {
+            if (level - offset >= 0 && buckets[level - offset].length > 0) {
+                return buckets[level - offset];
+            }
+            if (level + offset <= MAX_COMBAT_LEVEL && buckets[level + offset].length > 0) {
+                return buckets[level + offset];
+            }
+        }
+        return new byte[0];
+    }
+
+    /**
+     * A hit the opponent landed on us. Zero hits carry no information (could be a miss)
+     * and magic max hits depend on the spell rather than the level, so both are ignored.
+     *
+     * @param strengthBonus visible melee or ranged strength bonus of their gear
+     */
+    public boolean observeHit(CombatType style, int damage, int strengthBonus) {
+        if (damage <= 0 || count == 0 || (style != CombatType.MELEE && style != CombatType.RANGED)) {
+            return false;
+        }
+
+        boolean melee = style == CombatType.MELEE;
+        int stat = melee ? STRENGTH : RANGED;
+        int bonus = melee ? strengthBonus : Math.max(strengthBonus, ASSUMED_RANGED_STRENGTH);
+        bonus = Math.max(0, Math.min(MAX_STRENGTH_BONUS, bonus));
+        short[][][] maxHits = melee ? MELEE_MAX_HIT : RANGED_MAX_HIT;
+
+        for (int tier = 0; tier < hitLikelihoods.length; tier++) {
+            for (int i = 0; i < LEVEL_GRID[stat].length; i++) {
+                int maxHit = maxHits[tier][i][bonus];
+                hitLikelihoods[tier][i] = damage <= maxHit ? UNIFORM_HIT_LIKELIHOOD[maxHit] : OVER_MAX_HIT_LIKELIHOOD;
+            }
+        }
+
+        int[] tierByPrayer = melee ? MELEE_TIER_BY_PRAYER : RANGED_TIER_BY_PRAYER;
+        for (int h = 0, offset = 0; h < count; h++, offset += STAT_COUNT) {
+            int tier = tierByPrayer[hypotheses[offset + PRAYER]];
+            weights[h] *= hitLikelihoods[tier][hypotheses[offset + stat]];
+        }
+        normalize();
+        return true;
+    }
+
+    /**
+     * Evidence that a stat is at least the given level. Floors at or below one
+     * already applied are ignored, so repeated equipment switches cost nothing.
+     */
+    public boolean observeMinimumLevel(int stat, int level) {
+        if (level <= levelFloors[stat] || count == 0) {
+            return false;
+        }
+        levelFloors[stat] = level;
+
+        double[] likelihood = statLikelihoods[stat];
+        for (int i = 0; i < likelihood.length; i++) {
+            likelihood[i] = LEVEL_GRID[stat][i] >= level ? 1.0 : VIOLATION_LIKELIHOOD;
+        }
+        applyStatLikelihood(stat, likelihood);
+        return true;
+    }
+
+    /**
+     * Apply the level requirements of the visible equipment.
+     */
+    public boolean observeEquipment(int[] itemIds) {
+        if (itemIds == null) {
+            return false;
+        }
+
+        boolean changed = false;
+        for (int itemId : itemIds) {
+            int[] requirements = itemId > 0 ? REQUIREMENTS.get(itemId) : null;
+            if (requirements == null) {
+                continue;
+            }
+            for (int i = 0; i < requirements.length; i += 2) {
+                changed |= observeMinimumLevel(requirements[i], requirements[i + 1]);
+            }
+        }
+        return changed;
+    }
+
+    public void observeDamageTaken(int damage) {
+        if (damage > 0) {
+            damageSinceFullBar += damage;
+        }
+    }
+
+    /**
+     * The opponent ate or otherwise healed; damage totals no longer say anything
+     * about their max HP until the bar is full again.
+     */
+    public void observeHeal() {
+        damageTrackValid = false;
+    }
+
+    /**
+     * A health bar reading. Only changes in the reading are treated as new evidence.
+     */
+    public boolean observeHealthBar(int ratio, int scale) {
+        if (ratio < 0 || scale <= 0 || (ratio == lastHealthRatio && scale == lastHealthScale)) {
+            return false;
+        }
+        lastHealthRatio = ratio;
+        lastHealthScale = scale;
+
+        if (ratio >= scale) {
+            damageSinceFullBar = 0;
+            damageTrackValid = true;
+            return false;
+        }
+        if (ratio == 0 || !damageTrackValid || damageSinceFullBar == 0 || count == 0) {
+            return false;
+        }
+
+        double[] likelihood = statLikelihoods[HITPOINTS];
+        for (int i = 0; i < likelihood.length; i++) {
+            int maxHp = LEVEL_GRID[HITPOINTS][i];
+            int hp = maxHp - damageSinceFullBar;
+            boolean consistent = hp >= HitpointsReconstructor.getLowHitpoints(maxHp, ratio, scale)
+                && hp <= HitpointsReconstructor.getHighHitpoints(maxHp, ratio, scale);
+            likelihood[i] = consistent ? 1.0 : HEALTH_BAR_MISMATCH_LIKELIHOOD;
+        }
+        applyStatLikelihood(HITPOINTS, likelihood);
+        return true;
+    }
+
+    private void applyStatLikelihood(int stat, double[] likelihood) {
+        for (int h = 0, offset = stat; h < count; h++, offset += STAT_COUNT) {
+            weights[h] *= likelihood[hypotheses[offset]];
+        }
+        normalize();
+    }
+
+    private void normalize() {
+        double total = 0;
+        for (int h = 0; h < count; h++) {
+            total += weights[h];
+        }
+
+        if (total <= Double.MIN_NORMAL) {
+            // Evidence contradicted every hypothesis; start over from the prior
+            Arrays.fill(weights, 1.0 / count);
+        } else {
+            double scale = 1.0 / total;
+            for (int h = 0; h < count; h++) {
+                weights[h] *= scale;
+            }
+        }
+        updateEstimates();
+    }
+
+    private void updateEstimates() {
+        Arrays.fill(estimates, 0);
+        for (int h = 0, offset = 0; h < count; h++, offset += STAT_COUNT) {
+            double weight = weights[h];
+            for (int stat = 0; stat < STAT_COUNT; stat++) {
+                estimates[stat] += weight * LEVEL_GRID[stat][hypotheses[offset + stat]];
+            }
+        }
+
+        if (count == 0) {
+            // No hypothesis at all; fall back to a flat guess
+            Arrays.fill(estimates, Math.max(1, Math.min(99, combatLevel)));
+        }
+    }
+
+    /**
+     * Posterior mean of a stat's base level.
+     */
+    public double getEstimatedLevel(int stat) {
+        return estimates[stat];
+    }
+
+    public int getLevel(int stat) {
+        return Math.max(1, Math.min(99, (int) Math.round(estimates[stat])));
+    }
+
+    public int getCombatLevel() {
+        return combatLevel;
+    }
+
+    private static int[] prayerTiers(int midLevel, int topLevel) {
+        int[] grid = LEVEL_GRID[PRAYER];
+        int[] tiers = new int[grid.length];
+        for (int i = 0; i < grid.length; i++) {
+            tiers[i] = grid[i] >= topLevel ? 2 : grid[i] >= midLevel ? 1 : 0;
+        }
+        return tiers;
+    }
+
+    /**
+     * Max hit per prayer tier, grid level and gear strength bonus, assuming the best
+     * potion boost (super strength / ranging) and an aggressive or accurate stance.
+     */
+    private static short[][][] buildMaxHitTable(int stat, boolean melee) {
+        int[] grid = LEVEL_GRID[stat];
+        short[][][] table = new short[PRAYER_TIER_MULTIPLIERS.length][grid.length][MAX_STRENGTH_BONUS + 1];
+        for (int tier = 0; tier < PRAYER_TIER_MULTIPLIERS.length; tier++) {
+            for (int i = 0; i < grid.length; i++) {
+                int level = grid[i];
+                int boosted = melee ? level + 5 + (int) (level * 0.15) : level + 4 + (int) (level * 0.10);
+                int effective = (int) (boosted * PRAYER_TIER_MULTIPLIERS[tier]) + 3 + 8;
+                for (int bonus = 0; bonus <= MAX_STRENGTH_BONUS; bonus++) {
+                    table[tier][i][bonus] = (short) (0.5 + effective * (bonus + 64) / 640.0);
+                }
+            }
+        }
+        return table;
+    }
+
+    private static double[] buildUniformLikelihoods() {
+        int maxHit = Math.max(maxOf(MELEE_MAX_HIT), maxOf(RANGED_MAX_HIT));
+        double[] likelihoods = new double[maxHit + 1];
+        for (int m = 0; m <= maxHit; m++) {
+            likelihoods[m] = 1.0 / (m + 1);
+        }
+        return likelihoods;
+    }
+
+    private static int maxOf(short[][][] table) {
+        int max = 0;
+        for (short[][] tier : table) {
+            for (short[] row : tier) {
+                max = Math.max(max, row[row.length - 1]);
+            }
+        }
+        return max;
+    }
+}
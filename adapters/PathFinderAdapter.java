@@ -1,13 +1,14 @@
 package net.runelite.client.plugins.autopvp.adapters;
 
-import com.elvarg.game.collision.RegionManager;
 import com.elvarg.game.entity.impl.Mobile;
 import com.elvarg.game.model.Location;
 import com.elvarg.game.model.movement.path.PathFinder;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.*;
-import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.eventbus.Subscribe;
 
 import java.util.*;
 
@@ -19,14 +20,35 @@ import java.util.*;
 public class PathFinderAdapter {
 
     private final Client client;
+    private final EventBus eventBus;
+    private final SceneCollisionCache sceneCache;
 
     // Direction constants from PathFinder
     public static final int WEST = 0x1280108, EAST = 0x1280180, SOUTH = 0x1280102,
             NORTH = 0x1280120, SOUTHEAST = 0x1280183, SOUTHWEST = 0x128010e,
             NORTHEAST = 0x12801e0, NORTHWEST = 0x1280138;
 
-    public PathFinderAdapter(Client client) {
+    public PathFinderAdapter(Client client, EventBus eventBus) {
         this.client = client;
+        this.eventBus = eventBus;
+        this.sceneCache = new SceneCollisionCache(client);
+        eventBus.register(this);
+    }
+
+    @Subscribe
+    public void onGameStateChanged(GameStateChanged event) {
+        // Scene base and collision maps are replaced on every region load
+        GameState state = event.getGameState();
+        if (state == GameState.LOADING || state == GameState.HOPPING || state == GameState.LOGIN_SCREEN) {
+            sceneCache.invalidate();
+        }
+    }
+
+    /**
+     * Scene collision snapshot shared by the movement and path queries.
+     */
+    public SceneCollisionCache getSceneCollisionCache() {
+        return sceneCache;
     }
 
     /**
@@ -80,72 +102,24 @@ public class PathFinderAdapter {
 
     /**
      * Check if a projectile can travel between two locations.
-     * Uses RuneLite's collision data to verify line of sight.
+     * Uses the scene collision snapshot; results are cached per (from, to) pair.
      */
     public boolean canProjectileAttack(Location from, Location to) {
-        // Convert Elvarg locations to RuneLite world points
-        WorldPoint fromPoint = toWorldPoint(from);
-        WorldPoint toPoint = toWorldPoint(to);
-
-        // Check collision using RuneLite's collision system
-        CollisionData[] collisionData = client.getCollisionMaps();
-        if (collisionData == null) {
+        if (!sceneCache.sync(from.getZ())) {
             // No collision data available, assume clear path
             return true;
         }
 
-        int plane = from.getZ();
-        if (plane >= collisionData.length || collisionData[plane] == null) {
-            return true;
-        }
+        int x0 = sceneCache.toSceneX(from.getX());
+        int y0 = sceneCache.toSceneY(from.getY());
+        int x1 = sceneCache.toSceneX(to.getX());
+        int y1 = sceneCache.toSceneY(to.getY());
 
-        // Use RegionManager for consistency with Elvarg
-        // Calculate scene-relative local coordinates
-        // RuneLite uses scene coordinates (0-103) for collision maps
-        LocalPoint fromLocal = LocalPoint.fromWorld(client, toWorldPoint(from));
-        LocalPoint toLocal = LocalPoint.fromWorld(client, toWorldPoint(to));
-
-        if (fromLocal == null || toLocal == null) {
+        if (!SceneCollisionCache.inScene(x0, y0) || !SceneCollisionCache.inScene(x1, y1)) {
             return false; // Points not in scene
         }
 
-        int x0 = fromLocal.getSceneX();
-        int y0 = fromLocal.getSceneY();
-        int x1 = toLocal.getSceneX();
-        int y1 = toLocal.getSceneY();
-
-        // Check bounds
-        if (x0 < 0 || x0 >= 104 || y0 < 0 || y0 >= 104 ||
-            x1 < 0 || x1 >= 104 || y1 < 0 || y1 >= 104) {
-            return false;
-        }
-
-        // Implement line-of-sight check using Bresenham's algorithm
-        int dx = Math.abs(x1 - x0);
-        int dy = Math.abs(y1 - y0);
-        int sx = x0 < x1 ? 1 : -1;
-        int sy = y0 < y1 ? 1 : -1;
-        int err = dx - dy;
-
-        while (x0 != x1 || y0 != y1) {
-            // Check if current tile blocks projectiles
-            int flags = collisionData[plane].getFlags()[x0][y0];
-            if ((flags & CollisionDataFlag.BLOCK_LINE_OF_SIGHT_FULL) != 0) {
-                return false;
-            }
-
-            int e2 = 2 * err;
-            if (e2 > -dy) {
-                err -= dy;
-                x0 += sx;
-            }
-            if (e2 < dx) {
-                err += dx;
-                y0 += sy;
-            }
-        }
-
-        return true;
+        return sceneCache.hasLineOfSight(x0, y0, x1, y1);
     }
 
     /**
@@ -153,64 +127,35 @@ public class PathFinderAdapter {
      * Uses RuneLite's collision flags.
      */
     public boolean isBlocked(Location location) {
-        CollisionData[] collisionData = client.getCollisionMaps();
-        if (collisionData == null) {
+        if (!sceneCache.sync(location.getZ())) {
             return false;
         }
 
-        int plane = location.getZ();
-        if (plane >= collisionData.length || collisionData[plane] == null) {
-            return false;
-        }
-
-        // Check collision flags at the location
-        // Calculate scene-relative coordinates
-        LocalPoint localPoint = LocalPoint.fromWorld(client, toWorldPoint(location));
-        if (localPoint == null) {
+        int sceneX = sceneCache.toSceneX(location.getX());
+        int sceneY = sceneCache.toSceneY(location.getY());
+        if (!SceneCollisionCache.inScene(sceneX, sceneY)) {
             return true; // Location not in scene, consider blocked
         }
-        
-        int localX = localPoint.getSceneX();
-        int localY = localPoint.getSceneY();
-
-        if (localX < 0 || localX >= 104 || localY < 0 || localY >= 104) {
-            return true; // Out of bounds
-        }
-
-        int flags = collisionData[plane].getFlags()[localX][localY];
 
         // Check if tile is blocked (solid object, wall, etc)
-        return (flags & CollisionDataFlag.BLOCK_MOVEMENT_FULL) != 0;
+        return !sceneCache.isWalkable(sceneX, sceneY);
     }
 
     /**
      * Get collision flags at a specific location.
      */
     public int getCollisionFlags(Location location) {
-        CollisionData[] collisionData = client.getCollisionMaps();
-        if (collisionData == null) {
+        if (!sceneCache.sync(location.getZ())) {
             return 0;
         }
 
-        int plane = location.getZ();
-        if (plane >= collisionData.length || collisionData[plane] == null) {
-            return 0;
-        }
-
-        // Calculate scene-relative coordinates
-        LocalPoint localPoint = LocalPoint.fromWorld(client, toWorldPoint(location));
-        if (localPoint == null) {
+        int sceneX = sceneCache.toSceneX(location.getX());
+        int sceneY = sceneCache.toSceneY(location.getY());
+        if (!SceneCollisionCache.inScene(sceneX, sceneY)) {
             return CollisionDataFlag.BLOCK_MOVEMENT_FULL; // Not in scene
         }
-        
-        int localX = localPoint.getSceneX();
-        int localY = localPoint.getSceneY();
-
-        if (localX < 0 || localX >= 104 || localY < 0 || localY >= 104) {
-            return CollisionDataFlag.BLOCK_MOVEMENT_FULL; // Out of bounds
-        }
 
-        return collisionData[plane].getFlags()[localX][localY];
+        return sceneCache.getFlags(sceneX, sceneY);
     }
 
     /**
@@ -364,4 +309,12 @@ public class PathFinderAdapter {
         return loc1.getRegionX() == loc2.getRegionX() &&
                loc1.getRegionY() == loc2.getRegionY();
     }
-}
\ No newline at end of file
+
+    /**
+     * Clean up when adapter is no longer needed.
+     */
+    public void shutdown() {
+        eventBus.unregister(this);
+        sceneCache.invalidate();
+    }
+}
@@ -18,7 +18,6 @@ import net.runelite.api.gameval.ItemID;
 import net.runelite.api.VarPlayer;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.GameTick;
-import net.runelite.api.events.GraphicChanged;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.game.ItemManager;
@@ -30,7 +29,7 @@ import lombok.extern.slf4j.Slf4j;
  * Aggregates all the sub-adapters (Equipment, Inventory, Skills, etc).
  */
 @Slf4j
-public class PlayerAdapter extends Mobile {
+public class PlayerAdapter extends Mobile implements EventBridgeAdapter.TickEventListener {
 
     private final Client client;
     private final EventBus eventBus;
@@ -126,12 +125,19 @@ public class PlayerAdapter extends Mobile {
         }
 
     }
-    @Subscribe
-    public void onGraphicChanged(GraphicChanged event) {
+    @Override
+    public void onTickEvents(TickEventBatch batch) {
+        // The agent's own timers are fed from the same batch
+        timerManagerAdapter.onTickEvents(batch);
+
         // Check for vengeance graphic (726)
-        net.runelite.api.Actor actor = event.getActor();
-        if (actor == client.getLocalPlayer()) {
-            int graphicId = actor.getGraphic();
+        net.runelite.api.Actor localPlayer = client.getLocalPlayer();
+        for (int i = 0; i < batch.getGraphicCount(); i++) {
+            if (batch.getGraphicActor(i) != localPlayer) {
+                continue;
+            }
+
+            int graphicId = batch.getGraphicId(i);
             if (graphicId == 726) {
                 hasVengeance = true;
                 log.debug("[ADAPTER] Vengeance detected on local player");
@@ -327,6 +333,10 @@ public class PlayerAdapter extends Mobile {
         return 1; // Players are always size 1
     }
 
+    public PrayerHandlerAdapter getPrayerHandlerAdapter() {
+        return prayerHandlerAdapter;
+    }
+
     // Mobile-specific getters/setters
     @Override
     public boolean[] getPrayerActive() {
@@ -384,6 +394,13 @@ public class PlayerAdapter extends Mobile {
         this.combatFollowing = combatFollowing;
     }
 
+    /**
+     * Drop timer state tied to the old tick count on logout or world hop.
+     */
+    public void onLoggedOut() {
+        timerManagerAdapter.reset();
+    }
+
     /**
      * Clean up resources when adapter is no longer needed.
      */
@@ -10,10 +10,10 @@ import net.runelite.api.Client;
 import net.runelite.api.InventoryID;
 import net.runelite.api.ItemContainer;
 import net.runelite.api.events.ItemContainerChanged;
-import net.runelite.api.events.AnimationChanged;
 import net.runelite.api.gameval.ItemID;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.plugins.autopvp.util.ConsumableTable;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -24,7 +24,7 @@ import java.util.Optional;
  * Tracks potion effects, doses, and consumption timing.
  */
 @Slf4j
-public class PotionConsumableAdapter {
+public class PotionConsumableAdapter implements EventBridgeAdapter.TickEventListener {
 
     private final Client client;
     private final EventBus eventBus;
@@ -48,15 +48,14 @@ public class PotionConsumableAdapter {
         eventBus.register(this);
     }
 
-    @Subscribe
-    public void onAnimationChanged(AnimationChanged event) {
-        if (event.getActor() != client.getLocalPlayer()) {
-            return;
-        }
-
-        if (event.getActor().getAnimation() == DRINK_ANIMATION) {
-            // Player is drinking a potion
-            handlePotionDrink();
+    @Override
+    public void onTickEvents(TickEventBatch batch) {
+        net.runelite.api.Player localPlayer = client.getLocalPlayer();
+        for (int i = 0; i < batch.getAnimationCount(); i++) {
+            if (batch.getAnimationActor(i) == localPlayer && batch.getAnimationId(i) == DRINK_ANIMATION) {
+                handlePotionDrink();
+                return;
+            }
         }
     }
 
@@ -101,30 +100,26 @@ public class PotionConsumableAdapter {
      * Get the PotionConsumable type for an item ID.
      */
     public Optional<PotionConsumable> getPotionType(int itemId) {
-        // Delegate to Elvarg's PotionConsumable enum
-        // Citation: PotionConsumable.getIds() from C:/dev/elvarg-rsps-master/ElvargServer/game/src/main/java/com/elvarg/game/content/PotionConsumable.java:L393
-        for (PotionConsumable potion : PotionConsumable.values()) {
-            for (int id : potion.getIds()) {
-                if (id == itemId) {
-                    return Optional.of(potion);
-                }
-            }
-        }
-        return Optional.empty();
+        return Optional.ofNullable(ConsumableTable.getElvargPotion(itemId));
     }
 
     /**
      * Check if an item is a potion.
      */
     public boolean isPotion(int itemId) {
-        return getPotionType(itemId).isPresent();
+        return ConsumableTable.getElvargPotion(itemId) != null;
     }
 
     /**
      * Get the number of doses for a potion item.
      */
     public int getPotionDoses(int itemId) {
-        // Determine doses based on item ID pattern
+        int doses = ConsumableTable.getDoses(itemId);
+        if (doses > 0) {
+            return doses;
+        }
+
+        // Fall back to the item name for potions outside the dose table
         // Most potions follow pattern: (4) = 4 doses, (3) = 3 doses, etc.
         String name = client.getItemDefinition(itemId).getName();
         if (name.contains("(4)")) return 4;
@@ -145,11 +140,8 @@ public class PotionConsumableAdapter {
 
         int totalDoses = 0;
         for (net.runelite.api.Item item : inventory.getItems()) {
-            if (item != null) {
-                Optional<PotionConsumable> potionType = getPotionType(item.getId());
-                if (potionType.isPresent() && potionType.get() == type) {
-                    totalDoses += getPotionDoses(item.getId());
-                }
+            if (item != null && ConsumableTable.getElvargPotion(item.getId()) == type) {
+                totalDoses += getPotionDoses(item.getId());
             }
         }
 
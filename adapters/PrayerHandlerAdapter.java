@@ -12,12 +12,14 @@ import net.runelite.api.events.VarbitChanged;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
 
-import java.util.EnumMap;
-import java.util.Map;
+import java.util.Arrays;
 
 /**
  * Adapter that bridges RuneLite's prayer system to Elvarg's PrayerHandler.
  * Tracks prayer states and provides compatibility with Elvarg's prayer constants.
+ *
+ * Prayer state is a single bitmask indexed by Elvarg prayer id, re-read only when
+ * a prayer varbit changes and published as an immutable tick-stamped snapshot.
  */
 @Slf4j
 public class PrayerHandlerAdapter {
@@ -25,8 +27,17 @@ public class PrayerHandlerAdapter {
     private final Client client;
     private final EventBus eventBus;
 
-    // Map RuneLite prayers to Elvarg prayer IDs
-    private static final Map<Prayer, Integer> PRAYER_MAPPING = new EnumMap<>(Prayer.class);
+    // Elvarg's prayer array size; every id fits in one long
+    private static final int PRAYER_COUNT = 29;
+
+    private static final Prayer[] PRAYERS = Prayer.values();
+
+    // Elvarg prayer id per RuneLite Prayer ordinal, -1 when unmapped
+    private static final int[] ELVARG_ID_BY_ORDINAL = new int[PRAYERS.length];
+
+    // Varbit id -> whether it backs a mapped prayer
+    private static final boolean[] IS_PRAYER_VARBIT;
+
     // Canonical prayer drain rates from Elvarg PrayerData enum
     // Citation: C:/dev/elvarg-rsps-master/ElvargServer/game/src/main/java/com/elvarg/game/content/PrayerHandler.java:530-558
     private static final double[] PRAYER_DRAIN_RATES = {
@@ -61,43 +72,111 @@ public class PrayerHandlerAdapter {
         40.0   // 28: AUGURY
     };
     static {
+        Arrays.fill(ELVARG_ID_BY_ORDINAL, -1);
+
         // Initialize prayer mappings based on PrayerHandler constants
-        PRAYER_MAPPING.put(Prayer.THICK_SKIN, PrayerHandler.THICK_SKIN);
-        PRAYER_MAPPING.put(Prayer.BURST_OF_STRENGTH, PrayerHandler.BURST_OF_STRENGTH);
-        PRAYER_MAPPING.put(Prayer.CLARITY_OF_THOUGHT, PrayerHandler.CLARITY_OF_THOUGHT);
-        PRAYER_MAPPING.put(Prayer.SHARP_EYE, PrayerHandler.SHARP_EYE);
-        PRAYER_MAPPING.put(Prayer.MYSTIC_WILL, PrayerHandler.MYSTIC_WILL);
-        PRAYER_MAPPING.put(Prayer.ROCK_SKIN, PrayerHandler.ROCK_SKIN);
-        PRAYER_MAPPING.put(Prayer.SUPERHUMAN_STRENGTH, PrayerHandler.SUPERHUMAN_STRENGTH);
-        PRAYER_MAPPING.put(Prayer.IMPROVED_REFLEXES, PrayerHandler.IMPROVED_REFLEXES);
-        PRAYER_MAPPING.put(Prayer.RAPID_RESTORE, PrayerHandler.RAPID_RESTORE);
-        PRAYER_MAPPING.put(Prayer.RAPID_HEAL, PrayerHandler.RAPID_HEAL);
-        PRAYER_MAPPING.put(Prayer.PROTECT_ITEM, PrayerHandler.PROTECT_ITEM);
-        PRAYER_MAPPING.put(Prayer.HAWK_EYE, PrayerHandler.HAWK_EYE);
-        PRAYER_MAPPING.put(Prayer.MYSTIC_LORE, PrayerHandler.MYSTIC_LORE);
-        PRAYER_MAPPING.put(Prayer.STEEL_SKIN, PrayerHandler.STEEL_SKIN);
-        PRAYER_MAPPING.put(Prayer.ULTIMATE_STRENGTH, PrayerHandler.ULTIMATE_STRENGTH);
-        PRAYER_MAPPING.put(Prayer.INCREDIBLE_REFLEXES, PrayerHandler.INCREDIBLE_REFLEXES);
-        PRAYER_MAPPING.put(Prayer.PROTECT_FROM_MAGIC, PrayerHandler.PROTECT_FROM_MAGIC);
-        PRAYER_MAPPING.put(Prayer.PROTECT_FROM_MISSILES, PrayerHandler.PROTECT_FROM_MISSILES);
-        PRAYER_MAPPING.put(Prayer.PROTECT_FROM_MELEE, PrayerHandler.PROTECT_FROM_MELEE);
-        PRAYER_MAPPING.put(Prayer.EAGLE_EYE, PrayerHandler.EAGLE_EYE);
-        PRAYER_MAPPING.put(Prayer.MYSTIC_MIGHT, PrayerHandler.MYSTIC_MIGHT);
-        PRAYER_MAPPING.put(Prayer.RETRIBUTION, PrayerHandler.RETRIBUTION);
-        PRAYER_MAPPING.put(Prayer.REDEMPTION, PrayerHandler.REDEMPTION);
-        PRAYER_MAPPING.put(Prayer.SMITE, PrayerHandler.SMITE);
-        PRAYER_MAPPING.put(Prayer.PRESERVE, PrayerHandler.PRESERVE);
-        PRAYER_MAPPING.put(Prayer.CHIVALRY, PrayerHandler.CHIVALRY);
-        PRAYER_MAPPING.put(Prayer.PIETY, PrayerHandler.PIETY);
-        PRAYER_MAPPING.put(Prayer.RIGOUR, PrayerHandler.RIGOUR);
-        PRAYER_MAPPING.put(Prayer.AUGURY, PrayerHandler.AUGURY);
+        map(Prayer.THICK_SKIN, PrayerHandler.THICK_SKIN);
+        map(Prayer.BURST_OF_STRENGTH, PrayerHandler.BURST_OF_STRENGTH);
+        map(Prayer.CLARITY_OF_THOUGHT, PrayerHandler.CLARITY_OF_THOUGHT);
+        map(Prayer.SHARP_EYE, PrayerHandler.SHARP_EYE);
+        map(Prayer.MYSTIC_WILL, PrayerHandler.MYSTIC_WILL);
+        map(Prayer.ROCK_SKIN, PrayerHandler.ROCK_SKIN);
+        map(Prayer.SUPERHUMAN_STRENGTH, PrayerHandler.SUPERHUMAN_STRENGTH);
+        map(Prayer.IMPROVED_REFLEXES, PrayerHandler.IMPROVED_REFLEXES);
+        map(Prayer.RAPID_RESTORE, PrayerHandler.RAPID_RESTORE);
+        map(Prayer.RAPID_HEAL, PrayerHandler.RAPID_HEAL);
+        map(Prayer.PROTECT_ITEM, PrayerHandler.PROTECT_ITEM);
+        map(Prayer.HAWK_EYE, PrayerHandler.HAWK_EYE);
+        map(Prayer.MYSTIC_LORE, PrayerHandler.MYSTIC_LORE);
+        map(Prayer.STEEL_SKIN, PrayerHandler.STEEL_SKIN);
+        map(Prayer.ULTIMATE_STRENGTH, PrayerHandler.ULTIMATE_STRENGTH);
+        map(Prayer.INCREDIBLE_REFLEXES, PrayerHandler.INCREDIBLE_REFLEXES);
+        map(Prayer.PROTECT_FROM_MAGIC, PrayerHandler.PROTECT_FROM_MAGIC);
+        map(Prayer.PROTECT_FROM_MISSILES, PrayerHandler.PROTECT_FROM_MISSILES);
+        map(Prayer.PROTECT_FROM_MELEE, PrayerHandler.PROTECT_FROM_MELEE);
+        map(Prayer.EAGLE_EYE, PrayerHandler.EAGLE_EYE);
+        map(Prayer.MYSTIC_MIGHT, PrayerHandler.MYSTIC_MIGHT);
+        map(Prayer.RETRIBUTION, PrayerHandler.RETRIBUTION);
+        map(Prayer.REDEMPTION, PrayerHandler.REDEMPTION);
+        map(Prayer.SMITE, PrayerHandler.SMITE);
+        map(Prayer.PRESERVE, PrayerHandler.PRESERVE);
+        map(Prayer.CHIVALRY, PrayerHandler.CHIVALRY);
+        map(Prayer.PIETY, PrayerHandler.PIETY);
+        map(Prayer.RIGOUR, PrayerHandler.RIGOUR);
+        map(Prayer.AUGURY, PrayerHandler.AUGURY);
+
+        int maxVarbit = 0;
+        for (Prayer prayer : PRAYERS) {
+            if (ELVARG_ID_BY_ORDINAL[prayer.ordinal()] >= 0) {
+                maxVarbit = Math.max(maxVarbit, prayer.getVarbit());
+            }
+        }
+        IS_PRAYER_VARBIT = new boolean[maxVarbit + 1];
+        for (Prayer prayer : PRAYERS) {
+            if (ELVARG_ID_BY_ORDINAL[prayer.ordinal()] >= 0 && prayer.getVarbit() >= 0) {
+                IS_PRAYER_VARBIT[prayer.getVarbit()] = true;
+            }
+        }
+    }
+
+    private static void map(Prayer prayer, int elvargId) {
+        ELVARG_ID_BY_ORDINAL[prayer.ordinal()] = elvargId;
+    }
+
+    private static long maskOf(int... prayers) {
+        long mask = 0L;
+        for (int prayer : prayers) {
+            mask |= 1L << prayer;
+        }
+        return mask;
     }
 
-    // Track prayer states (matches Elvarg's array size)
-    private final boolean[] prayerActive = new boolean[29];
+    private static final long OVERHEAD_MASK = maskOf(PrayerHandler.OVERHEAD_PRAYERS);
+    private static final long PROTECTION_MASK = maskOf(PrayerHandler.PROTECTION_PRAYERS);
+    private static final long OFFENSIVE_MASK = maskOf(PrayerHandler.ATTACK_PRAYERS)
+        | maskOf(PrayerHandler.STRENGTH_PRAYERS)
+        | maskOf(PrayerHandler.RANGED_PRAYERS)
+        | maskOf(PrayerHandler.MAGIC_PRAYERS);
+
+    /**
+     * Immutable view of the local player's prayers: one bit per Elvarg prayer id,
+     * stamped with the tick the state last changed on.
+     */
+    public static final class PrayerSnapshot {
+        static final PrayerSnapshot EMPTY = new PrayerSnapshot(0L, -1);
+
+        private final long mask;
+        private final int tick;
+
+        PrayerSnapshot(long mask, int tick) {
+            this.mask = mask;
+            this.tick = tick;
+        }
+
+        /**
+         * Active prayers, bit {@code 1L << id} per Elvarg prayer id.
+         */
+        public long getMask() {
+            return mask;
+        }
+
+        /**
+         * Client tick the prayers last changed on, -1 before the first update.
+         */
+        public int getTick() {
+            return tick;
+        }
+
+        public boolean isActive(int prayer) {
+            return prayer >= 0 && prayer < PRAYER_COUNT && (mask & (1L << prayer)) != 0;
+        }
+
+        public boolean isActive(Prayer prayer) {
+            return isActive(ELVARG_ID_BY_ORDINAL[prayer.ordinal()]);
+        }
+    }
 
-    // Cache active overhead prayer - volatile for thread safety (RuneLite EventBus thread vs game thread)
-    private volatile int activeOverheadPrayer = -1;
+    private volatile PrayerSnapshot snapshot = PrayerSnapshot.EMPTY;
 
     public PrayerHandlerAdapter(Client client, EventBus eventBus) {
         this.client = client;
@@ -108,37 +187,44 @@ public class PrayerHandlerAdapter {
 
     @Subscribe
     public void onVarbitChanged(VarbitChanged event) {
-        // Update prayer states when varbits change
-        updateAllPrayers();
+        // Most varbit traffic is unrelated; only prayer toggles touch the mask
+        int varbitId = event.getVarbitId();
+        if (varbitId < 0 || varbitId >= IS_PRAYER_VARBIT.length || !IS_PRAYER_VARBIT[varbitId]) {
+            return;
+        }
+        refresh();
     }
 
     /**
-     * Updates all prayer states from client varbits.
+     * Re-read the prayer varbits and publish a new snapshot if anything changed.
      */
-    private void updateAllPrayers() {
-        for (Prayer prayer : Prayer.values()) {
-            boolean active = client.isPrayerActive(prayer);
-            Integer elvargId = PRAYER_MAPPING.get(prayer);
-
-            if (elvargId != null) {
-                boolean wasActive = prayerActive[elvargId];
-                prayerActive[elvargId] = active;
-
-                if (active != wasActive) {
-                    log.debug("[PRAYER] {} {}: ElvargID={}",
-                             prayer.name(), active ? "activated" : "deactivated", elvargId);
-
-                    // Track overhead prayer changes
-                    if (isOverheadPrayer(elvargId)) {
-                        if (active) {
-                            activeOverheadPrayer = elvargId;
-                        } else if (activeOverheadPrayer == elvargId) {
-                            activeOverheadPrayer = -1;
-                        }
-                    }
-                }
+    public void refresh() {
+        long mask = 0L;
+        for (Prayer prayer : PRAYERS) {
+            int elvargId = ELVARG_ID_BY_ORDINAL[prayer.ordinal()];
+            if (elvargId >= 0 && client.isPrayerActive(prayer)) {
+                mask |= 1L << elvargId;
             }
         }
+
+        PrayerSnapshot previous = snapshot;
+        if (mask == previous.mask) {
+            return;
+        }
+
+        snapshot = new PrayerSnapshot(mask, client.getTickCount());
+        if (log.isDebugEnabled()) {
+            log.debug("[PRAYER] Active prayers changed: {} -> {}",
+                Long.toBinaryString(previous.mask), Long.toBinaryString(mask));
+        }
+    }
+
+    /**
+     * Current prayer state. The returned snapshot never changes; read it once and
+     * query it as often as needed.
+     */
+    public PrayerSnapshot getSnapshot() {
+        return snapshot;
     }
 
     /**
@@ -146,10 +232,7 @@ public class PrayerHandlerAdapter {
      * Mirrors PrayerHandler.isActivated() behavior.
      */
     public boolean isActivated(int prayer) {
-        if (prayer < 0 || prayer >= prayerActive.length) {
-            return false;
-        }
-        return prayerActive[prayer];
+        return snapshot.isActive(prayer);
     }
 
     /**
@@ -167,42 +250,30 @@ public class PrayerHandlerAdapter {
 
     /**
      * Get the prayer array for Elvarg compatibility.
-     * Returns a defensive copy to prevent external modification (thread safety).
+     * Returns a fresh array expanded from the current snapshot.
      */
     public boolean[] getPrayerActive() {
-        // Return defensive copy for thread safety
-        return prayerActive.clone();
-    }
-
-    /**
-     * Check if a prayer is an overhead prayer.
-     */
-    private boolean isOverheadPrayer(int prayer) {
-        for (int overheadPrayer : PrayerHandler.OVERHEAD_PRAYERS) {
-            if (overheadPrayer == prayer) {
-                return true;
-            }
+        long mask = snapshot.mask;
+        boolean[] active = new boolean[PRAYER_COUNT];
+        for (int i = 0; i < PRAYER_COUNT; i++) {
+            active[i] = (mask & (1L << i)) != 0;
         }
-        return false;
+        return active;
     }
 
     /**
      * Check if a prayer is a protection prayer.
      */
     public boolean isProtectionPrayer(int prayer) {
-        for (int protectionPrayer : PrayerHandler.PROTECTION_PRAYERS) {
-            if (protectionPrayer == prayer) {
-                return true;
-            }
-        }
-        return false;
+        return prayer >= 0 && prayer < PRAYER_COUNT && (PROTECTION_MASK & (1L << prayer)) != 0;
     }
 
     /**
      * Get the active overhead prayer ID.
      */
     public int getActiveOverheadPrayer() {
-        return activeOverheadPrayer;
+        long overhead = snapshot.mask & OVERHEAD_MASK;
+        return overhead != 0 ? Long.numberOfTrailingZeros(overhead) : -1;
     }
 
     /**
@@ -238,23 +309,7 @@ public class PrayerHandlerAdapter {
      * Check if any offensive prayer is active (for observations).
      */
     public boolean hasOffensivePrayerActive() {
-        // Check attack prayers
-        for (int prayer : PrayerHandler.ATTACK_PRAYERS) {
-            if (isActivated(prayer)) return true;
-        }
-        // Check strength prayers
-        for (int prayer : PrayerHandler.STRENGTH_PRAYERS) {
-            if (isActivated(prayer)) return true;
-        }
-        // Check ranged prayers
-        for (int prayer : PrayerHandler.RANGED_PRAYERS) {
-            if (isActivated(prayer)) return true;
-        }
-        // Check magic prayers
-        for (int prayer : PrayerHandler.MAGIC_PRAYERS) {
-            if (isActivated(prayer)) return true;
-        }
-        return false;
+        return (snapshot.mask & OFFENSIVE_MASK) != 0;
     }
 
     /**
@@ -265,10 +320,8 @@ public class PrayerHandlerAdapter {
         double totalDrain = 0.0;
 
         // Calculate drain using canonical PrayerData drain rates
-        for (int i = 0; i < prayerActive.length && i < PRAYER_DRAIN_RATES.length; i++) {
-            if (prayerActive[i]) {
-                totalDrain += PRAYER_DRAIN_RATES[i];
-            }
+        for (long mask = snapshot.mask; mask != 0; mask &= mask - 1) {
+            totalDrain += PRAYER_DRAIN_RATES[Long.numberOfTrailingZeros(mask)];
         }
 
         return totalDrain;
@@ -0,0 +1,235 @@
+package net.runelite.client.plugins.autopvp.adapters;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.CollisionData;
+import net.runelite.api.CollisionDataFlag;
+import net.runelite.api.Constants;
+import net.runelite.api.Scene;
+
+/**
+ * Flat snapshot of the scene's collision flags for one plane, plus a cache of
+ * recent line-of-sight results.
+ *
+ * The snapshot is packed as {@code flags[sceneX * SCENE_SIZE + sceneY]} and
+ * resynchronised at most once per game tick, when first queried. Any change to the
+ * plane, scene base or individual flags (doors opening, objects spawning) bumps the
+ * generation, which invalidates every cached line-of-sight result at once. A scene
+ * load drops the snapshot entirely via {@link #invalidate()}.
+ *
+ * Must only be used from the client thread.
+ */
+@Slf4j
+public class SceneCollisionCache {
+
+    public static final int SCENE_SIZE = Constants.SCENE_SIZE;
+    private static final int SCENE_AREA = SCENE_SIZE * SCENE_SIZE;
+
+    // Flags that stop a tile being entered from the given side
+    private static final int ENTER_FROM_WEST = CollisionDataFlag.BLOCK_MOVEMENT_WEST | CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+    private static final int ENTER_FROM_EAST = CollisionDataFlag.BLOCK_MOVEMENT_EAST | CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+    private static final int ENTER_FROM_SOUTH = CollisionDataFlag.BLOCK_MOVEMENT_SOUTH | CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+    private static final int ENTER_FROM_NORTH = CollisionDataFlag.BLOCK_MOVEMENT_NORTH | CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+
+    // Direct-mapped; must be a power of two
+    private static final int LOS_CACHE_SIZE = 1024;
+
+    private final Client client;
+
+    private final int[] flags = new int[SCENE_AREA];
+    private int plane = -1;
+    private int baseX;
+    private int baseY;
+    private int syncedTick = -1;
+    private boolean valid;
+    private int generation = 1;
+
+    private final int[] losKeys = new int[LOS_CACHE_SIZE];
+    private final int[] losGenerations = new int[LOS_CACHE_SIZE];
+    private final boolean[] losResults = new boolean[LOS_CACHE_SIZE];
+
+    public SceneCollisionCache(Client client) {
+        this.client = client;
+    }
+
+    /**
+     * Bring the snapshot up to date for a plane. Returns false when the client has no
+     * collision data for it (e.g. during loading).
+     */
+    public boolean sync(int plane) {
+        int tick = client.getTickCount();
+        if (valid && plane == this.plane && tick == syncedTick) {
+            return true;
+        }
+
+        CollisionData[] maps = client.getCollisionMaps();
+        Scene scene = client.getScene();
+        if (maps == null || scene == null || plane < 0 || plane >= maps.length || maps[plane] == null) {
+            valid = false;
+            return false;
+        }
+
+        int sceneBaseX = scene.getBaseX();
+        int sceneBaseY = scene.getBaseY();
+        boolean changed = !valid || plane != this.plane || sceneBaseX != baseX || sceneBaseY != baseY;
+
+        int[][] source = maps[plane].getFlags();
+        int width = Math.min(SCENE_SIZE, source.length);
+        for (int x = 0; x < width; x++) {
+            int[] column = source[x];
+            int height = Math.min(SCENE_SIZE, column.length);
+            int offset = x * SCENE_SIZE;
+            for (int y = 0; y < height; y++) {
+                int value = column[y];
+                if (flags[offset + y] != value) {
+                    flags[offset + y] = value;
+                    changed = true;
+                }
+            }
+        }
+
+        if (changed) {
+            generation++;
+        }
+
+        this.plane = plane;
+        this.baseX = sceneBaseX;
+        this.baseY = sceneBaseY;
+        this.syncedTick = tick;
+        this.valid = true;
+        return true;
+    }
+
+    /**
+     * Drop the snapshot; the next query rebuilds it from the client.
+     */
+    public void invalidate() {
+        valid = false;
+        syncedTick = -1;
+        generation++;
+        log.debug("[PATH] Scene collision cache invalidated");
+    }
+
+    public int toSceneX(int worldX) {
+        return worldX - baseX;
+    }
+
+    public int toSceneY(int worldY) {
+        return worldY - baseY;
+    }
+
+    public int toWorldX(int sceneX) {
+        return sceneX + baseX;
+    }
+
+    public int toWorldY(int sceneY) {
+        return sceneY + baseY;
+    }
+
+    public static boolean inScene(int sceneX, int sceneY) {
+        return sceneX >= 0 && sceneX < SCENE_SIZE && sceneY >= 0 && sceneY < SCENE_SIZE;
+    }
+
+    public static int index(int sceneX, int sceneY) {
+        return sceneX * SCENE_SIZE + sceneY;
+    }
+
+    /**
+     * Collision flags at a scene tile. Caller must have synced and bounds-checked.
+     */
+    public int getFlags(int sceneX, int sceneY) {
+        return flags[index(sceneX, sceneY)];
+    }
+
+    public boolean isWalkable(int sceneX, int sceneY) {
+        return (flags[index(sceneX, sceneY)] & CollisionDataFlag.BLOCK_MOVEMENT_FULL) == 0;
+    }
+
+    /**
+     * Whether a single step from a scene tile by (dx, dy), each in -1..1, is allowed.
+     * Mirrors the client's own rule: the destination must not be walled off on the
+     * side we enter from, and a diagonal step also needs both orthogonal steps clear.
+     */
+    public boolean canStep(int sceneX, int sceneY, int dx, int dy) {
+        int toX = sceneX + dx;
+        int toY = sceneY + dy;
+        if (!inScene(toX, toY)) {
+            return false;
+        }
+
+        if (dx != 0 && (flags[index(toX, sceneY)] & (dx > 0 ? ENTER_FROM_WEST : ENTER_FROM_EAST)) != 0) {
+            return false;
+        }
+        if (dy != 0 && (flags[index(sceneX, toY)] & (dy > 0 ? ENTER_FROM_SOUTH : ENTER_FROM_NORTH)) != 0) {
+            return false;
+        }
+        if (dx != 0 && dy != 0) {
+            int corner = dx > 0
+                ? (dy > 0 ? CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_WEST : CollisionDataFlag.BLOCK_MOVEMENT_NORTH_WEST)
+                : (dy > 0 ? CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_EAST : CollisionDataFlag.BLOCK_MOVEMENT_NORTH_EAST);
+            int enter = (dx > 0 ? ENTER_FROM_WEST : ENTER_FROM_EAST) | (dy > 0 ? ENTER_FROM_SOUTH : ENTER_FROM_NORTH);
+            return (flags[index(toX, toY)] & (enter | corner)) == 0;
+        }
+        return true;
+    }
+
+    /**
+     * Generation of the current snapshot; changes whenever any flag changes.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Projectile line of sight between two in-scene tiles. Caller must have synced
+     * and bounds-checked both points.
+     */
+    public boolean hasLineOfSight(int x0, int y0, int x1, int y1) {
+        int key = index(x0, y0) * SCENE_AREA + index(x1, y1);
+        int slot = mix(key) & (LOS_CACHE_SIZE - 1);
+        if (losGenerations[slot] == generation && losKeys[slot] == key) {
+            return losResults[slot];
+        }
+
+        boolean result = traceLineOfSight(x0, y0, x1, y1);
+        losKeys[slot] = key;
+        losGenerations[slot] = generation;
+        losResults[slot] = result;
+        return result;
+    }
+
+    /**
+     * Bresenham walk from the source tile towards the destination, failing on any
+     * tile that fully blocks line of sight. The destination tile itself is not tested.
+     */
+    private boolean traceLineOfSight(int x0, int y0, int x1, int y1) {
+        int dx = Math.abs(x1 - x0);
+        int dy = Math.abs(y1 - y0);
+        int sx = x0 < x1 ? 1 : -1;
+        int sy = y0 < y1 ? 1 : -1;
+        int err = dx - dy;
+
+        while (x0 != x1 || y0 != y1) {
+            if ((flags[index(x0, y0)] & CollisionDataFlag.BLOCK_LINE_OF_SIGHT_FULL) != 0) {
+                return false;
+            }
+
+            int e2 = 2 * err;
+            if (e2 > -dy) {
+                err -= dy;
+                x0 += sx;
+            }
+            if (e2 < dx) {
+                err += dx;
+                y0 += sy;
+            }
+        }
+
+        return true;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
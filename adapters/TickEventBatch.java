@@ -0,0 +1,152 @@
+package net.runelite.client.plugins.autopvp.adapters;
+
+import java.util.Arrays;
+import net.runelite.api.Actor;
+import net.runelite.api.Hitsplat;
+
+/**
+ * Hitsplat, animation and graphic events observed during one game tick.
+ *
+ * Events are stored column-wise in preallocated arrays so that ingesting them
+ * does not allocate. Values are captured at ingest time (the actor's animation
+ * and graphic ids, the hitsplat amount and type) because the actor may have
+ * changed again by the time the batch is dispatched.
+ *
+ * Instances are owned by {@link EventBridgeAdapter} and reused every tick;
+ * listeners must not hold on to a batch after
+ * {@link EventBridgeAdapter.TickEventListener#onTickEvents(TickEventBatch)} returns.
+ */
+public final class TickEventBatch {
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    private int tick;
+
+    // Hitsplats
+    private Actor[] hitsplatActors = new Actor[INITIAL_CAPACITY];
+    private int[] hitsplatAmounts = new int[INITIAL_CAPACITY];
+    private int[] hitsplatTypes = new int[INITIAL_CAPACITY];
+    private boolean[] hitsplatMine = new boolean[INITIAL_CAPACITY];
+    private int hitsplatCount;
+
+    // Animations
+    private Actor[] animationActors = new Actor[INITIAL_CAPACITY];
+    private int[] animationIds = new int[INITIAL_CAPACITY];
+    private int animationCount;
+
+    // Graphics
+    private Actor[] graphicActors = new Actor[INITIAL_CAPACITY];
+    private int[] graphicIds = new int[INITIAL_CAPACITY];
+    private int graphicCount;
+
+    void addHitsplat(Actor actor, Hitsplat hitsplat) {
+        if (hitsplatCount == hitsplatActors.length) {
+            int capacity = hitsplatCount * 2;
+            hitsplatActors = Arrays.copyOf(hitsplatActors, capacity);
+            hitsplatAmounts = Arrays.copyOf(hitsplatAmounts, capacity);
+            hitsplatTypes = Arrays.copyOf(hitsplatTypes, capacity);
+            hitsplatMine = Arrays.copyOf(hitsplatMine, capacity);
+        }
+
+        hitsplatActors[hitsplatCount] = actor;
+        hitsplatAmounts[hitsplatCount] = hitsplat.getAmount();
+        hitsplatTypes[hitsplatCount] = hitsplat.getHitsplatType();
+        hitsplatMine[hitsplatCount] = hitsplat.isMine();
+        hitsplatCount++;
+    }
+
+    void addAnimation(Actor actor, int animationId) {
+        if (animationCount == animationActors.length) {
+            int capacity = animationCount * 2;
+            animationActors = Arrays.copyOf(animationActors, capacity);
+            animationIds = Arrays.copyOf(animationIds, capacity);
+        }
+
+        animationActors[animationCount] = actor;
+        animationIds[animationCount] = animationId;
+        animationCount++;
+    }
+
+    void addGraphic(Actor actor, int graphicId) {
+        if (graphicCount == graphicActors.length) {
+            int capacity = graphicCount * 2;
+            graphicActors = Arrays.copyOf(graphicActors, capacity);
+            graphicIds = Arrays.copyOf(graphicIds, capacity);
+        }
+
+        graphicActors[graphicCount] = actor;
+        graphicIds[graphicCount] = graphicId;
+        graphicCount++;
+    }
+
+    void setTick(int tick) {
+        this.tick = tick;
+    }
+
+    /**
+     * Drop all events, releasing actor references so despawned actors can be collected.
+     */
+    void clear() {
+        Arrays.fill(hitsplatActors, 0, hitsplatCount, null);
+        Arrays.fill(animationActors, 0, animationCount, null);
+        Arrays.fill(graphicActors, 0, graphicCount, null);
+        hitsplatCount = 0;
+        animationCount = 0;
+        graphicCount = 0;
+    }
+
+    public boolean isEmpty() {
+        return hitsplatCount == 0 && animationCount == 0 && graphicCount == 0;
+    }
+
+    /**
+     * Client tick count at which the batch was dispatched.
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    public int getHitsplatCount() {
+        return hitsplatCount;
+    }
+
+    public Actor getHitsplatActor(int index) {
+        return hitsplatActors[index];
+    }
+
+    public int getHitsplatAmount(int index) {
+        return hitsplatAmounts[index];
+    }
+
+    public int getHitsplatType(int index) {
+        return hitsplatTypes[index];
+    }
+
+    public boolean isHitsplatMine(int index) {
+        return hitsplatMine[index];
+    }
+
+    public int getAnimationCount() {
+        return animationCount;
+    }
+
+    public Actor getAnimationActor(int index) {
+        return animationActors[index];
+    }
+
+    public int getAnimationId(int index) {
+        return animationIds[index];
+    }
+
+    public int getGraphicCount() {
+        return graphicCount;
+    }
+
+    public Actor getGraphicActor(int index) {
+        return graphicActors[index];
+    }
+
+    public int getGraphicId(int index) {
+        return graphicIds[index];
+    }
+}
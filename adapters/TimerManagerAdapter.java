@@ -3,6 +3,7 @@ package net.runelite.client.plugins.autopvp.adapters;
 import com.elvarg.util.timers.TimerKey;
 import com.elvarg.game.content.combat.CombatType;
 import com.elvarg.util.timers.TimerRepository;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -11,16 +12,12 @@ import net.runelite.api.Actor;
 import net.runelite.api.Client;
 import net.runelite.api.HeadIcon;
 import net.runelite.api.Prayer;
-import net.runelite.api.Hitsplat;
 import net.runelite.api.Player;
 import net.runelite.api.PlayerComposition;
 import net.runelite.api.kit.KitType;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.coords.LocalPoint;
-import net.runelite.api.events.AnimationChanged;
 import net.runelite.api.events.GameTick;
-import net.runelite.api.events.GraphicChanged;
-import net.runelite.api.events.HitsplatApplied;
 import net.runelite.api.gameval.ItemID;
 import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
@@ -28,25 +25,33 @@ import net.runelite.client.plugins.autopvp.adapters.OpponentElvargPlayer;
 
 /**
  * Adapter that tracks timers for Elvarg's timer system.
- * Uses RuneLite events to track freeze, vengeance, and combat timers for both
- * the local player and the current target.
+ * Uses the tick events coalesced by {@link EventBridgeAdapter} to track freeze,
+ * vengeance, and combat timers for both the local player and every nearby player. Opponent state is kept per player
+ * index and only evicted after a period of inactivity, so switching targets
+ * keeps freeze, immunity, cooldown and vengeance state warm.
  */
 @Slf4j
-public class TimerManagerAdapter extends TimerRepository
+public class TimerManagerAdapter extends TimerRepository implements EventBridgeAdapter.TickEventListener
 {
+    /**
+     * Per-opponent timers stored as absolute expiry ticks; remaining ticks are
+     * derived on read so nothing has to be decremented per game tick.
+     */
     private static final class TargetState
     {
-        int freezeTicks;
-        int immunityTicks;
-        int attackCooldown;
-        int potionCooldown;
-        int pendingHitTicks;
-        int vengeanceCooldown;
+        int freezeEndTick;
+        int immunityEndTick;
+        int attackCooldownEndTick;
+        int potionCooldownEndTick;
+        int pendingHitEndTick;
+        int vengeanceCooldownEndTick;
+        boolean hitPending;
         int lastAttackTick;
         int lastHitsplatTick;
         CombatType lastAttackType = CombatType.MELEE;
         boolean targetPrayerCorrect;
         boolean playerPrayerCorrect;
+        int lastSeenTick;
     }
 
     private static final int VENGEANCE_GRAPHIC = 726;
@@ -65,26 +70,41 @@ public class TimerManagerAdapter extends TimerRepository
     private static final int FREEZE_IMMUNITY_PAD = 5; // Freeze immunity buffer (Elvarg)
     private static final int TARGET_VENGEANCE_COOLDOWN = 50; // EffectSpells.java: 50 ticks
 
+    // Longest values each timer can be set to; a longer remaining time is left over
+    // from before the tick count restarted and reads as expired
+    private static final int MAX_FREEZE_TICKS = 32; // Ice barrage
+    private static final int MAX_HIT_DELAY = 4; // Barrage splash
+
+    // Opponent state table bounds: idle states outlive the longest timer (vengeance, 50 ticks)
+    private static final int TARGET_STATE_EXPIRY_TICKS = 100;
+    private static final int MAX_TRACKED_TARGETS = 64;
+
     private final Map<Integer, Integer> weaponSpeeds = new ConcurrentHashMap<>();
     private final Map<Integer, CombatType> animationCombatTypes = new ConcurrentHashMap<>();
 
     private final Client client;
     private final EventBus eventBus;
-    private final Map<TimerKey, Integer> timers = new ConcurrentHashMap<>();
+    // Absolute expiry tick per TimerKey ordinal; remaining = expiry - currentTick, capped
+    private final int[] timerEndTicks = new int[TimerKey.values().length];
+    // Length each player timer was last registered with, its cap in remaining()
+    private final int[] timerLengths = new int[TimerKey.values().length];
     private final Map<TimerKey, Object> attachments = new ConcurrentHashMap<>();
-    private final Map<Actor, TargetState> targetStates = new ConcurrentHashMap<>();
+    private final Map<Integer, TargetState> targetStates = new ConcurrentHashMap<>();
 
     // Reference to CombatAdapter to access current opponent for timer processing
     private CombatAdapter combatAdapter;
+    // Shared prayer snapshot; the client is queried directly until one is set
+    private PrayerHandlerAdapter prayerHandlerAdapter;
 
-    private int vengeanceCooldown = 0;
+    private int vengeanceCooldownEndTick = 0;
     private CombatType playerCombatType = CombatType.MELEE;
     private boolean playerPrayerCorrect;
     private float destinationDistanceToTarget;
     private float distanceToDestination;
     private int lastAttackTick = 0;
     private int lastEatTick = 0;
-    private int playerPendingHitTicks = 0;
+    private int playerPendingHitEndTick = 0;
+    private int maxWeaponSpeed = DEFAULT_ATTACK_SPEED;
 
     public TimerManagerAdapter(Client client, EventBus eventBus)
     {
@@ -122,77 +142,69 @@ public class TimerManagerAdapter extends TimerRepository
         weaponSpeeds.put(ItemID.TWISTED_BOW, 5);
         weaponSpeeds.put(ItemID.ACB, 4);
         weaponSpeeds.put(ItemID.XBOWS_CROSSBOW_DRAGON, 4);
+
+        for (int speed : weaponSpeeds.values())
+        {
+            maxWeaponSpeed = Math.max(maxWeaponSpeed, speed);
+        }
     }
 
     @Subscribe
     public void onGameTick(GameTick event)
     {
-        decrementPlayerTimers();
         tickTargetStates();
         updateDestinationDistances();
     }
 
-    private void decrementPlayerTimers()
+    private int remaining(int endTick, int maxTicks)
     {
-        Iterator<Map.Entry<TimerKey, Integer>> iterator = timers.entrySet().iterator();
-        while (iterator.hasNext())
-        {
-            Map.Entry<TimerKey, Integer> entry = iterator.next();
-            int remaining = entry.getValue() - 1;
-            if (remaining <= 0)
-            {
-                iterator.remove();
-            }
-            else
-            {
-                timers.put(entry.getKey(), remaining);
-            }
-        }
-
-        if (vengeanceCooldown > 0)
-        {
-            vengeanceCooldown--;
-        }
+        int left = endTick - client.getTickCount();
+        return left > 0 && left <= maxTicks ? left : 0;
+    }
 
-        if (playerPendingHitTicks > 0)
-        {
-            playerPendingHitTicks--;
-        }
+    private int endTick(int ticks)
+    {
+        return client.getTickCount() + ticks;
     }
 
     private void tickTargetStates()
     {
         Actor currentTarget = getCurrentTarget();
+        TargetState currentState = getTargetState(currentTarget);
+        int currentTick = client.getTickCount();
 
-        targetStates.entrySet().removeIf(entry -> entry.getKey() != currentTarget);
-
-        if (currentTarget == null)
+        if (currentState != null)
         {
-            playerPrayerCorrect = false;
-            return;
+            currentState.lastSeenTick = currentTick;
         }
 
-        TargetState state = targetStates.get(currentTarget);
-        if (state == null)
+        Iterator<TargetState> iterator = targetStates.values().iterator();
+        while (iterator.hasNext())
         {
-            return;
-        }
-
-        int pendingBefore = state.pendingHitTicks;
+            TargetState state = iterator.next();
+            int idleTicks = currentTick - state.lastSeenTick;
+            if (state != currentState && (idleTicks < 0 || idleTicks > TARGET_STATE_EXPIRY_TICKS))
+            {
+                iterator.remove();
+                continue;
+            }
 
-        state.freezeTicks = decrement(state.freezeTicks);
-        state.immunityTicks = decrement(state.immunityTicks);
-        state.attackCooldown = decrement(state.attackCooldown);
-        state.potionCooldown = decrement(state.potionCooldown);
-        state.pendingHitTicks = decrement(state.pendingHitTicks);
-        state.vengeanceCooldown = decrement(state.vengeanceCooldown);
+            // Comparing against the expiry tick also resolves hits whose GameTick was missed
+            if (state.hitPending && state.pendingHitEndTick <= currentTick)
+            {
+                state.hitPending = false;
+                state.playerPrayerCorrect = isPlayerPrayerCorrect(state.lastAttackType);
+            }
+        }
 
-        if (pendingBefore > 0 && state.pendingHitTicks == 0)
+        if (currentState == null)
         {
-            state.playerPrayerCorrect = isPlayerPrayerCorrect(state.lastAttackType);
-            playerPrayerCorrect = state.playerPrayerCorrect;
+            playerPrayerCorrect = false;
+            return;
         }
 
+        playerPrayerCorrect = currentState.playerPrayerCorrect;
+
         // Call processTimers() on the current opponent if we have a CombatAdapter reference
         if (combatAdapter != null) {
             // Get the current opponent from CombatAdapter (OpponentElvargPlayer instance)
@@ -203,30 +215,53 @@ public class TimerManagerAdapter extends TimerRepository
         }
     }
 
-    private static int decrement(int value)
-    {
-        return value > 0 ? value - 1 : 0;
-    }
-
-    @Subscribe
-    public void onGraphicChanged(GraphicChanged event)
+    /**
+     * Consumes the tick's coalesced events. Hitsplats are applied before animations
+     * so a hit landing on the same tick as a new attack resolves the earlier attack.
+     */
+    @Override
+    public void onTickEvents(TickEventBatch batch)
     {
-        Actor actor = event.getActor();
-        if (actor == null)
+        Player localPlayer = client.getLocalPlayer();
+        if (localPlayer == null)
         {
             return;
         }
 
-        if (actor == client.getLocalPlayer())
+        int currentTick = batch.getTick();
+
+        for (int i = 0; i < batch.getHitsplatCount(); i++)
         {
-            handleLocalGraphic(actor.getGraphic());
-            return;
+            if (batch.getHitsplatActor(i) == localPlayer)
+            {
+                handleLocalHitsplat(localPlayer, batch.getHitsplatAmount(i), currentTick);
+            }
         }
 
-        Actor currentTarget = getCurrentTarget();
-        if (currentTarget != null && actor == currentTarget)
+        for (int i = 0; i < batch.getAnimationCount(); i++)
         {
-            handleTargetGraphic(actor, actor.getGraphic());
+            Actor actor = batch.getAnimationActor(i);
+            if (actor == localPlayer)
+            {
+                handleLocalAnimation(batch.getAnimationId(i), currentTick);
+            }
+            else if (actor instanceof Player)
+            {
+                handleTargetAnimation(actor, batch.getAnimationId(i), currentTick);
+            }
+        }
+
+        for (int i = 0; i < batch.getGraphicCount(); i++)
+        {
+            Actor actor = batch.getGraphicActor(i);
+            if (actor == localPlayer)
+            {
+                handleLocalGraphic(batch.getGraphicId(i));
+            }
+            else if (actor instanceof Player)
+            {
+                handleTargetGraphic(actor, batch.getGraphicId(i));
+            }
         }
     }
 
@@ -234,7 +269,7 @@ public class TimerManagerAdapter extends TimerRepository
     {
         if (graphic == VENGEANCE_GRAPHIC || graphic == VENGEANCE_OTHER_GRAPHIC)
         {
-            vengeanceCooldown = TARGET_VENGEANCE_COOLDOWN;
+            vengeanceCooldownEndTick = endTick(TARGET_VENGEANCE_COOLDOWN);
             return;
         }
 
@@ -259,7 +294,7 @@ public class TimerManagerAdapter extends TimerRepository
 
         if (graphic == VENGEANCE_GRAPHIC || graphic == VENGEANCE_OTHER_GRAPHIC)
         {
-            state.vengeanceCooldown = TARGET_VENGEANCE_COOLDOWN;
+            state.vengeanceCooldownEndTick = endTick(TARGET_VENGEANCE_COOLDOWN);
             return;
         }
 
@@ -269,8 +304,8 @@ public class TimerManagerAdapter extends TimerRepository
             return;
         }
 
-        state.freezeTicks = freezeTicks;
-        state.immunityTicks = freezeTicks + FREEZE_IMMUNITY_PAD;
+        state.freezeEndTick = endTick(freezeTicks);
+        state.immunityEndTick = endTick(freezeTicks + FREEZE_IMMUNITY_PAD);
     }
 
     private static int getFreezeDuration(int graphic)
@@ -290,31 +325,6 @@ public class TimerManagerAdapter extends TimerRepository
         }
     }
 
-    @Subscribe
-    public void onAnimationChanged(AnimationChanged event)
-    {
-        Actor actor = event.getActor();
-        if (actor == null)
-        {
-            return;
-        }
-
-        int animation = actor.getAnimation();
-        int currentTick = client.getTickCount();
-
-        if (actor == client.getLocalPlayer())
-        {
-            handleLocalAnimation(animation, currentTick);
-            return;
-        }
-
-        Actor currentTarget = getCurrentTarget();
-        if (currentTarget != null && actor == currentTarget)
-        {
-            handleTargetAnimation(actor, animation, currentTick);
-        }
-    }
-
     private void handleLocalAnimation(int animation, int currentTick)
     {
         if (animation == EAT_ANIMATION && currentTick - lastEatTick > POTION_GUARD_TICKS)
@@ -329,7 +339,7 @@ public class TimerManagerAdapter extends TimerRepository
             int weaponSpeed = getWeaponSpeed(client.getLocalPlayer());
             register(TimerKey.COMBAT_ATTACK, weaponSpeed);
             lastAttackTick = currentTick;
-            playerPendingHitTicks = getHitDelay(client.getLocalPlayer(), animation);
+            playerPendingHitEndTick = currentTick + getHitDelay(client.getLocalPlayer(), animation);
             updateTargetPrayerCorrectness(getCurrentTarget());
         }
     }
@@ -340,52 +350,37 @@ public class TimerManagerAdapter extends TimerRepository
 
         if (animation == DRINK_ANIMATION)
         {
-            state.potionCooldown = POTION_GUARD_TICKS;
+            state.potionCooldownEndTick = currentTick + POTION_GUARD_TICKS;
         }
 
         if (isAttackAnimation(animation))
         {
             state.lastAttackType = mapAnimationToCombatType(animation);
             int weaponSpeed = getWeaponSpeed(actor);
-            state.attackCooldown = weaponSpeed;
+            state.attackCooldownEndTick = currentTick + weaponSpeed;
             state.lastAttackTick = currentTick;
-            state.pendingHitTicks = getHitDelay(actor, animation);
+            state.pendingHitEndTick = currentTick + getHitDelay(actor, animation);
+            state.hitPending = true;
         }
     }
 
-    @Subscribe
-    public void onHitsplatApplied(HitsplatApplied event)
+    private void handleLocalHitsplat(Player localPlayer, int amount, int currentTick)
     {
-        if (client.getLocalPlayer() == null)
-        {
-            return;
-        }
-
-        if (event.getActor() != client.getLocalPlayer())
-        {
-            return;
-        }
-
-        Actor source = client.getLocalPlayer().getInteracting();
-        if (source == null)
+        Actor source = localPlayer.getInteracting();
+        if (source == null || amount <= 0)
         {
             return;
         }
 
-        TargetState state = targetStates.get(source);
+        TargetState state = getTargetState(source);
         if (state == null)
         {
             return;
         }
 
-        Hitsplat hitsplat = event.getHitsplat();
-        if (hitsplat == null || hitsplat.getAmount() <= 0)
-        {
-            return;
-        }
-
-        state.pendingHitTicks = 0;
-        state.lastHitsplatTick = client.getTickCount();
+        state.pendingHitEndTick = 0;
+        state.hitPending = false;
+        state.lastHitsplatTick = currentTick;
         state.playerPrayerCorrect = isPlayerPrayerCorrect(state.lastAttackType);
         playerPrayerCorrect = state.playerPrayerCorrect;
     }
@@ -490,6 +485,22 @@ public class TimerManagerAdapter extends TimerRepository
 
     private boolean isPlayerPrayerCorrect(CombatType attackType)
     {
+        if (prayerHandlerAdapter != null)
+        {
+            PrayerHandlerAdapter.PrayerSnapshot prayers = prayerHandlerAdapter.getSnapshot();
+            switch (attackType)
+            {
+                case MELEE:
+                    return prayers.isActive(Prayer.PROTECT_FROM_MELEE);
+                case RANGED:
+                    return prayers.isActive(Prayer.PROTECT_FROM_MISSILES);
+                case MAGIC:
+                    return prayers.isActive(Prayer.PROTECT_FROM_MAGIC);
+                default:
+                    return false;
+            }
+        }
+
         switch (attackType)
         {
             case MELEE:
@@ -592,18 +603,68 @@ public class TimerManagerAdapter extends TimerRepository
         return client.getLocalPlayer() != null ? client.getLocalPlayer().getInteracting() : null;
     }
 
+    /**
+     * Returns the tracked state for a player, creating it when absent.
+     * Non-player actors get a fresh default state on every call; it is never stored,
+     * so anything written to it is dropped.
+     */
     private TargetState getOrCreateTargetState(Actor actor)
     {
-        return targetStates.computeIfAbsent(actor, key -> new TargetState());
+        if (!(actor instanceof Player))
+        {
+            return new TargetState();
+        }
+
+        int currentTick = client.getTickCount();
+        int playerIndex = ((Player) actor).getId();
+        TargetState state = targetStates.get(playerIndex);
+        if (state == null)
+        {
+            if (targetStates.size() >= MAX_TRACKED_TARGETS)
+            {
+                evictStalestTargetState();
+            }
+            state = new TargetState();
+            targetStates.put(playerIndex, state);
+        }
+        state.lastSeenTick = currentTick;
+        return state;
+    }
+
+    private void evictStalestTargetState()
+    {
+        Integer stalestIndex = null;
+        int stalestTick = Integer.MAX_VALUE;
+        for (Map.Entry<Integer, TargetState> entry : targetStates.entrySet())
+        {
+            if (entry.getValue().lastSeenTick < stalestTick)
+            {
+                stalestTick = entry.getValue().lastSeenTick;
+                stalestIndex = entry.getKey();
+            }
+        }
+
+        if (stalestIndex != null)
+        {
+            targetStates.remove(stalestIndex);
+        }
     }
 
     private TargetState getTargetState(Actor target)
     {
-        if (target == null)
+        if (!(target instanceof Player))
         {
             return null;
         }
-        return targetStates.get(target);
+        return targetStates.get(((Player) target).getId());
+    }
+
+    /**
+     * Number of opponents whose timer state is currently tracked.
+     */
+    public int getTrackedTargetCount()
+    {
+        return targetStates.size();
     }
 
     @Override
@@ -611,7 +672,8 @@ public class TimerManagerAdapter extends TimerRepository
     {
         if (ticks > 0)
         {
-            timers.put(key, ticks);
+            timerEndTicks[key.ordinal()] = endTick(ticks);
+            timerLengths[key.ordinal()] = ticks;
         }
     }
 
@@ -623,20 +685,20 @@ public class TimerManagerAdapter extends TimerRepository
     @Override
     public void cancel(TimerKey key)
     {
-        timers.remove(key);
+        timerEndTicks[key.ordinal()] = 0;
         attachments.remove(key);
     }
 
     @Override
     public int left(TimerKey key)
     {
-        return timers.getOrDefault(key, 0);
+        return remaining(timerEndTicks[key.ordinal()], timerLengths[key.ordinal()]);
     }
 
     @Override
     public boolean has(TimerKey key)
     {
-        return timers.getOrDefault(key, 0) > 0;
+        return left(key) > 0;
     }
 
     @Override
@@ -691,9 +753,9 @@ public class TimerManagerAdapter extends TimerRepository
         {
             if (key != null && key.name().equals("VENGEANCE_COOLDOWN"))
             {
-                return vengeanceCooldown;
+                return getVengeanceCooldown();
             }
-            return timers.getOrDefault(key, 0);
+            return key != null ? left(key) : 0;
         }
 
         TargetState state = getTargetState(getCurrentTarget());
@@ -705,13 +767,13 @@ public class TimerManagerAdapter extends TimerRepository
         switch (key)
         {
             case FREEZE:
-                return state.freezeTicks;
+                return remaining(state.freezeEndTick, MAX_FREEZE_TICKS);
             case FREEZE_IMMUNITY:
-                return state.immunityTicks;
+                return remaining(state.immunityEndTick, MAX_FREEZE_TICKS + FREEZE_IMMUNITY_PAD);
             case COMBAT_ATTACK:
-                return state.attackCooldown;
+                return remaining(state.attackCooldownEndTick, maxWeaponSpeed);
             case POTION:
-                return state.potionCooldown;
+                return remaining(state.potionCooldownEndTick, POTION_GUARD_TICKS);
             default:
                 return 0;
         }
@@ -720,31 +782,31 @@ public class TimerManagerAdapter extends TimerRepository
 public int getTargetFreezeTicks(Actor target)
     {
         TargetState state = getTargetState(target);
-        return state != null ? state.freezeTicks : 0;
+        return state != null ? remaining(state.freezeEndTick, MAX_FREEZE_TICKS) : 0;
     }
 
     public int getTargetFreezeImmunityTicks(Actor target)
     {
         TargetState state = getTargetState(target);
-        return state != null ? state.immunityTicks : 0;
+        return state != null ? remaining(state.immunityEndTick, MAX_FREEZE_TICKS + FREEZE_IMMUNITY_PAD) : 0;
     }
 
     public int getTargetAttackCooldown(Actor target)
     {
         TargetState state = getTargetState(target);
-        return state != null ? state.attackCooldown : 0;
+        return state != null ? remaining(state.attackCooldownEndTick, maxWeaponSpeed) : 0;
     }
 
     public int getTargetPotionCooldown(Actor target)
     {
         TargetState state = getTargetState(target);
-        return state != null ? state.potionCooldown : 0;
+        return state != null ? remaining(state.potionCooldownEndTick, POTION_GUARD_TICKS) : 0;
     }
 
     public int getTargetPendingHitTicks(Actor target)
     {
         TargetState state = getTargetState(target);
-        return state != null ? state.pendingHitTicks : 0;
+        return state != null ? remaining(state.pendingHitEndTick, MAX_HIT_DELAY) : 0;
     }
 
     public boolean didTargetJustAttack(Actor target)
@@ -777,7 +839,8 @@ public int getTargetFreezeTicks(Actor target)
 
         if (playerThisTick && targetThisTick)
         {
-            return playerPendingHitTicks <= state.pendingHitTicks || state.pendingHitTicks == 0;
+            int targetPendingHitTicks = remaining(state.pendingHitEndTick, MAX_HIT_DELAY);
+            return remaining(playerPendingHitEndTick, MAX_HIT_DELAY) <= targetPendingHitTicks || targetPendingHitTicks == 0;
         }
 
         return lastAttackTick >= state.lastAttackTick;
@@ -786,17 +849,17 @@ public int getTargetFreezeTicks(Actor target)
     public int getTargetVengeanceCooldownTicks(Actor target)
     {
         TargetState state = getTargetState(target);
-        return state != null ? state.vengeanceCooldown : 0;
+        return state != null ? remaining(state.vengeanceCooldownEndTick, TARGET_VENGEANCE_COOLDOWN) : 0;
     }
 
     public int getVengeanceCooldown()
     {
-        return vengeanceCooldown;
+        return remaining(vengeanceCooldownEndTick, TARGET_VENGEANCE_COOLDOWN);
     }
 
     public boolean isVengeanceReady()
     {
-        return vengeanceCooldown == 0;
+        return getVengeanceCooldown() == 0;
     }
 
 
@@ -836,18 +899,38 @@ public int getTargetFreezeTicks(Actor target)
         this.combatAdapter = combatAdapter;
     }
 
+    public void setPrayerHandlerAdapter(PrayerHandlerAdapter prayerHandlerAdapter) {
+        this.prayerHandlerAdapter = prayerHandlerAdapter;
+    }
+
     @Override
     public int getTicks(TimerKey key) {
         // Return the timer value for the given TimerKey
         // This is used by NhEnvironment for FREEZE, FREEZE_IMMUNITY, etc.
-        // Vengeance is tracked separately via vengeanceCooldown field
-        return timers.getOrDefault(key, 0);
+        // Vengeance is tracked separately via vengeanceCooldownEndTick
+        return left(key);
+    }
+
+    /**
+     * Drop every stored tick. Called on logout and world hop, after which the tick
+     * count restarts and stored expiry ticks no longer line up with it.
+     */
+    public void reset()
+    {
+        Arrays.fill(timerEndTicks, 0);
+        Arrays.fill(timerLengths, 0);
+        attachments.clear();
+        targetStates.clear();
+        vengeanceCooldownEndTick = 0;
+        playerPendingHitEndTick = 0;
+        lastAttackTick = 0;
+        lastEatTick = 0;
     }
 
     public void shutdown()
     {
         eventBus.unregister(this);
-        timers.clear();
+        Arrays.fill(timerEndTicks, 0);
         attachments.clear();
         targetStates.clear();
     }
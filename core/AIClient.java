@@ -1,21 +1,17 @@
 package net.runelite.client.plugins.autopvp.core;
 
 import lombok.extern.slf4j.Slf4j;
-import java.io.*;
-import java.net.Socket;
 import java.net.SocketTimeoutException;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Collectors;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import net.runelite.client.plugins.autopvp.AITransportMode;
+import net.runelite.client.plugins.autopvp.util.WorkerThreads;
 
 /**
  * Client for communicating with the Python PPO server.
@@ -24,106 +20,99 @@ import com.google.gson.GsonBuilder;
  *   Response: {"action": [1,0,2,...], "logProb": null, ...}\n
  *
  * The response contains the 12-head action array directly.
+ *
+ * Lines travel over an {@link AITransport}: a blocking socket serviced by the
+ * background executor (one platform thread, or a virtual thread per request in
+ * virtual thread mode, see {@link WorkerThreads}), a non-blocking NIO channel on
+ * a selector thread shared by every client in the process, or a memory-mapped ring
+ * shared with a server on the same host.
  */
 @Slf4j
 public class AIClient {
 
     private static final String DEFAULT_HOST = "127.0.0.1";
     private static final int DEFAULT_PORT = 5557;
-    private static final int CONNECT_TIMEOUT_MS = 5000;
     private static final int READ_TIMEOUT_MS = 500; // Must be < 600ms tick deadline
 
-    private final String host;
-    private final int port;
     private final ExecutorService executor;
-    private final AtomicBoolean connected = new AtomicBoolean(false);
-    private final Gson gson;
-
-    private Socket socket;
-    private BufferedReader reader;
-    private BufferedWriter writer;
+    private final AITransport transport;
+    private final AIRequestCodec codec = new AIRequestCodec();
 
-    private long lastRequestTime = 0;
-    private long totalRequests = 0;
-    private long totalLatency = 0;
+    private volatile long lastRequestTime = 0;
+    private final AtomicLong totalRequests = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
 
     public AIClient() {
         this(DEFAULT_HOST, DEFAULT_PORT);
     }
 
     public AIClient(String host, int port) {
-        this.host = host;
-        this.port = port;
-        this.executor = Executors.newSingleThreadExecutor(r -> {
-            Thread t = new Thread(r);
-            t.setName("AIClient-Worker");
-            t.setDaemon(true);
-            return t;
-        });
-        // Configure Gson to handle NaN and Infinity values
-        this.gson = new GsonBuilder()
-            .serializeSpecialFloatingPointValues()
-            .create();
+        this(host, port, false);
     }
 
     /**
-     * Connect to the Python PPO server.
-     * @return true if connected successfully
+     * @param virtualThreads run requests and reconnects on virtual threads when the
+     *                       runtime supports them
      */
-    public boolean connect() {
-        try {
-            disconnect(); // Clean up any existing connection
-
-            socket = new Socket(host, port);
-            socket.setSoTimeout(READ_TIMEOUT_MS);
-            socket.setTcpNoDelay(true); // Disable Nagle's algorithm for lower latency
-
-            reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), "UTF-8"));
-            writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), "UTF-8"));
+    public AIClient(String host, int port, boolean virtualThreads) {
+        this(host, port, virtualThreads, AITransportMode.SOCKET);
+    }
 
-            connected.set(true);
-            log.info("[AI] Connected to PPO server at {}:{}", host, port);
-            return true;
+    /**
+     * @param virtualThreads run blocking work on virtual threads when the runtime
+     *                       supports them
+     * @param transportMode  how requests reach the server
+     */
+    public AIClient(String host, int port, boolean virtualThreads, AITransportMode transportMode) {
+        this(host, port, virtualThreads, transportMode, null);
+    }
 
-        } catch (Exception e) {
-            log.error("[AI] Failed to connect to PPO server at {}:{}", host, port, e);
-            connected.set(false);
-            return false;
+    /**
+     * @param sharedMemoryFile ring file for {@link AITransportMode#SHARED_MEMORY}, or
+     *                         null/empty for the default file of the port
+     */
+    public AIClient(String host, int port, boolean virtualThreads, AITransportMode transportMode,
+                    String sharedMemoryFile) {
+        this.executor = WorkerThreads.newExecutor("AIClient-Worker", virtualThreads);
+        switch (transportMode) {
+            case NIO:
+                this.transport = new NioSocketTransport(host, port, executor);
+                break;
+            case SHARED_MEMORY:
+                this.transport = new SharedMemoryTransport(sharedMemoryFile, port, executor);
+                break;
+            case SOCKET:
+            default:
+                this.transport = new SocketTransport(host, port, executor);
+                break;
         }
     }
 
     /**
-     * Disconnect from the Python PPO server.
+     * Connect to the Python PPO server.
+     * @return true if connected successfully
      */
-    public void disconnect() {
-        connected.set(false);
-
-        try {
-            if (reader != null) {
-                reader.close();
-                reader = null;
-            }
-        } catch (IOException e) {
-            // Ignore
-        }
+    public boolean connect() {
+        return transport.connect();
+    }
 
+    /**
+     * Connect on the background executor instead of the calling thread.
+     * @return future completing with whether the connection succeeded
+     */
+    public CompletableFuture<Boolean> connectAsync() {
         try {
-            if (writer != null) {
-                writer.close();
-                writer = null;
-            }
-        } catch (IOException e) {
-            // Ignore
+            return CompletableFuture.supplyAsync(this::connect, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(false);
         }
+    }
 
-        try {
-            if (socket != null && !socket.isClosed()) {
-                socket.close();
-                socket = null;
-            }
-        } catch (IOException e) {
-            // Ignore
-        }
+    /**
+     * Disconnect from the Python PPO server. Requests in flight fail.
+     */
+    public void disconnect() {
+        transport.disconnect();
     }
 
     /**
@@ -132,70 +121,56 @@ public class AIClient {
      * @param reward Reward signal (0.0 for normal operation)
      * @param observations List of observation values (176 elements)
      * @param actionMasks List of action masks for each head (12 heads)
-     * @return Action array with 12 elements, or null if failed
+     * @return Action array with 12 elements; all zeros if the request failed or timed out
      */
     public CompletableFuture<int[]> requestActionAsync(int tick, float reward,
                                                        List<Number> observations,
                                                        List<List<Boolean>> actionMasks) {
-        return CompletableFuture.supplyAsync(() ->
-            requestAction(tick, reward, observations, actionMasks), executor);
+        return requestActionAsync(tick, reward, observations, actionMasks, READ_TIMEOUT_MS)
+            .exceptionally(error -> {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+                if (cause instanceof TimeoutException || cause instanceof SocketTimeoutException) {
+                    log.warn("[AI] Request timeout");
+                } else {
+                    log.error("[AI] Request failed", cause);
+                }
+                return getDefaultAction();
+            });
     }
 
     /**
-     * Request an action from the AI server (blocking).
-     * @param tick Current game tick
-     * @param reward Reward signal (0.0 for normal operation)
-     * @param observations List of observation values (176 elements)
-     * @param actionMasks List of action masks for each head (12 heads)
-     * @return Action array with 12 elements, or null if failed
+     * Request an action from the AI server, giving up at a deadline.
+     *
+     * When the deadline passes the future completes exceptionally with a
+     * TimeoutException. The blocking socket transport also cancels the request; the
+     * NIO and shared memory transports keep the connection and drop the late reply.
+     * @param timeoutMillis time left until the action is no longer useful, normally
+     *                      the rest of the current game tick
+     * @return Action array with 12 elements; all zeros if the reply was invalid
      */
-    public int[] requestAction(int tick, float reward,
-                               List<Number> observations,
-                               List<List<Boolean>> actionMasks) {
-        if (!connected.get()) {
-            if (!connect()) {
-                return getDefaultAction(); // Return safe default if can't connect
-            }
+    public CompletableFuture<int[]> requestActionAsync(int tick, float reward,
+                                                       List<Number> observations,
+                                                       List<List<Boolean>> actionMasks,
+                                                       long timeoutMillis) {
+        String request = codec.encode(tick, reward, observations, actionMasks);
+        if (request == null) {
+            return CompletableFuture.completedFuture(getDefaultAction());
         }
 
-        try {
-            long startTime = System.currentTimeMillis();
-
-            // Build request string
-            String request = buildRequest(tick, reward, observations, actionMasks);
-
-            // Send request
-            writer.write(request);
-            writer.flush();
-
-            // Read response
-            String response = reader.readLine();
-            if (response == null) {
-                throw new IOException("Server closed connection");
-            }
-
+        long startTime = System.currentTimeMillis();
+        return transport.exchange(request, timeoutMillis).thenApply(response -> {
             // Parse JSON response
-            Map<String, Object> responseMap = gson.fromJson(response, Map.class);
-            List<Double> actionListDouble = (List<Double>) responseMap.get("action");
-
-            if (actionListDouble == null || actionListDouble.size() != 12) {
-                log.error("[AI] Invalid response - expected 12 actions, got: {}", actionListDouble);
+            int[] action = codec.decode(response);
+            if (action == null) {
                 return getDefaultAction();
             }
 
-            // Convert from Double to Integer
-            List<Integer> actionList = actionListDouble.stream()
-                .map(Double::intValue)
-                .collect(Collectors.toList());
-
-
-            // Convert to int array
-            int[] action = actionList.stream().mapToInt(Integer::intValue).toArray();
-
             // Track metrics
             long latency = System.currentTimeMillis() - startTime;
-            totalRequests++;
-            totalLatency += latency;
+            totalRequests.incrementAndGet();
+            totalLatency.addAndGet(latency);
             lastRequestTime = System.currentTimeMillis();
 
             if (latency > 100) {
@@ -203,54 +178,21 @@ public class AIClient {
             }
 
             return action;
-
-        } catch (SocketTimeoutException e) {
-            log.warn("[AI] Request timeout");
-            connected.set(false);
-            return getDefaultAction();
-
-        } catch (Exception e) {
-            log.error("[AI] Request failed", e);
-            connected.set(false);
-            return getDefaultAction();
-        }
+        });
     }
 
     /**
-     * Build the request string for the server.
+     * Request an action from the AI server (blocking).
+     * @param tick Current game tick
+     * @param reward Reward signal (0.0 for normal operation)
+     * @param observations List of observation values (176 elements)
+     * @param actionMasks List of action masks for each head (12 heads)
+     * @return Action array with 12 elements; all zeros if the request failed
      */
-    private String buildRequest(int tick, float reward,
-                                List<Number> observations,
-                                List<List<Boolean>> actionMasks) {
-        // Build JSON request for Naton1 API format
-        Map<String, Object> request = new HashMap<>();
-
-        // Model name - use default model
-        request.put("model", "FineTunedNh");
-
-        // Action masks - list of lists of booleans
-        request.put("actionMasks", actionMasks);
-
-        // Observations - wrap in outer list for potential frame stacking
-        List<List<Number>> obsWrapper = new ArrayList<>();
-        obsWrapper.add(observations);
-        request.put("obs", obsWrapper);
-
-        // Optional flags
-        request.put("deterministic", false);
-        request.put("returnLogProb", false);
-        request.put("returnEntropy", false);
-        request.put("returnValue", false);
-        request.put("returnProbs", false);
-        request.put("extensions", new ArrayList<>());
-
-        // Convert to JSON
-        try {
-            return gson.toJson(request) + "\n";
-        } catch (Exception e) {
-            log.error("[AI] Failed to serialize request", e);
-            return null;
-        }
+    public int[] requestAction(int tick, float reward,
+                               List<Number> observations,
+                               List<List<Boolean>> actionMasks) {
+        return requestActionAsync(tick, reward, observations, actionMasks).join();
     }
 
     /**
@@ -319,31 +261,32 @@ public class AIClient {
      * Get a safe default action (all zeros = no action).
      */
     private int[] getDefaultAction() {
-        return new int[12]; // All zeros = no action
+        return AIRequestCodec.defaultAction();
     }
 
     /**
      * Check if the client is connected.
      */
     public boolean isConnected() {
-        return connected.get();
+        return transport.isConnected();
     }
 
     /**
      * Get average latency in milliseconds.
      */
     public double getAverageLatency() {
-        if (totalRequests == 0) {
+        long requests = totalRequests.get();
+        if (requests == 0) {
             return 0;
         }
-        return (double) totalLatency / totalRequests;
+        return (double) totalLatency.get() / requests;
     }
 
     /**
      * Get total number of requests made.
      */
     public long getTotalRequests() {
-        return totalRequests;
+        return totalRequests.get();
     }
 
     /**
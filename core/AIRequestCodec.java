@@ -0,0 +1,90 @@
+package net.runelite.client.plugins.autopvp.core;
+
+import lombok.extern.slf4j.Slf4j;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Encodes action requests and decodes replies for the Python PPO server's
+ * line-delimited JSON protocol (see {@link AIClient}). Thread-safe.
+ */
+@Slf4j
+final class AIRequestCodec {
+
+    static final int ACTION_HEADS = 12;
+
+    // Configure Gson to handle NaN and Infinity values
+    private final Gson gson = new GsonBuilder()
+        .serializeSpecialFloatingPointValues()
+        .create();
+
+    /**
+     * Build the request line for the server, including the trailing newline.
+     * @return the request, or null if it could not be serialized
+     */
+    String encode(int tick, float reward,
+                  List<Number> observations,
+                  List<List<Boolean>> actionMasks) {
+        // Build JSON request for Naton1 API format
+        Map<String, Object> request = new HashMap<>();
+
+        // Model name - use default model
+        request.put("model", "FineTunedNh");
+
+        // Action masks - list of lists of booleans
+        request.put("actionMasks", actionMasks);
+
+        // Observations - wrap in outer list for potential frame stacking
+        List<List<Number>> obsWrapper = new ArrayList<>();
+        obsWrapper.add(observations);
+        request.put("obs", obsWrapper);
+
+        // Optional flags
+        request.put("deterministic", false);
+        request.put("returnLogProb", false);
+        request.put("returnEntropy", false);
+        request.put("returnValue", false);
+        request.put("returnProbs", false);
+        request.put("extensions", new ArrayList<>());
+
+        // Convert to JSON
+        try {
+            return gson.toJson(request) + "\n";
+        } catch (Exception e) {
+            log.error("[AI] Failed to serialize request", e);
+            return null;
+        }
+    }
+
+    /**
+     * Parse the 12-head action array from a response line.
+     * @return the action, or null if the response does not hold 12 actions
+     */
+    @SuppressWarnings("unchecked")
+    int[] decode(String response) {
+        Map<String, Object> responseMap = gson.fromJson(response, Map.class);
+        List<Double> actionListDouble = (List<Double>) responseMap.get("action");
+
+        if (actionListDouble == null || actionListDouble.size() != ACTION_HEADS) {
+            log.error("[AI] Invalid response - expected 12 actions, got: {}", actionListDouble);
+            return null;
+        }
+
+        int[] action = new int[ACTION_HEADS];
+        for (int i = 0; i < ACTION_HEADS; i++) {
+            action[i] = actionListDouble.get(i).intValue();
+        }
+        return action;
+    }
+
+    /**
+     * Get a safe default action (all zeros = no action).
+     */
+    static int[] defaultAction() {
+        return new int[ACTION_HEADS];
+    }
+}
@@ -0,0 +1,30 @@
+package net.runelite.client.plugins.autopvp.core;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Carries request lines to the PPO server and reply lines back for {@link AIClient}.
+ * The server answers every request line with one reply line, in order.
+ */
+interface AITransport {
+
+    /**
+     * Connect, replacing any existing connection. Blocks until connected or failed.
+     * @return true if connected successfully
+     */
+    boolean connect();
+
+    /**
+     * Close the connection. Requests in flight fail.
+     */
+    void disconnect();
+
+    boolean isConnected();
+
+    /**
+     * Send one request line (including its newline) and complete with the reply line,
+     * connecting first if needed. Completes exceptionally with a TimeoutException once
+     * {@code timeoutMillis} have passed, or with the I/O error if the exchange failed.
+     */
+    CompletableFuture<String> exchange(String request, long timeoutMillis);
+}
@@ -4,22 +4,18 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.*;
 import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.widgets.*;
-// Using gameval ItemID as per CLAUDE.md instructions
-import net.runelite.api.gameval.ItemID;
 import net.runelite.api.gameval.InterfaceID;
 import net.runelite.api.gameval.InterfaceID.MagicSpellbook;
 import net.runelite.client.callback.ClientThread;
+import net.runelite.client.plugins.autopvp.adapters.MovementSolver;
+import net.runelite.client.plugins.autopvp.adapters.OpponentMovementPredictor;
+import net.runelite.client.plugins.autopvp.adapters.PathFinderAdapter;
+import net.runelite.client.plugins.autopvp.util.ConsumableTable;
 
 // PacketUtils imports with citations for audit trail
 // Citation: All imports from C:/dev/PacketUtils/src/main/java/com/example/ for direct packet injection
 import com.example.InteractionApi.InventoryInteraction; // Citation: PacketUtils inventory API from C:/dev/PacketUtils/src/main/java/com/example/InteractionApi/InventoryInteraction.java
-import com.example.Packets.WidgetPackets; // Citation: PacketUtils widget API from C:/dev/PacketUtils/src/main/java/com/example/Packets/WidgetPackets.java
-import com.example.InteractionApi.PlayerInteractionHelper; // Citation: PacketUtils player interaction API from C:/dev/PacketUtils/src/main/java/com/example/InteractionApi/PlayerInteractionHelper.java
-import com.example.Packets.MovementPackets; // Citation: PacketUtils movement API from C:/dev/PacketUtils/src/main/java/com/example/Packets/MovementPackets.java
-import com.example.Packets.MousePackets; // Citation: PacketUtils mouse API from C:/dev/PacketUtils/src/main/java/com/example/Packets/MousePackets.java
 import com.example.EthanApiPlugin.Collections.Inventory; // Citation: PacketUtils inventory collection from C:/dev/PacketUtils/src/main/java/com/example/EthanApiPlugin/Collections/Inventory.java
-import com.example.PacketUtils.PacketUtilsPlugin; // Citation: Main plugin class for initialization check
-import com.example.PacketUtils.PacketReflection; // Citation: For getting client instance
 
 import java.util.Arrays;
 import java.util.Optional;
@@ -35,63 +31,48 @@ public class ActionExecutor {
     private final Client client;
     private final NhEnvironmentBridge environmentBridge;
     private final ClientThread clientThread;
+    private final MovementSolver movementSolver;
+    private final PrayerIntentController prayerIntent;
+    private final ConsumableScheduler consumableScheduler;
+    private final PacketSink packets;
 
-    // Track if PacketUtils is properly initialized
+    // Track if the packet sink (PacketUtils in the live client) is ready
     private boolean packetUtilsReady = false;
-    private boolean hasWarnedAboutPacketUtils = false;
 
     public ActionExecutor(Client client, NhEnvironmentBridge environmentBridge, ClientThread clientThread) {
+        this(client, environmentBridge, clientThread, null);
+    }
+
+    public ActionExecutor(Client client, NhEnvironmentBridge environmentBridge, ClientThread clientThread,
+                          PathFinderAdapter pathFinderAdapter) {
+        this(client, environmentBridge, clientThread, pathFinderAdapter, new PacketUtilsPacketSink());
+    }
+
+    public ActionExecutor(Client client, NhEnvironmentBridge environmentBridge, ClientThread clientThread,
+                          PathFinderAdapter pathFinderAdapter, PacketSink packets) {
         this.client = client;
+        this.packets = packets;
         this.environmentBridge = environmentBridge;
         this.clientThread = clientThread;
+        this.movementSolver = pathFinderAdapter != null
+            ? new MovementSolver(pathFinderAdapter.getSceneCollisionCache())
+            : null;
+        this.prayerIntent = new PrayerIntentController(client,
+            () -> environmentBridge != null ? environmentBridge.getPrayerHandlerAdapter() : null);
+        this.consumableScheduler = new ConsumableScheduler(client::getTickCount,
+            () -> environmentBridge != null ? environmentBridge.getTimerManagerAdapter() : null);
 
         // Check PacketUtils initialization on construction
         checkPacketUtilsInitialization();
     }
 
     /**
-     * Checks if PacketUtils is properly initialized and ready to use.
+     * Checks if the packet sink is ready to use.
      * This prevents NullPointerException when trying to send packets.
      */
     private boolean checkPacketUtilsInitialization() {
-        try {
-            // Check if the plugin's static fields are initialized
-            boolean clientAddNode = PacketUtilsPlugin.usingClientAddNode;
-            if (!clientAddNode && PacketUtilsPlugin.addNodeMethod == null) {
-                if (!hasWarnedAboutPacketUtils) {
-                    log.error("[ACTION] PacketUtilsPlugin not initialized - addNodeMethod is null! Packets will fail.");
-                    log.error("[ACTION] Make sure PacketUtils plugin is enabled in RuneLite plugin manager.");
-                    hasWarnedAboutPacketUtils = true;
-                }
-                packetUtilsReady = false;
-                return false;
-            }
-
-            // Verify client is available through PacketReflection
-            Client reflectionClient = PacketReflection.getClient();
-            if (reflectionClient == null) {
-                if (!hasWarnedAboutPacketUtils) {
-                    log.error("[ACTION] PacketReflection.getClient() returned null - PacketUtils not ready!");
-                    hasWarnedAboutPacketUtils = true;
-                }
-                packetUtilsReady = false;
-                return false;
-            }
-
-            packetUtilsReady = true;
-            if (hasWarnedAboutPacketUtils) {
-                log.info("[ACTION] PacketUtils is now properly initialized and ready!");
-                hasWarnedAboutPacketUtils = false;
-            }
-            return true;
-        } catch (Exception e) {
-            if (!hasWarnedAboutPacketUtils) {
-                log.error("[ACTION] Failed to check PacketUtils initialization", e);
-                hasWarnedAboutPacketUtils = true;
-            }
-            packetUtilsReady = false;
-            return false;
-        }
+        packetUtilsReady = packets.isReady();
+        return packetUtilsReady;
     }
 
     /**
@@ -143,15 +124,17 @@ public class ActionExecutor {
         int farcastDistance = actions[10];
         int prayerAction = actions[11];
 
+        // Consumes go through the scheduler so they land on their earliest legal tick
         if (foodAction == 1) {
-            handleFood();
+            consumableScheduler.request(ConsumableScheduler.Kind.FOOD, 0);
         }
         if (karambwanAction == 1) {
-            handleKarambwan();
+            consumableScheduler.request(ConsumableScheduler.Kind.KARAMBWAN, 0);
         }
         if (potionAction > 0) {
-            handlePotion(potionAction);
+            consumableScheduler.request(ConsumableScheduler.Kind.POTION, potionAction);
         }
+        flushConsumables();
 
         if (gearAction == 1) {
             handleTankGear();
@@ -173,96 +156,66 @@ public class ActionExecutor {
         }
     }
 
-    private void handleFood() {
-        // Validate PacketUtils is ready
+    /**
+     * Forget prayer toggles still waiting for confirmation and scheduled consumes.
+     * Called on logout and world hop, after which the tick count restarts.
+     */
+    public void onLoggedOut() {
+        prayerIntent.reset();
+        consumableScheduler.reset();
+    }
+
+    /**
+     * Send every scheduled consume that is legal on the current tick. Called after new
+     * actions arrive and at the start of every tick.
+     */
+    public void flushConsumables() {
         if (!packetUtilsReady) {
-            log.debug("[ACTION] Cannot eat food - PacketUtils not ready");
             return;
         }
+        if (!client.isClientThread()) {
+            clientThread.invoke(this::flushConsumables);
+            return;
+        }
+        consumableScheduler.flush(this::sendConsume);
+    }
 
+    private boolean sendConsume(ConsumableScheduler.Kind kind, int argument) {
+        switch (kind) {
+            case FOOD:
+                return consumeFood();
+            case POTION:
+                return consumePotion(argument);
+            case KARAMBWAN:
+                return consumeKarambwan();
+            default:
+                return false;
+        }
+    }
+
+    private boolean consumeFood() {
         ItemContainer inventory = client.getItemContainer(InventoryID.INVENTORY);
         if (inventory != null) {
             Item[] items = inventory.getItems();
             for (int slot = 0; slot < items.length; slot++) {
                 Item item = items[slot];
-                if (item != null && isFood(item.getId())) {
-                    final int foodId = item.getId();
-                    final int foodSlot = slot;
-
-                    // Execute ENTIRE packet operation on client thread with full validation
-                    clientThread.invoke(() -> {
-                        try {
-                            // Re-validate item still exists at this slot on client thread
-                            ItemContainer inv = client.getItemContainer(InventoryID.INVENTORY);
-                            if (inv == null) {
-                                log.debug("[ACTION] Cannot eat food - inventory null on client thread");
-                                return;
-                            }
-
-                            Item[] currentItems = inv.getItems();
-                            if (foodSlot >= currentItems.length) {
-                                log.debug("[ACTION] Cannot eat food - slot {} out of bounds", foodSlot);
-                                return;
-                            }
-
-                            Item currentItem = currentItems[foodSlot];
-                            if (currentItem == null || currentItem.getId() != foodId) {
-                                log.debug("[ACTION] Cannot eat food - item changed or moved from slot {}", foodSlot);
-                                return;
-                            }
-
-                            // Get the widget directly to ensure it's valid
-                            Widget inventoryWidget = client.getWidget(WidgetInfo.INVENTORY);
-                            if (inventoryWidget == null) {
-                                log.debug("[ACTION] Cannot eat food - inventory widget null");
-                                return;
-                            }
-
-                            Widget[] children = inventoryWidget.getDynamicChildren();
-                            if (children == null || foodSlot >= children.length) {
-                                log.debug("[ACTION] Cannot eat food - no children widgets or slot out of bounds");
-                                return;
-                            }
-
-                            Widget foodWidget = children[foodSlot];
-                            if (foodWidget == null || foodWidget.getItemId() != foodId) {
-                                log.debug("[ACTION] Cannot eat food - widget not found or item mismatch at slot {}", foodSlot);
-                                return;
-                            }
-
-                            // Now send the packets directly with the validated widget
-                            MousePackets.queueClickPacket();
-                            WidgetPackets.queueWidgetAction(foodWidget, "Eat");
-                            log.debug("[ACTION] Consumed food item {} at slot {} via PacketUtils", foodId, foodSlot);
-
-                        } catch (Exception e) {
-                            log.error("[ACTION] Failed to consume food", e);
-                        }
-                    });
-                    return; // Eat only one food at a time
+                // Karambwans are kept for the combo slot, which has its own delay
+                if (item != null && isFood(item.getId()) && !ConsumableTable.isComboFood(item.getId())) {
+                    return consumeItem(slot, item.getId(), "Eat", "food"); // Eat only one food at a time
                 }
             }
         }
         log.debug("[ACTION] No food found in inventory");
+        return false;
     }
 
     private boolean isFood(int itemId) {
-        // Check common PvP foods based on verified IDs from gameval
-        return itemId == ItemID.SHARK ||           // 385 - gameval constant
-               itemId == ItemID.MANTARAY ||        // 391 - gameval constant (MANTARAY not MANTA_RAY)
-               itemId == ItemID.DARK_CRAB ||       // 11936 - gameval constant
-               itemId == ItemID.ANGLERFISH ||      // 13441 - gameval constant
-               itemId == ItemID.TBWT_COOKED_KARAMBWAN;  // 3144 - gameval constant (also handled separately)
+        // Common PvP foods (shark, manta ray, dark crab, anglerfish, ...) including karambwans
+        return ConsumableTable.isPvpFood(itemId);
     }
 
-    private void handlePotion(int potionAction) {
-        log.debug("[ACTION] handlePotion called with action: {}", potionAction);
-
-        // Validate PacketUtils is ready
-        if (!packetUtilsReady) {
-            log.debug("[ACTION] Cannot drink potion - PacketUtils not ready");
-            return;
-        }
+    private boolean consumePotion(int potionAction) {
+        log.debug("[ACTION] consumePotion called with action: {}", potionAction);
 
         ItemContainer inventory = client.getItemContainer(InventoryID.INVENTORY);
         if (inventory != null) {
@@ -270,158 +223,68 @@ public class ActionExecutor {
             for (int slot = 0; slot < items.length; slot++) {
                 Item item = items[slot];
                 if (item != null && isPotionType(item.getId(), potionAction)) {
-                    final int potionId = item.getId();
-                    final int potionSlot = slot;
-
-                    // Execute ENTIRE packet operation on client thread with full validation
-                    clientThread.invoke(() -> {
-                        try {
-                            // Re-validate item still exists at this slot on client thread
-                            ItemContainer inv = client.getItemContainer(InventoryID.INVENTORY);
-                            if (inv == null) {
-                                log.debug("[ACTION] Cannot drink potion - inventory null on client thread");
-                                return;
-                            }
-
-                            Item[] currentItems = inv.getItems();
-                            if (potionSlot >= currentItems.length) {
-                                log.debug("[ACTION] Cannot drink potion - slot {} out of bounds", potionSlot);
-                                return;
-                            }
-
-                            Item currentItem = currentItems[potionSlot];
-                            if (currentItem == null || currentItem.getId() != potionId) {
-                                log.debug("[ACTION] Cannot drink potion - item changed or moved from slot {}", potionSlot);
-                                return;
-                            }
-
-                            // Get the widget directly to ensure it's valid (EXACT SAME AS FOOD WHICH WORKS)
-                            Widget inventoryWidget = client.getWidget(WidgetInfo.INVENTORY);
-                            if (inventoryWidget == null) {
-                                log.debug("[ACTION] Cannot drink potion - inventory widget null");
-                                return;
-                            }
-
-                            // Use getDynamicChildren() exactly like food does
-                            Widget[] children = inventoryWidget.getDynamicChildren();
-                            if (children == null || potionSlot >= children.length) {
-                                log.debug("[ACTION] Cannot drink potion - no children widgets or slot out of bounds");
-                                return;
-                            }
-
-                            Widget potionWidget = children[potionSlot];
-                            if (potionWidget == null || potionWidget.getItemId() != potionId) {
-                                log.debug("[ACTION] Cannot drink potion - widget not found or item mismatch at slot {}", potionSlot);
-                                return;
-                            }
-
-                            // Now send the packets directly with the validated widget (EXACT SAME AS FOOD)
-                            MousePackets.queueClickPacket();
-                            WidgetPackets.queueWidgetAction(potionWidget, "Drink");
-                            log.debug("[ACTION] Consumed potion {} at slot {} via PacketUtils", potionId, potionSlot);
-
-                        } catch (Exception e) {
-                            log.error("[ACTION] Failed to consume potion", e);
-                        }
-                    });
-                    return; // Drink only one potion at a time
+                    return consumeItem(slot, item.getId(), "Drink", "potion"); // Drink only one potion at a time
                 }
             }
         }
         log.debug("[ACTION] No potion of requested type found");
+        return false;
     }
 
     private boolean isPotionType(int itemId, int potionAction) {
-        switch (potionAction) {
-            case 1: // Saradomin brew - IDs from gameval: 6691, 6689, 6687, 6685
-                return itemId == ItemID._1DOSEPOTIONOFSARADOMIN || itemId == ItemID._2DOSEPOTIONOFSARADOMIN ||
-                       itemId == ItemID._3DOSEPOTIONOFSARADOMIN || itemId == ItemID._4DOSEPOTIONOFSARADOMIN;
-            case 2: // Super restore - IDs from gameval: 3030, 3028, 3026, 3024
-                return itemId == ItemID._1DOSE2RESTORE || itemId == ItemID._2DOSE2RESTORE ||
-                       itemId == ItemID._3DOSE2RESTORE || itemId == ItemID._4DOSE2RESTORE;
-            case 3: // Combat potion (super combat) - IDs from gameval: 12701, 12699, 12697, 12695
-                return itemId == ItemID._1DOSE2COMBAT || itemId == ItemID._2DOSE2COMBAT ||
-                       itemId == ItemID._3DOSE2COMBAT || itemId == ItemID._4DOSE2COMBAT;
-            case 4: // Ranging potion - IDs from gameval: 173, 171, 169, 2444
-                return itemId == ItemID._1DOSERANGERSPOTION || itemId == ItemID._2DOSERANGERSPOTION ||
-                       itemId == ItemID._3DOSERANGERSPOTION || itemId == ItemID._4DOSERANGERSPOTION;
-            default:
-                return false;
-        }
+        // 1 = Saradomin brew, 2 = super restore, 3 = super combat, 4 = ranging
+        return ConsumableTable.isPotionFamily(itemId, ConsumableTable.PotionFamily.fromAction(potionAction));
     }
 
-    private void handleKarambwan() {
-        // Validate PacketUtils is ready
-        if (!packetUtilsReady) {
-            log.debug("[ACTION] Cannot eat karambwan - PacketUtils not ready");
-            return;
-        }
-
+    private boolean consumeKarambwan() {
         // Karambwans are special combo food
         ItemContainer inventory = client.getItemContainer(InventoryID.INVENTORY);
         if (inventory != null) {
             Item[] items = inventory.getItems();
             for (int slot = 0; slot < items.length; slot++) {
                 Item item = items[slot];
-                if (item != null && item.getId() == ItemID.TBWT_COOKED_KARAMBWAN) {
-                    final int karambwanId = item.getId();
-                    final int karambwanSlot = slot;
-
-                    // Execute ENTIRE packet operation on client thread with full validation
-                    clientThread.invoke(() -> {
-                        try {
-                            // Re-validate item still exists at this slot on client thread
-                            ItemContainer inv = client.getItemContainer(InventoryID.INVENTORY);
-                            if (inv == null) {
-                                log.debug("[ACTION] Cannot eat karambwan - inventory null on client thread");
-                                return;
-                            }
-
-                            Item[] currentItems = inv.getItems();
-                            if (karambwanSlot >= currentItems.length) {
-                                log.debug("[ACTION] Cannot eat karambwan - slot {} out of bounds", karambwanSlot);
-                                return;
-                            }
-
-                            Item currentItem = currentItems[karambwanSlot];
-                            if (currentItem == null || currentItem.getId() != karambwanId) {
-                                log.debug("[ACTION] Cannot eat karambwan - item changed or moved");
-                                return;
-                            }
+                if (item != null && ConsumableTable.isComboFood(item.getId())) {
+                    return consumeItem(slot, item.getId(), "Eat", "karambwan");
+                }
+            }
+        }
+        log.debug("[ACTION] No karambwan found in inventory");
+        return false;
+    }
 
-                            // Get the widget directly to ensure it's valid
-                            Widget inventoryWidget = client.getWidget(WidgetInfo.INVENTORY);
-                            if (inventoryWidget == null) {
-                                log.debug("[ACTION] Cannot eat karambwan - inventory widget null");
-                                return;
-                            }
+    /**
+     * Click an inventory item after validating its widget. Must run on the client thread.
+     */
+    private boolean consumeItem(int slot, int itemId, String action, String description) {
+        try {
+            // Get the widget directly to ensure it's valid
+            Widget inventoryWidget = client.getWidget(WidgetInfo.INVENTORY);
+            if (inventoryWidget == null) {
+                log.debug("[ACTION] Cannot consume {} - inventory widget null", description);
+                return false;
+            }
 
-                            Widget[] children = inventoryWidget.getDynamicChildren();
-                            if (children == null || karambwanSlot >= children.length) {
-                                log.debug("[ACTION] Cannot eat karambwan - no children widgets");
-                                return;
-                            }
+            Widget[] children = inventoryWidget.getDynamicChildren();
+            if (children == null || slot >= children.length) {
+                log.debug("[ACTION] Cannot consume {} - no children widgets or slot out of bounds", description);
+                return false;
+            }
 
-                            Widget karambwanWidget = children[karambwanSlot];
-                            if (karambwanWidget == null || karambwanWidget.getItemId() != karambwanId) {
-                                log.debug("[ACTION] Cannot eat karambwan - widget not found");
-                                return;
-                            }
+            Widget itemWidget = children[slot];
+            if (itemWidget == null || itemWidget.getItemId() != itemId) {
+                log.debug("[ACTION] Cannot consume {} - widget not found or item mismatch at slot {}", description, slot);
+                return false;
+            }
 
-                            // Now send the packets directly with the validated widget
-                            MousePackets.queueClickPacket();
-                            WidgetPackets.queueWidgetAction(karambwanWidget, "Eat");
-                            log.debug("[ACTION] Consumed karambwan via PacketUtils combo food");
+            // Now send the packets directly with the validated widget
+            packets.widgetAction(itemWidget, action);
+            log.debug("[ACTION] Consumed {} {} at slot {} via PacketUtils", description, itemId, slot);
+            return true;
 
-                        } catch (Exception e) {
-                            log.error("[ACTION] Failed to consume karambwan", e);
-                        }
-                    });
-                    return;
-                }
-            }
+        } catch (Exception e) {
+            log.error("[ACTION] Failed to consume {}", description, e);
+            return false;
         }
-        log.debug("[ACTION] No karambwan found in inventory");
     }
 
     private void handleTankGear() {
@@ -491,8 +354,7 @@ public class ActionExecutor {
                             }
 
                             // Now send the packets directly with the validated widget
-                            MousePackets.queueClickPacket();
-                            WidgetPackets.queueWidgetAction(gearWidget, "Wear", "Wield");
+                            packets.widgetAction(gearWidget, "Wear", "Wield");
                             log.debug("[ACTION] Equipped tank gear item {} via PacketUtils", gearId);
 
                         } catch (Exception e) {
@@ -540,8 +402,7 @@ public class ActionExecutor {
                 int childId = widgetId & 0xFFFF; // Extract child (0x008e = 142)
                 int groupId = widgetId >> 16; // Extract group (0x00da = 218)
 
-                MousePackets.queueClickPacket();
-                WidgetPackets.queueWidgetActionPacket(1, groupId << 16 | childId, -1, childId);
+                packets.widgetActionPacket(1, groupId << 16 | childId, -1, childId);
                 log.debug("[ACTION] Cast Vengeance spell via PacketUtils");
 
             } catch (Exception e) {
@@ -574,8 +435,7 @@ public class ActionExecutor {
                                 int iceBarrageWidget = MagicSpellbook.ICE_BARRAGE; // 0x00da0052
                                 int iceChildId = iceBarrageWidget & 0xFFFF; // 0x0052 = 82
                                 int iceGroupId = iceBarrageWidget >> 16; // 0x00da = 218
-                                MousePackets.queueClickPacket();
-                                WidgetPackets.queueWidgetActionPacket(1, iceGroupId << 16 | iceChildId, -1, iceChildId);
+                                packets.widgetActionPacket(1, iceGroupId << 16 | iceChildId, -1, iceChildId);
                                 log.debug("[ACTION] Selected Ice Barrage spell");
                             } catch (Exception e) {
                                 log.error("[ACTION] Failed to select ice barrage", e);
@@ -590,8 +450,7 @@ public class ActionExecutor {
                                 int bloodBarrageWidget = MagicSpellbook.BLOOD_BARRAGE; // 0x00da0056
                                 int bloodChildId = bloodBarrageWidget & 0xFFFF; // 0x0056 = 86
                                 int bloodGroupId = bloodBarrageWidget >> 16; // 0x00da = 218
-                                MousePackets.queueClickPacket();
-                                WidgetPackets.queueWidgetActionPacket(1, bloodGroupId << 16 | bloodChildId, -1, bloodChildId);
+                                packets.widgetActionPacket(1, bloodGroupId << 16 | bloodChildId, -1, bloodChildId);
                                 log.debug("[ACTION] Selected Blood Barrage spell");
                             } catch (Exception e) {
                                 log.error("[ACTION] Failed to select blood barrage", e);
@@ -643,7 +502,7 @@ public class ActionExecutor {
                     // Execute attack on client thread
                     clientThread.invoke(() -> {
                         try {
-                            PlayerInteractionHelper.interact(playerTarget, "Attack");
+                            packets.playerAction(playerTarget, "Attack");
                             log.debug("[ACTION] Executed {} on player: {} via PacketUtils", attack, playerTarget.getName());
                         } catch (Exception e) {
                             log.error("[ACTION] Failed to attack player", e);
@@ -689,8 +548,7 @@ public class ActionExecutor {
                     if (combatWidget != null && !combatWidget.isHidden()) {
                         // Use queueWidgetActionPacket directly with action 1 (like InteractionHelper does for toggles)
                         int packedWidgetId = (COMBAT_OPTIONS_GROUP << 16) | SPECIAL_ATTACK_CLICKBOX;
-                        MousePackets.queueClickPacket();
-                        WidgetPackets.queueWidgetActionPacket(1, packedWidgetId, -1, -1);
+                        packets.widgetActionPacket(1, packedWidgetId, -1, -1);
                         log.debug("[ACTION] Toggled special attack via combat options widget (593:38)");
                         return;
                     } else {
@@ -707,8 +565,7 @@ public class ActionExecutor {
                 int SPEC_ORB_CHILD = 35;
                 int packedSpecOrb = (MINIMAP_GROUP << 16) | SPEC_ORB_CHILD;
 
-                MousePackets.queueClickPacket();
-                WidgetPackets.queueWidgetActionPacket(1, packedSpecOrb, -1, -1);
+                packets.widgetActionPacket(1, packedSpecOrb, -1, -1);
                 log.debug("[ACTION] Toggled special attack via minimap spec orb (160:35)");
 
             } catch (Exception e) {
@@ -758,7 +615,7 @@ public class ActionExecutor {
                     int worldX = scene.getBaseX() + sceneX;
                     int worldY = scene.getBaseY() + sceneY;
 
-                    MovementPackets.queueMovement(worldX, worldY, false);
+                    packets.move(worldX, worldY, false);
 
                     String moveDesc = "";
                     switch (moveAction) {
@@ -817,9 +674,17 @@ public class ActionExecutor {
             }
         }
 
-        // Normal PvP mode with target
-        WorldPoint targetPos = target.getWorldLocation();
+        // Normal PvP mode with target; the walk resolves next tick, so aim where they will be
+        OpponentMovementPredictor predictor = environmentBridge != null ? environmentBridge.getMovementPredictor() : null;
+        WorldPoint predicted = predictor != null ? predictor.predictNextTile((Player) target) : null;
+        WorldPoint targetPos = predicted != null ? predicted : target.getWorldLocation();
+
+        WorldPoint solved = solveDestination(moveAction, farcastDistance, playerPos, targetPos);
+        if (solved != null) {
+            return solved;
+        }
 
+        // No collision data or nothing reachable in range: aim by offset and let the server path
         int dx = targetPos.getX() - playerPos.getX();
         int dy = targetPos.getY() - playerPos.getY();
 
@@ -858,6 +723,29 @@ public class ActionExecutor {
         }
     }
 
+    /**
+     * Collision-aware destination for a movement action, or null to fall back to
+     * the plain offset calculation.
+     */
+    private WorldPoint solveDestination(int moveAction, int farcastDistance, WorldPoint playerPos, WorldPoint targetPos) {
+        if (movementSolver == null) {
+            return null;
+        }
+
+        switch (moveAction) {
+            case 1:
+                return movementSolver.solve(playerPos, targetPos, MovementSolver.Mode.ADJACENT, 1);
+            case 2:
+                return movementSolver.solve(playerPos, targetPos, MovementSolver.Mode.UNDER, 0);
+            case 3:
+                return movementSolver.solve(playerPos, targetPos, MovementSolver.Mode.FARCAST, farcastDistance + 1);
+            case 4:
+                return movementSolver.solve(playerPos, targetPos, MovementSolver.Mode.DIAGONAL, 1);
+            default:
+                return null;
+        }
+    }
+
     private void handlePrayer(int prayerAction) {
         // Validate PacketUtils is ready
         if (!packetUtilsReady) {
@@ -869,51 +757,31 @@ public class ActionExecutor {
             return; // No prayer change
         }
 
+        Prayer targetPrayer = PrayerIntentController.resolveOverhead(prayerAction);
+        if (targetPrayer == null) {
+            // Note: case 6 removed - doesn't exist in NhEnvironment (only actions 0-5)
+            log.debug("[ACTION] Unknown prayer action: {}", prayerAction);
+            return;
+        }
+
         // Execute prayer change on client thread
         clientThread.invoke(() -> {
             try {
-                // Prayer widget IDs from C:/dev/PacketUtils/src/main/java/com/example/PacketUtils/WidgetID.java
-                final int PRAYER_GROUP_ID = 541;
-                Prayer targetPrayer = null;
-                int childId = -1;
-
-                switch (prayerAction) {
-                    case 1: // Protect from Magic (AI says "mage")
-                        targetPrayer = Prayer.PROTECT_FROM_MAGIC;
-                        childId = 21;
-                        break;
-                    case 2: // Protect from Missiles (AI says "ranged")
-                        targetPrayer = Prayer.PROTECT_FROM_MISSILES;
-                        childId = 22;
-                        break;
-                    case 3: // Protect from Melee (AI says "melee")
-                        targetPrayer = Prayer.PROTECT_FROM_MELEE;
-                        childId = 23;
-                        break;
-                    case 4: // Smite - Citation: NhEnvironment.java:1244
-                        targetPrayer = Prayer.SMITE;
-                        childId = 28;
-                        break;
-                    case 5: // Redemption - Citation: NhEnvironment.java:1246
-                        targetPrayer = Prayer.REDEMPTION;
-                        childId = 30;
-                        break;
-                    // Note: case 6 removed - doesn't exist in NhEnvironment (only actions 0-5)
-                    default:
-                        log.debug("[ACTION] Unknown prayer action: {}", prayerAction);
-                        return;
+                // The action asks for the overhead to be on; a click toggles, so only
+                // send one when it is off and no toggle for it is still in flight
+                if (!prayerIntent.needsToggle(targetPrayer, true)) {
+                    log.debug("[ACTION] {} already active or pending, no toggle sent", targetPrayer.name());
+                    return;
                 }
 
-                // Check if we need to toggle the prayer
-                boolean isActive = client.isPrayerActive(targetPrayer);
-
-                // Always toggle the prayer since the AI decides when to activate/deactivate
-                log.debug("[ACTION] Toggling {} prayer (currently {})", targetPrayer.name(), isActive ? "active" : "inactive");
+                // Prayer widget IDs from C:/dev/PacketUtils/src/main/java/com/example/PacketUtils/WidgetID.java
+                final int PRAYER_GROUP_ID = 541;
+                int childId = getPrayerWidgetChild(targetPrayer);
 
                 // Send the prayer toggle packet
-                MousePackets.queueClickPacket();
                 int packedId = (PRAYER_GROUP_ID << 16) | childId;
-                WidgetPackets.queueWidgetActionPacket(1, packedId, -1, -1);
+                packets.widgetActionPacket(1, packedId, -1, -1);
+                prayerIntent.onToggleSent(targetPrayer, true);
 
                 log.debug("[ACTION] Sent prayer toggle packet for {} via PacketUtils", targetPrayer.name());
 
@@ -922,4 +790,21 @@ public class ActionExecutor {
             }
         });
     }
+
+    private static int getPrayerWidgetChild(Prayer prayer) {
+        switch (prayer) {
+            case PROTECT_FROM_MAGIC:
+                return 21;
+            case PROTECT_FROM_MISSILES:
+                return 22;
+            case PROTECT_FROM_MELEE:
+                return 23;
+            case SMITE:
+                return 28;
+            case REDEMPTION:
+                return 30;
+            default:
+                throw new IllegalArgumentException("No widget mapped for " + prayer);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,218 @@
+package net.runelite.client.plugins.autopvp.core;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.game.ItemManager;
+import net.runelite.client.plugins.autopvp.LoadoutOverride;
+import net.runelite.client.plugins.autopvp.adapters.CombatAdapter;
+import net.runelite.client.plugins.autopvp.adapters.CombatHistoryTracker;
+import net.runelite.client.plugins.autopvp.adapters.DamageTrackerAdapter;
+import net.runelite.client.plugins.autopvp.adapters.EventBridgeAdapter;
+import net.runelite.client.plugins.autopvp.adapters.FoodAdapter;
+import net.runelite.client.plugins.autopvp.adapters.GearLoadoutTracker;
+import net.runelite.client.plugins.autopvp.adapters.HitpointsReconstructor;
+import net.runelite.client.plugins.autopvp.adapters.NearbyPlayerTracker;
+import net.runelite.client.plugins.autopvp.adapters.OpponentMovementPredictor;
+import net.runelite.client.plugins.autopvp.adapters.PathFinderAdapter;
+import net.runelite.client.plugins.autopvp.adapters.PlayerAdapter;
+import net.runelite.client.plugins.autopvp.adapters.PotionConsumableAdapter;
+import net.runelite.client.plugins.autopvp.adapters.PrayerHandlerAdapter;
+import net.runelite.client.plugins.autopvp.adapters.TimerManagerAdapter;
+
+import java.util.List;
+
+/**
+ * One agent's encoding, tracking and action pipeline: the adapters and trackers fed
+ * by a client's events, the NhEnvironmentBridge built on them and the ActionExecutor
+ * that sends its actions.
+ *
+ * Everything a session mutates is owned by the session, so one process can host
+ * many of them side by side. What sessions share is immutable or thread-safe:
+ * the consumable, prayer and hitpoint tables and the equipment translation caches.
+ * Each session needs its own Client and EventBus, since the adapters subscribe to
+ * the bus they are given and read the client they are given.
+ *
+ * A tick is {@link #onTickStart()}, {@link #getObservations()},
+ * {@link #getActionMasks()}, optionally {@link #executeAction(int[])}, then
+ * {@link #onTickEnd()}, all on the session's client thread.
+ */
+@Slf4j
+public final class AgentSession {
+
+    private final Client client;
+    private final ClientThread clientThread;
+    private final ItemManager itemManager;
+    private final PacketSink packets;
+
+    private final PrayerHandlerAdapter prayerHandlerAdapter;
+    private final PlayerAdapter playerAdapter;
+    private final CombatAdapter combatAdapter;
+    private final TimerManagerAdapter timerManagerAdapter;
+    private final DamageTrackerAdapter damageTrackerAdapter;
+    private final GearLoadoutTracker gearLoadoutTracker;
+    private final CombatHistoryTracker combatHistoryTracker;
+    private final NearbyPlayerTracker nearbyPlayerTracker;
+    private final PotionConsumableAdapter potionConsumableAdapter;
+    private final FoodAdapter foodAdapter;
+    private final EventBridgeAdapter eventBridgeAdapter;
+    private final HitpointsReconstructor hitpointsReconstructor;
+    private final PathFinderAdapter pathFinderAdapter;
+    private final OpponentMovementPredictor movementPredictor;
+
+    private NhEnvironmentBridge bridge;
+    private ActionExecutor actionExecutor;
+
+    /**
+     * Build a session on the client thread. {@code itemManager} may be null, in which
+     * case gear bonuses read as zero.
+     */
+    public AgentSession(Client client, EventBus eventBus, ClientThread clientThread, ItemManager itemManager,
+                        PacketSink packets, LoadoutOverride loadoutOverride) {
+        this.client = client;
+        this.clientThread = clientThread;
+        this.itemManager = itemManager;
+        this.packets = packets;
+
+        // PrayerHandlerAdapter first, PlayerAdapter delegates prayer state to it
+        prayerHandlerAdapter = new PrayerHandlerAdapter(client, eventBus);
+        // Pick up prayers already active when the session starts mid-fight
+        prayerHandlerAdapter.refresh();
+        playerAdapter = new PlayerAdapter(client, eventBus, prayerHandlerAdapter, itemManager);
+        // PlayerAdapter.getCombat() returns the generic Combat type
+        combatAdapter = (CombatAdapter) playerAdapter.getCombat();
+
+        timerManagerAdapter = new TimerManagerAdapter(client, eventBus);
+        timerManagerAdapter.setPrayerHandlerAdapter(prayerHandlerAdapter);
+        gearLoadoutTracker = new GearLoadoutTracker(client, eventBus, itemManager, timerManagerAdapter);
+        combatHistoryTracker = new CombatHistoryTracker(client, eventBus, timerManagerAdapter);
+        nearbyPlayerTracker = new NearbyPlayerTracker(client, eventBus, timerManagerAdapter);
+        damageTrackerAdapter = new DamageTrackerAdapter(client, eventBus);
+        potionConsumableAdapter = new PotionConsumableAdapter(client, eventBus, timerManagerAdapter);
+        foodAdapter = new FoodAdapter(client, eventBus, timerManagerAdapter);
+
+        eventBridgeAdapter = new EventBridgeAdapter(client, eventBus);
+        // Hitsplat/animation/graphic consumers, called once per tick in this order.
+        // Timers go first so trackers that read attack styles see this tick's state.
+        eventBridgeAdapter.addTickEventListener(timerManagerAdapter);
+        eventBridgeAdapter.addTickEventListener(playerAdapter);
+        eventBridgeAdapter.addTickEventListener(damageTrackerAdapter);
+        hitpointsReconstructor = new HitpointsReconstructor(client);
+        eventBridgeAdapter.addTickEventListener(hitpointsReconstructor);
+        eventBridgeAdapter.addTickEventListener(combatHistoryTracker);
+        eventBridgeAdapter.addTickEventListener(gearLoadoutTracker);
+        eventBridgeAdapter.addTickEventListener(potionConsumableAdapter);
+        eventBridgeAdapter.addTickEventListener(foodAdapter);
+
+        pathFinderAdapter = new PathFinderAdapter(client, eventBus);
+        movementPredictor = new OpponentMovementPredictor(client);
+        // Record positions in the tick-start phase, ahead of observation building
+        eventBridgeAdapter.addTickStartListener(movementPredictor::update);
+        // Send consumes that became legal on this tick without waiting for the next action
+        eventBridgeAdapter.addTickStartListener(this::flushConsumables);
+
+        // Wire TimerManagerAdapter to CombatAdapter so it can call processTimers() on targets
+        timerManagerAdapter.setCombatAdapter(combatAdapter);
+        // Let NearbyPlayerTracker prebuild opponent wrappers for likely targets
+        nearbyPlayerTracker.setCombatAdapter(combatAdapter);
+
+        buildBridge(loadoutOverride);
+    }
+
+    /**
+     * Rebuild the environment bridge and action executor for a new loadout. Tracker
+     * state carries over.
+     */
+    public void setLoadoutOverride(LoadoutOverride loadoutOverride) {
+        buildBridge(loadoutOverride);
+    }
+
+    private void buildBridge(LoadoutOverride loadoutOverride) {
+        NhEnvironmentBridge newBridge = new NhEnvironmentBridge(client, playerAdapter, combatAdapter,
+            timerManagerAdapter, damageTrackerAdapter, itemManager, gearLoadoutTracker, combatHistoryTracker,
+            loadoutOverride);
+        newBridge.setMovementPredictor(movementPredictor);
+        newBridge.setHitpointsReconstructor(hitpointsReconstructor);
+        bridge = newBridge;
+        actionExecutor = new ActionExecutor(client, newBridge, clientThread, pathFinderAdapter, packets);
+        log.debug("[SESSION] NhEnvironmentBridge and ActionExecutor built for loadout {}", loadoutOverride);
+    }
+
+    private void flushConsumables() {
+        // The executor does not exist yet while the bridge is being built
+        if (actionExecutor != null) {
+            actionExecutor.flushConsumables();
+        }
+    }
+
+    public void onTickStart() {
+        bridge.onTickStart();
+    }
+
+    public List<Number> getObservations() {
+        return bridge.getObservations();
+    }
+
+    public List<List<Boolean>> getActionMasks() {
+        return bridge.getActionMasks();
+    }
+
+    public void executeAction(int[] action) {
+        actionExecutor.executeAction(action);
+    }
+
+    public void onTickEnd() {
+        bridge.onTickProcessed();
+        bridge.onTickEnd();
+        gearLoadoutTracker.onTickEnd();
+        combatHistoryTracker.onTickEnd();
+    }
+
+    /**
+     * Drop per-login state when the client logs out or hops worlds.
+     */
+    public void onLoggedOut() {
+        actionExecutor.onLoggedOut();
+        playerAdapter.onLoggedOut();
+        timerManagerAdapter.reset();
+        damageTrackerAdapter.reset();
+    }
+
+    /**
+     * Unsubscribe everything from the session's EventBus and drop opponent state.
+     */
+    public void shutdown() {
+        // PlayerAdapter also shuts down its own internal TimerManagerAdapter
+        playerAdapter.shutdown();
+        combatAdapter.shutdown();
+        prayerHandlerAdapter.shutdown();
+        timerManagerAdapter.shutdown();
+        damageTrackerAdapter.shutdown();
+        gearLoadoutTracker.shutdown();
+        combatHistoryTracker.shutdown();
+        nearbyPlayerTracker.shutdown();
+        potionConsumableAdapter.shutdown();
+        foodAdapter.shutdown();
+        eventBridgeAdapter.shutdown();
+        pathFinderAdapter.shutdown();
+        movementPredictor.shutdown();
+        hitpointsReconstructor.shutdown();
+    }
+
+    public PlayerAdapter getPlayerAdapter() {
+        return playerAdapter;
+    }
+
+    public CombatAdapter getCombatAdapter() {
+        return combatAdapter;
+    }
+
+    public NhEnvironmentBridge getBridge() {
+        return bridge;
+    }
+
+    public ActionExecutor getActionExecutor() {
+        return actionExecutor;
+    }
+}
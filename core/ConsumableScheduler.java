@@ -0,0 +1,187 @@
+package net.runelite.client.plugins.autopvp.core;
+
+import com.elvarg.util.timers.TimerKey;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.plugins.autopvp.adapters.TimerManagerAdapter;
+
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Queues food, potion and karambwan requests until the game will accept them and
+ * sends everything that is due on a tick as one combo.
+ *
+ * Consume delays follow the live game: food blocks food, a potion blocks potions and
+ * food, a karambwan blocks all three, each for {@link #CONSUME_DELAY_TICKS}. Due
+ * consumes are therefore sent food first, then potion, then karambwan, so all three
+ * can land on one tick. A request that cannot be sent yet waits for the first legal
+ * tick and is dropped after {@link #MAX_WAIT_TICKS}; the model asks again every tick
+ * it still wants to eat.
+ *
+ * The delays of consumes sent here are tracked locally, because the eat and drink
+ * animations are the same and the timer adapter cannot tell them apart. Delays from
+ * consumes the scheduler did not send (e.g. manual eating) come from the timer
+ * adapter. Must only be used from the client thread.
+ */
+@Slf4j
+public class ConsumableScheduler {
+
+    public enum Kind {
+        // Declaration order is the send order within a tick
+        FOOD(TimerKey.FOOD),
+        POTION(TimerKey.POTION),
+        KARAMBWAN(TimerKey.KARAMBWAN);
+
+        private final TimerKey timerKey;
+
+        Kind(TimerKey timerKey) {
+            this.timerKey = timerKey;
+        }
+    }
+
+    /**
+     * Sends one consume; returns whether a packet was queued.
+     */
+    @FunctionalInterface
+    public interface Sender {
+        boolean send(Kind kind, int argument);
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+
+    static final int CONSUME_DELAY_TICKS = 3;
+    static final int MAX_WAIT_TICKS = 2;
+    private static final int NO_REQUEST = Integer.MIN_VALUE;
+
+    private final IntSupplier tickSource;
+    private final Supplier<TimerManagerAdapter> timers;
+
+    // Per kind: tick of the open request (NO_REQUEST when none), its argument, and
+    // the first tick a consume we sent allows again
+    private final int[] requestTick = new int[KINDS.length];
+    private final int[] requestArgument = new int[KINDS.length];
+    private final int[] readyTick = new int[KINDS.length];
+    private int lastSendTick = NO_REQUEST;
+
+    public ConsumableScheduler(IntSupplier tickSource, Supplier<TimerManagerAdapter> timers) {
+        this.tickSource = tickSource;
+        this.timers = timers;
+        reset();
+    }
+
+    /**
+     * Ask for a consume on the earliest legal tick. A newer request of the same kind
+     * replaces an older one (e.g. a different potion).
+     */
+    public void request(Kind kind, int argument) {
+        requestTick[kind.ordinal()] = tickSource.getAsInt();
+        requestArgument[kind.ordinal()] = argument;
+    }
+
+    /**
+     * Send every request that is legal on this tick, in combo order. Called when new
+     * requests arrive and once at the start of every tick.
+     *
+     * @return number of consumes sent
+     */
+    public int flush(Sender sender) {
+        int tick = tickSource.getAsInt();
+        int sent = 0;
+
+        for (Kind kind : KINDS) {
+            int ordinal = kind.ordinal();
+            if (requestTick[ordinal] == NO_REQUEST) {
+                continue;
+            }
+
+            // A negative age means the tick count restarted under us
+            int age = tick - requestTick[ordinal];
+            if (age < 0 || age > MAX_WAIT_TICKS) {
+                log.debug("[CONSUME] Dropping stale {} request from tick {}", kind, requestTick[ordinal]);
+                requestTick[ordinal] = NO_REQUEST;
+                continue;
+            }
+
+            if (tick < getReadyTick(kind, tick)) {
+                continue;
+            }
+
+            requestTick[ordinal] = NO_REQUEST;
+            if (sender.send(kind, requestArgument[ordinal])) {
+                onSent(kind, tick);
+                sent++;
+            }
+        }
+
+        if (sent > 0) {
+            log.debug("[CONSUME] Sent {} consume(s) on tick {}", sent, tick);
+        }
+        return sent;
+    }
+
+    /**
+     * Whether a request of this kind is waiting.
+     */
+    public boolean isPending(Kind kind) {
+        return requestTick[kind.ordinal()] != NO_REQUEST;
+    }
+
+    public void reset() {
+        for (int i = 0; i < KINDS.length; i++) {
+            requestTick[i] = NO_REQUEST;
+            readyTick[i] = NO_REQUEST;
+        }
+        lastSendTick = NO_REQUEST;
+    }
+
+    private int getReadyTick(Kind kind, int tick) {
+        int ready = readyTick[kind.ordinal()];
+
+        // No delay outlasts CONSUME_DELAY_TICKS; anything further out is from before
+        // a tick count restart
+        if (ready != NO_REQUEST && ready - tick > CONSUME_DELAY_TICKS) {
+            readyTick[kind.ordinal()] = NO_REQUEST;
+            ready = NO_REQUEST;
+        }
+
+        // Our own recent consumes are authoritative; otherwise honour observed ones
+        TimerManagerAdapter timerAdapter = timers.get();
+        int sinceSend = tick - lastSendTick;
+        if (timerAdapter != null
+            && (lastSendTick == NO_REQUEST || sinceSend < 0 || sinceSend > CONSUME_DELAY_TICKS + 1)) {
+            ready = Math.max(ready, tick + timerAdapter.left(kind.timerKey));
+        }
+        return ready;
+    }
+
+    private void onSent(Kind kind, int tick) {
+        int ready = tick + CONSUME_DELAY_TICKS;
+        lastSendTick = tick;
+
+        switch (kind) {
+            case KARAMBWAN:
+                block(Kind.KARAMBWAN, ready);
+                block(Kind.POTION, ready);
+                block(Kind.FOOD, ready);
+                break;
+            case POTION:
+                block(Kind.POTION, ready);
+                block(Kind.FOOD, ready);
+                break;
+            case FOOD:
+            default:
+                block(Kind.FOOD, ready);
+                break;
+        }
+
+        // Expose the predicted delays to observations before the animation shows up
+        TimerManagerAdapter timerAdapter = timers.get();
+        if (timerAdapter != null) {
+            timerAdapter.register(kind.timerKey, CONSUME_DELAY_TICKS);
+        }
+    }
+
+    private void block(Kind kind, int ready) {
+        readyTick[kind.ordinal()] = Math.max(readyTick[kind.ordinal()], ready);
+    }
+}
@@ -0,0 +1,298 @@
+package net.runelite.client.plugins.autopvp.core;
+
+import lombok.extern.slf4j.Slf4j;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Shares one PPO server connection between many sessions and pipelines their
+ * requests.
+ *
+ * Requests are encoded on the calling thread and queued. A dispatcher thread takes
+ * the first waiting request, collects more for up to the batch window (or until the
+ * batch is full), writes them all with a single write and then reads the replies.
+ * The server answers one line per request, in order, so replies are matched back to
+ * each caller's future by position. While a batch is in flight new requests keep
+ * queueing, so batches grow with load even with a zero window.
+ *
+ * A batch here is only a group of request lines sent together: the protocol has no
+ * batch header, so the server sees individual requests and any inference batching
+ * on its side depends on it draining several lines from the socket at once. What
+ * this saves on the client is a write, a flush and a round trip per request.
+ *
+ * While the server is unreachable, reconnects back off exponentially and batches in
+ * between fail fast, so a dead server does not stall the dispatcher past the tick.
+ * All replies of a batch share one read deadline, and every request is answered
+ * within {@link #REQUEST_TIMEOUT_MS} of being queued whatever the dispatcher is doing.
+ *
+ * Failed, invalid or late requests complete with the all-zeros default action, the
+ * same as {@link AIClient}.
+ */
+@Slf4j
+public class InferenceGateway {
+
+    private static final int CONNECT_TIMEOUT_MS = 500; // Blocks the dispatcher, so also < tick
+    private static final long MIN_RECONNECT_DELAY_MS = 250;
+    private static final long MAX_RECONNECT_DELAY_MS = 5000;
+    private static final int READ_TIMEOUT_MS = 500; // Per batch; must be < 600ms tick deadline
+    private static final long REQUEST_TIMEOUT_MS = 500; // Queueing included
+
+    private static final class Pending {
+        final String request;
+        final CompletableFuture<int[]> future = new CompletableFuture<>();
+
+        Pending(String request) {
+            this.request = request;
+        }
+    }
+
+    private final String host;
+    private final int port;
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+    private final AIRequestCodec codec = new AIRequestCodec();
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final AtomicBoolean connected = new AtomicBoolean(false);
+    private final Thread dispatcher;
+
+    private volatile boolean running = true;
+
+    // Dispatcher thread only
+    private Socket socket;
+    private BufferedReader reader;
+    private OutputStream output;
+    private final List<Pending> batch = new ArrayList<>();
+    private final StringBuilder frame = new StringBuilder();
+    private long reconnectDelayMs = MIN_RECONNECT_DELAY_MS;
+    private long nextConnectNanos;
+
+    private volatile long totalBatches = 0;
+    private volatile long totalRequests = 0;
+
+    /**
+     * @param batchWindowMicros how long to wait for more requests after the first one
+     *                          of a batch arrives
+     * @param maxBatchSize      requests per batch; the batch is sent as soon as it is full
+     */
+    public InferenceGateway(String host, int port, long batchWindowMicros, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1");
+        }
+        this.host = host;
+        this.port = port;
+        this.batchWindowNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, batchWindowMicros));
+        this.maxBatchSize = maxBatchSize;
+        this.dispatcher = new Thread(this::dispatchLoop, "InferenceGateway-Dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * Request an action for one session. Thread-safe.
+     * @param tick Current game tick
+     * @param reward Reward signal (0.0 for normal operation)
+     * @param observations List of observation values (176 elements)
+     * @param actionMasks List of action masks for each head (12 heads)
+     * @return future completing with the 12-head action
+     */
+    public CompletableFuture<int[]> requestActionAsync(int tick, float reward,
+                                                       List<Number> observations,
+                                                       List<List<Boolean>> actionMasks) {
+        String request = codec.encode(tick, reward, observations, actionMasks);
+        if (request == null || !running) {
+            return CompletableFuture.completedFuture(AIRequestCodec.defaultAction());
+        }
+
+        Pending pending = new Pending(request);
+        // A late reply is dropped by complete() on the already completed future
+        pending.future.completeOnTimeout(AIRequestCodec.defaultAction(), REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        queue.add(pending);
+        if (!running && queue.remove(pending)) {
+            // Shut down while queueing; the dispatcher may already have drained the queue
+            pending.future.complete(AIRequestCodec.defaultAction());
+        }
+        return pending.future;
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                Pending first = queue.take();
+                if (first.future.isDone()) {
+                    // Timed out while queued; the caller has moved on
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + batchWindowNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    if (!next.future.isDone()) {
+                        batch.add(next);
+                    }
+                }
+
+                sendBatch();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                // Anything not answered by sendBatch gets the default action
+                for (Pending pending : batch) {
+                    pending.future.complete(AIRequestCodec.defaultAction());
+                }
+                batch.clear();
+            }
+        }
+
+        disconnect();
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            pending.future.complete(AIRequestCodec.defaultAction());
+        }
+    }
+
+    private void sendBatch() {
+        if (!connected.get() && !reconnect()) {
+            return;
+        }
+
+        try {
+            frame.setLength(0);
+            for (Pending pending : batch) {
+                frame.append(pending.request);
+            }
+            // One write and flush for the whole batch; the server still reads it line by line
+            output.write(frame.toString().getBytes(StandardCharsets.UTF_8));
+            output.flush();
+
+            long readDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(READ_TIMEOUT_MS);
+            for (Pending pending : batch) {
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(readDeadline - System.nanoTime());
+                if (remainingMs <= 0) {
+                    throw new SocketTimeoutException("Batch read deadline passed");
+                }
+                socket.setSoTimeout((int) remainingMs);
+                String response = reader.readLine();
+                if (response == null) {
+                    throw new IOException("Server closed connection");
+                }
+                int[] action = codec.decode(response);
+                pending.future.complete(action != null ? action : AIRequestCodec.defaultAction());
+            }
+
+            totalBatches++;
+            totalRequests += batch.size();
+        } catch (Exception e) {
+            // Replies are matched by position, so the connection cannot be reused after a failure
+            log.warn("[AI] Batch of {} requests failed: {}", batch.size(), e.getMessage());
+            disconnect();
+        }
+    }
+
+    /**
+     * Connect unless the last attempt failed too recently.
+     */
+    private boolean reconnect() {
+        long now = System.nanoTime();
+        if (now - nextConnectNanos < 0) {
+            return false;
+        }
+        if (connect()) {
+            reconnectDelayMs = MIN_RECONNECT_DELAY_MS;
+            return true;
+        }
+        nextConnectNanos = now + TimeUnit.MILLISECONDS.toNanos(reconnectDelayMs);
+        reconnectDelayMs = Math.min(reconnectDelayMs * 2, MAX_RECONNECT_DELAY_MS);
+        return false;
+    }
+
+    private boolean connect() {
+        try {
+            disconnect();
+
+            socket = new Socket();
+            socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+            socket.setSoTimeout(READ_TIMEOUT_MS);
+            socket.setTcpNoDelay(true);
+
+            reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            output = socket.getOutputStream();
+
+            connected.set(true);
+            log.info("[AI] Gateway connected to PPO server at {}:{}", host, port);
+            return true;
+        } catch (IOException e) {
+            log.error("[AI] Gateway failed to connect to PPO server at {}:{}", host, port, e);
+            disconnect();
+            return false;
+        }
+    }
+
+    private void disconnect() {
+        connected.set(false);
+        try {
+            if (socket != null) {
+                socket.close();
+            }
+        } catch (IOException e) {
+            // Ignore
+        }
+        socket = null;
+        reader = null;
+        output = null;
+    }
+
+    /**
+     * Check if the gateway is connected.
+     */
+    public boolean isConnected() {
+        return connected.get();
+    }
+
+    /**
+     * Get the average number of requests per batch sent.
+     */
+    public double getAverageBatchSize() {
+        long batches = totalBatches;
+        return batches == 0 ? 0 : (double) totalRequests / batches;
+    }
+
+    /**
+     * Get total number of requests answered by the server.
+     */
+    public long getTotalRequests() {
+        return totalRequests;
+    }
+
+    /**
+     * Stop the dispatcher and close the connection. Queued requests complete with
+     * the default action.
+     */
+    public void shutdown() {
+        running = false;
+        dispatcher.interrupt();
+        try {
+            dispatcher.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -19,8 +19,10 @@ import com.github.naton1.rl.env.Loadout;
 import com.elvarg.game.entity.impl.player.Player;
 import net.runelite.client.plugins.autopvp.LoadoutOverride;
 import net.runelite.client.plugins.autopvp.adapters.OpponentElvargPlayer;
+import net.runelite.client.plugins.autopvp.adapters.OpponentStatInference;
 import java.util.Arrays;
 import net.runelite.client.plugins.autopvp.adapters.PlayerAdapter;
+import net.runelite.client.plugins.autopvp.adapters.PrayerHandlerAdapter;
 import net.runelite.client.plugins.autopvp.adapters.DummyElvargPlayer;
 import net.runelite.client.plugins.autopvp.adapters.DelegatingElvargPlayer;
 import net.runelite.client.plugins.autopvp.adapters.DynamicTargetPlayer;
@@ -30,6 +32,8 @@ import net.runelite.client.plugins.autopvp.adapters.TimerManagerAdapter;
 import net.runelite.client.plugins.autopvp.adapters.DamageTrackerAdapter;
 import net.runelite.client.plugins.autopvp.adapters.GearLoadoutTracker;
 import net.runelite.client.plugins.autopvp.adapters.CombatHistoryTracker;
+import net.runelite.client.plugins.autopvp.adapters.OpponentMovementPredictor;
+import net.runelite.client.plugins.autopvp.adapters.HitpointsReconstructor;
 import net.runelite.client.plugins.autopvp.util.TargetEquipmentTranslator;
 import net.runelite.api.Client;
 import net.runelite.api.Varbits;
@@ -127,6 +131,9 @@ public class NhEnvironmentBridge {
     private final net.runelite.client.game.ItemManager itemManager;
     private final LoadoutOverride loadoutOverride;
     private final double[] loadoutBaselineBonuses;
+    private OpponentMovementPredictor movementPredictor;
+    private HitpointsReconstructor hitpointsReconstructor;
+    private final NhFeatureRegistry featureRegistry;
 
     /**
      * Factory method to create appropriate loadout based on account build.
@@ -558,26 +565,75 @@ public class NhEnvironmentBridge {
         combatAdapter.setTargetGearBaseline(this.loadoutBaselineBonuses);
         combatAdapter.setOpponentTargetSupplier(this::getDynamicTargetPlayer);
 
+        NhFeatureRegistry.Builder features = NhFeatureRegistry.builder(client);
+        NhObservationEncoder.registerFeatures(features, timerManagerAdapter, damageTrackerAdapter,
+            getPrayerHandlerAdapter(), () -> movementPredictor, this::getTargetStatInference, () -> hitpointsReconstructor);
+        registerCombatHistoryFeatures(features);
+        registerGearFeatures(features);
+        this.featureRegistry = features.build();
+
         log.info("[AUTOPVP] NhEnvironmentBridge initialized with {} build in {} mode ({})",
                  params.getAccountBuild(), params.getFightType(), selection.getReason());
     }
 
+    /**
+     * Prayer state of the local player, shared with the player adapter.
+     */
+    public PrayerHandlerAdapter getPrayerHandlerAdapter() {
+        return playerAdapter != null ? playerAdapter.getPrayerHandlerAdapter() : null;
+    }
+
+    /**
+     * Combat and consume timers of the local player.
+     */
+    public TimerManagerAdapter getTimerManagerAdapter() {
+        return timerManagerAdapter;
+    }
+
+    /**
+     * Set the predictor used for target movement observations and move targeting.
+     */
+    public void setMovementPredictor(OpponentMovementPredictor movementPredictor) {
+        this.movementPredictor = movementPredictor;
+    }
+
+    public OpponentMovementPredictor getMovementPredictor() {
+        return movementPredictor;
+    }
+
+    /**
+     * Set the reconstructor used for health observations. Max HP for the current
+     * opponent comes from their stat estimate.
+     */
+    public void setHitpointsReconstructor(HitpointsReconstructor hitpointsReconstructor) {
+        this.hitpointsReconstructor = hitpointsReconstructor;
+        if (hitpointsReconstructor != null) {
+            hitpointsReconstructor.setMaxHitpointsResolver(this::estimateMaxHitpoints);
+        }
+    }
+
+    private int estimateMaxHitpoints(net.runelite.api.Player player) {
+        if (combatAdapter != null && combatAdapter.getTarget() instanceof OpponentElvargPlayer) {
+            OpponentElvargPlayer opponent = (OpponentElvargPlayer) combatAdapter.getTarget();
+            if (opponent.getRunelitePlayer() == player) {
+                return opponent.getStatInference().getLevel(OpponentStatInference.HITPOINTS);
+            }
+        }
+        return HitpointsReconstructor.DEFAULT_MAX_HITPOINTS;
+    }
+
     /**
      * Get observations from the environment.
      * Returns a List<Number> with exactly 176 observations.
      */
     public List<Number> getObservations() {
         try {
-            float[] encoded = NhObservationEncoder.encode(client, timerManagerAdapter, damageTrackerAdapter);
+            double[] encoded = featureRegistry.encode();
             List<Number> observations = new ArrayList<>(encoded.length);
-            for (float value : encoded) {
-                observations.add(value);
+            for (double value : encoded) {
+                observations.add(box(value));
             }
 
-            // Add client-specific observations
-            applyCombatHistoryObservations(observations);
-            applyGearObservations(observations);
-
             // Log detailed observations when attacking a real target
             if (targetPlayer.getHitpoints() > 0) {
                 logKeyObservations(observations);
@@ -591,6 +647,33 @@ public class NhEnvironmentBridge {
         }
     }
 
+    /**
+     * Box a feature the way its producer computed it: float features as Float, tracker
+     * features as Double, so the server receives the same digits as before the
+     * registry and no precision is lost.
+     */
+    private static Number box(double value) {
+        float narrowed = (float) value;
+        return narrowed == value ? (Number) narrowed : (Number) value;
+    }
+
+    /**
+     * Stat estimate for the player we are currently interacting with, or null when
+     * the combat target is not that player (or not a real opponent).
+     */
+    private OpponentStatInference getTargetStatInference() {
+        if (combatAdapter == null || !(combatAdapter.getTarget() instanceof OpponentElvargPlayer)) {
+            return null;
+        }
+
+        OpponentElvargPlayer opponent = (OpponentElvargPlayer) combatAdapter.getTarget();
+        net.runelite.api.Player localPlayer = client.getLocalPlayer();
+        if (localPlayer == null || localPlayer.getInteracting() != opponent.getRunelitePlayer()) {
+            return null;
+        }
+        return opponent.getStatInference();
+    }
+
     /**
      * Get action masks showing which actions are valid.
      * Returns a List<List<Boolean>> for 12 action heads.
@@ -800,118 +883,127 @@ public class NhEnvironmentBridge {
     }
 
     /**
-     * Get the underlying NhEnvironment for direct access if needed.
+     * Gear flags and bonuses (103-159) come from the gear tracker; 0 without one.
      */
-    private void applyGearObservations(List<Number> observations) {
-        if (gearLoadoutTracker == null || observations == null || observations.size() < NhContract.OBS_SIZE) {
-            return;
-        }
+    private void registerGearFeatures(NhFeatureRegistry.Builder features) {
+        features.registerRange("gearLoadout", 103, 159,
+            gearLoadoutTracker != null ? (frame, obs) -> writeGearObservations(obs) : null);
+    }
 
-        setObservation(observations, 103, gearLoadoutTracker.getIsEnchantedDragonBolts());
-        setObservation(observations, 104, gearLoadoutTracker.getIsEnchantedOpalBolts());
-        setObservation(observations, 105, gearLoadoutTracker.getIsEnchantedDiamondBolts());
-        setObservation(observations, 106, gearLoadoutTracker.getIsMageSpecWeapon());
-        setObservation(observations, 107, gearLoadoutTracker.getIsRangeSpecWeapon());
-        setObservation(observations, 108, gearLoadoutTracker.getIsNightmareStaff());
-        setObservation(observations, 109, gearLoadoutTracker.getIsZaryteCrossbow());
-        setObservation(observations, 110, gearLoadoutTracker.getIsBallista());
-        setObservation(observations, 111, gearLoadoutTracker.getIsMorrigansJavelins());
-        setObservation(observations, 112, gearLoadoutTracker.getIsDragonKnives());
-        setObservation(observations, 113, gearLoadoutTracker.getIsDarkBow());
-        setObservation(observations, 114, gearLoadoutTracker.getIsMeleeSpecDclaws());
-        setObservation(observations, 115, gearLoadoutTracker.getIsMeleeSpecDds());
-        setObservation(observations, 116, gearLoadoutTracker.getIsMeleeSpecAgs());
-        setObservation(observations, 117, gearLoadoutTracker.getIsMeleeSpecVls());
-        setObservation(observations, 118, gearLoadoutTracker.getIsMeleeSpecStatHammer());
-        setObservation(observations, 119, gearLoadoutTracker.getIsMeleeSpecAncientGodsword());
-        setObservation(observations, 120, gearLoadoutTracker.getIsMeleeSpecGraniteMaul());
-        setObservation(observations, 121, gearLoadoutTracker.getIsBloodFury());
-        setObservation(observations, 122, gearLoadoutTracker.getIsDharoksSet());
-        setObservation(observations, 123, gearLoadoutTracker.getIsZurielStaff());
-
-        setObservation(observations, 124, gearLoadoutTracker.getMagicGearAccuracy());
-        setObservation(observations, 125, gearLoadoutTracker.getMagicGearStrength());
-        setObservation(observations, 126, gearLoadoutTracker.getRangedGearAccuracy());
-        setObservation(observations, 127, gearLoadoutTracker.getRangedGearStrength());
-        setObservation(observations, 128, gearLoadoutTracker.getRangedGearAttackSpeed());
-        setObservation(observations, 129, gearLoadoutTracker.getRangedGearAttackRange());
-        setObservation(observations, 130, gearLoadoutTracker.getMeleeGearAccuracy());
-        setObservation(observations, 131, gearLoadoutTracker.getMeleeGearStrength());
-        setObservation(observations, 132, gearLoadoutTracker.getMeleeGearAttackSpeed());
-        setObservation(observations, 133, gearLoadoutTracker.getMagicGearRangedDefence());
-        setObservation(observations, 134, gearLoadoutTracker.getMagicGearMageDefence());
-        setObservation(observations, 135, gearLoadoutTracker.getMagicGearMeleeDefence());
-        setObservation(observations, 136, gearLoadoutTracker.getRangedGearRangedDefence());
-        setObservation(observations, 137, gearLoadoutTracker.getRangedGearMageDefence());
-        setObservation(observations, 138, gearLoadoutTracker.getRangedGearMeleeDefence());
-        setObservation(observations, 139, gearLoadoutTracker.getMeleeGearRangedDefence());
-        setObservation(observations, 140, gearLoadoutTracker.getMeleeGearMageDefence());
-        setObservation(observations, 141, gearLoadoutTracker.getMeleeGearMeleeDefence());
-
-        setObservation(observations, 142, gearLoadoutTracker.getTargetCurrentGearRangedDefence());
-        setObservation(observations, 143, gearLoadoutTracker.getTargetCurrentGearMageDefence());
-        setObservation(observations, 144, gearLoadoutTracker.getTargetCurrentGearMeleeDefence());
-        setObservation(observations, 145, gearLoadoutTracker.getTargetLastMagicGearAccuracy());
-        setObservation(observations, 146, gearLoadoutTracker.getTargetLastMagicGearStrength());
-        setObservation(observations, 147, gearLoadoutTracker.getTargetLastRangedGearAccuracy());
-        setObservation(observations, 148, gearLoadoutTracker.getTargetLastRangedGearStrength());
-        setObservation(observations, 149, gearLoadoutTracker.getTargetLastMeleeGearAccuracy());
-        setObservation(observations, 150, gearLoadoutTracker.getTargetLastMeleeGearStrength());
-        setObservation(observations, 151, gearLoadoutTracker.getTargetLastMagicGearRangedDefence());
-        setObservation(observations, 152, gearLoadoutTracker.getTargetLastMagicGearMageDefence());
-        setObservation(observations, 153, gearLoadoutTracker.getTargetLastMagicGearMeleeDefence());
-        setObservation(observations, 154, gearLoadoutTracker.getTargetLastRangedGearRangedDefence());
-        setObservation(observations, 155, gearLoadoutTracker.getTargetLastRangedGearMageDefence());
-        setObservation(observations, 156, gearLoadoutTracker.getTargetLastRangedGearMeleeDefence());
-        setObservation(observations, 157, gearLoadoutTracker.getTargetLastMeleeGearRangedDefence());
-        setObservation(observations, 158, gearLoadoutTracker.getTargetLastMeleeGearMageDefence());
-        setObservation(observations, 159, gearLoadoutTracker.getTargetLastMeleeGearMeleeDefence());
-    }
-    private void applyCombatHistoryObservations(List<Number> observations) {
-        if (combatHistoryTracker == null || observations == null || observations.size() < NhContract.OBS_SIZE) {
-            return;
-        }
+    private void writeGearObservations(double[] obs) {
+        obs[103] = gearLoadoutTracker.getIsEnchantedDragonBolts();
+        obs[104] = gearLoadoutTracker.getIsEnchantedOpalBolts();
+        obs[105] = gearLoadoutTracker.getIsEnchantedDiamondBolts();
+        obs[106] = gearLoadoutTracker.getIsMageSpecWeapon();
+        obs[107] = gearLoadoutTracker.getIsRangeSpecWeapon();
+        obs[108] = gearLoadoutTracker.getIsNightmareStaff();
+        obs[109] = gearLoadoutTracker.getIsZaryteCrossbow();
+        obs[110] = gearLoadoutTracker.getIsBallista();
+        obs[111] = gearLoadoutTracker.getIsMorrigansJavelins();
+        obs[112] = gearLoadoutTracker.getIsDragonKnives();
+        obs[113] = gearLoadoutTracker.getIsDarkBow();
+        obs[114] = gearLoadoutTracker.getIsMeleeSpecDclaws();
+        obs[115] = gearLoadoutTracker.getIsMeleeSpecDds();
+        obs[116] = gearLoadoutTracker.getIsMeleeSpecAgs();
+        obs[117] = gearLoadoutTracker.getIsMeleeSpecVls();
+        obs[118] = gearLoadoutTracker.getIsMeleeSpecStatHammer();
+        obs[119] = gearLoadoutTracker.getIsMeleeSpecAncientGodsword();
+        obs[120] = gearLoadoutTracker.getIsMeleeSpecGraniteMaul();
+        obs[121] = gearLoadoutTracker.getIsBloodFury();
+        obs[122] = gearLoadoutTracker.getIsDharoksSet();
+        obs[123] = gearLoadoutTracker.getIsZurielStaff();
+
+        obs[124] = gearLoadoutTracker.getMagicGearAccuracy();
+        obs[125] = gearLoadoutTracker.getMagicGearStrength();
+        obs[126] = gearLoadoutTracker.getRangedGearAccuracy();
+        obs[127] = gearLoadoutTracker.getRangedGearStrength();
+        obs[128] = gearLoadoutTracker.getRangedGearAttackSpeed();
+        obs[129] = gearLoadoutTracker.getRangedGearAttackRange();
+        obs[130] = gearLoadoutTracker.getMeleeGearAccuracy();
+        obs[131] = gearLoadoutTracker.getMeleeGearStrength();
+        obs[132] = gearLoadoutTracker.getMeleeGearAttackSpeed();
+        obs[133] = gearLoadoutTracker.getMagicGearRangedDefence();
+        obs[134] = gearLoadoutTracker.getMagicGearMageDefence();
+        obs[135] = gearLoadoutTracker.getMagicGearMeleeDefence();
+        obs[136] = gearLoadoutTracker.getRangedGearRangedDefence();
+        obs[137] = gearLoadoutTracker.getRangedGearMageDefence();
+        obs[138] = gearLoadoutTracker.getRangedGearMeleeDefence();
+        obs[139] = gearLoadoutTracker.getMeleeGearRangedDefence();
+        obs[140] = gearLoadoutTracker.getMeleeGearMageDefence();
+        obs[141] = gearLoadoutTracker.getMeleeGearMeleeDefence();
+
+        obs[142] = gearLoadoutTracker.getTargetCurrentGearRangedDefence();
+        obs[143] = gearLoadoutTracker.getTargetCurrentGearMageDefence();
+        obs[144] = gearLoadoutTracker.getTargetCurrentGearMeleeDefence();
+        obs[145] = gearLoadoutTracker.getTargetLastMagicGearAccuracy();
+        obs[146] = gearLoadoutTracker.getTargetLastMagicGearStrength();
+        obs[147] = gearLoadoutTracker.getTargetLastRangedGearAccuracy();
+        obs[148] = gearLoadoutTracker.getTargetLastRangedGearStrength();
+        obs[149] = gearLoadoutTracker.getTargetLastMeleeGearAccuracy();
+        obs[150] = gearLoadoutTracker.getTargetLastMeleeGearStrength();
+        obs[151] = gearLoadoutTracker.getTargetLastMagicGearRangedDefence();
+        obs[152] = gearLoadoutTracker.getTargetLastMagicGearMageDefence();
+        obs[153] = gearLoadoutTracker.getTargetLastMagicGearMeleeDefence();
+        obs[154] = gearLoadoutTracker.getTargetLastRangedGearRangedDefence();
+        obs[155] = gearLoadoutTracker.getTargetLastRangedGearMageDefence();
+        obs[156] = gearLoadoutTracker.getTargetLastRangedGearMeleeDefence();
+        obs[157] = gearLoadoutTracker.getTargetLastMeleeGearRangedDefence();
+        obs[158] = gearLoadoutTracker.getTargetLastMeleeGearMageDefence();
+        obs[159] = gearLoadoutTracker.getTargetLastMeleeGearMeleeDefence();
+    }
+
+    /**
+     * Attack and prayer history (49, 52, 53, 65-95) come from the combat history tracker;
+     * 0 without one.
+     */
+    private void registerCombatHistoryFeatures(NhFeatureRegistry.Builder features) {
+        int[] indices = {49, 52, 53,
+            65, 66, 67, 68, 69, 70, 71, 72, 73, 74, 75, 76, 77, 78, 79, 80,
+            81, 82, 83, 84, 85, 86, 87, 88, 89, 90, 91, 92, 93, 94, 95};
+        features.register("combatHistory",
+            combatHistoryTracker != null ? (frame, obs) -> writeCombatHistoryObservations(obs) : null, indices);
+    }
 
-        setObservation(observations, 49, combatHistoryTracker.didPlayerJustAttack() ? 1.0 : 0.0);
-        setObservation(observations, 52, combatHistoryTracker.getHitsplatsOnAgentScale());
-        setObservation(observations, 53, combatHistoryTracker.getHitsplatsOnTargetScale());
-        setObservation(observations, 65, combatHistoryTracker.getDamageDealtScale());
-        setObservation(observations, 66, combatHistoryTracker.getTargetHitConfidence());
-        setObservation(observations, 67, combatHistoryTracker.getTargetHitMeleeRatio());
-        setObservation(observations, 68, combatHistoryTracker.getTargetHitMageRatio());
-        setObservation(observations, 69, combatHistoryTracker.getTargetHitRangeRatio());
-        setObservation(observations, 70, combatHistoryTracker.getPlayerHitMeleeRatio());
-        setObservation(observations, 71, combatHistoryTracker.getPlayerHitMageRatio());
-        setObservation(observations, 72, combatHistoryTracker.getPlayerHitRangeRatio());
-        setObservation(observations, 73, combatHistoryTracker.getTargetHitCorrectRatio());
-        setObservation(observations, 74, combatHistoryTracker.getTargetPrayConfidence());
-        setObservation(observations, 75, combatHistoryTracker.getTargetPrayMageRatio());
-        setObservation(observations, 76, combatHistoryTracker.getTargetPrayRangeRatio());
-        setObservation(observations, 77, combatHistoryTracker.getTargetPrayMeleeRatio());
-        setObservation(observations, 78, combatHistoryTracker.getPlayerPrayMageRatio());
-        setObservation(observations, 79, combatHistoryTracker.getPlayerPrayRangeRatio());
-        setObservation(observations, 80, combatHistoryTracker.getPlayerPrayMeleeRatio());
-        setObservation(observations, 81, combatHistoryTracker.getTargetPrayCorrectRatio());
-        setObservation(observations, 82, combatHistoryTracker.getRecentTargetHitMeleeRatio());
-        setObservation(observations, 83, combatHistoryTracker.getRecentTargetHitMageRatio());
-        setObservation(observations, 84, combatHistoryTracker.getRecentTargetHitRangeRatio());
-        setObservation(observations, 85, combatHistoryTracker.getRecentPlayerHitMeleeRatio());
-        setObservation(observations, 86, combatHistoryTracker.getRecentPlayerHitMageRatio());
-        setObservation(observations, 87, combatHistoryTracker.getRecentPlayerHitRangeRatio());
-        setObservation(observations, 88, combatHistoryTracker.getRecentTargetHitCorrectRatio());
-        setObservation(observations, 89, combatHistoryTracker.getRecentTargetPrayMageRatio());
-        setObservation(observations, 90, combatHistoryTracker.getRecentTargetPrayRangeRatio());
-        setObservation(observations, 91, combatHistoryTracker.getRecentTargetPrayMeleeRatio());
-        setObservation(observations, 92, combatHistoryTracker.getRecentPlayerPrayMageRatio());
-        setObservation(observations, 93, combatHistoryTracker.getRecentPlayerPrayRangeRatio());
-        setObservation(observations, 94, combatHistoryTracker.getRecentPlayerPrayMeleeRatio());
-        setObservation(observations, 95, combatHistoryTracker.getRecentTargetPrayCorrectRatio());
-    }
-
-    private void setObservation(List<Number> observations, int index, double value) {
-        observations.set(index, value);
+    private void writeCombatHistoryObservations(double[] obs) {
+        obs[49] = combatHistoryTracker.didPlayerJustAttack() ? 1.0 : 0.0;
+        obs[52] = combatHistoryTracker.getHitsplatsOnAgentScale();
+        obs[53] = combatHistoryTracker.getHitsplatsOnTargetScale();
+        obs[65] = combatHistoryTracker.getDamageDealtScale();
+        obs[66] = combatHistoryTracker.getTargetHitConfidence();
+        obs[67] = combatHistoryTracker.getTargetHitMeleeRatio();
+        obs[68] = combatHistoryTracker.getTargetHitMageRatio();
+        obs[69] = combatHistoryTracker.getTargetHitRangeRatio();
+        obs[70] = combatHistoryTracker.getPlayerHitMeleeRatio();
+        obs[71] = combatHistoryTracker.getPlayerHitMageRatio();
+        obs[72] = combatHistoryTracker.getPlayerHitRangeRatio();
+        obs[73] = combatHistoryTracker.getTargetHitCorrectRatio();
+        obs[74] = combatHistoryTracker.getTargetPrayConfidence();
+        obs[75] = combatHistoryTracker.getTargetPrayMageRatio();
+        obs[76] = combatHistoryTracker.getTargetPrayRangeRatio();
+        obs[77] = combatHistoryTracker.getTargetPrayMeleeRatio();
+        obs[78] = combatHistoryTracker.getPlayerPrayMageRatio();
+        obs[79] = combatHistoryTracker.getPlayerPrayRangeRatio();
+        obs[80] = combatHistoryTracker.getPlayerPrayMeleeRatio();
+        obs[81] = combatHistoryTracker.getTargetPrayCorrectRatio();
+        obs[82] = combatHistoryTracker.getRecentTargetHitMeleeRatio();
+        obs[83] = combatHistoryTracker.getRecentTargetHitMageRatio();
+        obs[84] = combatHistoryTracker.getRecentTargetHitRangeRatio();
+        obs[85] = combatHistoryTracker.getRecentPlayerHitMeleeRatio();
+        obs[86] = combatHistoryTracker.getRecentPlayerHitMageRatio();
+        obs[87] = combatHistoryTracker.getRecentPlayerHitRangeRatio();
+        obs[88] = combatHistoryTracker.getRecentTargetHitCorrectRatio();
+        obs[89] = combatHistoryTracker.getRecentTargetPrayMageRatio();
+        obs[90] = combatHistoryTracker.getRecentTargetPrayRangeRatio();
+        obs[91] = combatHistoryTracker.getRecentTargetPrayMeleeRatio();
+        obs[92] = combatHistoryTracker.getRecentPlayerPrayMageRatio();
+        obs[93] = combatHistoryTracker.getRecentPlayerPrayRangeRatio();
+        obs[94] = combatHistoryTracker.getRecentPlayerPrayMeleeRatio();
+        obs[95] = combatHistoryTracker.getRecentTargetPrayCorrectRatio();
     }
 
+    /**
+     * Get the underlying NhEnvironment for direct access if needed.
+     */
     public NhEnvironment getEnvironment() {
         return environment;
     }
@@ -0,0 +1,232 @@
+package net.runelite.client.plugins.autopvp.core;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import net.runelite.api.Actor;
+import net.runelite.api.Client;
+import net.runelite.api.Player;
+
+/**
+ * Declares which component owns each index of NhContract.OBS_IDS.
+ *
+ * Every observation index is claimed by exactly one producer; indices the live client
+ * cannot observe are claimed explicitly as unavailable and stay 0. Building the registry
+ * fails when an index is claimed twice or left unclaimed, so ownership is checked once
+ * at startup instead of being discovered through overwritten values.
+ *
+ * The built registry runs its producers in order of their lowest index, in a single
+ * pass over a fresh vector. Producers may rely on the vector starting at 0 and must only
+ * write the indices they claimed. The vector is double so features computed in double
+ * precision (the gear and combat history trackers) reach the server unrounded.
+ */
+public final class NhFeatureRegistry
+{
+    /**
+     * Writes one group of observation features.
+     */
+    @FunctionalInterface
+    public interface Producer
+    {
+        void produce(Frame frame, double[] obs);
+    }
+
+    /**
+     * Client state shared by all producers within one pass.
+     */
+    public static final class Frame
+    {
+        private Client client;
+        private Player localPlayer;
+        private Player targetPlayer;
+
+        public Client getClient()
+        {
+            return client;
+        }
+
+        public Player getLocalPlayer()
+        {
+            return localPlayer;
+        }
+
+        /**
+         * Player the local player is interacting with, or null.
+         */
+        public Player getTargetPlayer()
+        {
+            return targetPlayer;
+        }
+    }
+
+    private static final String UNAVAILABLE = "unavailable";
+
+    private static final class Entry
+    {
+        final int[] indices;
+        final Producer producer;
+
+        Entry(int[] indices, Producer producer)
+        {
+            this.indices = indices;
+            this.producer = producer;
+        }
+
+        int firstIndex()
+        {
+            int first = Integer.MAX_VALUE;
+            for (int index : indices)
+            {
+                first = Math.min(first, index);
+            }
+            return first;
+        }
+    }
+
+    private final Client client;
+    private final Producer[] producers;
+    private final String[] owners;
+    private final Frame frame = new Frame();
+
+    private NhFeatureRegistry(Client client, Producer[] producers, String[] owners)
+    {
+        this.client = client;
+        this.producers = producers;
+        this.owners = owners;
+    }
+
+    public static Builder builder(Client client)
+    {
+        return new Builder(client);
+    }
+
+    /**
+     * Build the observation vector. All zeros while there is no local player.
+     */
+    public double[] encode()
+    {
+        double[] obs = new double[NhContract.OBS_SIZE];
+
+        Player localPlayer = client.getLocalPlayer();
+        if (localPlayer == null)
+        {
+            return obs;
+        }
+
+        Actor interacting = localPlayer.getInteracting();
+        frame.client = client;
+        frame.localPlayer = localPlayer;
+        frame.targetPlayer = interacting instanceof Player ? (Player) interacting : null;
+
+        for (Producer producer : producers)
+        {
+            producer.produce(frame, obs);
+        }
+        return obs;
+    }
+
+    /**
+     * Name of the component that produces the given index.
+     */
+    public String getOwner(int index)
+    {
+        return owners[index];
+    }
+
+    public static final class Builder
+    {
+        private final Client client;
+        private final String[] owners = new String[NhContract.OBS_SIZE];
+        private final List<Entry> entries = new ArrayList<>();
+
+        private Builder(Client client)
+        {
+            this.client = client;
+        }
+
+        /**
+         * Claim the given indices for a producer.
+         *
+         * @throws IllegalArgumentException when an index is out of range
+         * @throws IllegalStateException when an index is already claimed
+         */
+        public Builder register(String owner, Producer producer, int... indices)
+        {
+            for (int index : indices)
+            {
+                if (index < 0 || index >= NhContract.OBS_SIZE)
+                {
+                    throw new IllegalArgumentException(owner + " claims invalid observation index " + index);
+                }
+                if (owners[index] != null)
+                {
+                    throw new IllegalStateException("Observation " + index + " (" + NhContract.OBS_IDS[index]
+                        + ") claimed by both " + owners[index] + " and " + owner);
+                }
+                owners[index] = owner;
+            }
+
+            if (producer != null && indices.length > 0)
+            {
+                entries.add(new Entry(indices.clone(), producer));
+            }
+            return this;
+        }
+
+        /**
+         * Claim the inclusive index range {@code from..to} for a producer.
+         */
+        public Builder registerRange(String owner, int from, int to, Producer producer)
+        {
+            return register(owner, producer, range(from, to));
+        }
+
+        /**
+         * Claim indices the live client cannot observe; they stay 0.
+         */
+        public Builder registerUnavailable(int... indices)
+        {
+            return register(UNAVAILABLE, null, indices);
+        }
+
+        /**
+         * @throws IllegalStateException when any observation index is unclaimed
+         */
+        public NhFeatureRegistry build()
+        {
+            StringBuilder missing = null;
+            for (int i = 0; i < NhContract.OBS_SIZE; i++)
+            {
+                if (owners[i] == null)
+                {
+                    missing = missing == null ? new StringBuilder() : missing.append(", ");
+                    missing.append(i).append(" (").append(NhContract.OBS_IDS[i]).append(')');
+                }
+            }
+            if (missing != null)
+            {
+                throw new IllegalStateException("Observations without a producer: " + missing);
+            }
+
+            List<Entry> ordered = new ArrayList<>(entries);
+            ordered.sort(Comparator.comparingInt(Entry::firstIndex));
+            Producer[] producers = new Producer[ordered.size()];
+            for (int i = 0; i < producers.length; i++)
+            {
+                producers[i] = ordered.get(i).producer;
+            }
+            return new NhFeatureRegistry(client, producers, owners.clone());
+        }
+
+        private static int[] range(int from, int to)
+        {
+            int[] indices = new int[to - from + 1];
+            for (int i = 0; i < indices.length; i++)
+            {
+                indices[i] = from + i;
+            }
+            return indices;
+        }
+    }
+}
@@ -2,8 +2,8 @@ package net.runelite.client.plugins.autopvp.core;
 
 import java.util.Arrays;
 import java.util.Set;
+import java.util.function.Supplier;
 
-import net.runelite.api.Actor;
 import net.runelite.api.Client;
 import net.runelite.api.HeadIcon;
 import net.runelite.api.Player;
@@ -20,6 +20,11 @@ import net.runelite.api.Varbits;
 import net.runelite.api.InventoryID;
 import net.runelite.client.plugins.autopvp.adapters.TimerManagerAdapter;
 import net.runelite.client.plugins.autopvp.adapters.DamageTrackerAdapter;
+import net.runelite.client.plugins.autopvp.adapters.HitpointsReconstructor;
+import net.runelite.client.plugins.autopvp.adapters.OpponentMovementPredictor;
+import net.runelite.client.plugins.autopvp.adapters.OpponentStatInference;
+import net.runelite.client.plugins.autopvp.adapters.PrayerHandlerAdapter;
+import net.runelite.client.plugins.autopvp.util.ConsumableTable;
 import com.elvarg.util.timers.TimerKey;
 
 /**
@@ -31,100 +36,142 @@ public final class NhObservationEncoder
     private NhObservationEncoder() {}
 
     /**
-     * Encode client state into observation vector.
-     * Returns float[176] with available fields populated, others 0.
+     * Register the features derived directly from client state and the timer,
+     * damage, prayer, movement, stat and hitpoint adapters. Suppliers are read on every
+     * pass so adapters wired after startup are picked up; a null predictor or
+     * reconstructor falls back to the raw pose and health bars, and a null stat
+     * inference leaves relative levels at 0.
      */
-    public static float[] encode(Client client, TimerManagerAdapter timers, DamageTrackerAdapter damage)
+    public static void registerFeatures(NhFeatureRegistry.Builder registry, TimerManagerAdapter timers,
+                                        DamageTrackerAdapter damage, PrayerHandlerAdapter prayers,
+                                        Supplier<OpponentMovementPredictor> movementPredictor,
+                                        Supplier<OpponentStatInference> targetStats,
+                                        Supplier<HitpointsReconstructor> hitpoints)
     {
-        float[] obs = new float[NhContract.OBS_SIZE];
-
-        Player localPlayer = client.getLocalPlayer();
-        if (localPlayer == null) {
-            return obs;
-        }
-
-        // Get target if we're interacting with another player
-        Actor target = localPlayer.getInteracting();
-        Player targetPlayer = (target instanceof Player) ? (Player) target : null;
-
-        // === Player equipment & combat style (0-4) ===
-        encodeEquipmentStyle(localPlayer, obs);
+        // === Player equipment & combat style (0-3) ===
+        registry.registerRange("equipmentStyle", 0, 3,
+            (frame, obs) -> encodeEquipmentStyle(frame.getLocalPlayer(), obs));
 
         // Special percentage (4) — varp 300 is 0..1000 → normalize to 0..1
-        obs[4] = getSpecialPercent01(client);
+        registry.register("specialPercent",
+            (frame, obs) -> obs[4] = getSpecialPercent01(frame.getClient()), 4);
 
         // === Player prayers (5-9) ===
-        encodeSelfPrayers(client, obs);
+        registry.registerRange("selfPrayers", 5, 9,
+            (frame, obs) -> encodeSelfPrayers(frame.getClient(), prayers, obs));
 
         // === Health (10-11) ===
-        obs[10] = getLocalPlayerHealthPercent(client);
-        obs[11] = getTargetHealthPercent(targetPlayer);
+        registry.register("health", (frame, obs) ->
+        {
+            HitpointsReconstructor reconstructor = hitpoints.get();
+            Player targetPlayer = frame.getTargetPlayer();
+            obs[10] = reconstructor != null ? reconstructor.getHealthPercent(frame.getLocalPlayer())
+                : getLocalPlayerHealthPercent(frame.getClient());
+            obs[11] = reconstructor != null ? reconstructor.getHealthPercent(targetPlayer)
+                : getTargetHealthPercent(targetPlayer);
+        }, 10, 11);
 
         // === Target equipment (12-15) ===
-        if (targetPlayer != null) {
-            encodeTargetEquipment(targetPlayer, obs);
+        registry.registerRange("targetEquipment", 12, 15, (frame, obs) ->
+        {
+            if (frame.getTargetPlayer() != null) {
+                encodeTargetEquipment(frame.getTargetPlayer(), obs);
+            }
+        });
 
-            // === Target prayers (16-20) ===
-            encodeTargetPrayers(targetPlayer, obs);
-        }
+        // === Target prayers (16-20) ===
+        registry.registerRange("targetPrayers", 16, 20, (frame, obs) ->
+        {
+            if (frame.getTargetPlayer() != null) {
+                encodeTargetPrayers(frame.getTargetPlayer(), obs);
+            }
+        });
 
-        // === Resources (21-27) ===
-        encodeInventoryResources(client, obs);
+        // === Resources (21-26); prayer potions (27) are counted with super restores ===
+        registry.registerRange("inventoryResources", 21, 26,
+            (frame, obs) -> encodeInventoryResources(frame.getClient(), obs));
 
         // === Prayer points (28) ===
-        obs[28] = getPrayerPointScale(client);
+        registry.register("prayerPoints",
+            (frame, obs) -> obs[28] = getPrayerPointScale(frame.getClient()), 28);
 
         // === Frozen status (29-32) ===
-        encodeFreezeStatus(timers, obs);
+        registry.registerRange("freezeStatus", 29, 32, (frame, obs) -> encodeFreezeStatus(timers, obs));
 
         // === Range check (33) ===
-        obs[33] = isInMeleeRange(localPlayer, targetPlayer) ? 1f : 0f;
+        registry.register("meleeRange", (frame, obs) ->
+            obs[33] = isInMeleeRange(frame.getLocalPlayer(), frame.getTargetPlayer()) ? 1f : 0f, 33);
 
         // === Skill levels (34-38) — relative to target ===
-        if (targetPlayer != null) {
-            encodeRelativeLevels(obs);
-        }
+        registry.registerRange("relativeLevels", 34, 38, (frame, obs) ->
+        {
+            if (frame.getTargetPlayer() != null) {
+                encodeRelativeLevels(frame.getClient(), targetStats.get(), obs);
+            }
+        });
 
-        // === Timing (39-45) ===
-        encodeTimingInfo(timers, obs);
+        // === Timing (39-43) ===
+        registry.registerRange("timing", 39, 43, (frame, obs) -> encodeTimingInfo(timers, obs));
 
-        // === Combat state (46-53) ===
-        encodeCombatState(damage, obs);
+        // === Combat state (46, 47, 51) ===
+        registry.register("combatState", (frame, obs) -> encodeCombatState(damage, obs), 46, 47, 51);
 
-        // === Movement state (54-57) ===
-        obs[54] = (targetPlayer != null && localPlayer.getInteracting() == targetPlayer) ? 1f : 0f;
-        obs[55] = isMoving(localPlayer) ? 1f : 0f;
-        obs[56] = (targetPlayer != null && isMoving(targetPlayer)) ? 1f : 0f;
-        // PID (57) unknown on live client
+        // === Movement state (54-56); PID (57) unknown on live client ===
+        registry.register("movement", (frame, obs) ->
+        {
+            Player localPlayer = frame.getLocalPlayer();
+            Player targetPlayer = frame.getTargetPlayer();
+            obs[54] = targetPlayer != null ? 1f : 0f;
+            obs[55] = isMoving(localPlayer) ? 1f : 0f;
+            if (targetPlayer != null) {
+                OpponentMovementPredictor predictor = movementPredictor.get();
+                boolean targetMoving = predictor != null
+                    ? predictor.isMoving(targetPlayer)
+                    : isMoving(targetPlayer);
+                obs[56] = targetMoving ? 1f : 0f;
+            }
+        }, 54, 55, 56);
 
         // === Spell availability (58-59) ===
-        obs[58] = canCastIceBarrage(client) ? 1f : 0f;
-        obs[59] = canCastBloodBarrage(client) ? 1f : 0f;
+        registry.register("spellAvailability", (frame, obs) ->
+        {
+            obs[58] = canCastIceBarrage(frame.getClient()) ? 1f : 0f;
+            obs[59] = canCastBloodBarrage(frame.getClient()) ? 1f : 0f;
+        }, 58, 59);
 
-        // === Distance metrics (60-62) ===
-        if (targetPlayer != null) {
-            float dist = getDistance(localPlayer, targetPlayer);
-            obs[62] = Math.min(dist, 10f) / 10f; // clamp and normalize
-        }
+        // === Distance metrics (62) ===
+        registry.register("distance", (frame, obs) ->
+        {
+            if (frame.getTargetPlayer() != null) {
+                float dist = getDistance(frame.getLocalPlayer(), frame.getTargetPlayer());
+                obs[62] = Math.min(dist, 10f) / 10f; // clamp and normalize
+            }
+        }, 62);
 
         // === Absolute levels (96-102) ===
-        encodeAbsoluteLevels(client, obs);
+        registry.registerRange("absoluteLevels", 96, 102,
+            (frame, obs) -> encodeAbsoluteLevels(frame.getClient(), obs));
 
         // === Game modes (160-161) ===
-        encodeGameModes(client, obs);
+        registry.registerRange("gameModes", 160, 161, (frame, obs) -> encodeGameModes(frame.getClient(), obs));
 
         // === Vengeance (162-167) ===
-        encodeVengeanceStatus(client, localPlayer, targetPlayer, timers, obs);
+        registry.registerRange("vengeance", 162, 167, (frame, obs) ->
+            encodeVengeanceStatus(frame.getClient(), frame.getLocalPlayer(), frame.getTargetPlayer(), timers, obs));
 
-        // === Attack availability (168-175) ===
+        // === Attack availability (171, 173) ===
         // Light heuristics based on equipment presence
-        obs[171] = hasRangedWeapon(localPlayer) ? 1f : 0f;
-        obs[173] = hasMeleeWeapon(localPlayer) ? 1f : 0f;
+        registry.register("attackAvailability", (frame, obs) ->
+        {
+            obs[171] = hasRangedWeapon(frame.getLocalPlayer()) ? 1f : 0f;
+            obs[173] = hasMeleeWeapon(frame.getLocalPlayer()) ? 1f : 0f;
+        }, 171, 173);
 
-        return obs;
+        // Not observable on the live client
+        registry.registerUnavailable(27, 44, 45, 48, 50, 57, 60, 61, 63, 64, 168, 169, 170, 172, 174, 175);
     }
 
-    private static void encodeEquipmentStyle(Player player, float[] obs)
+    private static void encodeEquipmentStyle(Player player, double[] obs)
     {
         PlayerComposition comp = player.getPlayerComposition();
         if (comp == null) return;
@@ -146,9 +193,19 @@ public final class NhObservationEncoder
         }
     }
 
-    private static void encodeSelfPrayers(Client client, float[] obs)
+    private static void encodeSelfPrayers(Client client, PrayerHandlerAdapter prayers, double[] obs)
     {
         // Player prayers (5-9)
+        if (prayers != null) {
+            PrayerHandlerAdapter.PrayerSnapshot snapshot = prayers.getSnapshot();
+            obs[5] = snapshot.isActive(Prayer.PROTECT_FROM_MELEE) ? 1f : 0f;
+            obs[6] = snapshot.isActive(Prayer.PROTECT_FROM_MISSILES) ? 1f : 0f;
+            obs[7] = snapshot.isActive(Prayer.PROTECT_FROM_MAGIC) ? 1f : 0f;
+            obs[8] = snapshot.isActive(Prayer.SMITE) ? 1f : 0f;
+            obs[9] = snapshot.isActive(Prayer.REDEMPTION) ? 1f : 0f;
+            return;
+        }
+
         obs[5]  = client.isPrayerActive(Prayer.PROTECT_FROM_MELEE) ? 1f : 0f;
         obs[6]  = client.isPrayerActive(Prayer.PROTECT_FROM_MISSILES) ? 1f : 0f;
         obs[7]  = client.isPrayerActive(Prayer.PROTECT_FROM_MAGIC) ? 1f : 0f;
@@ -156,7 +213,7 @@ public final class NhObservationEncoder
         obs[9]  = client.isPrayerActive(Prayer.REDEMPTION) ? 1f : 0f;
     }
 
-    private static void encodeTargetEquipment(Player target, float[] obs)
+    private static void encodeTargetEquipment(Player target, double[] obs)
     {
         PlayerComposition comp = target.getPlayerComposition();
         if (comp == null) return;
@@ -176,7 +233,7 @@ public final class NhObservationEncoder
         }
     }
 
-    private static void encodeTargetPrayers(Player target, float[] obs)
+    private static void encodeTargetPrayers(Player target, double[] obs)
     {
         // Overhead icon exposure
         HeadIcon overhead = target.getOverheadIcon();
@@ -204,17 +261,31 @@ public final class NhObservationEncoder
         }
     }
 
-    private static void encodeRelativeLevels(float[] obs)
+    private static void encodeRelativeLevels(Client client, OpponentStatInference targetStats, double[] obs)
     {
-        // Target levels unknown in RuneLite - assume equal
-        obs[34] = 0f; // relativeLevelStrength
-        obs[35] = 0f; // relativeLevelAttack
-        obs[36] = 0f; // relativeLevelDefence
-        obs[37] = 0f; // relativeLevelRanged
-        obs[38] = 0f; // relativeLevelMagic
+        if (targetStats == null) {
+            // No estimate for this target - assume equal
+            obs[34] = 0f; // relativeLevelStrength
+            obs[35] = 0f; // relativeLevelAttack
+            obs[36] = 0f; // relativeLevelDefence
+            obs[37] = 0f; // relativeLevelRanged
+            obs[38] = 0f; // relativeLevelMagic
+            return;
+        }
+
+        obs[34] = relativeLevel(client, Skill.STRENGTH, targetStats, OpponentStatInference.STRENGTH);
+        obs[35] = relativeLevel(client, Skill.ATTACK, targetStats, OpponentStatInference.ATTACK);
+        obs[36] = relativeLevel(client, Skill.DEFENCE, targetStats, OpponentStatInference.DEFENCE);
+        obs[37] = relativeLevel(client, Skill.RANGED, targetStats, OpponentStatInference.RANGED);
+        obs[38] = relativeLevel(client, Skill.MAGIC, targetStats, OpponentStatInference.MAGIC);
     }
 
-    private static void encodeAbsoluteLevels(Client client, float[] obs)
+    private static float relativeLevel(Client client, Skill skill, OpponentStatInference targetStats, int stat)
+    {
+        return (float) ((client.getRealSkillLevel(skill) - targetStats.getEstimatedLevel(stat)) / 99.0);
+    }
+
+    private static void encodeAbsoluteLevels(Client client, double[] obs)
     {
         obs[96]  = client.getRealSkillLevel(Skill.ATTACK)     / 99f;
         obs[97]  = client.getRealSkillLevel(Skill.STRENGTH)   / 99f;
@@ -276,9 +347,6 @@ public final class NhObservationEncoder
         return TRACKED_WEAPON_IDS;
     }
 
-    private static final java.util.concurrent.ConcurrentMap<Integer, Float> TARGET_HEALTH_CACHE = new java.util.concurrent.ConcurrentHashMap<>();
-    private static volatile float lastLocalHealthPercent = 1f;
-
     private static float getLocalPlayerHealthPercent(Client client)
     {
         Player localPlayer = client.getLocalPlayer();
@@ -287,23 +355,14 @@ public final class NhObservationEncoder
             return 0f;
         }
 
-        Float fromHealthBar = computeHealthPercentFromBar(localPlayer);
-        if (fromHealthBar != null)
-        {
-            lastLocalHealthPercent = fromHealthBar;
-            return fromHealthBar;
-        }
-
         int boosted = client.getBoostedSkillLevel(Skill.HITPOINTS);
         int real = client.getRealSkillLevel(Skill.HITPOINTS);
-        if (boosted > 0 && real > 0)
+        if (real > 0)
         {
-            float percent = Math.min(1f, Math.max(0f, boosted / (float) Math.max(real, 1)));
-            lastLocalHealthPercent = percent;
-            return percent;
+            return Math.min(1f, Math.max(0f, boosted / (float) real));
         }
 
-        return lastLocalHealthPercent;
+        return HitpointsReconstructor.percentFromBar(localPlayer, 1f);
     }
 
     private static float getTargetHealthPercent(Player targetPlayer)
@@ -313,39 +372,11 @@ public final class NhObservationEncoder
             return 0f;
         }
 
-        int identity = System.identityHashCode(targetPlayer);
-        Float fromHealthBar = computeHealthPercentFromBar(targetPlayer);
-        if (fromHealthBar != null)
-        {
-            TARGET_HEALTH_CACHE.put(identity, fromHealthBar);
-            return fromHealthBar;
-        }
-
-        if (targetPlayer.getHealthRatio() == 0)
-        {
-            TARGET_HEALTH_CACHE.put(identity, 0f);
-            return 0f;
-        }
-
-        return TARGET_HEALTH_CACHE.getOrDefault(identity, 1f);
+        // Hidden bar: no recent damage, assume full
+        return HitpointsReconstructor.percentFromBar(targetPlayer, 1f);
     }
 
-    private static Float computeHealthPercentFromBar(Player player)
-    {
-        int ratio = player.getHealthRatio();
-        int scale = player.getHealthScale();
-        if (scale > 0 && ratio >= 0)
-        {
-            if (ratio == 0)
-            {
-                return 0f;
-            }
-            return ratio / (float) scale;
-        }
-        return null;
-    }
-
-private static float getSpecialPercent01(Client client)
+    private static float getSpecialPercent01(Client client)
     {
         // VarPlayer.SPECIAL_ATTACK_PERCENT is 0..1000 on RL
         int raw = client.getVarpValue(VarPlayer.SPECIAL_ATTACK_PERCENT);
@@ -473,37 +504,31 @@ private static float getSpecialPercent01(Client client)
         return weaponId == -1 || isMeleeWeapon(weaponId);
     }
 
-    private static void encodeInventoryResources(Client client, float[] obs)
+    private static void encodeInventoryResources(Client client, double[] obs)
     {
         ItemContainer inv = client.getItemContainer(InventoryID.INVENTORY);
         if (inv == null) return;
 
-        Item[] items = inv.getItems();
-
-        // Count potions
-        int rangingDoses = countPotionDoses(items, ItemID._4DOSERANGERSPOTION, ItemID._3DOSERANGERSPOTION,  // Ranging 4 and 3
-                                           ItemID._2DOSERANGERSPOTION, ItemID._1DOSERANGERSPOTION,    // Ranging 2 and 1
-                                           ItemID._4DOSEBASTION, ItemID._3DOSEBASTION,  // Bastion 4 and 3
-                                           ItemID._2DOSEBASTION, ItemID._1DOSEBASTION); // Bastion 2 and 1
-
-        int superCombatDoses = countPotionDoses(items, ItemID._4DOSE2COMBAT, ItemID._3DOSE2COMBAT,  // Super combat 4 and 3
-                                                ItemID._2DOSE2COMBAT, ItemID._1DOSE2COMBAT);  // Super combat 2 and 1
-
-        int magicDoses = countPotionDoses(items, ItemID._4DOSE1MAGIC, ItemID._3DOSE1MAGIC,  // Magic 4 and 3
-                                         ItemID._2DOSE1MAGIC, ItemID._1DOSE1MAGIC,    // Magic 2 and 1
-                                         ItemID._4DOSEBATTLEMAGE, ItemID._3DOSEBATTLEMAGE,  // Battlemage 4 and 3
-                                         ItemID._2DOSEBATTLEMAGE, ItemID._1DOSEBATTLEMAGE); // Battlemage 2 and 1
-
-        int sarasBrews = countPotionDoses(items, ItemID._4DOSEPOTIONOFSARADOMIN, ItemID._3DOSEPOTIONOFSARADOMIN,  // Sara brew 4 and 3
-                                          ItemID._2DOSEPOTIONOFSARADOMIN, ItemID._1DOSEPOTIONOFSARADOMIN);  // Sara brew 2 and 1
-
-        int superRestores = countPotionDoses(items, ItemID._4DOSE2RESTORE, ItemID._3DOSE2RESTORE,  // Super restore 4 and 3
-                                            ItemID._2DOSE2RESTORE, ItemID._1DOSE2RESTORE,   // Super restore 2 and 1
-                                            ItemID.SANFEW_SALVE_4_DOSE, ItemID.SANFEW_SALVE_3_DOSE, // Sanfew serum 4 and 3
-                                            ItemID.SANFEW_SALVE_2_DOSE, ItemID.SANFEW_SALVE_1_DOSE); // Sanfew serum 2 and 1
+        // One pass over the inventory: doses per potion family and PvP food count
+        int[] familyDoses = new int[ConsumableTable.PotionFamily.values().length];
+        int foodCount = 0;
+        for (Item item : inv.getItems()) {
+            if (item == null) continue;
+            int id = item.getId();
+            ConsumableTable.PotionFamily family = ConsumableTable.getPotionFamily(id);
+            if (family != null) {
+                familyDoses[family.ordinal()] += ConsumableTable.getDoses(id) * item.getQuantity();
+            } else if (ConsumableTable.isPvpFood(id)) {
+                foodCount += item.getQuantity();
+            }
+        }
 
-        // Count food
-        int foodCount = countFood(items);
+        int rangingDoses = familyDoses[ConsumableTable.PotionFamily.RANGING.ordinal()]; // Ranging and bastion
+        int superCombatDoses = familyDoses[ConsumableTable.PotionFamily.SUPER_COMBAT.ordinal()];
+        int magicDoses = familyDoses[ConsumableTable.PotionFamily.MAGIC.ordinal()]; // Magic and battlemage
+        int sarasBrews = familyDoses[ConsumableTable.PotionFamily.SARADOMIN_BREW.ordinal()];
+        int superRestores = familyDoses[ConsumableTable.PotionFamily.SUPER_RESTORE.ordinal()]
+            + familyDoses[ConsumableTable.PotionFamily.SANFEW_SERUM.ordinal()]; // Super restore and sanfew
 
         // Store in observation vector (normalizing to 0-1)
         obs[21] = Math.min(rangingDoses, 10f) / 10f;
@@ -515,42 +540,7 @@ private static float getSpecialPercent01(Client client)
         // obs[27] is prayer potions - included in super restores
     }
 
-    private static int countPotionDoses(Item[] items, int... potionIds)
-    {
-        int totalDoses = 0;
-        for (Item item : items) {
-            if (item == null) continue;
-            int id = item.getId();
-            for (int i = 0; i < potionIds.length; i++) {
-                if (id == potionIds[i]) {
-                    // Dose count is (4,3,2,1) based on position in pairs
-                    int doses = 4 - (i % 4);
-                    totalDoses += doses * item.getQuantity();
-                    break;
-                }
-            }
-        }
-        return totalDoses;
-    }
-
-    private static int countFood(Item[] items)
-    {
-        int count = 0;
-        for (Item item : items) {
-            if (item == null) continue;
-            int id = item.getId();
-            // Common PvP food - using actual item IDs from Elvarg source
-            if (id == ItemID.TBWT_COOKED_KARAMBWAN || id == ItemID.ANGLERFISH ||
-                id == ItemID.DARK_CRAB || id == ItemID.MANTARAY ||
-                id == ItemID.SEATURTLE || id == ItemID.SHARK ||
-                id == ItemID.PINEAPPLE_PIZZA || id == ItemID.POTATO_MUSHROOM_ONION) {
-                count += item.getQuantity();
-            }
-        }
-        return count;
-    }
-
-    private static void encodeFreezeStatus(TimerManagerAdapter timers, float[] obs)
+    private static void encodeFreezeStatus(TimerManagerAdapter timers, double[] obs)
     {
         // Player freeze status
         int playerFreezeTicks = timers.getRemainingTicks(true, TimerKey.FREEZE);
@@ -563,7 +553,7 @@ private static float getSpecialPercent01(Client client)
         obs[32] = Math.min(targetFreezeTicks, 20f) / 20f; // targetFrozenTicksRemaining (normalized)
     }
 
-    private static void encodeTimingInfo(TimerManagerAdapter timers, float[] obs)
+    private static void encodeTimingInfo(TimerManagerAdapter timers, double[] obs)
     {
         // Combat timer
         int combatTicks = timers.getRemainingTicks(true, TimerKey.COMBAT_ATTACK);
@@ -588,7 +578,7 @@ private static float getSpecialPercent01(Client client)
         // Other timers default to 0
     }
 
-    private static void encodeCombatState(DamageTrackerAdapter damage, float[] obs)
+    private static void encodeCombatState(DamageTrackerAdapter damage, double[] obs)
     {
         if (damage == null) return;
 
@@ -601,7 +591,7 @@ private static float getSpecialPercent01(Client client)
         obs[51] = damage.wasLastHitSuccessful() ? 1f : 0f; // lastHitSuccess
     }
 
-    private static void encodeGameModes(Client client, float[] obs)
+    private static void encodeGameModes(Client client, double[] obs)
     {
         // LMS detection using IN_LMS varbit
         int inLms = client.getVarbitValue(Varbits.IN_LMS);
@@ -613,7 +603,7 @@ private static float getSpecialPercent01(Client client)
     }
 
     private static void encodeVengeanceStatus(Client client, Player localPlayer, Player targetPlayer,
-                                             TimerManagerAdapter timers, float[] obs)
+                                             TimerManagerAdapter timers, double[] obs)
     {
         // Check if we have vengeance active (graphic 726)
         boolean hasVeng = localPlayer != null && localPlayer.getGraphic() == 726;
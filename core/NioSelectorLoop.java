@@ -0,0 +1,95 @@
+package net.runelite.client.plugins.autopvp.core;
+
+import lombok.extern.slf4j.Slf4j;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * One selector thread servicing the channels of every {@link NioSocketTransport} in
+ * the process. Channel state is only touched on this thread; other threads hand it
+ * work through {@link #execute(Runnable)}.
+ */
+@Slf4j
+final class NioSelectorLoop {
+
+    /**
+     * Called on the selector thread when a registered channel is ready.
+     */
+    interface Handler {
+        void onReady(SelectionKey key);
+    }
+
+    private static final class Holder {
+        static final NioSelectorLoop SHARED = new NioSelectorLoop("AIClient-Selector");
+    }
+
+    private final Selector selector;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+
+    private NioSelectorLoop(String name) {
+        try {
+            this.selector = Selector.open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open selector", e);
+        }
+        this.thread = new Thread(this::run, name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * The loop shared by all NIO transports, started on first use.
+     */
+    static NioSelectorLoop shared() {
+        return Holder.SHARED;
+    }
+
+    Selector selector() {
+        return selector;
+    }
+
+    boolean inLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Run a task on the selector thread.
+     */
+    void execute(Runnable task) {
+        tasks.add(task);
+        if (!inLoop()) {
+            selector.wakeup();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            try {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    task.run();
+                }
+
+                selector.select();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (key.isValid()) {
+                        ((Handler) key.attachment()).onReady(key);
+                    }
+                }
+            } catch (Exception e) {
+                // Handlers deal with their own channel errors; keep the loop alive for the others
+                log.error("[AI] Selector loop error", e);
+            }
+        }
+    }
+}
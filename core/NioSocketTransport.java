@@ -0,0 +1,310 @@
+package net.runelite.client.plugins.autopvp.core;
+
+import lombok.extern.slf4j.Slf4j;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Non-blocking transport on a SocketChannel serviced by the shared
+ * {@link NioSelectorLoop}, so any number of clients share one I/O thread.
+ *
+ * Requests are encoded straight into a direct buffer that is reused across requests
+ * and written without blocking; replies are split into lines as they arrive and
+ * matched to requests in order. A request that times out stays in the in-flight
+ * queue so its late reply is matched and dropped, which keeps the channel usable:
+ * a single timeout does not close the connection.
+ *
+ * A server that stops answering while keeping the connection open would otherwise
+ * look connected forever, and one skipped reply would shift every later reply onto
+ * the request before it. So the connection is closed, and reconnected by the next
+ * request, after {@link #MAX_CONSECUTIVE_TIMEOUTS} timeouts in a row or once
+ * {@link #MAX_IN_FLIGHT} requests are waiting for replies.
+ */
+@Slf4j
+final class NioSocketTransport implements AITransport, NioSelectorLoop.Handler {
+
+    private static final int CONNECT_TIMEOUT_MS = 5000;
+    private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_CONSECUTIVE_TIMEOUTS = 3;
+    private static final int MAX_IN_FLIGHT = 8;
+
+    private final String host;
+    private final int port;
+    private final ExecutorService executor;
+    private final NioSelectorLoop loop;
+    private final AtomicBoolean connected = new AtomicBoolean(false);
+    private final ReentrantLock connectLock = new ReentrantLock();
+
+    // Selector thread only
+    private SocketChannel channel;
+    private SelectionKey key;
+    private final ArrayDeque<CompletableFuture<String>> inFlight = new ArrayDeque<>();
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private ByteBuffer outbound = ByteBuffer.allocateDirect(INITIAL_BUFFER_SIZE);
+    private final ByteBuffer inbound = ByteBuffer.allocateDirect(INITIAL_BUFFER_SIZE);
+    private byte[] line = new byte[1024];
+    private int lineLength;
+    private int consecutiveTimeouts;
+
+    /**
+     * @param executor runs reconnects, which block
+     */
+    NioSocketTransport(String host, int port, ExecutorService executor) {
+        this.host = host;
+        this.port = port;
+        this.executor = executor;
+        this.loop = NioSelectorLoop.shared();
+    }
+
+    /**
+     * Blocks until connected; must not be called on the selector thread.
+     */
+    @Override
+    public boolean connect() {
+        SocketChannel opened = null;
+        try {
+            opened = SocketChannel.open();
+            opened.socket().connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+            opened.setOption(StandardSocketOptions.TCP_NODELAY, true); // Disable Nagle's algorithm for lower latency
+            opened.configureBlocking(false);
+        } catch (IOException e) {
+            log.error("[AI] Failed to connect to PPO server at {}:{}", host, port, e);
+            closeQuietly(opened);
+            return false;
+        }
+
+        SocketChannel ready = opened;
+        CompletableFuture<Boolean> registered = new CompletableFuture<>();
+        loop.execute(() -> {
+            close(new IOException("Replaced by a new connection"));
+            try {
+                key = ready.register(loop.selector(), SelectionKey.OP_READ, this);
+                channel = ready;
+                connected.set(true);
+                registered.complete(true);
+            } catch (IOException e) {
+                closeQuietly(ready);
+                registered.complete(false);
+            }
+        });
+
+        boolean ok = registered.join();
+        if (ok) {
+            log.info("[AI] Connected to PPO server at {}:{} (NIO)", host, port);
+        }
+        return ok;
+    }
+
+    @Override
+    public void disconnect() {
+        connected.set(false);
+        loop.execute(() -> close(new IOException("Disconnected")));
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connected.get();
+    }
+
+    @Override
+    public CompletableFuture<String> exchange(String request, long timeoutMillis) {
+        CompletableFuture<String> reply = new CompletableFuture<>();
+        if (connected.get()) {
+            loop.execute(() -> send(request, reply));
+        } else {
+            try {
+                executor.execute(() -> {
+                    if (ensureConnected()) {
+                        loop.execute(() -> send(request, reply));
+                    } else {
+                        reply.completeExceptionally(
+                            new IOException("Not connected to PPO server at " + host + ":" + port));
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                reply.completeExceptionally(e);
+            }
+        }
+
+        reply.orTimeout(Math.max(0, timeoutMillis), TimeUnit.MILLISECONDS)
+            .whenComplete((response, error) -> {
+                if (error instanceof TimeoutException) {
+                    loop.execute(this::onTimeout);
+                }
+            });
+        return reply;
+    }
+
+    private void onTimeout() {
+        if (channel == null) {
+            return;
+        }
+        if (++consecutiveTimeouts >= MAX_CONSECUTIVE_TIMEOUTS) {
+            log.warn("[AI] {} requests in a row timed out, reconnecting to PPO server", consecutiveTimeouts);
+            close(new IOException("PPO server stopped answering"));
+        }
+    }
+
+    /**
+     * Connect unless another request already reconnected while this one waited.
+     */
+    private boolean ensureConnected() {
+        connectLock.lock();
+        try {
+            return connected.get() || connect();
+        } finally {
+            connectLock.unlock();
+        }
+    }
+
+    private void send(String request, CompletableFuture<String> reply) {
+        if (reply.isDone()) {
+            return; // Timed out before it was sent
+        }
+        if (channel == null) {
+            reply.completeExceptionally(new IOException("Connection closed"));
+            return;
+        }
+        if (inFlight.size() >= MAX_IN_FLIGHT) {
+            log.warn("[AI] {} requests waiting for replies, reconnecting to PPO server", inFlight.size());
+            close(new IOException("PPO server stopped answering"));
+            reply.completeExceptionally(new IOException("Connection closed"));
+            return;
+        }
+
+        CharBuffer chars = CharBuffer.wrap(request);
+        encoder.reset();
+        while (encoder.encode(chars, outbound, true).isOverflow()) {
+            growOutbound();
+        }
+        while (encoder.flush(outbound) == CoderResult.OVERFLOW) {
+            growOutbound();
+        }
+
+        inFlight.add(reply);
+        flush();
+    }
+
+    private void growOutbound() {
+        ByteBuffer bigger = ByteBuffer.allocateDirect(outbound.capacity() * 2);
+        outbound.flip();
+        bigger.put(outbound);
+        outbound = bigger;
+    }
+
+    private void flush() {
+        try {
+            outbound.flip();
+            channel.write(outbound);
+            outbound.compact();
+            // Wait for OP_WRITE only while part of a request is still unsent
+            key.interestOps(outbound.position() > 0
+                ? SelectionKey.OP_READ | SelectionKey.OP_WRITE
+                : SelectionKey.OP_READ);
+        } catch (IOException e) {
+            log.warn("[AI] Write to PPO server failed: {}", e.getMessage());
+            close(e);
+        }
+    }
+
+    @Override
+    public void onReady(SelectionKey readyKey) {
+        try {
+            if (readyKey.isWritable() && channel != null) {
+                flush();
+            }
+            if (readyKey.isValid() && readyKey.isReadable() && channel != null) {
+                read();
+            }
+        } catch (CancelledKeyException e) {
+            // Closed while handling; close() already failed the in-flight requests
+        }
+    }
+
+    private void read() {
+        try {
+            if (channel.read(inbound) < 0) {
+                close(new IOException("Server closed connection"));
+                return;
+            }
+        } catch (IOException e) {
+            log.warn("[AI] Read from PPO server failed: {}", e.getMessage());
+            close(e);
+            return;
+        }
+
+        inbound.flip();
+        while (inbound.hasRemaining()) {
+            byte b = inbound.get();
+            if (b != '\n') {
+                if (lineLength == line.length) {
+                    line = Arrays.copyOf(line, line.length * 2);
+                }
+                line[lineLength++] = b;
+                continue;
+            }
+
+            String response = new String(line, 0, lineLength, StandardCharsets.UTF_8);
+            lineLength = 0;
+            CompletableFuture<String> reply = inFlight.poll();
+            if (reply == null) {
+                log.warn("[AI] Dropping reply with no request waiting");
+            } else if (reply.complete(response)) {
+                consecutiveTimeouts = 0;
+            }
+            // Otherwise the request already timed out and the late reply is dropped
+        }
+        inbound.clear();
+    }
+
+    private void close(IOException cause) {
+        connected.set(false);
+        if (key != null) {
+            key.cancel();
+            key = null;
+        }
+        closeQuietly(channel);
+        channel = null;
+
+        CompletableFuture<String> reply;
+        while ((reply = inFlight.poll()) != null) {
+            reply.completeExceptionally(cause);
+        }
+        outbound.clear();
+        inbound.clear();
+        lineLength = 0;
+        consecutiveTimeouts = 0;
+    }
+
+    private static void closeQuietly(SocketChannel socketChannel) {
+        if (socketChannel == null) {
+            return;
+        }
+        try {
+            socketChannel.close();
+        } catch (IOException e) {
+            // Ignore
+        }
+    }
+}
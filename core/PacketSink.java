@@ -0,0 +1,40 @@
+package net.runelite.client.plugins.autopvp.core;
+
+import net.runelite.api.Player;
+import net.runelite.api.widgets.Widget;
+
+/**
+ * Destination for the packets ActionExecutor sends.
+ *
+ * The live plugin uses {@link PacketUtilsPacketSink}; tooling such as the headless
+ * simulator supplies its own implementation to observe actions without a game
+ * connection. Every call is made on the client thread.
+ */
+public interface PacketSink {
+
+    /**
+     * Whether packets can be sent right now.
+     */
+    boolean isReady();
+
+    /**
+     * Click a widget menu action, e.g. "Eat" on an inventory item. The first action
+     * the widget offers is used.
+     */
+    void widgetAction(Widget widget, String... actions);
+
+    /**
+     * Click a widget by its packed group and child id.
+     */
+    void widgetActionPacket(int option, int packedWidgetId, int itemId, int childId);
+
+    /**
+     * Interact with another player, e.g. "Attack".
+     */
+    void playerAction(Player player, String action);
+
+    /**
+     * Walk to a world tile.
+     */
+    void move(int worldX, int worldY, boolean running);
+}
@@ -0,0 +1,89 @@
+package net.runelite.client.plugins.autopvp.core;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.Player;
+import net.runelite.api.widgets.Widget;
+
+// PacketUtils imports with citations for audit trail
+// Citation: All imports from C:/dev/PacketUtils/src/main/java/com/example/ for direct packet injection
+import com.example.Packets.WidgetPackets; // Citation: PacketUtils widget API from C:/dev/PacketUtils/src/main/java/com/example/Packets/WidgetPackets.java
+import com.example.InteractionApi.PlayerInteractionHelper; // Citation: PacketUtils player interaction API from C:/dev/PacketUtils/src/main/java/com/example/InteractionApi/PlayerInteractionHelper.java
+import com.example.Packets.MovementPackets; // Citation: PacketUtils movement API from C:/dev/PacketUtils/src/main/java/com/example/Packets/MovementPackets.java
+import com.example.Packets.MousePackets; // Citation: PacketUtils mouse API from C:/dev/PacketUtils/src/main/java/com/example/Packets/MousePackets.java
+import com.example.PacketUtils.PacketUtilsPlugin; // Citation: Main plugin class for initialization check
+import com.example.PacketUtils.PacketReflection; // Citation: For getting client instance
+
+/**
+ * Sends ActionExecutor packets through PacketUtils, with a mouse click packet ahead
+ * of every widget action.
+ */
+@Slf4j
+public class PacketUtilsPacketSink implements PacketSink {
+
+    private boolean hasWarnedAboutPacketUtils = false;
+
+    /**
+     * Checks if PacketUtils is properly initialized and ready to use.
+     * This prevents NullPointerException when trying to send packets.
+     */
+    @Override
+    public boolean isReady() {
+        try {
+            // Check if the plugin's static fields are initialized
+            boolean clientAddNode = PacketUtilsPlugin.usingClientAddNode;
+            if (!clientAddNode && PacketUtilsPlugin.addNodeMethod == null) {
+                if (!hasWarnedAboutPacketUtils) {
+                    log.error("[ACTION] PacketUtilsPlugin not initialized - addNodeMethod is null! Packets will fail.");
+                    log.error("[ACTION] Make sure PacketUtils plugin is enabled in RuneLite plugin manager.");
+                    hasWarnedAboutPacketUtils = true;
+                }
+                return false;
+            }
+
+            // Verify client is available through PacketReflection
+            Client reflectionClient = PacketReflection.getClient();
+            if (reflectionClient == null) {
+                if (!hasWarnedAboutPacketUtils) {
+                    log.error("[ACTION] PacketReflection.getClient() returned null - PacketUtils not ready!");
+                    hasWarnedAboutPacketUtils = true;
+                }
+                return false;
+            }
+
+            if (hasWarnedAboutPacketUtils) {
+                log.info("[ACTION] PacketUtils is now properly initialized and ready!");
+                hasWarnedAboutPacketUtils = false;
+            }
+            return true;
+        } catch (Exception e) {
+            if (!hasWarnedAboutPacketUtils) {
+                log.error("[ACTION] Failed to check PacketUtils initialization", e);
+                hasWarnedAboutPacketUtils = true;
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public void widgetAction(Widget widget, String... actions) {
+        MousePackets.queueClickPacket();
+        WidgetPackets.queueWidgetAction(widget, actions);
+    }
+
+    @Override
+    public void widgetActionPacket(int option, int packedWidgetId, int itemId, int childId) {
+        MousePackets.queueClickPacket();
+        WidgetPackets.queueWidgetActionPacket(option, packedWidgetId, itemId, childId);
+    }
+
+    @Override
+    public void playerAction(Player player, String action) {
+        PlayerInteractionHelper.interact(player, action);
+    }
+
+    @Override
+    public void move(int worldX, int worldY, boolean running) {
+        MovementPackets.queueMovement(worldX, worldY, running);
+    }
+}
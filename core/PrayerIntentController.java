@@ -0,0 +1,142 @@
+package net.runelite.client.plugins.autopvp.core;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.Prayer;
+import net.runelite.client.plugins.autopvp.adapters.PrayerHandlerAdapter;
+
+import java.util.function.Supplier;
+
+/**
+ * Turns the prayer action head into desired prayer state and decides whether a
+ * toggle packet is actually needed.
+ *
+ * A prayer widget click toggles, so sending it for a prayer that is already on (or
+ * already being switched on) turns it off again. Each sent toggle is remembered as
+ * pending until the prayer snapshot shows the requested state; while it is pending,
+ * the same request on the same or the following tick sends nothing. A toggle that is
+ * still unconfirmed after that window is treated as lost and may be sent again.
+ *
+ * Overheads are exclusive in game, so a new overhead request replaces any pending one.
+ * Must only be used from the client thread.
+ */
+@Slf4j
+public class PrayerIntentController {
+
+    // Ticks a sent toggle suppresses repeats for: the send tick and the one after
+    private static final int PENDING_TICKS = 1;
+
+    // Overheads the prayer head can select, which are the ones ActionExecutor can click
+    private static final Prayer[] OVERHEADS = {
+        Prayer.PROTECT_FROM_MAGIC,
+        Prayer.PROTECT_FROM_MISSILES,
+        Prayer.PROTECT_FROM_MELEE,
+        Prayer.SMITE,
+        Prayer.REDEMPTION
+    };
+
+    private final Client client;
+    private final Supplier<PrayerHandlerAdapter> prayers;
+
+    // Per Prayer ordinal: tick the last toggle was sent, desired state, whether pending
+    private final int[] pendingTick = new int[Prayer.values().length];
+    private final boolean[] pendingState = new boolean[Prayer.values().length];
+    private final boolean[] pending = new boolean[Prayer.values().length];
+
+    public PrayerIntentController(Client client, Supplier<PrayerHandlerAdapter> prayers) {
+        this.client = client;
+        this.prayers = prayers;
+    }
+
+    /**
+     * Overhead selected by the prayer action head (NhEnvironment action 11), or null
+     * for "no change" and unknown values.
+     */
+    public static Prayer resolveOverhead(int prayerAction) {
+        switch (prayerAction) {
+            case 1: // AI says "mage"
+                return Prayer.PROTECT_FROM_MAGIC;
+            case 2: // AI says "ranged"
+                return Prayer.PROTECT_FROM_MISSILES;
+            case 3: // AI says "melee"
+                return Prayer.PROTECT_FROM_MELEE;
+            case 4: // Citation: NhEnvironment.java:1244
+                return Prayer.SMITE;
+            case 5: // Citation: NhEnvironment.java:1246
+                return Prayer.REDEMPTION;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Whether a toggle must be sent to bring the prayer into the desired state.
+     * Call {@link #onToggleSent} after sending it.
+     */
+    public boolean needsToggle(Prayer prayer, boolean active) {
+        int ordinal = prayer.ordinal();
+        boolean current = isActive(prayer);
+
+        if (pending[ordinal]) {
+            if (current == pendingState[ordinal]) {
+                // Confirmed by the varbit
+                pending[ordinal] = false;
+            } else if (pendingState[ordinal] == active && isWithinPendingWindow(ordinal)) {
+                // Same request still in flight
+                return false;
+            } else {
+                pending[ordinal] = false;
+            }
+        }
+
+        return current != active;
+    }
+
+    /**
+     * Record a toggle sent to bring the prayer into the desired state.
+     */
+    public void onToggleSent(Prayer prayer, boolean active) {
+        if (active && isOverhead(prayer)) {
+            // The server switches off the other overhead; forget its pending toggle
+            for (Prayer overhead : OVERHEADS) {
+                pending[overhead.ordinal()] = false;
+            }
+        }
+
+        int ordinal = prayer.ordinal();
+        pending[ordinal] = true;
+        pendingState[ordinal] = active;
+        pendingTick[ordinal] = client.getTickCount();
+        log.debug("[PRAYER] Toggle for {} ({}) pending since tick {}",
+            prayer.name(), active ? "on" : "off", pendingTick[ordinal]);
+    }
+
+    /**
+     * Forget all pending toggles (e.g. after logging out).
+     */
+    public void reset() {
+        for (int i = 0; i < pending.length; i++) {
+            pending[i] = false;
+        }
+    }
+
+    private boolean isWithinPendingWindow(int ordinal) {
+        // Negative after the tick count restarts (login); treat as expired
+        int elapsed = client.getTickCount() - pendingTick[ordinal];
+        return elapsed >= 0 && elapsed <= PENDING_TICKS;
+    }
+
+    private boolean isActive(Prayer prayer) {
+        PrayerHandlerAdapter adapter = prayers.get();
+        return adapter != null ? adapter.getSnapshot().isActive(prayer) : client.isPrayerActive(prayer);
+    }
+
+    private static boolean isOverhead(Prayer prayer) {
+        for (Prayer overhead : OVERHEADS) {
+            if (overhead == prayer) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,402 @@
+package net.runelite.client.plugins.autopvp.core;
+
+import lombok.extern.slf4j.Slf4j;
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Transport for a PPO server on the same host: request and reply lines pass through
+ * a memory-mapped file ring instead of the loopback TCP stack.
+ *
+ * File layout (little-endian, all offsets 8-byte aligned):
+ * <pre>
+ *   0    int  magic "APVR"        64   long client epoch (written by Java)
+ *   4    int  layout version      128  long server epoch (written by the server)
+ *   8    int  slot count
+ *   12   int  request slot size
+ *   16   int  reply slot size
+ *   256  request slots, then reply slots; each slot is
+ *        [long sequence][int length][4 bytes padding][payload]
+ * </pre>
+ * On connect Java writes the layout, clears the slots and publishes a fresh client
+ * epoch; the server attaches by copying it into the server epoch and restarts its
+ * sequence count. Request n (counting from 1) goes into slot n % slotCount: the
+ * payload is the JSON request line, and the slot's sequence is stored last with
+ * release semantics. The server takes requests in sequence order and answers into
+ * the reply slot of the same index the same way.
+ *
+ * Waiters spin briefly and then park, so a reply that arrives within a few tens of
+ * microseconds is picked up without a context switch. A single request that times
+ * out leaves the ring intact; its reply is simply never read.
+ *
+ * Resync: after {@link #MAX_CONSECUTIVE_TIMEOUTS} timeouts in a row Java assumes the
+ * server died or lost count, and the next request reconnects with a new epoch,
+ * which restarts sequences at 1 on both sides. A server that starts while a client
+ * epoch is already published must not attach to it, since it cannot know how far
+ * that client has counted; it waits for the next epoch instead, which at most a few
+ * ticks of timeouts produce.
+ */
+@Slf4j
+final class SharedMemoryTransport implements AITransport {
+
+    private static final int MAGIC = 0x52565041; // "APVR"
+    private static final int VERSION = 1;
+    private static final int SLOT_COUNT = 16;
+    private static final int REQUEST_SLOT_SIZE = 32 * 1024;
+    private static final int REPLY_SLOT_SIZE = 4 * 1024;
+
+    private static final int HEADER_SIZE = 256;
+    private static final int CLIENT_EPOCH_OFFSET = 64;
+    private static final int SERVER_EPOCH_OFFSET = 128;
+    private static final int SLOT_SEQUENCE_OFFSET = 0;
+    private static final int SLOT_LENGTH_OFFSET = 8;
+    private static final int SLOT_PAYLOAD_OFFSET = 16;
+    private static final int REPLIES_OFFSET = HEADER_SIZE + SLOT_COUNT * REQUEST_SLOT_SIZE;
+    private static final int FILE_SIZE = REPLIES_OFFSET + SLOT_COUNT * REPLY_SLOT_SIZE;
+
+    private static final int CONNECT_TIMEOUT_MS = 5000;
+    private static final int MAX_CONSECUTIVE_TIMEOUTS = 3;
+    private static final long SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+
+    private static final VarHandle LONGS =
+        MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * One epoch of the ring, replaced on every connect. All epochs share the one
+     * mapping of the file.
+     */
+    private static final class Ring {
+        final MappedByteBuffer buffer;
+        final long epoch;
+        // Highest sequence per slot whose reply this side no longer needs
+        final AtomicLongArray released = new AtomicLongArray(SLOT_COUNT);
+        volatile boolean closed;
+        long nextSequence = 1; // Guarded by writeLock
+
+        Ring(MappedByteBuffer buffer, long epoch) {
+            this.buffer = buffer;
+            this.epoch = epoch;
+        }
+
+        boolean serverAttached() {
+            return !closed && (long) LONGS.getAcquire(buffer, SERVER_EPOCH_OFFSET) == epoch;
+        }
+
+        long replySequence(int slot) {
+            return (long) LONGS.getAcquire(buffer, REPLIES_OFFSET + slot * REPLY_SLOT_SIZE + SLOT_SEQUENCE_OFFSET);
+        }
+    }
+
+    private final Path path;
+    private final ExecutorService executor;
+    // Claims sequences and writes request slots in order; a lock rather than
+    // synchronized so waiting virtual threads do not pin their carrier
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private final AtomicInteger consecutiveTimeouts = new AtomicInteger();
+
+    // Mapped on the first connect and reused, since a mapping is only released by GC
+    private MappedByteBuffer mapping; // Guarded by writeLock
+    private volatile Ring ring;
+
+    /**
+     * @param file     ring file shared with the server, or null/empty for
+     *                 {@link #defaultFile(int)} of the port
+     * @param executor runs the blocking waits for replies
+     */
+    SharedMemoryTransport(String file, int port, ExecutorService executor) {
+        this.path = file == null || file.isEmpty() ? defaultFile(port) : Paths.get(file);
+        this.executor = executor;
+    }
+
+    /**
+     * Ring file used when none is configured: in /dev/shm where available, so the
+     * mapping never touches a disk, otherwise in the temp directory.
+     */
+    static Path defaultFile(int port) {
+        File shm = new File("/dev/shm");
+        String dir = shm.isDirectory() ? shm.getPath() : System.getProperty("java.io.tmpdir");
+        return Paths.get(dir, "autopvp-ppo-" + port + ".ring");
+    }
+
+    /**
+     * Create the ring and wait for the server to attach to it.
+     */
+    @Override
+    public boolean connect() {
+        writeLock.lock();
+        try {
+            disconnect(); // Retire any existing epoch
+
+            if (mapping == null) {
+                try (FileChannel file = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    mapping = file.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+                }
+                mapping.order(ByteOrder.LITTLE_ENDIAN);
+            }
+            MappedByteBuffer buffer = mapping;
+
+            // Clear stale sequences before announcing the new epoch
+            for (int i = 0; i < FILE_SIZE; i += Long.BYTES) {
+                buffer.putLong(i, 0L);
+            }
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, SLOT_COUNT);
+            buffer.putInt(12, REQUEST_SLOT_SIZE);
+            buffer.putInt(16, REPLY_SLOT_SIZE);
+
+            long epoch = ThreadLocalRandom.current().nextLong() | 1L;
+            LONGS.setRelease(buffer, CLIENT_EPOCH_OFFSET, epoch);
+            Ring candidate = new Ring(buffer, epoch);
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CONNECT_TIMEOUT_MS);
+            while (!candidate.serverAttached()) {
+                if (System.nanoTime() - deadline >= 0) {
+                    log.error("[AI] PPO server did not attach to shared memory ring {}", path);
+                    return false;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                if (Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+            }
+
+            ring = candidate;
+            consecutiveTimeouts.set(0);
+            log.info("[AI] Connected to PPO server through shared memory ring {}", path);
+            return true;
+
+        } catch (IOException e) {
+            log.error("[AI] Failed to map shared memory ring {}", path, e);
+            return false;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Waiters on the current epoch fail; the server notices the epoch change on the
+     * next connect.
+     */
+    @Override
+    public void disconnect() {
+        Ring current = ring;
+        ring = null;
+        if (current != null) {
+            current.closed = true;
+        }
+    }
+
+    @Override
+    public boolean isConnected() {
+        Ring current = ring;
+        return current != null && current.serverAttached();
+    }
+
+    /**
+     * Past the deadline the exchange is cancelled, which interrupts a parked waiter.
+     */
+    @Override
+    public CompletableFuture<String> exchange(String request, long timeoutMillis) {
+        CompletableFuture<String> reply = new CompletableFuture<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeoutMillis));
+        Future<?> task;
+        try {
+            task = executor.submit(() -> exchangeBlocking(request, deadline, reply));
+        } catch (RejectedExecutionException e) {
+            reply.completeExceptionally(e);
+            return reply;
+        }
+
+        reply.orTimeout(Math.max(0, timeoutMillis), TimeUnit.MILLISECONDS)
+            .whenComplete((response, error) -> {
+                if (error != null) {
+                    task.cancel(true);
+                }
+                if (error instanceof TimeoutException) {
+                    onTimeout();
+                }
+            });
+        return reply;
+    }
+
+    /**
+     * Drop the epoch after too many timeouts in a row, so the next request reconnects
+     * and both sides restart their sequence count.
+     */
+    private void onTimeout() {
+        int timeouts = consecutiveTimeouts.incrementAndGet();
+        if (timeouts >= MAX_CONSECUTIVE_TIMEOUTS && ring != null) {
+            log.warn("[AI] {} requests in a row timed out, reconnecting to PPO server", timeouts);
+            disconnect();
+        }
+    }
+
+    private void exchangeBlocking(String request, long deadline, CompletableFuture<String> reply) {
+        Ring current = null;
+        int slot = -1;
+        long sequence = 0;
+        try {
+            current = ensureConnected();
+            if (current == null) {
+                throw new IOException("PPO server not attached to shared memory ring " + path);
+            }
+            Ring claimed = current;
+
+            writeLock.lockInterruptibly();
+            try {
+                long next = claimed.nextSequence;
+                int nextSlot = (int) (next % SLOT_COUNT);
+                // The slot's previous request must be answered by the server and its
+                // reply read (or abandoned) here before the slot is reused
+                long previous = next - SLOT_COUNT;
+                if (!await(claimed, () -> claimed.replySequence(nextSlot) >= previous
+                    && claimed.released.get(nextSlot) >= previous, deadline)) {
+                    throw new TimeoutException("Shared memory ring full");
+                }
+                writeRequest(claimed, nextSlot, next, request);
+                claimed.nextSequence++;
+                slot = nextSlot;
+                sequence = next;
+            } finally {
+                writeLock.unlock();
+            }
+
+            int replySlot = slot;
+            long replySequence = sequence;
+            if (!await(claimed, () -> claimed.replySequence(replySlot) >= replySequence, deadline)) {
+                throw new TimeoutException("No reply from PPO server");
+            }
+            String response = readReply(claimed, slot);
+            if (claimed.closed) {
+                // The slot may already hold the next epoch's data
+                throw new IOException("Shared memory ring closed");
+            }
+            if (reply.complete(response)) {
+                consecutiveTimeouts.set(0);
+            }
+
+        } catch (InterruptedException e) {
+            // Cancelled at the deadline
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            reply.completeExceptionally(e);
+        } finally {
+            if (slot >= 0) {
+                current.released.set(slot, sequence);
+            }
+        }
+    }
+
+    /**
+     * Reconnect unless another request already did while this one waited.
+     * @return the attached ring, or null if the server did not attach
+     */
+    private Ring ensureConnected() throws InterruptedException {
+        Ring current = ring;
+        if (current != null && current.serverAttached()) {
+            return current;
+        }
+
+        writeLock.lockInterruptibly();
+        try {
+            current = ring;
+            if (current != null && current.serverAttached()) {
+                return current;
+            }
+            return connect() ? ring : null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private interface Condition {
+        boolean met();
+    }
+
+    /**
+     * Spin for a short while, then park in short steps until the condition holds.
+     * @return false if the deadline passed first
+     * @throws InterruptedException if the waiting thread was cancelled
+     */
+    private static boolean await(Ring ring, Condition condition, long deadline) throws IOException, InterruptedException {
+        long spinUntil = System.nanoTime() + SPIN_NANOS;
+        while (!condition.met()) {
+            if (ring.closed) {
+                throw new IOException("Shared memory ring closed");
+            }
+            long now = System.nanoTime();
+            if (now - deadline >= 0) {
+                return false;
+            }
+            if (now - spinUntil < 0) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+        return true;
+    }
+
+    private void writeRequest(Ring current, int slot, long sequence, String request) throws IOException {
+        int base = HEADER_SIZE + slot * REQUEST_SLOT_SIZE;
+        ByteBuffer payload = current.buffer.duplicate();
+        payload.limit(base + REQUEST_SLOT_SIZE).position(base + SLOT_PAYLOAD_OFFSET);
+
+        // Encode straight into the mapped slot
+        encoder.reset();
+        CharBuffer chars = CharBuffer.wrap(request);
+        if (encoder.encode(chars, payload, true).isOverflow() || encoder.flush(payload) == CoderResult.OVERFLOW) {
+            throw new IOException("Request of " + request.length() + " chars does not fit a shared memory slot");
+        }
+
+        current.buffer.putInt(base + SLOT_LENGTH_OFFSET, payload.position() - base - SLOT_PAYLOAD_OFFSET);
+        LONGS.setRelease(current.buffer, base + SLOT_SEQUENCE_OFFSET, sequence);
+    }
+
+    private static String readReply(Ring current, int slot) throws IOException {
+        int base = REPLIES_OFFSET + slot * REPLY_SLOT_SIZE;
+        int length = current.buffer.getInt(base + SLOT_LENGTH_OFFSET);
+        if (length < 0 || length > REPLY_SLOT_SIZE - SLOT_PAYLOAD_OFFSET) {
+            throw new IOException("Invalid reply length " + length + " in shared memory slot " + slot);
+        }
+
+        ByteBuffer payload = current.buffer.duplicate();
+        payload.limit(base + SLOT_PAYLOAD_OFFSET + length).position(base + SLOT_PAYLOAD_OFFSET);
+        return StandardCharsets.UTF_8.decode(payload).toString();
+    }
+}
@@ -0,0 +1,170 @@
+package net.runelite.client.plugins.autopvp.core;
+
+import lombok.extern.slf4j.Slf4j;
+import java.io.*;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Blocking socket transport: each exchange runs on the executor, writes its line and
+ * blocks in readLine() until the reply arrives. A read timeout drops the connection,
+ * since a late reply would otherwise be taken as the answer to the next request.
+ */
+@Slf4j
+final class SocketTransport implements AITransport {
+
+    private static final int READ_TIMEOUT_MS = 500; // Must be < 600ms tick deadline
+
+    private final String host;
+    private final int port;
+    private final ExecutorService executor;
+    private final AtomicBoolean connected = new AtomicBoolean(false);
+    // Serializes connects and exchanges on the one connection; a lock rather than
+    // synchronized so waiting virtual threads do not pin their carrier
+    private final ReentrantLock ioLock = new ReentrantLock();
+
+    private Socket socket;
+    private BufferedReader reader;
+    private BufferedWriter writer;
+
+    SocketTransport(String host, int port, ExecutorService executor) {
+        this.host = host;
+        this.port = port;
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean connect() {
+        ioLock.lock();
+        try {
+            disconnect(); // Clean up any existing connection
+
+            socket = new Socket(host, port);
+            socket.setSoTimeout(READ_TIMEOUT_MS);
+            socket.setTcpNoDelay(true); // Disable Nagle's algorithm for lower latency
+
+            reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+
+            connected.set(true);
+            log.info("[AI] Connected to PPO server at {}:{}", host, port);
+            return true;
+
+        } catch (Exception e) {
+            log.error("[AI] Failed to connect to PPO server at {}:{}", host, port, e);
+            connected.set(false);
+            return false;
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /**
+     * Does not wait for an exchange in flight; closing the socket fails its read instead.
+     */
+    @Override
+    public void disconnect() {
+        connected.set(false);
+
+        try {
+            if (reader != null) {
+                reader.close();
+                reader = null;
+            }
+        } catch (IOException e) {
+            // Ignore
+        }
+
+        try {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+        } catch (IOException e) {
+            // Ignore
+        }
+
+        try {
+            if (socket != null && !socket.isClosed()) {
+                socket.close();
+                socket = null;
+            }
+        } catch (IOException e) {
+            // Ignore
+        }
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connected.get();
+    }
+
+    /**
+     * Past the deadline the exchange is cancelled: its thread is interrupted, which on
+     * a virtual thread also aborts the blocked socket read. An exchange still waiting
+     * for the connection gives up without sending.
+     */
+    @Override
+    public CompletableFuture<String> exchange(String request, long timeoutMillis) {
+        CompletableFuture<String> reply = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> exchangeBlocking(request, reply));
+        } catch (RejectedExecutionException e) {
+            reply.completeExceptionally(e);
+            return reply;
+        }
+
+        reply.orTimeout(Math.max(0, timeoutMillis), TimeUnit.MILLISECONDS)
+            .whenComplete((response, error) -> {
+                if (error != null) {
+                    task.cancel(true);
+                }
+            });
+        return reply;
+    }
+
+    private void exchangeBlocking(String request, CompletableFuture<String> reply) {
+        try {
+            ioLock.lockInterruptibly();
+        } catch (InterruptedException e) {
+            // Cancelled while another exchange held the connection
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        try {
+            if (!connected.get() && !connect()) {
+                throw new IOException("Not connected to PPO server at " + host + ":" + port);
+            }
+
+            writer.write(request);
+            writer.flush();
+
+            String response = reader.readLine();
+            if (response == null) {
+                throw new IOException("Server closed connection");
+            }
+            reply.complete(response);
+
+        } catch (SocketTimeoutException e) {
+            log.warn("[AI] Request timeout");
+            connected.set(false);
+            reply.completeExceptionally(e);
+
+        } catch (Exception e) {
+            connected.set(false);
+            reply.completeExceptionally(e);
+        } finally {
+            ioLock.unlock();
+        }
+    }
+}
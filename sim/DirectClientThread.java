@@ -0,0 +1,42 @@
+package net.runelite.client.plugins.autopvp.sim;
+
+import net.runelite.client.callback.ClientThread;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * ClientThread for the single-threaded simulator: the calling thread is the client
+ * thread, so every invocation runs immediately.
+ */
+final class DirectClientThread extends ClientThread {
+
+    @Override
+    public void invoke(Runnable runnable) {
+        runnable.run();
+    }
+
+    @Override
+    public void invoke(BooleanSupplier supplier) {
+        supplier.getAsBoolean();
+    }
+
+    @Override
+    public void invokeLater(Runnable runnable) {
+        runnable.run();
+    }
+
+    @Override
+    public void invokeLater(BooleanSupplier supplier) {
+        supplier.getAsBoolean();
+    }
+
+    @Override
+    public void invokeAtTickEnd(Runnable runnable) {
+        runnable.run();
+    }
+
+    @Override
+    public void execute(Runnable runnable) {
+        runnable.run();
+    }
+}
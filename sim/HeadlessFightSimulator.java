@@ -0,0 +1,398 @@
+package net.runelite.client.plugins.autopvp.sim;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.plugins.autopvp.LoadoutOverride;
+import net.runelite.client.plugins.autopvp.core.AgentSession;
+import net.runelite.client.plugins.autopvp.core.InferenceGateway;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Runs the full decision loop headless: the plugin's AgentSession (adapters,
+ * trackers, NhEnvironmentBridge and ActionExecutor) against a simulated opponent,
+ * with a stub client instead of a game session and a seeded random policy instead
+ * of the AI server.
+ *
+ * Each tick mirrors AutoPvPPlugin.onGameTick: client events and GameTick, then
+ * observations, action masks, the action and the tick-end hooks. The time spent in
+ * each stage is reported, along with ticks per second, packets sent and heap use
+ * sampled during the run for spotting leaks in long soaks.
+ *
+ * With {@code --sessions N} the simulator hosts N independent sessions in one
+ * process, each with its own world, client and EventBus, and ticks them in turn.
+ * The heap retained per session is reported after warmup.
+ *
+ * With {@code --server HOST:PORT} actions come from the PPO server through an
+ * InferenceGateway instead of the random policy. Every session submits its request
+ * before any waits, so each tick's requests are pipelined over the connection in
+ * as few writes as possible; the gateway's average number of requests per write is
+ * reported.
+ *
+ * Gear bonuses are zero, because there is no ItemManager outside a client.
+ *
+ * <pre>
+ * HeadlessFightSimulator [--ticks N] [--warmup N] [--seed N] [--report-every N] [--gc] [--recording FILE]
+ *                        [--sessions N] [--server HOST:PORT] [--batch-window-us N] [--max-batch N]
+ * </pre>
+ */
+@Slf4j
+public final class HeadlessFightSimulator {
+
+    enum Stage {
+        EVENTS,
+        OBSERVATIONS,
+        MASKS,
+        POLICY,
+        EXECUTE,
+        TICK_END
+    }
+
+    private static final int MAX_LOGGED_ERRORS = 5;
+
+    /**
+     * One simulated fight and the session deciding it.
+     */
+    private static final class SimSession {
+        final SimWorld world;
+        final OpponentScript opponent;
+        final Random policyRandom;
+        final SimPacketSink packets;
+        final AgentSession session;
+
+        // This tick's decision inputs and action, null when observing failed
+        List<Number> observations;
+        List<List<Boolean>> masks;
+        CompletableFuture<int[]> pendingAction;
+        int[] action;
+
+        SimSession(long seed, OpponentScript opponent) {
+            EventBus eventBus = new EventBus();
+            this.world = new SimWorld(eventBus, seed);
+            this.opponent = opponent;
+            this.policyRandom = new Random(seed ^ 0x5DEECE66DL);
+            this.packets = new SimPacketSink(world);
+            this.session = new AgentSession(world.getClient(), eventBus, new DirectClientThread(), null,
+                packets, LoadoutOverride.AUTO);
+        }
+    }
+
+    private final List<SimSession> sessions = new ArrayList<>();
+    private final InferenceGateway gateway;
+
+    private final long[] stageNanos = new long[Stage.values().length];
+    private long errors;
+
+    /**
+     * @param gateway where to get actions from, or null for the seeded random policy
+     */
+    HeadlessFightSimulator(long seed, int sessionCount, Supplier<OpponentScript> opponents,
+                           InferenceGateway gateway) {
+        this.gateway = gateway;
+        for (int i = 0; i < sessionCount; i++) {
+            sessions.add(new SimSession(seed + i, opponents.get()));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        long ticks = 100_000;
+        long warmup = 2_000;
+        long seed = 1;
+        long reportEvery = 10_000;
+        boolean gc = false;
+        String recording = null;
+        int sessionCount = 1;
+        String server = null;
+        long batchWindowMicros = 200;
+        int maxBatch = 256;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--ticks":
+                    ticks = Long.parseLong(args[++i]);
+                    break;
+                case "--warmup":
+                    warmup = Long.parseLong(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                case "--report-every":
+                    reportEvery = Long.parseLong(args[++i]);
+                    break;
+                case "--gc":
+                    gc = true;
+                    break;
+                case "--recording":
+                    recording = args[++i];
+                    break;
+                case "--sessions":
+                    sessionCount = Integer.parseInt(args[++i]);
+                    break;
+                case "--server":
+                    server = args[++i];
+                    break;
+                case "--batch-window-us":
+                    batchWindowMicros = Long.parseLong(args[++i]);
+                    break;
+                case "--max-batch":
+                    maxBatch = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.err.println("Usage: HeadlessFightSimulator [--ticks N] [--warmup N] [--seed N]"
+                        + " [--report-every N] [--gc] [--recording FILE] [--sessions N]"
+                        + " [--server HOST:PORT] [--batch-window-us N] [--max-batch N]");
+                    System.exit(2);
+                    return;
+            }
+        }
+
+        Supplier<OpponentScript> opponents;
+        if (recording != null) {
+            RecordedOpponent recorded = RecordedOpponent.load(Paths.get(recording));
+            opponents = recorded::fork;
+        } else {
+            opponents = ScriptedOpponent::new;
+        }
+
+        InferenceGateway gateway = null;
+        if (server != null) {
+            int colon = server.lastIndexOf(':');
+            gateway = new InferenceGateway(server.substring(0, colon), Integer.parseInt(server.substring(colon + 1)),
+                batchWindowMicros, maxBatch);
+        }
+
+        long heapBefore = usedHeap();
+        HeadlessFightSimulator simulator = new HeadlessFightSimulator(seed, sessionCount, opponents, gateway);
+
+        // Let the JIT compile the loop before measuring
+        simulator.run(warmup, 0, false);
+        simulator.resetStats();
+
+        // Measured after warmup so lazily built per-session state is included
+        long perSession = (usedHeap() - heapBefore) / sessionCount;
+        System.out.printf(Locale.ROOT, "%d session(s), retained heap %,d KB per session%n",
+            sessionCount, perSession >> 10);
+
+        long start = System.nanoTime();
+        simulator.run(ticks, reportEvery, gc);
+        long elapsed = System.nanoTime() - start;
+
+        simulator.printReport(ticks, elapsed);
+        if (gateway != null) {
+            System.out.printf(Locale.ROOT, "gateway: %,d requests answered, average %.1f per write%n",
+                gateway.getTotalRequests(), gateway.getAverageBatchSize());
+            gateway.shutdown();
+        }
+    }
+
+    /**
+     * Run ticks of every session, printing progress and heap use every
+     * {@code reportEvery} ticks (never when 0).
+     */
+    void run(long ticks, long reportEvery, boolean gc) {
+        for (long i = 1; i <= ticks; i++) {
+            tick();
+            if (reportEvery > 0 && i % reportEvery == 0) {
+                if (gc) {
+                    System.gc();
+                }
+                Runtime runtime = Runtime.getRuntime();
+                long usedMb = (runtime.totalMemory() - runtime.freeMemory()) >> 20;
+                System.out.printf(Locale.ROOT, "tick %,d: heap %d MB, fights %d, errors %d%n",
+                    i, usedMb, fightsFinished(), errors);
+            }
+        }
+    }
+
+    /**
+     * One tick of the decision loop: every session observes, then the policy decides
+     * for all of them, then every session acts.
+     */
+    private void tick() {
+        for (SimSession sim : sessions) {
+            observe(sim);
+        }
+
+        long t0 = System.nanoTime();
+        decide();
+        stageNanos[Stage.POLICY.ordinal()] += System.nanoTime() - t0;
+
+        for (SimSession sim : sessions) {
+            act(sim);
+        }
+    }
+
+    private void observe(SimSession sim) {
+        sim.observations = null;
+        sim.masks = null;
+        try {
+            long t0 = System.nanoTime();
+            sim.world.advance(sim.opponent);
+
+            long t1 = System.nanoTime();
+            sim.session.onTickStart();
+            List<Number> observations = sim.session.getObservations();
+
+            long t2 = System.nanoTime();
+            List<List<Boolean>> masks = sim.session.getActionMasks();
+            long t3 = System.nanoTime();
+
+            stageNanos[Stage.EVENTS.ordinal()] += t1 - t0;
+            stageNanos[Stage.OBSERVATIONS.ordinal()] += t2 - t1;
+            stageNanos[Stage.MASKS.ordinal()] += t3 - t2;
+
+            if (observations.isEmpty()) {
+                throw new IllegalStateException("Empty observation vector on tick " + sim.world.getTick());
+            }
+            sim.observations = observations;
+            sim.masks = masks;
+        } catch (RuntimeException e) {
+            recordError(sim, e);
+        }
+    }
+
+    private void decide() {
+        if (gateway == null) {
+            for (SimSession sim : sessions) {
+                sim.action = sim.masks != null ? choose(sim.policyRandom, sim.masks) : null;
+            }
+            return;
+        }
+
+        // Submit every request before waiting on any, so they share writes
+        for (SimSession sim : sessions) {
+            sim.pendingAction = sim.masks != null
+                ? gateway.requestActionAsync(sim.world.getTick(), 0.0f, sim.observations, sim.masks)
+                : null;
+        }
+        for (SimSession sim : sessions) {
+            sim.action = sim.pendingAction != null ? sim.pendingAction.join() : null;
+            sim.pendingAction = null;
+        }
+    }
+
+    private void act(SimSession sim) {
+        if (sim.action != null) {
+            try {
+                long t0 = System.nanoTime();
+                sim.session.executeAction(sim.action);
+                stageNanos[Stage.EXECUTE.ordinal()] += System.nanoTime() - t0;
+            } catch (RuntimeException e) {
+                recordError(sim, e);
+            }
+        }
+
+        // The plugin ends every tick, even one that produced no action
+        try {
+            long t1 = System.nanoTime();
+            sim.session.onTickEnd();
+            stageNanos[Stage.TICK_END.ordinal()] += System.nanoTime() - t1;
+        } catch (RuntimeException e) {
+            recordError(sim, e);
+        }
+    }
+
+    private void recordError(SimSession sim, RuntimeException e) {
+        errors++;
+        if (errors <= MAX_LOGGED_ERRORS) {
+            log.error("[SIM] Tick {} failed", sim.world.getTick(), e);
+        }
+    }
+
+    /**
+     * Uniformly random valid action per head, standing in for the AI server.
+     */
+    private static int[] choose(Random policyRandom, List<List<Boolean>> masks) {
+        int[] action = new int[masks.size()];
+        for (int head = 0; head < action.length; head++) {
+            List<Boolean> mask = masks.get(head);
+            int valid = 0;
+            for (Boolean allowed : mask) {
+                if (allowed) {
+                    valid++;
+                }
+            }
+            if (valid == 0) {
+                continue;
+            }
+
+            int pick = policyRandom.nextInt(valid);
+            for (int option = 0; option < mask.size(); option++) {
+                if (mask.get(option) && pick-- == 0) {
+                    action[head] = option;
+                    break;
+                }
+            }
+        }
+        return action;
+    }
+
+    private void resetStats() {
+        Arrays.fill(stageNanos, 0);
+        errors = 0;
+        for (SimSession sim : sessions) {
+            sim.packets.resetCounts();
+        }
+    }
+
+    private long fightsFinished() {
+        long fights = 0;
+        for (SimSession sim : sessions) {
+            fights += sim.world.getFightsFinished();
+        }
+        return fights;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Rates and stage times are per session tick, so runs with different session
+     * counts compare directly.
+     */
+    private void printReport(long ticks, long elapsedNanos) {
+        long sessionTicks = ticks * sessions.size();
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf(Locale.ROOT, "%n%,d session ticks in %.2f s: %,.0f ticks/sec (%.1f us/tick)%n",
+            sessionTicks, seconds, sessionTicks / seconds, elapsedNanos / 1e3 / sessionTicks);
+
+        long measured = 0;
+        for (long nanos : stageNanos) {
+            measured += nanos;
+        }
+        System.out.printf(Locale.ROOT, "%-14s %12s %8s%n", "stage", "us/tick", "share");
+        for (Stage stage : Stage.values()) {
+            long nanos = stageNanos[stage.ordinal()];
+            System.out.printf(Locale.ROOT, "%-14s %12.2f %7.1f%%%n", stage.name().toLowerCase(Locale.ROOT),
+                nanos / 1e3 / sessionTicks, measured > 0 ? 100.0 * nanos / measured : 0);
+        }
+
+        StringBuilder sent = new StringBuilder("packets:");
+        long localDeaths = 0;
+        for (SimPacketSink.Kind kind : SimPacketSink.Kind.values()) {
+            long count = 0;
+            for (SimSession sim : sessions) {
+                count += sim.packets.getCount(kind);
+            }
+            sent.append(' ').append(kind.name().toLowerCase(Locale.ROOT)).append('=').append(count);
+        }
+        for (SimSession sim : sessions) {
+            localDeaths += sim.world.getLocalDeaths();
+        }
+        System.out.println(sent);
+        System.out.printf(Locale.ROOT, "fights finished %d (local deaths %d), tick errors %d%n",
+            fightsFinished(), localDeaths, errors);
+    }
+}
@@ -0,0 +1,9 @@
+package net.runelite.client.plugins.autopvp.sim;
+
+/**
+ * Drives the simulated opponent, once per tick before hits land.
+ */
+interface OpponentScript {
+
+    void onTick(SimWorld world, SimActor opponent);
+}
@@ -0,0 +1,111 @@
+package net.runelite.client.plugins.autopvp.sim;
+
+import net.runelite.api.HeadIcon;
+import net.runelite.api.kit.KitType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays an opponent recorded as one CSV line per tick, looping at the end:
+ *
+ * <pre>
+ * # dx,dy,weapon,overhead,attack
+ * 1,0,4151,MELEE,MELEE
+ * 1,0,4151,MELEE,-
+ * </pre>
+ *
+ * dx/dy are the offset from the local player, weapon is the item id in the weapon
+ * slot, overhead is a {@link HeadIcon} name or "-", and attack is a
+ * {@link SimWorld.Style} name to attack with on that tick or "-". Blank lines and
+ * lines starting with '#' are ignored.
+ */
+final class RecordedOpponent implements OpponentScript {
+
+    private static final String NONE = "-";
+
+    private static final class Frame {
+        final int dx;
+        final int dy;
+        final int weapon;
+        final HeadIcon overhead;
+        final SimWorld.Style attack;
+
+        Frame(int dx, int dy, int weapon, HeadIcon overhead, SimWorld.Style attack) {
+            this.dx = dx;
+            this.dy = dy;
+            this.weapon = weapon;
+            this.overhead = overhead;
+            this.attack = attack;
+        }
+    }
+
+    private final List<Frame> frames;
+    private int next;
+
+    private RecordedOpponent(List<Frame> frames) {
+        this.frames = frames;
+    }
+
+    /**
+     * @throws IllegalArgumentException when a line cannot be parsed or the file has
+     *                                  no frames
+     */
+    static RecordedOpponent load(Path path) throws IOException {
+        List<Frame> frames = new ArrayList<>();
+        int lineNumber = 0;
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+
+            String[] fields = trimmed.split(",");
+            if (fields.length != 5) {
+                throw new IllegalArgumentException(path + ":" + lineNumber + ": expected 5 fields, got " + fields.length);
+            }
+            try {
+                frames.add(new Frame(
+                    Integer.parseInt(fields[0].trim()),
+                    Integer.parseInt(fields[1].trim()),
+                    Integer.parseInt(fields[2].trim()),
+                    NONE.equals(fields[3].trim()) ? null : HeadIcon.valueOf(fields[3].trim()),
+                    NONE.equals(fields[4].trim()) ? null : SimWorld.Style.valueOf(fields[4].trim())));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(path + ":" + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+
+        if (frames.isEmpty()) {
+            throw new IllegalArgumentException(path + " contains no frames");
+        }
+        return new RecordedOpponent(frames);
+    }
+
+    /**
+     * A replay of the same recording from its first frame, sharing the parsed frames.
+     */
+    RecordedOpponent fork() {
+        return new RecordedOpponent(frames);
+    }
+
+    @Override
+    public void onTick(SimWorld world, SimActor opponent) {
+        Frame frame = frames.get(next);
+        next = (next + 1) % frames.size();
+
+        SimActor local = world.getLocal();
+        opponent.x = local.x + frame.dx;
+        opponent.y = local.y + frame.dy;
+        opponent.equipment[KitType.WEAPON.getIndex()] = frame.weapon;
+        opponent.overhead = frame.overhead;
+        if (frame.attack != null) {
+            world.attack(opponent, local, frame.attack);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package net.runelite.client.plugins.autopvp.sim;
+
+import net.runelite.api.HeadIcon;
+import net.runelite.api.gameval.ItemID;
+import net.runelite.api.kit.KitType;
+
+import java.util.Random;
+
+/**
+ * A tribrid opponent: switches attack style every few attacks, prays against the
+ * local player's weapon most of the time, attacks whenever its weapon is ready and
+ * occasionally steps around the local player.
+ */
+final class ScriptedOpponent implements OpponentScript {
+
+    private static final double CORRECT_PRAYER_CHANCE = 0.8;
+    private static final double STEP_CHANCE = 0.2;
+
+    private SimWorld.Style style = SimWorld.Style.MELEE;
+    private int attacksUntilSwitch;
+
+    @Override
+    public void onTick(SimWorld world, SimActor opponent) {
+        Random random = world.getRandom();
+        SimActor local = world.getLocal();
+
+        if (attacksUntilSwitch <= 0) {
+            style = SimWorld.Style.values()[random.nextInt(SimWorld.Style.values().length)];
+            opponent.equipment[KitType.WEAPON.getIndex()] = weaponFor(style);
+            attacksUntilSwitch = 1 + random.nextInt(3);
+        }
+
+        SimWorld.Style threat = SimWorld.styleOf(local);
+        if (random.nextDouble() < CORRECT_PRAYER_CHANCE) {
+            opponent.overhead = threat.protectingIcon;
+        } else {
+            HeadIcon[] icons = {HeadIcon.MELEE, HeadIcon.RANGED, HeadIcon.MAGIC};
+            opponent.overhead = icons[random.nextInt(icons.length)];
+        }
+
+        if (random.nextDouble() < STEP_CHANCE) {
+            world.moveTowards(opponent, local.x + random.nextInt(5) - 2, local.y + random.nextInt(5) - 2);
+        }
+
+        if (world.attack(opponent, local, style)) {
+            attacksUntilSwitch--;
+        }
+    }
+
+    private static int weaponFor(SimWorld.Style style) {
+        switch (style) {
+            case RANGED:
+                return ItemID.XBOWS_CROSSBOW_RUNITE;
+            case MAGIC:
+                return SimWorld.ANCIENT_STAFF;
+            case MELEE:
+            default:
+                return ItemID.ABYSSAL_WHIP;
+        }
+    }
+}
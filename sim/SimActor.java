@@ -0,0 +1,101 @@
+package net.runelite.client.plugins.autopvp.sim;
+
+import net.runelite.api.HeadIcon;
+import net.runelite.api.Player;
+import net.runelite.api.PlayerComposition;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.kit.KitType;
+
+import java.util.Arrays;
+
+/**
+ * Mutable state of one simulated player and the RuneLite {@link Player} view of it.
+ *
+ * The view is created once, so identity comparisons in the plugin (e.g. "is this
+ * animation from the local player") behave as in the live client.
+ */
+final class SimActor {
+
+    static final int NO_ANIMATION = -1;
+    static final int HEALTH_SCALE = 30;
+
+    private static final int KIT_ITEM_OFFSET = 512;
+
+    final String name;
+    final int id;
+    final int maxHitpoints;
+
+    int x;
+    int y;
+    int plane;
+    int hitpoints;
+    int animation = NO_ANIMATION;
+    int graphic = -1;
+    HeadIcon overhead;
+    SimActor interacting;
+
+    // Worn item ids by equipment slot; KitType indices match the slots they render
+    final int[] equipment = new int[14];
+
+    // Tick the next attack is allowed on
+    int attackReadyTick;
+
+    private final Player player;
+
+    SimActor(String name, int id, int x, int y, int maxHitpoints) {
+        this.name = name;
+        this.id = id;
+        this.x = x;
+        this.y = y;
+        this.maxHitpoints = maxHitpoints;
+        this.hitpoints = maxHitpoints;
+        Arrays.fill(equipment, -1);
+
+        PlayerComposition composition = Stubs.create(PlayerComposition.class, new Stubs.Handlers()
+            .on("getEquipmentId", args -> equipment[((KitType) args[0]).getIndex()])
+            .on("getEquipmentIds", args -> kitIds()));
+
+        this.player = Stubs.create(Player.class, new Stubs.Handlers()
+            .constant("getName", name)
+            .constant("getId", id)
+            .constant("getCombatLevel", 126)
+            .constant("getPlayerComposition", composition)
+            .constant("getIdlePoseAnimation", 808)
+            .constant("getPoseAnimation", 808)
+            .on("getWorldLocation", args -> new WorldPoint(this.x, this.y, plane))
+            .on("getAnimation", args -> animation)
+            .on("getGraphic", args -> graphic)
+            .on("getOverheadIcon", args -> overhead)
+            .on("getInteracting", args -> interacting != null ? interacting.player : null)
+            .on("getHealthScale", args -> HEALTH_SCALE)
+            .on("getHealthRatio", args -> healthRatio()));
+    }
+
+    Player getPlayer() {
+        return player;
+    }
+
+    boolean isDead() {
+        return hitpoints <= 0;
+    }
+
+    int getWeapon() {
+        return equipment[KitType.WEAPON.getIndex()];
+    }
+
+    private int healthRatio() {
+        if (hitpoints <= 0) {
+            return 0;
+        }
+        // The client rounds up so that any remaining hitpoints show a sliver of health
+        return Math.max(1, hitpoints * HEALTH_SCALE / maxHitpoints);
+    }
+
+    private int[] kitIds() {
+        int[] ids = new int[KitType.values().length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = equipment[i] >= 0 ? equipment[i] + KIT_ITEM_OFFSET : 0;
+        }
+        return ids;
+    }
+}
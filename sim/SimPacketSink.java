@@ -0,0 +1,127 @@
+package net.runelite.client.plugins.autopvp.sim;
+
+import net.runelite.api.Player;
+import net.runelite.api.Prayer;
+import net.runelite.api.widgets.Widget;
+import net.runelite.client.plugins.autopvp.core.PacketSink;
+
+import java.util.Arrays;
+
+/**
+ * Packet sink that applies ActionExecutor packets to the simulated world and counts
+ * them per kind.
+ */
+final class SimPacketSink implements PacketSink {
+
+    enum Kind {
+        CONSUME,
+        EQUIP,
+        PRAYER,
+        SPELL,
+        SPECIAL,
+        ATTACK,
+        MOVE,
+        OTHER
+    }
+
+    // Widget groups the executor clicks, from its PacketUtils citations
+    private static final int PRAYER_GROUP = 541;
+    private static final int SPELLBOOK_GROUP = 218;
+    private static final int VENGEANCE_CHILD = 142;
+    private static final int MINIMAP_GROUP = 160;
+    private static final int COMBAT_OPTIONS_GROUP = 593;
+
+    private final SimWorld world;
+    private final long[] counts = new long[Kind.values().length];
+
+    SimPacketSink(SimWorld world) {
+        this.world = world;
+    }
+
+    long getCount(Kind kind) {
+        return counts[kind.ordinal()];
+    }
+
+    void resetCounts() {
+        Arrays.fill(counts, 0);
+    }
+
+    @Override
+    public boolean isReady() {
+        return true;
+    }
+
+    @Override
+    public void widgetAction(Widget widget, String... actions) {
+        String action = actions.length > 0 ? actions[0] : "";
+        if ("Eat".equals(action) || "Drink".equals(action)) {
+            world.consume(widget.getIndex());
+            counts[Kind.CONSUME.ordinal()]++;
+        } else if ("Wear".equals(action) || "Wield".equals(action)) {
+            world.wield(widget.getIndex());
+            counts[Kind.EQUIP.ordinal()]++;
+        } else {
+            counts[Kind.OTHER.ordinal()]++;
+        }
+    }
+
+    @Override
+    public void widgetActionPacket(int option, int packedWidgetId, int itemId, int childId) {
+        int group = packedWidgetId >>> 16;
+        int child = packedWidgetId & 0xFFFF;
+
+        if (group == PRAYER_GROUP) {
+            Prayer prayer = prayerForChild(child);
+            if (prayer != null) {
+                world.setPrayer(prayer, !world.isPrayerActive(prayer));
+            }
+            counts[Kind.PRAYER.ordinal()]++;
+        } else if (group == SPELLBOOK_GROUP) {
+            if (child == VENGEANCE_CHILD) {
+                world.setGraphic(world.getLocal(), SimWorld.VENGEANCE_GRAPHIC);
+            } else {
+                world.attack(world.getLocal(), world.getOpponent(), SimWorld.Style.MAGIC);
+            }
+            counts[Kind.SPELL.ordinal()]++;
+        } else if (group == MINIMAP_GROUP || group == COMBAT_OPTIONS_GROUP) {
+            counts[Kind.SPECIAL.ordinal()]++;
+        } else {
+            counts[Kind.OTHER.ordinal()]++;
+        }
+    }
+
+    @Override
+    public void playerAction(Player player, String action) {
+        if ("Attack".equals(action) && player == world.getOpponent().getPlayer()) {
+            SimActor local = world.getLocal();
+            world.attack(local, world.getOpponent(), SimWorld.styleOf(local));
+        }
+        counts[Kind.ATTACK.ordinal()]++;
+    }
+
+    @Override
+    public void move(int worldX, int worldY, boolean running) {
+        world.moveTowards(world.getLocal(), worldX, worldY);
+        counts[Kind.MOVE.ordinal()]++;
+    }
+
+    /**
+     * Inverse of the executor's prayer widget mapping.
+     */
+    private static Prayer prayerForChild(int child) {
+        switch (child) {
+            case 21:
+                return Prayer.PROTECT_FROM_MAGIC;
+            case 22:
+                return Prayer.PROTECT_FROM_MISSILES;
+            case 23:
+                return Prayer.PROTECT_FROM_MELEE;
+            case 28:
+                return Prayer.SMITE;
+            case 30:
+                return Prayer.REDEMPTION;
+            default:
+                return null;
+        }
+    }
+}
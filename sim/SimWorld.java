@@ -0,0 +1,510 @@
+package net.runelite.client.plugins.autopvp.sim;
+
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.HeadIcon;
+import net.runelite.api.Hitsplat;
+import net.runelite.api.HitsplatID;
+import net.runelite.api.InventoryID;
+import net.runelite.api.Item;
+import net.runelite.api.ItemComposition;
+import net.runelite.api.ItemContainer;
+import net.runelite.api.Player;
+import net.runelite.api.Prayer;
+import net.runelite.api.Skill;
+import net.runelite.api.WorldType;
+import net.runelite.api.events.AnimationChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.GraphicChanged;
+import net.runelite.api.events.HitsplatApplied;
+import net.runelite.api.events.InteractingChanged;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.api.gameval.ItemID;
+import net.runelite.api.kit.KitType;
+import net.runelite.api.widgets.Widget;
+import net.runelite.api.widgets.WidgetInfo;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.plugins.autopvp.util.ConsumableTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Game state behind the stub {@link Client}: two players on an open plane, the local
+ * inventory, skills and prayer varbits.
+ *
+ * {@link #advance} runs one game tick the way the client reports it to plugins:
+ * the opponent acts, due hits land, then animation, graphic and hitsplat events are
+ * posted, followed by {@link GameTick}. Combat is deliberately coarse (fixed attack
+ * speeds, uniform damage rolls, overheads block 60%); it exists to feed the plugin
+ * realistic event traffic, not to model fight outcomes.
+ */
+final class SimWorld {
+
+    enum Style {
+        MELEE(1658, 1, HeadIcon.MELEE, Prayer.PROTECT_FROM_MELEE),
+        RANGED(4230, 2, HeadIcon.RANGED, Prayer.PROTECT_FROM_MISSILES),
+        MAGIC(1979, 2, HeadIcon.MAGIC, Prayer.PROTECT_FROM_MAGIC);
+
+        final int animation;
+        final int hitDelay;
+        final HeadIcon protectingIcon;
+        final Prayer protectingPrayer;
+
+        Style(int animation, int hitDelay, HeadIcon protectingIcon, Prayer protectingPrayer) {
+            this.animation = animation;
+            this.hitDelay = hitDelay;
+            this.protectingIcon = protectingIcon;
+            this.protectingPrayer = protectingPrayer;
+        }
+    }
+
+    static final int EAT_ANIMATION = 829;
+    static final int VENGEANCE_GRAPHIC = 726;
+    static final int ICE_BARRAGE_GRAPHIC = 369;
+    static final int ATTACK_SPEED = 4;
+    static final int MAX_HIT = 30;
+
+    static final int ANCIENT_STAFF = 4675; // Ancient staff
+    private static final int INVENTORY_SIZE = 28;
+    private static final int SPAWN_X = 3094;
+    private static final int SPAWN_Y = 3504;
+
+    private final EventBus eventBus;
+    private final Random random;
+    private final Client client;
+
+    private final SimActor local = new SimActor("Sim Local", 1, SPAWN_X, SPAWN_Y, 99);
+    private final SimActor opponent = new SimActor("Sim Opponent", 2, SPAWN_X + 1, SPAWN_Y, 99);
+    private final List<Player> players = Arrays.asList(local.getPlayer(), opponent.getPlayer());
+
+    private final Item[] inventory = new Item[INVENTORY_SIZE];
+    private final Item[] worn = new Item[14];
+    private final ItemContainer inventoryContainer;
+    private final ItemContainer equipmentContainer;
+    private final Widget inventoryWidget;
+    private final Map<Integer, Integer> varbits = new HashMap<>();
+    private final int[] boostedLevels = new int[Skill.values().length];
+
+    private final List<PendingHit> pendingHits = new ArrayList<>();
+    private int tick;
+    private int fightsFinished;
+    private int localDeaths;
+
+    // Animations and graphics set during the current tick, posted in advance()
+    private boolean localAnimationChanged;
+    private boolean opponentAnimationChanged;
+    private boolean localGraphicChanged;
+    private boolean opponentGraphicChanged;
+
+    private static final class PendingHit {
+        final SimActor target;
+        final Style style;
+        final int damage;
+        final int landTick;
+
+        PendingHit(SimActor target, Style style, int damage, int landTick) {
+            this.target = target;
+            this.style = style;
+            this.damage = damage;
+            this.landTick = landTick;
+        }
+    }
+
+    SimWorld(EventBus eventBus, long seed) {
+        this.eventBus = eventBus;
+        this.random = new Random(seed);
+
+        inventoryContainer = Stubs.create(ItemContainer.class, new Stubs.Handlers()
+            .constant("getId", InventoryID.INVENTORY.getId())
+            .constant("size", INVENTORY_SIZE)
+            .on("getItems", args -> inventory)
+            .on("getItem", args -> inventory[(Integer) args[0]]));
+        equipmentContainer = Stubs.create(ItemContainer.class, new Stubs.Handlers()
+            .constant("getId", InventoryID.EQUIPMENT.getId())
+            .constant("size", worn.length)
+            .on("getItems", args -> worn)
+            .on("getItem", args -> worn[(Integer) args[0]]));
+
+        Widget[] slots = new Widget[INVENTORY_SIZE];
+        for (int i = 0; i < slots.length; i++) {
+            final int slot = i;
+            slots[i] = Stubs.create(Widget.class, new Stubs.Handlers()
+                .constant("getIndex", slot)
+                .constant("getId", WidgetInfo.INVENTORY.getId())
+                .on("getItemId", args -> inventory[slot] != null ? inventory[slot].getId() : -1)
+                .on("getItemQuantity", args -> inventory[slot] != null ? inventory[slot].getQuantity() : 0));
+        }
+        inventoryWidget = Stubs.create(Widget.class, new Stubs.Handlers()
+            .constant("getId", WidgetInfo.INVENTORY.getId())
+            .constant("getDynamicChildren", slots));
+
+        client = Stubs.create(Client.class, new Stubs.Handlers()
+            .constant("isClientThread", true)
+            .constant("getGameState", GameState.LOGGED_IN)
+            .constant("getWorldType", Stubs.none(WorldType.class))
+            .on("getLocalPlayer", args -> local.getPlayer())
+            .on("getPlayers", args -> players)
+            .on("getTickCount", args -> tick)
+            .on("getItemContainer", args -> getContainer(args[0]))
+            .on("getRealSkillLevel", args -> 99)
+            .on("getBoostedSkillLevel", args -> boostedLevels[((Skill) args[0]).ordinal()])
+            .on("getVarbitValue", args -> varbits.getOrDefault((Integer) args[0], 0))
+            .on("isPrayerActive", args -> isPrayerActive((Prayer) args[0]))
+            .on("getWidget", args -> isInventoryWidget(args) ? inventoryWidget : null)
+            .on("getItemDefinition", args -> itemComposition((Integer) args[0])));
+
+        resetFight();
+    }
+
+    Client getClient() {
+        return client;
+    }
+
+    SimActor getLocal() {
+        return local;
+    }
+
+    SimActor getOpponent() {
+        return opponent;
+    }
+
+    Random getRandom() {
+        return random;
+    }
+
+    int getTick() {
+        return tick;
+    }
+
+    int getFightsFinished() {
+        return fightsFinished;
+    }
+
+    int getLocalDeaths() {
+        return localDeaths;
+    }
+
+    /**
+     * Run one game tick: the opponent acts, due hits land and all resulting events
+     * are posted, ending with GameTick.
+     */
+    void advance(OpponentScript script) {
+        tick++;
+        // Animations last one tick, unless they were started since the last one
+        // (e.g. by a packet the plugin sent)
+        if (!localAnimationChanged) {
+            local.animation = SimActor.NO_ANIMATION;
+        }
+        if (!localGraphicChanged) {
+            local.graphic = -1;
+        }
+        opponent.animation = SimActor.NO_ANIMATION;
+        opponent.graphic = -1;
+
+        script.onTick(this, opponent);
+        landHits();
+
+        if (localAnimationChanged) {
+            postAnimation(local);
+        }
+        if (opponentAnimationChanged) {
+            postAnimation(opponent);
+        }
+        if (localGraphicChanged) {
+            postGraphic(local);
+        }
+        if (opponentGraphicChanged) {
+            postGraphic(opponent);
+        }
+        localAnimationChanged = opponentAnimationChanged = false;
+        localGraphicChanged = opponentGraphicChanged = false;
+
+        eventBus.post(new GameTick());
+
+        if (local.isDead() || opponent.isDead()) {
+            fightsFinished++;
+            if (local.isDead()) {
+                localDeaths++;
+            }
+            resetFight();
+        }
+    }
+
+    /**
+     * Start an attack now if the attacker's weapon is ready. The hit lands after the
+     * style's delay.
+     */
+    boolean attack(SimActor attacker, SimActor target, Style style) {
+        if (tick < attacker.attackReadyTick || attacker.isDead()) {
+            return false;
+        }
+
+        attacker.attackReadyTick = tick + ATTACK_SPEED;
+        setInteracting(attacker, target);
+        setAnimation(attacker, style.animation);
+
+        int damage = random.nextInt(MAX_HIT + 1);
+        if (isProtected(target, style)) {
+            damage = damage * 4 / 10;
+        }
+        pendingHits.add(new PendingHit(target, style, damage, tick + style.hitDelay));
+        return true;
+    }
+
+    void setAnimation(SimActor actor, int animation) {
+        actor.animation = animation;
+        if (actor == local) {
+            localAnimationChanged = true;
+        } else {
+            opponentAnimationChanged = true;
+        }
+    }
+
+    void setGraphic(SimActor actor, int graphic) {
+        actor.graphic = graphic;
+        if (actor == local) {
+            localGraphicChanged = true;
+        } else {
+            opponentGraphicChanged = true;
+        }
+    }
+
+    void setInteracting(SimActor source, SimActor target) {
+        if (source.interacting == target) {
+            return;
+        }
+        source.interacting = target;
+        eventBus.post(new InteractingChanged(source.getPlayer(), target != null ? target.getPlayer() : null));
+    }
+
+    /**
+     * Style of the weapon an actor is wielding.
+     */
+    static Style styleOf(SimActor actor) {
+        int weapon = actor.getWeapon();
+        if (weapon == ItemID.XBOWS_CROSSBOW_RUNITE) {
+            return Style.RANGED;
+        }
+        if (weapon == ANCIENT_STAFF) {
+            return Style.MAGIC;
+        }
+        return Style.MELEE;
+    }
+
+    /**
+     * Consume the item in an inventory slot: heal for food and brews, play the eat
+     * animation and remove it. Potion boosts are not modelled.
+     */
+    boolean consume(int slot) {
+        Item item = slot >= 0 && slot < INVENTORY_SIZE ? inventory[slot] : null;
+        if (item == null) {
+            return false;
+        }
+
+        int id = item.getId();
+        int heal = ConsumableTable.getFoodHeal(id);
+        if (ConsumableTable.getPotionFamily(id) == ConsumableTable.PotionFamily.SARADOMIN_BREW) {
+            heal = 16;
+        }
+        local.hitpoints = Math.min(local.maxHitpoints, local.hitpoints + heal);
+        boostedLevels[Skill.HITPOINTS.ordinal()] = local.hitpoints;
+
+        inventory[slot] = null;
+        setAnimation(local, EAT_ANIMATION);
+        eventBus.post(new ItemContainerChanged(InventoryID.INVENTORY.getId(), inventoryContainer));
+        return true;
+    }
+
+    /**
+     * Swap the item in an inventory slot with what is worn in the weapon slot.
+     */
+    boolean wield(int slot) {
+        Item item = slot >= 0 && slot < INVENTORY_SIZE ? inventory[slot] : null;
+        if (item == null) {
+            return false;
+        }
+
+        int weaponSlot = KitType.WEAPON.getIndex();
+        int previous = local.equipment[weaponSlot];
+        local.equipment[weaponSlot] = item.getId();
+        worn[weaponSlot] = item;
+        inventory[slot] = previous >= 0 ? new Item(previous, 1) : null;
+        eventBus.post(new ItemContainerChanged(InventoryID.INVENTORY.getId(), inventoryContainer));
+        eventBus.post(new ItemContainerChanged(InventoryID.EQUIPMENT.getId(), equipmentContainer));
+        return true;
+    }
+
+    /**
+     * Switch a prayer on or off. Overheads are exclusive, as in game.
+     */
+    void setPrayer(Prayer prayer, boolean active) {
+        if (active && isOverhead(prayer)) {
+            for (Style style : Style.values()) {
+                if (style.protectingPrayer != prayer) {
+                    setVarbit(style.protectingPrayer.getVarbit(), 0);
+                }
+            }
+        }
+        setVarbit(prayer.getVarbit(), active ? 1 : 0);
+    }
+
+    boolean isPrayerActive(Prayer prayer) {
+        return varbits.getOrDefault(prayer.getVarbit(), 0) == 1;
+    }
+
+    void moveTowards(SimActor actor, int targetX, int targetY) {
+        actor.x += Integer.signum(targetX - actor.x);
+        actor.y += Integer.signum(targetY - actor.y);
+    }
+
+    private void landHits() {
+        for (int i = 0; i < pendingHits.size(); i++) {
+            PendingHit hit = pendingHits.get(i);
+            if (hit.landTick > tick) {
+                continue;
+            }
+            pendingHits.remove(i--);
+
+            SimActor target = hit.target;
+            target.hitpoints = Math.max(0, target.hitpoints - hit.damage);
+            if (target == local) {
+                boostedLevels[Skill.HITPOINTS.ordinal()] = local.hitpoints;
+            }
+            if (hit.style == Style.MAGIC) {
+                setGraphic(target, ICE_BARRAGE_GRAPHIC);
+            }
+
+            int type = target == local
+                ? (hit.damage > 0 ? HitsplatID.DAMAGE_ME : HitsplatID.BLOCK_ME)
+                : (hit.damage > 0 ? HitsplatID.DAMAGE_OTHER : HitsplatID.BLOCK_OTHER);
+            HitsplatApplied event = new HitsplatApplied();
+            event.setActor(target.getPlayer());
+            event.setHitsplat(new Hitsplat(type, hit.damage, tick + 2));
+            eventBus.post(event);
+        }
+    }
+
+    private boolean isProtected(SimActor target, Style style) {
+        if (target == local) {
+            return isPrayerActive(style.protectingPrayer);
+        }
+        return target.overhead == style.protectingIcon;
+    }
+
+    private void resetFight() {
+        pendingHits.clear();
+        for (SimActor actor : new SimActor[]{local, opponent}) {
+            actor.hitpoints = actor.maxHitpoints;
+            actor.attackReadyTick = tick;
+            actor.overhead = null;
+        }
+        // Both sides start already fighting each other
+        local.interacting = opponent;
+        opponent.interacting = local;
+        local.x = SPAWN_X;
+        local.y = SPAWN_Y;
+        opponent.x = SPAWN_X + 1;
+        opponent.y = SPAWN_Y;
+
+        Arrays.fill(boostedLevels, 99);
+        for (Style style : Style.values()) {
+            varbits.put(style.protectingPrayer.getVarbit(), 0);
+        }
+
+        Arrays.fill(local.equipment, -1);
+        Arrays.fill(worn, null);
+        wear(local, KitType.WEAPON, ItemID.ABYSSAL_WHIP);
+        wear(opponent, KitType.WEAPON, ItemID.ABYSSAL_WHIP);
+
+        Arrays.fill(inventory, null);
+        int slot = 0;
+        inventory[slot++] = new Item(ItemID.XBOWS_CROSSBOW_RUNITE, 1);
+        inventory[slot++] = new Item(ANCIENT_STAFF, 1);
+        inventory[slot++] = new Item(ItemID._4DOSE2COMBAT, 1);
+        inventory[slot++] = new Item(ItemID._4DOSERANGERSPOTION, 1);
+        for (int i = 0; i < 3; i++) {
+            inventory[slot++] = new Item(ItemID._4DOSEPOTIONOFSARADOMIN, 1);
+        }
+        for (int i = 0; i < 2; i++) {
+            inventory[slot++] = new Item(ItemID._4DOSE2RESTORE, 1);
+        }
+        for (int i = 0; i < 4; i++) {
+            inventory[slot++] = new Item(ItemID.TBWT_COOKED_KARAMBWAN, 1);
+        }
+        while (slot < INVENTORY_SIZE) {
+            inventory[slot++] = new Item(ItemID.SHARK, 1);
+        }
+
+        eventBus.post(new ItemContainerChanged(InventoryID.INVENTORY.getId(), inventoryContainer));
+        eventBus.post(new ItemContainerChanged(InventoryID.EQUIPMENT.getId(), equipmentContainer));
+    }
+
+    private void wear(SimActor actor, KitType slot, int itemId) {
+        actor.equipment[slot.getIndex()] = itemId;
+        if (actor == local) {
+            worn[slot.getIndex()] = new Item(itemId, 1);
+        }
+    }
+
+    private void setVarbit(int varbit, int value) {
+        Integer previous = varbits.put(varbit, value);
+        if (previous == null || previous != value) {
+            VarbitChanged event = new VarbitChanged();
+            event.setVarbitId(varbit);
+            event.setValue(value);
+            eventBus.post(event);
+        }
+    }
+
+    private void postAnimation(SimActor actor) {
+        AnimationChanged event = new AnimationChanged();
+        event.setActor(actor.getPlayer());
+        eventBus.post(event);
+    }
+
+    private void postGraphic(SimActor actor) {
+        GraphicChanged event = new GraphicChanged();
+        event.setActor(actor.getPlayer());
+        eventBus.post(event);
+    }
+
+    private ItemContainer getContainer(Object id) {
+        int containerId = id instanceof InventoryID ? ((InventoryID) id).getId() : (Integer) id;
+        if (containerId == InventoryID.INVENTORY.getId()) {
+            return inventoryContainer;
+        }
+        if (containerId == InventoryID.EQUIPMENT.getId()) {
+            return equipmentContainer;
+        }
+        return null;
+    }
+
+    private static boolean isInventoryWidget(Object[] args) {
+        if (args.length != 1) {
+            return false;
+        }
+        return args[0] == WidgetInfo.INVENTORY
+            || args[0] instanceof Integer && (Integer) args[0] == WidgetInfo.INVENTORY.getId();
+    }
+
+    private static boolean isOverhead(Prayer prayer) {
+        for (Style style : Style.values()) {
+            if (style.protectingPrayer == prayer) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ItemComposition itemComposition(int itemId) {
+        return Stubs.create(ItemComposition.class, new Stubs.Handlers()
+            .constant("getId", itemId)
+            .constant("getName", "Item " + itemId));
+    }
+}
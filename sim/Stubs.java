@@ -0,0 +1,113 @@
+package net.runelite.client.plugins.autopvp.sim;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Builds stub implementations of RuneLite API interfaces.
+ *
+ * Client and its companions have hundreds of methods, of which the plugin calls a
+ * few dozen. A stub answers the methods it was given handlers for and returns a
+ * neutral value (false, 0, empty collection, null) for everything else, so the
+ * simulator only has to model what the plugin actually reads.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * Handlers for one stub, keyed by method name. Overloads share a handler and
+     * can tell themselves apart by their arguments.
+     */
+    static final class Handlers {
+        private final Map<String, Function<Object[], Object>> byName = new HashMap<>();
+
+        Handlers on(String methodName, Function<Object[], Object> handler) {
+            byName.put(methodName, handler);
+            return this;
+        }
+
+        Handlers constant(String methodName, Object value) {
+            return on(methodName, args -> value);
+        }
+    }
+
+    static <T> T create(Class<T> type, Handlers handlers) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            Object[] arguments = args != null ? args : new Object[0];
+            Function<Object[], Object> handler = handlers.byName.get(method.getName());
+            if (handler != null) {
+                return handler.apply(arguments);
+            }
+
+            switch (method.getName()) {
+                case "equals":
+                    return arguments.length == 1 && self == arguments[0];
+                case "hashCode":
+                    return System.identityHashCode(self);
+                case "toString":
+                    return "Stub" + type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(self));
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+        return type.cast(proxy);
+    }
+
+    private static Object defaultValue(Class<?> returnType) {
+        if (returnType == boolean.class) {
+            return false;
+        }
+        if (returnType == int.class) {
+            return 0;
+        }
+        if (returnType == long.class) {
+            return 0L;
+        }
+        if (returnType == double.class) {
+            return 0.0;
+        }
+        if (returnType == float.class) {
+            return 0f;
+        }
+        if (returnType == short.class) {
+            return (short) 0;
+        }
+        if (returnType == byte.class) {
+            return (byte) 0;
+        }
+        if (returnType == char.class) {
+            return (char) 0;
+        }
+        if (returnType == List.class) {
+            return Collections.emptyList();
+        }
+        if (returnType == Set.class) {
+            return Collections.emptySet();
+        }
+        if (returnType == Map.class) {
+            return Collections.emptyMap();
+        }
+        if (returnType.isArray() && returnType.getComponentType().isPrimitive()) {
+            return Array.newInstance(returnType.getComponentType(), 0);
+        }
+        // Object arrays stay null: callers treat a missing array as "not loaded"
+        return null;
+    }
+
+    /**
+     * Empty EnumSet for methods such as Client.getWorldType, which callers iterate
+     * without a null check.
+     */
+    static <E extends Enum<E>> EnumSet<E> none(Class<E> type) {
+        return EnumSet.noneOf(type);
+    }
+}
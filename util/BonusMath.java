@@ -0,0 +1,57 @@
+package net.runelite.client.plugins.autopvp.util;
+
+/**
+ * Element-wise kernels for the 14-element equipment bonus vectors.
+ *
+ * Each kernel is a single counted loop over the destination with no branches or
+ * calls in the body, which is the shape HotSpot's C2 compiler turns into packed SIMD
+ * instructions on its own. Keeping all bonus arithmetic here means the gear features
+ * get that for free without depending on an incubator module.
+ *
+ * All kernels write in place and allocate nothing.
+ */
+public final class BonusMath {
+
+    private BonusMath() {
+    }
+
+    /**
+     * dst[i] += src[i]
+     */
+    public static void add(double[] dst, double[] src) {
+        int length = Math.min(dst.length, src.length);
+        for (int i = 0; i < length; i++) {
+            dst[i] += src[i];
+        }
+    }
+
+    /**
+     * dst[i] -= src[i]
+     */
+    public static void subtract(double[] dst, double[] src) {
+        int length = Math.min(dst.length, src.length);
+        for (int i = 0; i < length; i++) {
+            dst[i] -= src[i];
+        }
+    }
+
+    /**
+     * dst[i] *= factor
+     */
+    public static void scale(double[] dst, double factor) {
+        for (int i = 0; i < dst.length; i++) {
+            dst[i] *= factor;
+        }
+    }
+
+    /**
+     * dst[i] = a[i] * weight + b[i] * (1 - weight)
+     */
+    public static void blend(double[] dst, double[] a, double[] b, double weight) {
+        int length = Math.min(dst.length, Math.min(a.length, b.length));
+        double other = 1.0 - weight;
+        for (int i = 0; i < length; i++) {
+            dst[i] = a[i] * weight + b[i] * other;
+        }
+    }
+}
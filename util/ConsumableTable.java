@@ -0,0 +1,311 @@
+package net.runelite.client.plugins.autopvp.util;
+
+import com.elvarg.game.content.Food;
+import com.elvarg.game.content.PotionConsumable;
+import net.runelite.api.gameval.ItemID;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dense item id lookup tables for potions and food.
+ *
+ * Every table is an array indexed directly by item id, built once at class load, so
+ * each lookup is a bounds check and an array read no matter how many potion or food
+ * types exist. Inventory scans in the adapters, the action executor and the
+ * observation encoder all go through here instead of searching enums or chaining
+ * comparisons per slot.
+ */
+public final class ConsumableTable {
+
+    /**
+     * Potion families the model reasons about. Variants that share an effect (e.g.
+     * bastion and ranging potions) belong to one family.
+     */
+    public enum PotionFamily {
+        SARADOMIN_BREW,
+        SUPER_RESTORE,
+        // Counted with super restores in the observation, but not drunk for the restore action
+        SANFEW_SERUM,
+        SUPER_COMBAT,
+        RANGING,
+        MAGIC;
+
+        private static final PotionFamily[] VALUES = values();
+
+        /**
+         * Family selected by the potion action head, or null for "no potion".
+         */
+        public static PotionFamily fromAction(int potionAction) {
+            switch (potionAction) {
+                case 1:
+                    return SARADOMIN_BREW;
+                case 2:
+                    return SUPER_RESTORE;
+                case 3:
+                    return SUPER_COMBAT;
+                case 4:
+                    return RANGING;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private static final byte NO_FAMILY = -1;
+
+    private static final byte FLAG_FOOD = 1;
+    private static final byte FLAG_PVP_FOOD = 1 << 1;
+    private static final byte FLAG_COMBO_FOOD = 1 << 2;
+
+    private static final byte[] FAMILY;
+    private static final byte[] DOSES;
+    private static final byte[] FOOD_FLAGS;
+    private static final PotionConsumable[] ELVARG_POTION;
+    private static final Food.Edible[] EDIBLE;
+
+    static {
+        Builder builder = new Builder();
+
+        // Ids per family in 4, 3, 2, 1 dose order
+        builder.family(PotionFamily.SARADOMIN_BREW,
+            ItemID._4DOSEPOTIONOFSARADOMIN, ItemID._3DOSEPOTIONOFSARADOMIN,
+            ItemID._2DOSEPOTIONOFSARADOMIN, ItemID._1DOSEPOTIONOFSARADOMIN);
+        builder.family(PotionFamily.SUPER_RESTORE,
+            ItemID._4DOSE2RESTORE, ItemID._3DOSE2RESTORE, ItemID._2DOSE2RESTORE, ItemID._1DOSE2RESTORE);
+        builder.family(PotionFamily.SANFEW_SERUM,
+            ItemID.SANFEW_SALVE_4_DOSE, ItemID.SANFEW_SALVE_3_DOSE,
+            ItemID.SANFEW_SALVE_2_DOSE, ItemID.SANFEW_SALVE_1_DOSE);
+        builder.family(PotionFamily.SUPER_COMBAT,
+            ItemID._4DOSE2COMBAT, ItemID._3DOSE2COMBAT, ItemID._2DOSE2COMBAT, ItemID._1DOSE2COMBAT);
+        builder.family(PotionFamily.RANGING,
+            ItemID._4DOSERANGERSPOTION, ItemID._3DOSERANGERSPOTION,
+            ItemID._2DOSERANGERSPOTION, ItemID._1DOSERANGERSPOTION);
+        builder.family(PotionFamily.RANGING,
+            ItemID._4DOSEBASTION, ItemID._3DOSEBASTION, ItemID._2DOSEBASTION, ItemID._1DOSEBASTION);
+        builder.family(PotionFamily.MAGIC,
+            ItemID._4DOSE1MAGIC, ItemID._3DOSE1MAGIC, ItemID._2DOSE1MAGIC, ItemID._1DOSE1MAGIC);
+        builder.family(PotionFamily.MAGIC,
+            ItemID._4DOSEBATTLEMAGE, ItemID._3DOSEBATTLEMAGE, ItemID._2DOSEBATTLEMAGE, ItemID._1DOSEBATTLEMAGE);
+
+        // Citation: PotionConsumable.getIds() from C:/dev/elvarg-rsps-master/ElvargServer/game/src/main/java/com/elvarg/game/content/PotionConsumable.java:L393
+        for (PotionConsumable potion : PotionConsumable.values()) {
+            builder.elvargPotion(potion);
+        }
+
+        // Food mappings from Elvarg Food.java - using numeric IDs from Elvarg source
+        // Fish
+        builder.edible(ItemID.ANCHOVIES, Food.Edible.ANCHOVIES);      // Anchovies
+        builder.edible(315, Food.Edible.SHRIMPS);        // Shrimps - no ItemID constant (315)
+        builder.edible(ItemID.SARDINE, Food.Edible.SARDINE);        // Sardine
+        builder.edible(ItemID.COD, Food.Edible.COD);            // Cod
+        builder.edible(ItemID.TROUT, Food.Edible.TROUT);          // Trout
+        builder.edible(ItemID.PIKE, Food.Edible.PIKE);           // Pike
+        builder.edible(ItemID.SALMON, Food.Edible.SALMON);         // Salmon
+        builder.edible(ItemID.TUNA, Food.Edible.TUNA);           // Tuna
+        builder.edible(ItemID.LOBSTER, Food.Edible.LOBSTER);        // Lobster
+        builder.edible(ItemID.BASS, Food.Edible.BASS);           // Bass
+        builder.edible(ItemID.SWORDFISH, Food.Edible.SWORDFISH);      // Swordfish
+        builder.edible(ItemID.MONKFISH, Food.Edible.MONKFISH);      // Monkfish
+        builder.edible(ItemID.SHARK, Food.Edible.SHARK);          // Shark
+        builder.edible(ItemID.SEATURTLE, Food.Edible.SEA_TURTLE);     // Sea turtle
+        builder.edible(ItemID.DARK_CRAB, Food.Edible.DARK_CRAB);    // Dark crab
+        builder.edible(ItemID.MANTARAY, Food.Edible.MANTA_RAY);      // Manta ray
+        builder.edible(ItemID.TBWT_COOKED_KARAMBWAN, Food.Edible.KARAMBWAN);     // Karambwan
+        builder.edible(ItemID.ANGLERFISH, Food.Edible.ANGLERFISH);   // Anglerfish
+
+        // Baked goods
+        builder.edible(ItemID.POTATO, Food.Edible.POTATO);        // Potato
+        builder.edible(ItemID.POTATO_BAKED, Food.Edible.BAKED_POTATO);  // Baked potato
+        builder.edible(ItemID.POTATO_BUTTER, Food.Edible.POTATO_WITH_BUTTER);  // Potato with butter
+        builder.edible(ItemID.POTATO_CHILLI_CARNE, Food.Edible.CHILLI_POTATO); // Chilli potato
+        builder.edible(ItemID.POTATO_EGG_TOMATO, Food.Edible.EGG_POTATO);    // Egg potato
+        builder.edible(ItemID.POTATO_CHEESE, Food.Edible.POTATO_WITH_CHEESE);  // Potato with cheese
+        builder.edible(ItemID.POTATO_MUSHROOM_ONION, Food.Edible.MUSHROOM_POTATO);     // Mushroom potato
+        builder.edible(ItemID.POTATO_TUNA_SWEETCORN, Food.Edible.TUNA_POTATO);   // Tuna potato
+
+        // Fruit
+        builder.edible(ItemID.BANANA, Food.Edible.BANANA);        // Banana
+        builder.edible(18199, Food.Edible.BANANA_);      // Banana (variant) - no ItemID constant (18199)
+        builder.edible(ItemID.CABBAGE, Food.Edible.CABBAGE);       // Cabbage
+        builder.edible(ItemID.ORANGE, Food.Edible.ORANGE);        // Orange
+        builder.edible(ItemID.PINEAPPLE_CHUNKS, Food.Edible.PINEAPPLE_CHUNKS);    // Pineapple chunks
+        builder.edible(ItemID.PINEAPPLE_RING, Food.Edible.PINEAPPLE_RINGS);     // Pineapple rings
+        builder.edible(ItemID.PEACH, Food.Edible.PEACH);         // Peach
+
+        // Other
+        builder.edible(ItemID.KEBAB, Food.Edible.KEBAB);         // Kebab
+        builder.edible(ItemID.CHEESE, Food.Edible.CHEESE);        // Cheese
+        builder.edible(ItemID.CAKE, Food.Edible.CAKE);          // Cake
+        builder.edible(ItemID.PARTIAL_CAKE, Food.Edible.SECOND_CAKE_SLICE);   // Second cake slice
+        builder.edible(ItemID.CAKE_SLICE, Food.Edible.THIRD_CAKE_SLICE);    // Third cake slice
+        builder.edible(14640, Food.Edible.BANDAGES);     // Bandages - ItemID.CASTLEWARS_BANDAGES is different (14640 vs 4049)
+        builder.edible(ItemID.JANGERBERRIES, Food.Edible.JANGERBERRIES);  // Jangerberries
+        builder.edible(ItemID.WORM_CRUNCHIES, Food.Edible.WORM_CRUNCHIES);      // Worm crunchies
+        builder.edible(ItemID.EDIBLE_SEAWEED, Food.Edible.EDIBLE_SEAWEED); // Edible seaweed
+        builder.edible(ItemID.MEAT_PIZZA, Food.Edible.MEAT_PIZZA);    // Meat pizza
+        builder.edible(ItemID.SPINACH_ROLL, Food.Edible.SPINACH_ROLL);  // Spinach roll
+        builder.edible(4561, Food.Edible.PURPLE_SWEETS); // Purple sweets - no exact ItemID constant (4561)
+
+        // Food the model counts and eats in PvP (NhEnvironment food observation)
+        builder.pvpFood(ItemID.SHARK, ItemID.MANTARAY, ItemID.DARK_CRAB, ItemID.ANGLERFISH,
+            ItemID.SEATURTLE, ItemID.PINEAPPLE_PIZZA, ItemID.POTATO_MUSHROOM_ONION,
+            ItemID.TBWT_COOKED_KARAMBWAN);
+        builder.comboFood(ItemID.TBWT_COOKED_KARAMBWAN);
+
+        builder.flatten();
+        FAMILY = builder.family;
+        DOSES = builder.doses;
+        FOOD_FLAGS = builder.foodFlags;
+        ELVARG_POTION = builder.elvargPotions;
+        EDIBLE = builder.edibles;
+    }
+
+    private ConsumableTable() {
+    }
+
+    /**
+     * Potion family of an item, or null when it is not a tracked potion.
+     */
+    public static PotionFamily getPotionFamily(int itemId) {
+        if (itemId < 0 || itemId >= FAMILY.length || FAMILY[itemId] == NO_FAMILY) {
+            return null;
+        }
+        return PotionFamily.VALUES[FAMILY[itemId]];
+    }
+
+    public static boolean isPotionFamily(int itemId, PotionFamily family) {
+        return family != null && itemId >= 0 && itemId < FAMILY.length
+            && FAMILY[itemId] == family.ordinal();
+    }
+
+    /**
+     * Doses left in a potion of a tracked family, or 0 for any other item.
+     */
+    public static int getDoses(int itemId) {
+        return itemId >= 0 && itemId < DOSES.length ? DOSES[itemId] : 0;
+    }
+
+    /**
+     * Elvarg potion type of an item, or null.
+     */
+    public static PotionConsumable getElvargPotion(int itemId) {
+        return itemId >= 0 && itemId < ELVARG_POTION.length ? ELVARG_POTION[itemId] : null;
+    }
+
+    /**
+     * Elvarg edible type of an item, or null.
+     */
+    public static Food.Edible getEdible(int itemId) {
+        return itemId >= 0 && itemId < EDIBLE.length ? EDIBLE[itemId] : null;
+    }
+
+    /**
+     * Static heal amount of a food item, or 0. Anglerfish scale with hitpoints and
+     * report their base value here.
+     */
+    public static int getFoodHeal(int itemId) {
+        Food.Edible edible = getEdible(itemId);
+        return edible != null ? edible.getHeal() : 0;
+    }
+
+    /**
+     * Any food with an Elvarg edible mapping.
+     */
+    public static boolean isFood(int itemId) {
+        return hasFoodFlag(itemId, FLAG_FOOD);
+    }
+
+    /**
+     * Food the model counts and eats in PvP.
+     */
+    public static boolean isPvpFood(int itemId) {
+        return hasFoodFlag(itemId, FLAG_PVP_FOOD);
+    }
+
+    /**
+     * Food with its own delay that can be eaten on the same tick as regular food.
+     */
+    public static boolean isComboFood(int itemId) {
+        return hasFoodFlag(itemId, FLAG_COMBO_FOOD);
+    }
+
+    private static boolean hasFoodFlag(int itemId, byte flag) {
+        return itemId >= 0 && itemId < FOOD_FLAGS.length && (FOOD_FLAGS[itemId] & flag) != 0;
+    }
+
+    /**
+     * Collects entries in maps, then flattens them into arrays sized to the largest id.
+     */
+    private static final class Builder {
+
+        private final Map<Integer, PotionFamily> families = new HashMap<>();
+        private final Map<Integer, Integer> doseById = new HashMap<>();
+        private final Map<Integer, PotionConsumable> potions = new HashMap<>();
+        private final Map<Integer, Integer> flags = new HashMap<>();
+        private final Map<Integer, Food.Edible> edibleById = new HashMap<>();
+
+        private byte[] family;
+        private byte[] doses;
+        private byte[] foodFlags;
+        private PotionConsumable[] elvargPotions;
+        private Food.Edible[] edibles;
+
+        void family(PotionFamily potionFamily, int... idsByDose) {
+            for (int i = 0; i < idsByDose.length; i++) {
+                families.put(idsByDose[i], potionFamily);
+                doseById.put(idsByDose[i], idsByDose.length - i);
+            }
+        }
+
+        void elvargPotion(PotionConsumable potion) {
+            for (int id : potion.getIds()) {
+                potions.put(id, potion);
+            }
+        }
+
+        void edible(int id, Food.Edible edible) {
+            edibleById.put(id, edible);
+            addFlag(id, FLAG_FOOD);
+        }
+
+        void pvpFood(int... ids) {
+            for (int id : ids) {
+                addFlag(id, FLAG_PVP_FOOD);
+            }
+        }
+
+        void comboFood(int... ids) {
+            for (int id : ids) {
+                addFlag(id, FLAG_COMBO_FOOD);
+            }
+        }
+
+        private void addFlag(int id, int flag) {
+            flags.merge(id, flag, (a, b) -> a | b);
+        }
+
+        void flatten() {
+            int size = 0;
+            for (Map<Integer, ?> map : Arrays.asList(families, doseById, potions, flags, edibleById)) {
+                for (int id : map.keySet()) {
+                    size = Math.max(size, id + 1);
+                }
+            }
+
+            family = new byte[size];
+            doses = new byte[size];
+            foodFlags = new byte[size];
+            elvargPotions = new PotionConsumable[size];
+            edibles = new Food.Edible[size];
+
+            Arrays.fill(family, NO_FAMILY);
+            families.forEach((id, value) -> family[id] = (byte) value.ordinal());
+            doseById.forEach((id, value) -> doses[id] = (byte) (int) value);
+            flags.forEach((id, value) -> foodFlags[id] = (byte) (int) value);
+            potions.forEach((id, value) -> elvargPotions[id] = value);
+            edibleById.forEach((id, value) -> edibles[id] = value);
+        }
+    }
+}
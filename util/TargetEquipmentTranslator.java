@@ -8,6 +8,9 @@ import net.runelite.client.game.ItemEquipmentStats;
 import net.runelite.client.plugins.autopvp.util.ItemIdMapper;
 import lombok.extern.slf4j.Slf4j;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Translates RuneLite PlayerComposition equipment to Elvarg-compatible format.
@@ -68,18 +71,95 @@ public class TargetEquipmentTranslator {
     public static final int BONUS_COUNT = 14;
 
     /**
-     * Result of equipment translation including confidence levels
+     * Translation cache bound. Opponents rotate through a handful of gear sets,
+     * so a small LRU keyed by the composition's equipment ids covers nearly all lookups.
+     */
+    private static final int RESULT_CACHE_SIZE = 256;
+
+    /**
+     * Marker for items without equipment stats in the per-item bonus cache
+     */
+    private static final double[] NO_STATS = new double[0];
+
+    /**
+     * Translations keyed by equipment ids (access-ordered LRU). Results are immutable,
+     * so the cache is shared by every session in the process.
+     */
+    private static final Map<EquipmentKey, Result> RESULT_CACHE =
+        new LinkedHashMap<EquipmentKey, Result>(RESULT_CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<EquipmentKey, Result> eldest) {
+                return size() > RESULT_CACHE_SIZE;
+            }
+        };
+
+    /**
+     * Per-item bonus vectors (canonical RuneLite id -> 14 bonuses). Shared, never mutated.
+     */
+    private static final Map<Integer, double[]> ITEM_BONUS_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Reusable lookup key; only touched while holding the RESULT_CACHE lock
+     */
+    private static final EquipmentKey PROBE_KEY = new EquipmentKey();
+
+    private static final KitType[] KIT_TYPES = KitType.values();
+
+    /**
+     * Cache key wrapping a PlayerComposition equipment id array
+     */
+    private static final class EquipmentKey {
+        private int[] ids;
+        private int hash;
+
+        EquipmentKey() {
+        }
+
+        EquipmentKey(int[] ids) {
+            set(ids.clone());
+        }
+
+        void set(int[] ids) {
+            this.ids = ids;
+            this.hash = Arrays.hashCode(ids);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof EquipmentKey && Arrays.equals(ids, ((EquipmentKey) other).ids);
+        }
+    }
+
+    /**
+     * Result of equipment translation including confidence levels.
+     * Results are shared through the translation cache and must be treated as immutable;
+     * accessors return copies.
      */
     public static class Result {
         private final int[] itemIds;
         private final double[] bonuses;
         private final double[] slotConfidences;
+        private final int[] encodedIds;
+        private final double[][] slotBonuses;
+        // False while some item's stats were not loaded yet; such results are not cached
+        private boolean statsComplete = true;
 
         public Result() {
+            this(null);
+        }
+
+        private Result(int[] encodedIds) {
             this.itemIds = new int[EQUIPMENT_SIZE];
             Arrays.fill(this.itemIds, -1); // Initialize with -1 (empty)
             this.bonuses = new double[BONUS_COUNT];
             this.slotConfidences = new double[EQUIPMENT_SIZE];
+            this.encodedIds = encodedIds;
+            this.slotBonuses = new double[EQUIPMENT_SIZE][];
         }
 
         /**
@@ -140,18 +220,46 @@ public class TargetEquipmentTranslator {
     }
 
     /**
-     * Translate PlayerComposition to equipment data with confidence levels
+     * Translate PlayerComposition to equipment data with confidence levels.
+     * Returns a shared cached Result when the same equipment was translated before.
+     *
+     * {@code previous} is the caller's last translation of this player, or null. When
+     * given, only the slots that changed since then are re-summed. Callers keep it
+     * themselves so that no per-player history is shared between sessions.
      */
-    public static Result translate(PlayerComposition comp, ItemManager itemManager, int playerId) {
+    public static Result translate(PlayerComposition comp, ItemManager itemManager, Result previous) {
         if (comp == null || itemManager == null) {
-            return Result.empty(playerId);
+            return Result.empty(-1);
         }
 
-        Result result = new Result();
         int[] equipmentIds = comp.getEquipmentIds();
+        if (equipmentIds == null) {
+            return Result.empty(-1);
+        }
+
+        synchronized (RESULT_CACHE) {
+            PROBE_KEY.set(equipmentIds);
+            Result cached = RESULT_CACHE.get(PROBE_KEY);
+            PROBE_KEY.set(null);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        Result result = new Result(equipmentIds.clone());
+        // A previous result missing item stats is redone in full so those slots are retried
+        boolean incremental = previous != null && previous.encodedIds != null
+            && previous.encodedIds.length == equipmentIds.length && previous.statsComplete;
+        if (incremental) {
+            // Start from the previous set and only re-sum the slots that changed
+            System.arraycopy(previous.itemIds, 0, result.itemIds, 0, EQUIPMENT_SIZE);
+            System.arraycopy(previous.bonuses, 0, result.bonuses, 0, BONUS_COUNT);
+            System.arraycopy(previous.slotConfidences, 0, result.slotConfidences, 0, EQUIPMENT_SIZE);
+            System.arraycopy(previous.slotBonuses, 0, result.slotBonuses, 0, EQUIPMENT_SIZE);
+        }
 
         // Process each KitType
-        for (KitType kit : KitType.values()) {
+        for (KitType kit : KIT_TYPES) {
             if (kit.getIndex() >= equipmentIds.length) continue;
 
             int encodedId = equipmentIds[kit.getIndex()];
@@ -159,6 +267,13 @@ public class TargetEquipmentTranslator {
 
             if (slot == -1) continue; // Skip non-equipment kits
 
+            if (incremental) {
+                if (previous.encodedIds[kit.getIndex()] == encodedId) {
+                    continue; // Slot unchanged since the last translation
+                }
+                clearSlot(result, slot);
+            }
+
             /**
              * Decode item ID from PlayerComposition
              * Citation: PlayerComposition.java:64-67
@@ -188,9 +303,13 @@ public class TargetEquipmentTranslator {
                  * Citation: ItemManager.java:362 - getItemStats(int itemId)
                  * Verified: 2025-01-19
                  */
-                ItemStats stats = itemManager.getItemStats(itemId);
-                if (stats != null && stats.getEquipment() != null) {
-                    addBonuses(result.bonuses, stats.getEquipment());
+                double[] itemBonuses = lookupItemBonuses(itemManager, itemId);
+                if (itemBonuses == null) {
+                    result.statsComplete = false;
+                    result.slotConfidences[slot] = 0.1;  // Low confidence if no stats
+                } else if (itemBonuses != NO_STATS) {
+                    result.slotBonuses[slot] = itemBonuses;
+                    BonusMath.add(result.bonuses, itemBonuses);
                     result.slotConfidences[slot] = 0.95; // High confidence for visible
                 } else {
                     result.slotConfidences[slot] = 0.1;  // Low confidence if no stats
@@ -205,9 +324,73 @@ public class TargetEquipmentTranslator {
         result.slotConfidences[RING_SLOT] = 0.1;
         result.slotConfidences[AMMUNITION_SLOT] = 0.3;
 
+        if (result.statsComplete) {
+            synchronized (RESULT_CACHE) {
+                RESULT_CACHE.put(new EquipmentKey(equipmentIds), result);
+            }
+        }
+
         return result;
     }
 
+    /**
+     * Remove a slot's previous contribution before it is re-translated
+     */
+    private static void clearSlot(Result result, int slot) {
+        double[] old = result.slotBonuses[slot];
+        if (old != null) {
+            BonusMath.subtract(result.bonuses, old);
+        }
+        result.slotBonuses[slot] = null;
+        result.itemIds[slot] = -1;
+        result.slotConfidences[slot] = 0.0;
+    }
+
+    /**
+     * Get the 14-element bonus vector for an item, computed once per item id.
+     * The returned array is shared and must not be modified.
+     * Returns an empty array when the item has no equipment stats.
+     */
+    public static double[] getItemBonuses(ItemManager itemManager, int itemId) {
+        double[] bonuses = lookupItemBonuses(itemManager, itemId);
+        return bonuses != null ? bonuses : NO_STATS;
+    }
+
+    /**
+     * As {@link #getItemBonuses}, but null when ItemManager has no stats for the item.
+     * That also happens before item stats have loaded, so it is not cached and the
+     * item is looked up again next time.
+     */
+    private static double[] lookupItemBonuses(ItemManager itemManager, int itemId) {
+        double[] cached = ITEM_BONUS_CACHE.get(itemId);
+        if (cached != null) {
+            return cached;
+        }
+
+        ItemStats stats = itemManager.getItemStats(itemId);
+        if (stats == null) {
+            return null;
+        }
+
+        double[] bonuses = NO_STATS;
+        if (stats.getEquipment() != null) {
+            bonuses = new double[BONUS_COUNT];
+            addBonuses(bonuses, stats.getEquipment());
+        }
+        ITEM_BONUS_CACHE.put(itemId, bonuses);
+        return bonuses;
+    }
+
+    /**
+     * Drop all cached translations and item bonus vectors (e.g. after item data reloads)
+     */
+    public static void clearCaches() {
+        synchronized (RESULT_CACHE) {
+            RESULT_CACHE.clear();
+        }
+        ITEM_BONUS_CACHE.clear();
+    }
+
     /**
      * Add equipment bonuses to result array
      * Must match exact indices used by NhEnvironment
@@ -253,11 +436,7 @@ public class TargetEquipmentTranslator {
 
         double[] blended = new double[BONUS_COUNT];
         double avgConfidence = translation.getAverageSlotConfidence();
-
-        for (int i = 0; i < BONUS_COUNT; i++) {
-            blended[i] = translation.bonuses[i] * avgConfidence +
-                         loadoutBaseline[i] * (1.0 - avgConfidence);
-        }
+        BonusMath.blend(blended, translation.bonuses, loadoutBaseline, avgConfidence);
 
         log.debug("[TRANSLATOR] Blended bonuses with {}% confidence",
             Math.round(avgConfidence * 100));
@@ -282,39 +461,27 @@ public class TargetEquipmentTranslator {
 
         for (int[] gearSet : gearSets) {
             if (gearSet != null && gearSet.length > 0) {
-                double[] setBonuses = computeGearSetBonuses(itemManager, gearSet);
-                for (int i = 0; i < BONUS_COUNT; i++) {
-                    baseline[i] += setBonuses[i];
-                }
+                addGearSetBonuses(baseline, itemManager, gearSet);
                 gearSetCount++;
             }
         }
 
         // Average the bonuses across all gear sets
         if (gearSetCount > 0) {
-            for (int i = 0; i < BONUS_COUNT; i++) {
-                baseline[i] /= gearSetCount;
-            }
+            BonusMath.scale(baseline, 1.0 / gearSetCount);
         }
 
         return baseline;
     }
 
     /**
-     * Compute bonuses for a single gear set
+     * Add the bonuses of a single gear set into the given vector
      */
-    private static double[] computeGearSetBonuses(ItemManager itemManager, int[] gearSet) {
-        double[] bonuses = new double[BONUS_COUNT];
-
+    private static void addGearSetBonuses(double[] bonuses, ItemManager itemManager, int[] gearSet) {
         for (int itemId : gearSet) {
             if (itemId <= 0) continue;
 
-            ItemStats stats = itemManager.getItemStats(itemId);
-            if (stats != null && stats.getEquipment() != null) {
-                addBonuses(bonuses, stats.getEquipment());
-            }
+            BonusMath.add(bonuses, getItemBonuses(itemManager, itemId));
         }
-
-        return bonuses;
     }
 }
\ No newline at end of file
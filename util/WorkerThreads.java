@@ -0,0 +1,85 @@
+package net.runelite.client.plugins.autopvp.util;
+
+import lombok.extern.slf4j.Slf4j;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Executors for blocking background work (AI server I/O, reconnects, log output).
+ *
+ * In virtual mode every task gets its own virtual thread, so many plugin or session
+ * instances in one process share a few carrier threads instead of each parking a
+ * platform thread on a socket. Virtual threads need Java 21; the plugin is built
+ * for older runtimes, so they are looked up reflectively and platform mode is used
+ * when they are missing.
+ */
+@Slf4j
+public final class WorkerThreads {
+
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        Method perTask = null;
+        try {
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            name = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+            perTask = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (ReflectiveOperationException e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = name;
+        BUILDER_FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = perTask;
+    }
+
+    private WorkerThreads() {
+    }
+
+    /**
+     * Whether this runtime has virtual threads.
+     */
+    public static boolean virtualThreadsAvailable() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Create an executor for blocking work.
+     *
+     * @param name    thread name, or name prefix for virtual threads
+     * @param virtual run each task on its own virtual thread when available;
+     *                otherwise one daemon platform thread runs tasks in order
+     */
+    public static ExecutorService newExecutor(String name, boolean virtual) {
+        if (virtual) {
+            if (virtualThreadsAvailable()) {
+                try {
+                    Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), name + "-", 0L);
+                    ThreadFactory factory = (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+                    return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, factory);
+                } catch (ReflectiveOperationException e) {
+                    log.warn("[AUTOPVP] Could not create virtual thread executor for {}, using a platform thread", name, e);
+                }
+            } else {
+                log.info("[AUTOPVP] Virtual threads need Java 21, {} uses a platform thread", name);
+            }
+        }
+
+        return Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r);
+            t.setName(name);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+}